@@ -0,0 +1,14 @@
+package com.bytescolab.featureflag.sdk;
+
+/**
+ * Entornos de evaluación, con los mismos nombres que en el servidor.
+ *
+ * @author Bytes
+ */
+public enum Environment {
+    DEV,
+
+    STAGING,
+
+    PROD
+}
@@ -0,0 +1,380 @@
+package com.bytescolab.featureflag.sdk;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cliente de FeatureFlag API que evalúa los flags en el propio proceso.
+ *
+ * <p>Al arrancar ({@link #start()}) inicia sesión en {@code /api/auth/login} y descarga el estado
+ * de todas las features de {@code /api/features/snapshot}. Después sondea ese endpoint cada
+ * {@code pollInterval} con {@code If-None-Match}: mientras no cambie nada el servidor responde
+ * {@code 304} sin cuerpo. Cada descarga se convierte en un {@link FlagSnapshot} inmutable que
+ * sustituye al anterior en una referencia {@code volatile}.</p>
+ *
+ * <p>{@link #isEnabled(UUID, String, Environment)} sigue la semántica de
+ * {@code FeatureServiceImpl.isFeatureActived}: configuración del cliente, configuración global del
+ * entorno con su despliegue porcentual y valor por defecto. La evaluación no bloquea ni crea objetos.</p>
+ *
+ * <p>Las reglas de segmentación y los miembros de los segmentos no se descargan: las features que los
+ * usan se consultan a {@code /api/features/check} la primera vez que se evalúan para un cliente y
+ * entorno, y la respuesta se reutiliza mientras no cambie la instantánea (ver {@link FlagSnapshot}).
+ * {@code /check} no recibe atributos, así que las condiciones sobre atributos se resuelven igual que en
+ * esa llamada, sin atributos. Si la consulta falla se devuelve el valor por defecto sin guardarlo.</p>
+ *
+ * <p>Si el servidor no responde se sigue evaluando con la última instantánea recibida.</p>
+ *
+ * <pre>{@code
+ * try (FeatureFlagClient flags = FeatureFlagClient.builder("http://localhost:8080")
+ *         .credentials("service", "secret")
+ *         .pollInterval(Duration.ofSeconds(10))
+ *         .build()
+ *         .start()) {
+ *     boolean on = flags.isEnabled(featureId, "client-1", Environment.PROD);
+ * }
+ * }</pre>
+ *
+ * @author Bytes
+ * @see FlagSnapshot
+ */
+public final class FeatureFlagClient implements AutoCloseable {
+
+    private static final System.Logger log = System.getLogger(FeatureFlagClient.class.getName());
+    private static final TypeReference<List<FlagDefinition>> DEFINITIONS = new TypeReference<>() {
+    };
+
+    private final URI baseUri;
+    private final String username;
+    private final String password;
+    private final Duration pollInterval;
+    private final Duration requestTimeout;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final int remoteCacheSize;
+    private final ScheduledExecutorService scheduler;
+    private final Object loginLock = new Object();
+
+    private volatile FlagSnapshot snapshot = FlagSnapshot.EMPTY;
+    private volatile String accessToken;
+    private volatile Throwable lastSyncError;
+
+    private FeatureFlagClient(Builder builder) {
+        this.baseUri = URI.create(builder.baseUrl.endsWith("/") ? builder.baseUrl : builder.baseUrl + "/");
+        this.username = builder.username;
+        this.password = builder.password;
+        this.pollInterval = builder.pollInterval;
+        this.requestTimeout = builder.requestTimeout;
+        this.remoteCacheSize = builder.remoteCacheSize;
+        this.httpClient = builder.httpClient != null ? builder.httpClient
+                : HttpClient.newBuilder().connectTimeout(builder.requestTimeout).build();
+        this.objectMapper = new ObjectMapper()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+                .configure(DeserializationFeature.READ_UNKNOWN_ENUM_VALUES_AS_NULL, true);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "featureflag-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @param baseUrl URL base de FeatureFlag API, p. ej. {@code http://localhost:8080}.
+     * @return un constructor del cliente.
+     */
+    public static Builder builder(String baseUrl) {
+        return new Builder(baseUrl);
+    }
+
+    /**
+     * Inicia sesión, descarga la primera instantánea y programa la sincronización periódica.
+     *
+     * @return este cliente.
+     * @throws FeatureFlagException si no se puede iniciar sesión o descargar la instantánea.
+     */
+    public FeatureFlagClient start() {
+        login();
+        refresh();
+        long periodMs = pollInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::poll, periodMs, periodMs, TimeUnit.MILLISECONDS);
+        return this;
+    }
+
+    /**
+     * Evalúa una feature para un cliente y entorno. Una feature desconocida se evalúa como desactivada.
+     *
+     * @param featureId   identificador de la feature.
+     * @param clientId    identificador del cliente.
+     * @param environment entorno a evaluar.
+     * @return {@code true} si la feature está activa.
+     */
+    public boolean isEnabled(UUID featureId, String clientId, Environment environment) {
+        return isEnabled(featureId, clientId, environment, false);
+    }
+
+    /**
+     * Evalúa una feature para un cliente y entorno.
+     *
+     * @param featureId    identificador de la feature.
+     * @param clientId     identificador del cliente.
+     * @param environment  entorno a evaluar.
+     * @param defaultValue valor devuelto si la feature no existe o no puede evaluarse.
+     * @return {@code true} si la feature está activa.
+     */
+    public boolean isEnabled(UUID featureId, String clientId, Environment environment, boolean defaultValue) {
+        FlagSnapshot current = snapshot;
+        return evaluate(current, current.get(featureId), clientId, environment, defaultValue);
+    }
+
+    /**
+     * Evalúa una feature, identificada por su nombre, para un cliente y entorno.
+     *
+     * @param featureName  nombre de la feature.
+     * @param clientId     identificador del cliente.
+     * @param environment  entorno a evaluar.
+     * @param defaultValue valor devuelto si la feature no existe o no puede evaluarse.
+     * @return {@code true} si la feature está activa.
+     */
+    public boolean isEnabled(String featureName, String clientId, Environment environment, boolean defaultValue) {
+        FlagSnapshot current = snapshot;
+        return evaluate(current, current.get(featureName), clientId, environment, defaultValue);
+    }
+
+    /**
+     * @return la instantánea local vigente.
+     */
+    public FlagSnapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * @return el error de la última sincronización, o {@code null} si fue correcta.
+     */
+    public Throwable getLastSyncError() {
+        return lastSyncError;
+    }
+
+    /**
+     * Sincroniza ya con el servidor. Si la instantánea no ha cambiado no se descarga de nuevo.
+     *
+     * @throws FeatureFlagException si el servidor no responde o responde con error.
+     */
+    public synchronized void refresh() {
+        FlagSnapshot current = snapshot;
+        HttpResponse<byte[]> response = sendAuthorized(() -> {
+            HttpRequest.Builder request = request("api/features/snapshot");
+            if (current.getEtag() != null) {
+                request.header("If-None-Match", current.getEtag());
+            }
+            return request.GET().build();
+        });
+        if (response.statusCode() == 304) {
+            return;
+        }
+        ensureSuccess(response, "descargar la instantánea de features");
+        try {
+            List<FlagDefinition> definitions = objectMapper.readValue(response.body(), DEFINITIONS);
+            snapshot = FlagSnapshot.of(definitions, response.headers().firstValue("ETag").orElse(null));
+        } catch (IOException e) {
+            throw new FeatureFlagException("Respuesta de instantánea no válida", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private boolean evaluate(FlagSnapshot current, FlagState state, String clientId, Environment environment,
+                             boolean defaultValue) {
+        if (state == null) {
+            return defaultValue;
+        }
+        if (state.requiresServerEvaluation()) {
+            Boolean decision = current.remoteDecision(state.getId(), clientId, environment);
+            return decision != null ? decision : checkRemotely(current, state.getId(), clientId, environment, defaultValue);
+        }
+        return state.isEnabled(clientId, environment);
+    }
+
+    private boolean checkRemotely(FlagSnapshot current, UUID featureId, String clientId, Environment environment,
+                                  boolean defaultValue) {
+        String path = "api/features/check?featureId=" + featureId
+                + "&clientId=" + URLEncoder.encode(Objects.toString(clientId, ""), StandardCharsets.UTF_8)
+                + "&env=" + environment;
+        try {
+            HttpResponse<byte[]> response = sendAuthorized(() -> request(path).GET().build());
+            ensureSuccess(response, "evaluar la feature " + featureId);
+            JsonNode decision = objectMapper.readTree(response.body());
+            if (!decision.isBoolean()) {
+                return defaultValue;
+            }
+            current.rememberRemoteDecision(featureId, clientId, environment, decision.booleanValue(), remoteCacheSize);
+            return decision.booleanValue();
+        } catch (IOException | RuntimeException e) {
+            log.log(System.Logger.Level.WARNING, "No se pudo evaluar la feature {0} en el servidor: {1}", featureId, e.getMessage());
+            return defaultValue;
+        }
+    }
+
+    private void poll() {
+        try {
+            refresh();
+            lastSyncError = null;
+        } catch (RuntimeException e) {
+            lastSyncError = e;
+            log.log(System.Logger.Level.WARNING, "No se pudo sincronizar con FeatureFlag API: {0}", e.getMessage());
+        }
+    }
+
+    private void login() {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(Map.of("username", username, "password", password));
+            HttpResponse<byte[]> response = send(request("api/auth/login")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                    .build());
+            ensureSuccess(response, "iniciar sesión");
+            JsonNode token = objectMapper.readTree(response.body()).get("accessToken");
+            if (token == null || token.isNull()) {
+                throw new FeatureFlagException("La respuesta de login no contiene accessToken");
+            }
+            accessToken = token.asText();
+        } catch (IOException e) {
+            throw new FeatureFlagException("Respuesta de login no válida", e);
+        }
+    }
+
+    /** Envía una petición con el token actual; si ha caducado, inicia sesión de nuevo y la repite una vez. */
+    private HttpResponse<byte[]> sendAuthorized(RequestFactory factory) {
+        String token = accessToken;
+        HttpResponse<byte[]> response = send(withToken(factory.create(), token));
+        if (response.statusCode() == 401) {
+            response = send(withToken(factory.create(), renewToken(token)));
+        }
+        return response;
+    }
+
+    /** Inicia sesión de nuevo, salvo que otro hilo ya haya sustituido el token rechazado. */
+    private String renewToken(String rejected) {
+        synchronized (loginLock) {
+            if (Objects.equals(accessToken, rejected)) {
+                login();
+            }
+            return accessToken;
+        }
+    }
+
+    private static HttpRequest withToken(HttpRequest request, String token) {
+        return HttpRequest.newBuilder(request, (name, value) -> true)
+                .header("Authorization", "Bearer " + token)
+                .build();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).timeout(requestTimeout);
+    }
+
+    private HttpResponse<byte[]> send(HttpRequest request) {
+        try {
+            return httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            throw new FeatureFlagException("Error de comunicación con " + request.uri(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FeatureFlagException("Petición interrumpida: " + request.uri(), e);
+        }
+    }
+
+    private static void ensureSuccess(HttpResponse<byte[]> response, String action) {
+        if (response.statusCode() / 100 != 2) {
+            throw new FeatureFlagException("No se pudo " + action + ": HTTP " + response.statusCode());
+        }
+    }
+
+    @FunctionalInterface
+    private interface RequestFactory {
+        HttpRequest create();
+    }
+
+    /**
+     * Constructor de {@link FeatureFlagClient}.
+     */
+    public static final class Builder {
+        private final String baseUrl;
+        private String username;
+        private String password;
+        private Duration pollInterval = Duration.ofSeconds(15);
+        private Duration requestTimeout = Duration.ofSeconds(5);
+        private int remoteCacheSize = 10_000;
+        private HttpClient httpClient;
+
+        private Builder(String baseUrl) {
+            this.baseUrl = Objects.requireNonNull(baseUrl, "baseUrl");
+        }
+
+        /** Usuario y contraseña con los que iniciar sesión en {@code /api/auth/login}. */
+        public Builder credentials(String username, String password) {
+            this.username = username;
+            this.password = password;
+            return this;
+        }
+
+        /** Intervalo entre sondeos de la instantánea (15 s por defecto). */
+        public Builder pollInterval(Duration pollInterval) {
+            this.pollInterval = pollInterval;
+            return this;
+        }
+
+        /** Tiempo máximo de cada petición (5 s por defecto). */
+        public Builder requestTimeout(Duration requestTimeout) {
+            this.requestTimeout = requestTimeout;
+            return this;
+        }
+
+        /**
+         * Máximo de respuestas de {@code /check} guardadas por instantánea (10000 por defecto);
+         * {@code 0} consulta el servidor en cada evaluación.
+         */
+        public Builder remoteCacheSize(int remoteCacheSize) {
+            this.remoteCacheSize = remoteCacheSize;
+            return this;
+        }
+
+        /** Cliente HTTP a utilizar en lugar del creado por defecto. */
+        public Builder httpClient(HttpClient httpClient) {
+            this.httpClient = httpClient;
+            return this;
+        }
+
+        public FeatureFlagClient build() {
+            if (username == null || password == null) {
+                throw new IllegalStateException("Se requieren credenciales");
+            }
+            if (pollInterval.isNegative() || pollInterval.isZero()) {
+                throw new IllegalStateException("pollInterval debe ser positivo");
+            }
+            if (remoteCacheSize < 0) {
+                throw new IllegalStateException("remoteCacheSize no puede ser negativo");
+            }
+            return new FeatureFlagClient(this);
+        }
+    }
+}
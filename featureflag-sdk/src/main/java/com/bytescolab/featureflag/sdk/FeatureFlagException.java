@@ -0,0 +1,17 @@
+package com.bytescolab.featureflag.sdk;
+
+/**
+ * Error de comunicación con FeatureFlag API.
+ *
+ * @author Bytes
+ */
+public class FeatureFlagException extends RuntimeException {
+
+    public FeatureFlagException(String message) {
+        super(message);
+    }
+
+    public FeatureFlagException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,55 @@
+package com.bytescolab.featureflag.sdk;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.UUID;
+
+/**
+ * Configuración de una feature para un entorno, un cliente o un segmento, tal como la
+ * devuelve {@code GET /api/features/snapshot}.
+ *
+ * @param environment       entorno de la configuración.
+ * @param clientId          cliente, o {@code null} para la configuración global del entorno.
+ * @param enabled           estado configurado.
+ * @param rolloutPercentage porcentaje de despliegue de la configuración global, o {@code null}.
+ * @param segmentId         segmento, o {@code null}; solo lo resuelve el servidor.
+ * @author Bytes
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record FlagConfig(Environment environment, String clientId, Boolean enabled, Integer rolloutPercentage,
+                         UUID segmentId) {
+
+    /**
+     * Configuración global de un entorno.
+     *
+     * @param environment entorno.
+     * @param enabled     estado configurado.
+     * @return la configuración.
+     */
+    public static FlagConfig global(Environment environment, boolean enabled) {
+        return new FlagConfig(environment, null, enabled, null, null);
+    }
+
+    /**
+     * Despliegue porcentual de un entorno.
+     *
+     * @param environment entorno.
+     * @param percentage  porcentaje de clientes incluidos.
+     * @return la configuración.
+     */
+    public static FlagConfig rollout(Environment environment, int percentage) {
+        return new FlagConfig(environment, null, true, percentage, null);
+    }
+
+    /**
+     * Configuración específica de un cliente.
+     *
+     * @param environment entorno.
+     * @param clientId    cliente.
+     * @param enabled     estado configurado.
+     * @return la configuración.
+     */
+    public static FlagConfig client(Environment environment, String clientId, boolean enabled) {
+        return new FlagConfig(environment, clientId, enabled, null, null);
+    }
+}
@@ -0,0 +1,35 @@
+package com.bytescolab.featureflag.sdk;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Estado de una feature tal como lo devuelve {@code GET /api/features/snapshot}.
+ *
+ * @param id                       identificador de la feature.
+ * @param name                     nombre único de la feature.
+ * @param enabledByDefault         valor aplicado cuando no hay configuración.
+ * @param revision                 revisión de la feature.
+ * @param configs                  configuraciones por entorno, cliente o segmento.
+ * @param requiresServerEvaluation {@code true} si la feature tiene reglas o segmentos, que solo resuelve el servidor.
+ * @author Bytes
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record FlagDefinition(UUID id, String name, Boolean enabledByDefault, Long revision, List<FlagConfig> configs,
+                             Boolean requiresServerEvaluation) {
+
+    /**
+     * Definición evaluable en local, sin reglas ni segmentos.
+     *
+     * @param id               identificador de la feature.
+     * @param name             nombre de la feature.
+     * @param enabledByDefault valor por defecto.
+     * @param configs          configuraciones.
+     * @return la definición.
+     */
+    public static FlagDefinition of(UUID id, String name, boolean enabledByDefault, FlagConfig... configs) {
+        return new FlagDefinition(id, name, enabledByDefault, 0L, List.of(configs), false);
+    }
+}
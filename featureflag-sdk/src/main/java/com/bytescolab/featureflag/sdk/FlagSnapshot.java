@@ -0,0 +1,111 @@
+package com.bytescolab.featureflag.sdk;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Copia local e inmutable de todas las features.
+ *
+ * <p>El {@link FeatureFlagClient} sustituye la referencia completa en cada sincronización,
+ * de modo que las evaluaciones leen siempre un estado coherente sin bloqueos.</p>
+ *
+ * <p>Cada instantánea guarda además las respuestas de {@code /api/features/check} obtenidas mientras
+ * estuvo vigente, por feature, cliente y entorno. Un cambio de reglas o de miembros de un segmento
+ * incrementa la revisión de la feature y, con ella, el ETag: la nueva instantánea empieza sin
+ * respuestas guardadas.</p>
+ *
+ * @author Bytes
+ * @see FlagState
+ */
+public final class FlagSnapshot {
+
+    /** Instantánea vacía, usada antes de la primera sincronización. */
+    public static final FlagSnapshot EMPTY = new FlagSnapshot(Map.of(), Map.of(), null);
+
+    private final Map<UUID, FlagState> byId;
+    private final Map<String, FlagState> byName;
+    private final String etag;
+    private final Map<RemoteKey, Boolean> remoteDecisions = new ConcurrentHashMap<>();
+
+    private FlagSnapshot(Map<UUID, FlagState> byId, Map<String, FlagState> byName, String etag) {
+        this.byId = byId;
+        this.byName = byName;
+        this.etag = etag;
+    }
+
+    /**
+     * Construye una instantánea a partir de las definiciones descargadas.
+     *
+     * @param definitions definiciones de las features.
+     * @param etag        ETag de la respuesta, o {@code null}.
+     * @return la instantánea.
+     */
+    public static FlagSnapshot of(Collection<FlagDefinition> definitions, String etag) {
+        Map<UUID, FlagState> byId = new HashMap<>(definitions.size() * 2);
+        Map<String, FlagState> byName = new HashMap<>(definitions.size() * 2);
+        for (FlagDefinition definition : definitions) {
+            FlagState state = FlagState.of(definition);
+            byId.put(state.getId(), state);
+            if (state.getName() != null) {
+                byName.put(state.getName(), state);
+            }
+        }
+        return new FlagSnapshot(Collections.unmodifiableMap(byId), Collections.unmodifiableMap(byName), etag);
+    }
+
+    /**
+     * @param featureId identificador de la feature.
+     * @return el estado de la feature, o {@code null} si no existe.
+     */
+    public FlagState get(UUID featureId) {
+        return byId.get(featureId);
+    }
+
+    /**
+     * @param featureName nombre de la feature.
+     * @return el estado de la feature, o {@code null} si no existe.
+     */
+    public FlagState get(String featureName) {
+        return byName.get(featureName);
+    }
+
+    /**
+     * @return ETag de la respuesta de la que procede la instantánea.
+     */
+    public String getEtag() {
+        return etag;
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    /**
+     * @return la respuesta de {@code /check} guardada para esta instantánea, o {@code null} si no hay.
+     */
+    Boolean remoteDecision(UUID featureId, String clientId, Environment environment) {
+        return remoteDecisions.get(new RemoteKey(featureId, clientId, environment));
+    }
+
+    /**
+     * Guarda una respuesta de {@code /check}. Al alcanzar {@code maxEntries} se descartan todas las
+     * guardadas y se vuelven a consultar según se necesiten.
+     */
+    void rememberRemoteDecision(UUID featureId, String clientId, Environment environment, boolean enabled,
+                                int maxEntries) {
+        if (maxEntries <= 0) {
+            return;
+        }
+        if (remoteDecisions.size() >= maxEntries) {
+            remoteDecisions.clear();
+        }
+        remoteDecisions.put(new RemoteKey(featureId, clientId, environment), enabled);
+    }
+
+    private record RemoteKey(UUID featureId, String clientId, Environment environment) {
+    }
+}
@@ -0,0 +1,128 @@
+package com.bytescolab.featureflag.sdk;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Estado inmutable de una feature, preparado para evaluarse sin crear objetos.
+ *
+ * <p>Sigue la misma precedencia que el servidor para lo que puede resolverse en local:</p>
+ * <ol>
+ *   <li>Configuración específica del cliente en el entorno.</li>
+ *   <li>Configuración global del entorno; si tiene despliegue porcentual, solo para los
+ *   clientes incluidos según {@link RolloutBucket}.</li>
+ *   <li>Valor {@code enabledByDefault} de la feature.</li>
+ * </ol>
+ *
+ * <p>Las reglas de segmentación y los segmentos se resuelven en el servidor: para esas
+ * features {@link #requiresServerEvaluation()} es {@code true}.</p>
+ *
+ * @author Bytes
+ * @see FlagSnapshot
+ */
+public final class FlagState {
+
+    private final UUID id;
+    private final String name;
+    private final boolean enabledByDefault;
+    private final long revision;
+    private final boolean requiresServerEvaluation;
+    private final Map<Environment, Boolean> environmentDefaults;
+    private final Map<Environment, Integer> environmentRollouts;
+    private final Map<Environment, Map<String, Boolean>> clientOverrides;
+
+    private FlagState(FlagDefinition definition) {
+        Map<Environment, Boolean> defaults = new EnumMap<>(Environment.class);
+        Map<Environment, Integer> rollouts = new EnumMap<>(Environment.class);
+        Map<Environment, Map<String, Boolean>> overrides = new EnumMap<>(Environment.class);
+        boolean segments = false;
+        if (definition.configs() != null) {
+            for (FlagConfig config : definition.configs()) {
+                if (config.environment() == null) {
+                    continue;
+                }
+                boolean enabled = Boolean.TRUE.equals(config.enabled());
+                if (config.segmentId() != null) {
+                    segments = true;
+                } else if (config.clientId() == null) {
+                    defaults.put(config.environment(), enabled);
+                    if (config.rolloutPercentage() != null) {
+                        rollouts.put(config.environment(), config.rolloutPercentage());
+                    }
+                } else {
+                    overrides.computeIfAbsent(config.environment(), env -> new HashMap<>())
+                            .put(config.clientId(), enabled);
+                }
+            }
+        }
+        overrides.replaceAll((env, byClient) -> Collections.unmodifiableMap(byClient));
+
+        this.id = definition.id();
+        this.name = definition.name();
+        this.enabledByDefault = Boolean.TRUE.equals(definition.enabledByDefault());
+        this.revision = definition.revision() != null ? definition.revision() : 0L;
+        this.requiresServerEvaluation = segments || Boolean.TRUE.equals(definition.requiresServerEvaluation());
+        this.environmentDefaults = Collections.unmodifiableMap(defaults);
+        this.environmentRollouts = Collections.unmodifiableMap(rollouts);
+        this.clientOverrides = Collections.unmodifiableMap(overrides);
+    }
+
+    /**
+     * Construye el estado de una feature.
+     *
+     * @param definition definición descargada del servidor.
+     * @return el estado inmutable listo para evaluar.
+     */
+    public static FlagState of(FlagDefinition definition) {
+        return new FlagState(definition);
+    }
+
+    /**
+     * Evalúa la feature para un cliente en un entorno con la información local.
+     *
+     * @param clientId    identificador del cliente.
+     * @param environment entorno a evaluar.
+     * @return {@code true} si la feature está activa.
+     */
+    public boolean isEnabled(String clientId, Environment environment) {
+        Map<String, Boolean> byClient = clientOverrides.get(environment);
+        if (byClient != null && clientId != null) {
+            Boolean enabled = byClient.get(clientId);
+            if (enabled != null) {
+                return enabled;
+            }
+        }
+        Boolean environmentDefault = environmentDefaults.get(environment);
+        if (environmentDefault == null) {
+            return enabledByDefault;
+        }
+        Integer rollout = environmentRollouts.get(environment);
+        return environmentDefault && (rollout == null || RolloutBucket.isIncluded(id, clientId, rollout));
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isEnabledByDefault() {
+        return enabledByDefault;
+    }
+
+    public long getRevision() {
+        return revision;
+    }
+
+    /**
+     * @return {@code true} si la feature tiene reglas de segmentación o segmentos y debe evaluarse en el servidor.
+     */
+    public boolean requiresServerEvaluation() {
+        return requiresServerEvaluation;
+    }
+}
@@ -0,0 +1,64 @@
+package com.bytescolab.featureflag.sdk;
+
+import java.util.UUID;
+
+/**
+ * Asignación determinista de clientes a un despliegue porcentual.
+ *
+ * <p>Copia exacta del algoritmo del servidor ({@code service.feature.snapshot.RolloutBucket}):
+ * un cliente cae en el mismo bucket al evaluarse en local y en la API. Los tests de ambos
+ * lados fijan los mismos valores de referencia.</p>
+ *
+ * @author Bytes
+ */
+public final class RolloutBucket {
+
+    /** Número de buckets; un porcentaje {@code p} incluye los buckets {@code [0, p)}. */
+    public static final int BUCKETS = 100;
+
+    private RolloutBucket() {
+    }
+
+    /**
+     * Indica si un cliente entra en el despliegue porcentual de una feature.
+     *
+     * @param featureId  identificador de la feature.
+     * @param clientId   identificador del cliente; sin cliente solo entra con el 100%.
+     * @param percentage porcentaje de clientes incluidos, entre 0 y 100.
+     * @return {@code true} si el cliente está incluido.
+     */
+    public static boolean isIncluded(UUID featureId, String clientId, int percentage) {
+        if (percentage >= BUCKETS) {
+            return true;
+        }
+        if (percentage <= 0 || clientId == null) {
+            return false;
+        }
+        return of(featureId, clientId) < percentage;
+    }
+
+    /**
+     * Calcula el bucket de un par (feature, cliente).
+     *
+     * @param featureId identificador de la feature.
+     * @param clientId  identificador del cliente.
+     * @return el bucket, entre {@code 0} y {@code BUCKETS - 1}.
+     */
+    public static int of(UUID featureId, String clientId) {
+        long h = mix(featureId.getMostSignificantBits() ^ 0x9E3779B97F4A7C15L);
+        h = mix(h ^ featureId.getLeastSignificantBits());
+        for (int i = 0, n = clientId.length(); i < n; i++) {
+            h = (h ^ clientId.charAt(i)) * 0x100000001B3L;
+        }
+        return (int) Long.remainderUnsigned(mix(h ^ clientId.length()), BUCKETS);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
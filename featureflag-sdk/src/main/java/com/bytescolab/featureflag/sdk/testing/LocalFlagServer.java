@@ -0,0 +1,227 @@
+package com.bytescolab.featureflag.sdk.testing;
+
+import com.bytescolab.featureflag.sdk.Environment;
+import com.bytescolab.featureflag.sdk.FlagDefinition;
+import com.bytescolab.featureflag.sdk.FlagState;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiPredicate;
+
+/**
+ * Servidor HTTP local que imita los endpoints de FeatureFlag API que usa el SDK, para tests
+ * sin base de datos ni Spring.
+ *
+ * <ul>
+ *   <li>{@code POST /api/auth/login}: devuelve un token si las credenciales coinciden.</li>
+ *   <li>{@code GET /api/features/snapshot}: estado de todas las features con ETag {@code "fs-<versión>"}
+ *   y {@code 304} si coincide con {@code If-None-Match}.</li>
+ *   <li>{@code GET /api/features/check}: evaluación en el servidor; usa la decisión registrada con
+ *   {@link #serverDecision} o, si no hay, la misma evaluación que en local.</li>
+ * </ul>
+ *
+ * <p>Cada cambio ({@link #upsert}, {@link #remove}) incrementa la versión del conjunto de flags.
+ * {@link #expireTokens()} invalida los tokens emitidos para probar el reinicio de sesión.</p>
+ *
+ * @author Bytes
+ */
+public final class LocalFlagServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final String username;
+    private final String password;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<UUID, FlagDefinition> features = new LinkedHashMap<>();
+    private final Map<UUID, BiPredicate<String, Environment>> serverDecisions = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> tokens = new ConcurrentHashMap<>();
+    private final AtomicInteger logins = new AtomicInteger();
+    private final AtomicInteger snapshotResponses = new AtomicInteger();
+    private final AtomicInteger notModifiedResponses = new AtomicInteger();
+    private final AtomicInteger checkRequests = new AtomicInteger();
+    private long version = 1;
+
+    private LocalFlagServer(String username, String password) throws IOException {
+        this.username = username;
+        this.password = password;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/api/auth/login", this::login);
+        server.createContext("/api/features/snapshot", this::snapshot);
+        server.createContext("/api/features/check", this::check);
+        server.start();
+    }
+
+    /**
+     * Arranca el servidor en un puerto libre de la interfaz de loopback.
+     *
+     * @param username usuario aceptado en el login.
+     * @param password contraseña aceptada en el login.
+     * @return el servidor arrancado.
+     * @throws IOException si no se puede abrir el puerto.
+     */
+    public static LocalFlagServer start(String username, String password) throws IOException {
+        return new LocalFlagServer(username, password);
+    }
+
+    /** @return URL base del servidor, para {@code FeatureFlagClient.builder}. */
+    public String baseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    /** Crea o sustituye una feature. */
+    public synchronized void upsert(FlagDefinition definition) {
+        features.put(definition.id(), definition);
+        version++;
+    }
+
+    /** Elimina una feature. */
+    public synchronized void remove(UUID featureId) {
+        if (features.remove(featureId) != null) {
+            version++;
+        }
+    }
+
+    /** Registra la respuesta de {@code /check} para una feature que requiere evaluación en el servidor. */
+    public void serverDecision(UUID featureId, BiPredicate<String, Environment> decision) {
+        serverDecisions.put(featureId, decision);
+    }
+
+    /** Invalida todos los tokens emitidos: la siguiente petición recibirá {@code 401}. */
+    public void expireTokens() {
+        tokens.clear();
+    }
+
+    public int getLogins() {
+        return logins.get();
+    }
+
+    /** @return número de respuestas {@code 200} de la instantánea. */
+    public int getSnapshotResponses() {
+        return snapshotResponses.get();
+    }
+
+    /** @return número de respuestas {@code 304} de la instantánea. */
+    public int getNotModifiedResponses() {
+        return notModifiedResponses.get();
+    }
+
+    public int getCheckRequests() {
+        return checkRequests.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void login(HttpExchange exchange) throws IOException {
+        JsonNode body = objectMapper.readTree(exchange.getRequestBody());
+        if (!"POST".equals(exchange.getRequestMethod())
+                || !username.equals(body.path("username").asText()) || !password.equals(body.path("password").asText())) {
+            respond(exchange, 401, null, null);
+            return;
+        }
+        logins.incrementAndGet();
+        String token = UUID.randomUUID().toString();
+        tokens.put(token, Boolean.TRUE);
+        respond(exchange, 200, Map.of("accessToken", token, "tokenType", "Bearer", "username", username), null);
+    }
+
+    private void snapshot(HttpExchange exchange) throws IOException {
+        if (!authorized(exchange)) {
+            return;
+        }
+        List<FlagDefinition> body;
+        String etag;
+        synchronized (this) {
+            etag = "\"fs-" + version + "\"";
+            body = new ArrayList<>(features.values());
+        }
+        if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            notModifiedResponses.incrementAndGet();
+            respond(exchange, 304, null, etag);
+            return;
+        }
+        snapshotResponses.incrementAndGet();
+        respond(exchange, 200, body, etag);
+    }
+
+    private void check(HttpExchange exchange) throws IOException {
+        if (!authorized(exchange)) {
+            return;
+        }
+        checkRequests.incrementAndGet();
+        Map<String, String> params = queryParams(exchange.getRequestURI().getRawQuery());
+        UUID featureId = UUID.fromString(params.get("featureId"));
+        String clientId = params.get("clientId");
+        Environment environment = Environment.valueOf(params.get("env"));
+        FlagDefinition definition;
+        synchronized (this) {
+            definition = features.get(featureId);
+        }
+        if (definition == null) {
+            respond(exchange, 404, Map.of("code", "FEATURE_001"), null);
+            return;
+        }
+        BiPredicate<String, Environment> decision = serverDecisions.get(featureId);
+        boolean enabled = decision != null
+                ? decision.test(clientId, environment)
+                : FlagState.of(definition).isEnabled(clientId, environment);
+        respond(exchange, 200, enabled, null);
+    }
+
+    private boolean authorized(HttpExchange exchange) throws IOException {
+        String header = exchange.getRequestHeaders().getFirst("Authorization");
+        if (header == null || !header.startsWith("Bearer ") || !tokens.containsKey(header.substring(7))) {
+            respond(exchange, 401, null, null);
+            return false;
+        }
+        return true;
+    }
+
+    private void respond(HttpExchange exchange, int status, Object body, String etag) throws IOException {
+        if (etag != null) {
+            exchange.getResponseHeaders().set("ETag", etag);
+        }
+        if (body == null) {
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+            return;
+        }
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static Map<String, String> queryParams(String query) {
+        Map<String, String> params = new HashMap<>();
+        if (query == null) {
+            return params;
+        }
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(pair.substring(0, eq), URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return params;
+    }
+}
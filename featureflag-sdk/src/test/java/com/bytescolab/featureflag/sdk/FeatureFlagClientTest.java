@@ -0,0 +1,185 @@
+package com.bytescolab.featureflag.sdk;
+
+import com.bytescolab.featureflag.sdk.testing.LocalFlagServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeatureFlagClientTest {
+
+    private final UUID featureId = UUID.randomUUID();
+    private LocalFlagServer server;
+    private FeatureFlagClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = LocalFlagServer.start("svc", "secret");
+        server.upsert(FlagDefinition.of(featureId, "flag-a", false,
+                FlagConfig.global(Environment.DEV, true),
+                FlagConfig.client(Environment.PROD, "c1", true)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (client != null) {
+            client.close();
+        }
+        server.close();
+    }
+
+    @Test
+    void start_logsInAndEvaluatesLocally() {
+        client = newClient(Duration.ofMinutes(1)).start();
+
+        assertTrue(client.isEnabled(featureId, "anyone", Environment.DEV));
+        assertTrue(client.isEnabled(featureId, "c1", Environment.PROD));
+        assertFalse(client.isEnabled(featureId, "c2", Environment.PROD));
+        assertTrue(client.isEnabled("flag-a", "c1", Environment.PROD, false));
+        assertTrue(client.isEnabled(UUID.randomUUID(), "c1", Environment.PROD, true));
+        assertEquals(1, server.getLogins());
+        assertEquals(0, server.getCheckRequests());
+    }
+
+    @Test
+    void refresh_usesETagAndPicksUpChanges() {
+        client = newClient(Duration.ofMinutes(1)).start();
+
+        client.refresh();
+        assertEquals(1, server.getSnapshotResponses());
+        assertEquals(1, server.getNotModifiedResponses());
+
+        server.upsert(FlagDefinition.of(featureId, "flag-a", false, FlagConfig.client(Environment.PROD, "c2", true)));
+        client.refresh();
+
+        assertEquals(2, server.getSnapshotResponses());
+        assertTrue(client.isEnabled(featureId, "c2", Environment.PROD));
+        assertFalse(client.isEnabled(featureId, "anyone", Environment.DEV));
+    }
+
+    @Test
+    void poll_updatesSnapshotInBackground() throws InterruptedException {
+        client = newClient(Duration.ofMillis(20)).start();
+        server.remove(featureId);
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (client.snapshot().get(featureId) != null && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertNull(client.snapshot().get(featureId));
+        assertFalse(client.isEnabled(featureId, "anyone", Environment.DEV));
+    }
+
+    @Test
+    void expiredToken_logsInAgain() {
+        client = newClient(Duration.ofMinutes(1)).start();
+        server.expireTokens();
+        server.upsert(FlagDefinition.of(featureId, "flag-a", true));
+
+        client.refresh();
+
+        assertEquals(2, server.getLogins());
+        assertTrue(client.isEnabled(featureId, "anyone", Environment.PROD));
+    }
+
+    @Test
+    void serverSideFeature_isCheckedRemotelyOncePerSnapshot() {
+        UUID segmented = segmentedFeature();
+        server.serverDecision(segmented, (clientId, env) -> "beta".equals(clientId));
+        client = newClient(Duration.ofMinutes(1)).start();
+
+        assertTrue(client.isEnabled(segmented, "beta", Environment.PROD));
+        assertFalse(client.isEnabled(segmented, "other", Environment.PROD));
+        assertTrue(client.isEnabled(segmented, "beta", Environment.PROD));
+        assertFalse(client.isEnabled("flag-seg", "other", Environment.PROD, true));
+        assertEquals(2, server.getCheckRequests());
+
+        // Un cambio en el servidor cambia el ETag: la nueva instantánea vuelve a consultar
+        server.serverDecision(segmented, (clientId, env) -> true);
+        server.upsert(FlagDefinition.of(UUID.randomUUID(), "flag-b", true));
+        client.refresh();
+
+        assertTrue(client.isEnabled(segmented, "other", Environment.PROD));
+        assertEquals(3, server.getCheckRequests());
+    }
+
+    @Test
+    void serverSideFeature_withoutRemoteCache_checksEveryTime() {
+        UUID segmented = segmentedFeature();
+        client = FeatureFlagClient.builder(server.baseUrl())
+                .credentials("svc", "secret")
+                .remoteCacheSize(0)
+                .build()
+                .start();
+
+        client.isEnabled(segmented, "beta", Environment.PROD);
+        client.isEnabled(segmented, "beta", Environment.PROD);
+
+        assertEquals(2, server.getCheckRequests());
+    }
+
+    @Test
+    void expiredToken_concurrentRemoteChecks_logInOnce() throws Exception {
+        UUID segmented = segmentedFeature();
+        server.serverDecision(segmented, (clientId, env) -> true);
+        client = newClient(Duration.ofMinutes(1)).start();
+        server.expireTokens();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                String clientId = "client-" + i;
+                results.add(executor.submit(() -> client.isEnabled(segmented, clientId, Environment.PROD)));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(2, server.getLogins());
+        assertEquals(32, server.getCheckRequests());
+    }
+
+    @Test
+    void serverDown_keepsLastSnapshot() {
+        client = newClient(Duration.ofMinutes(1)).start();
+        server.close();
+
+        assertThrows(FeatureFlagException.class, client::refresh);
+        assertTrue(client.isEnabled(featureId, "anyone", Environment.DEV));
+    }
+
+    @Test
+    void start_withWrongCredentials_fails() {
+        client = FeatureFlagClient.builder(server.baseUrl()).credentials("svc", "wrong").build();
+
+        assertThrows(FeatureFlagException.class, client::start);
+    }
+
+    private UUID segmentedFeature() {
+        UUID segmented = UUID.randomUUID();
+        server.upsert(new FlagDefinition(segmented, "flag-seg", false, 0L,
+                List.of(new FlagConfig(Environment.PROD, null, true, null, UUID.randomUUID())), true));
+        return segmented;
+    }
+
+    private FeatureFlagClient newClient(Duration pollInterval) {
+        return FeatureFlagClient.builder(server.baseUrl())
+                .credentials("svc", "secret")
+                .pollInterval(pollInterval)
+                .build();
+    }
+}
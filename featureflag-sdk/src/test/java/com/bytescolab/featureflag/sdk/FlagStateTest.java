@@ -0,0 +1,86 @@
+package com.bytescolab.featureflag.sdk;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlagStateTest {
+
+    private final UUID featureId = UUID.fromString("3f2504e0-4f89-11d3-9a0c-0305e82c3301");
+
+    @Test
+    void isEnabled_followsServerPrecedence() {
+        FlagState state = FlagState.of(FlagDefinition.of(featureId, "flag-a", false,
+                FlagConfig.global(Environment.DEV, true),
+                FlagConfig.client(Environment.DEV, "c1", false),
+                FlagConfig.client(Environment.PROD, "c2", true)));
+
+        assertFalse(state.isEnabled("c1", Environment.DEV));
+        assertTrue(state.isEnabled("other", Environment.DEV));
+        assertTrue(state.isEnabled(null, Environment.DEV));
+        assertTrue(state.isEnabled("c2", Environment.PROD));
+        assertFalse(state.isEnabled("other", Environment.PROD));
+        assertFalse(state.isEnabled("other", Environment.STAGING));
+        assertFalse(state.requiresServerEvaluation());
+    }
+
+    @Test
+    void isEnabled_appliesRolloutWithServerBuckets() {
+        FlagState state = FlagState.of(FlagDefinition.of(featureId, "flag-a", false,
+                FlagConfig.rollout(Environment.PROD, 50),
+                FlagConfig.client(Environment.PROD, "acme", false)));
+
+        assertFalse(state.isEnabled("client-1", Environment.PROD));
+        assertFalse(state.isEnabled("acme", Environment.PROD));
+        assertTrue(FlagState.of(FlagDefinition.of(featureId, "flag-a", false, FlagConfig.rollout(Environment.PROD, 11)))
+                .isEnabled("acme", Environment.PROD));
+        assertFalse(state.isEnabled(null, Environment.PROD));
+    }
+
+    @Test
+    void segmentConfigs_requireServerEvaluation() {
+        FlagState state = FlagState.of(new FlagDefinition(featureId, "flag-a", false, 1L,
+                List.of(new FlagConfig(Environment.PROD, null, true, null, UUID.randomUUID())), false));
+
+        assertTrue(state.requiresServerEvaluation());
+    }
+
+    @Test
+    void isEnabled_doesNotAllocate() {
+        List<FlagConfig> configs = new ArrayList<>();
+        configs.add(FlagConfig.rollout(Environment.PROD, 30));
+        for (int i = 0; i < 100; i++) {
+            configs.add(FlagConfig.client(Environment.PROD, "client-" + i, i % 2 == 0));
+        }
+        FlagSnapshot snapshot = FlagSnapshot.of(List.of(new FlagDefinition(featureId, "flag-a", false, 0L, configs, false)), null);
+        String[] clients = new String[256];
+        for (int i = 0; i < clients.length; i++) {
+            clients[i] = "client-" + (i * 7);
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        int enabled = evaluate(snapshot, clients, 10_000);
+
+        long before = threads.getThreadAllocatedBytes(threadId);
+        enabled += evaluate(snapshot, clients, 200_000);
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        assertTrue(enabled > 0);
+        assertTrue(allocated < 64 * 1024, "allocated " + allocated + " bytes");
+    }
+
+    private int evaluate(FlagSnapshot snapshot, String[] clients, int iterations) {
+        int enabled = 0;
+        for (int i = 0; i < iterations; i++) {
+            if (snapshot.get(featureId).isEnabled(clients[i & 255], Environment.PROD)) {
+                enabled++;
+            }
+        }
+        return enabled;
+    }
+}
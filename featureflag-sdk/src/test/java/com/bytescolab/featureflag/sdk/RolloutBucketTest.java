@@ -0,0 +1,30 @@
+package com.bytescolab.featureflag.sdk;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RolloutBucketTest {
+
+    @Test
+    void bucket_matchesPinnedValuesSharedWithServer() {
+        // Mismos valores que RolloutBucketTest del servidor: local y API asignan el mismo bucket.
+        assertEquals(64, RolloutBucket.of(UUID.fromString("3f2504e0-4f89-11d3-9a0c-0305e82c3301"), "client-1"));
+        assertEquals(10, RolloutBucket.of(UUID.fromString("3f2504e0-4f89-11d3-9a0c-0305e82c3301"), "acme"));
+        assertEquals(23, RolloutBucket.of(UUID.fromString("00000000-0000-0000-0000-000000000001"), "user-42"));
+        assertEquals(95, RolloutBucket.of(UUID.fromString("b7d9c8e2-1234-4abc-9def-0123456789ab"), "user-42"));
+    }
+
+    @Test
+    void isIncluded_handlesBoundsAndMissingClient() {
+        UUID featureId = UUID.fromString("3f2504e0-4f89-11d3-9a0c-0305e82c3301");
+
+        assertTrue(RolloutBucket.isIncluded(featureId, null, 100));
+        assertFalse(RolloutBucket.isIncluded(featureId, null, 99));
+        assertFalse(RolloutBucket.isIncluded(featureId, "client-1", 0));
+        assertTrue(RolloutBucket.isIncluded(featureId, "client-1", 65));
+        assertFalse(RolloutBucket.isIncluded(featureId, "client-1", 64));
+    }
+}
@@ -0,0 +1,84 @@
+package com.bytescolab.featureflag.sdk.benchmark;
+
+import com.bytescolab.featureflag.sdk.Environment;
+import com.bytescolab.featureflag.sdk.FlagConfig;
+import com.bytescolab.featureflag.sdk.FlagDefinition;
+import com.bytescolab.featureflag.sdk.FlagSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluaciones por segundo contra la instantánea local del SDK, recorriendo combinaciones
+ * (feature, cliente) precalculadas. Cada feature tiene un despliegue porcentual en PROD y
+ * {@code configsPerFeature} configuraciones de cliente.
+ *
+ * <pre>mvn -Pbenchmark test -Djmh.args="FlagEvaluationBenchmark -p features=1000 -t 4"</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(1)
+public class FlagEvaluationBenchmark {
+
+    private static final int LOOKUPS = 1024;
+
+    @Param({"100", "1000", "10000"})
+    public int features;
+
+    @Param({"4", "32"})
+    public int configsPerFeature;
+
+    private FlagSnapshot snapshot;
+    private UUID[] featureIds;
+    private String[] clientIds;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<FlagDefinition> definitions = new ArrayList<>(features);
+        List<UUID> ids = new ArrayList<>(features);
+        for (int f = 0; f < features; f++) {
+            UUID id = new UUID(random.nextLong(), random.nextLong());
+            List<FlagConfig> configs = new ArrayList<>();
+            configs.add(FlagConfig.rollout(Environment.PROD, random.nextInt(101)));
+            for (int c = 0; c < configsPerFeature; c++) {
+                configs.add(FlagConfig.client(Environment.PROD, "client-" + random.nextInt(10_000), random.nextBoolean()));
+            }
+            definitions.add(new FlagDefinition(id, "flag-" + f, random.nextBoolean(), 0L, configs, false));
+            ids.add(id);
+        }
+        snapshot = FlagSnapshot.of(definitions, null);
+        featureIds = new UUID[LOOKUPS];
+        clientIds = new String[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            featureIds[i] = ids.get(random.nextInt(features));
+            clientIds[i] = "client-" + random.nextInt(10_000);
+        }
+    }
+
+    @Benchmark
+    public boolean isEnabled() {
+        int i = cursor++ & (LOOKUPS - 1);
+        return snapshot.get(featureIds[i]).isEnabled(clientIds[i], Environment.PROD);
+    }
+}
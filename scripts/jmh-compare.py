@@ -0,0 +1,63 @@
+#!/usr/bin/env python3
+"""Compara dos resultados JMH en formato JSON (-rf json).
+
+Uso:
+    scripts/jmh-compare.py base.json nuevo.json [--threshold 10]
+
+Imprime, por benchmark y combinación de @Param, la puntuación de ambas ejecuciones y la
+variación. Marca como regresión los casos que empeoran más que el umbral (en %) y cuyos
+intervalos de error no se solapan; en ese caso termina con código 1.
+"""
+import argparse
+import json
+import math
+import sys
+
+# En estos modos una puntuación mayor es peor (tiempo por operación).
+TIME_MODES = {"avgt", "sample", "ss"}
+
+
+def load(path):
+    with open(path, encoding="utf-8") as f:
+        results = {}
+        for entry in json.load(f):
+            params = ",".join(f"{k}={v}" for k, v in sorted((entry.get("params") or {}).items()))
+            key = (entry["benchmark"].rsplit(".", 2)[-2] + "." + entry["benchmark"].rsplit(".", 1)[-1], params)
+            metric = entry["primaryMetric"]
+            error = float(metric.get("scoreError") or 0.0)
+            results[key] = (entry["mode"], float(metric["score"]), 0.0 if math.isnan(error) else error, metric["scoreUnit"])
+        return results
+
+
+def main():
+    parser = argparse.ArgumentParser(description=__doc__, formatter_class=argparse.RawDescriptionHelpFormatter)
+    parser.add_argument("base")
+    parser.add_argument("candidate")
+    parser.add_argument("--threshold", type=float, default=10.0, help="variación mínima en %% para marcar regresión")
+    args = parser.parse_args()
+
+    base, candidate = load(args.base), load(args.candidate)
+    regressions = 0
+    print(f"{'benchmark':<52} {'params':<32} {'base':>12} {'nuevo':>12} {'unidad':>8} {'delta':>8}")
+    for key in sorted(base.keys() & candidate.keys()):
+        mode, b, b_err, unit = base[key]
+        _, c, c_err, _ = candidate[key]
+        delta = (c - b) / b * 100 if b else 0.0
+        worse = delta if mode in TIME_MODES else -delta
+        overlap = abs(c - b) <= b_err + c_err
+        mark = ""
+        if worse > args.threshold and not overlap:
+            mark = "  REGRESIÓN"
+            regressions += 1
+        elif -worse > args.threshold and not overlap:
+            mark = "  mejora"
+        print(f"{key[0]:<52} {key[1]:<32} {b:>12.3f} {c:>12.3f} {unit:>8} {delta:>+7.1f}%{mark}")
+
+    for key in sorted(base.keys() ^ candidate.keys()):
+        print(f"{key[0]:<52} {key[1]:<32} solo en {'base' if key in base else 'nuevo'}")
+
+    return 1 if regressions else 0
+
+
+if __name__ == "__main__":
+    sys.exit(main())
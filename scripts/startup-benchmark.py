@@ -0,0 +1,172 @@
+#!/usr/bin/env python3
+"""Mide el tiempo de arranque de la API hasta la primera respuesta correcta de /api/features/check.
+
+Uso:
+    mvn -Pcds package
+    DB_URL=... DB_USERNAME=... DB_PASSWORD=... scripts/startup-benchmark.py [--runs 5] [--port 18080]
+
+Compara cuatro variantes del mismo artefacto:
+
+    jar       java -jar target/featureflag-*.jar (perfil por defecto, con Swagger)
+    prod      igual, con SPRING_PROFILES_ACTIVE=prod (sin springdoc)
+    aot       prod con -Dspring.aot.enabled=true (contexto generado por Spring AOT)
+    aot-cds   aot sobre el jar extraído en target/cds y el archivo AppCDS application.jsa
+
+Antes de medir arranca la aplicación una vez para registrar un administrador y crear una feature;
+después, en cada ejecución, cuenta el tiempo desde que se lanza el proceso hasta el primer 200 de
+/check con ese token y hasta que /actuator/health/readiness responde UP. Imprime la mediana y el
+mínimo de cada variante. La salida de cada arranque queda en target/startup-benchmark/.
+"""
+import argparse
+import glob
+import json
+import os
+import statistics
+import subprocess
+import sys
+import time
+import urllib.error
+import urllib.request
+
+TARGET = "target"
+CDS_DIR = os.path.join(TARGET, "cds")
+LOG_DIR = os.path.join(TARGET, "startup-benchmark")
+# Solo el usuario "admin" se registra con rol ADMIN, necesario para crear la feature
+CREDENTIALS = {"username": "admin", "password": "Admin1!bench"}
+POLL_INTERVAL = 0.01
+TIMEOUT = 120.0
+
+
+def find_jar():
+    jars = [j for j in glob.glob(os.path.join(TARGET, "featureflag-*.jar")) if not j.endswith(".original")]
+    if not jars:
+        sys.exit("No se encontró target/featureflag-*.jar; ejecuta antes: mvn -Pcds package")
+    return jars[0]
+
+
+def variants(jar):
+    cds_jar = os.path.join(CDS_DIR, os.path.basename(jar))
+    archive = os.path.join(CDS_DIR, "application.jsa")
+    result = {
+        "jar": (["-jar", jar], []),
+        "prod": (["-jar", jar], ["--spring.profiles.active=prod"]),
+        "aot": (["-Dspring.aot.enabled=true", "-jar", jar], ["--spring.profiles.active=prod"]),
+    }
+    if os.path.exists(archive) and os.path.exists(cds_jar):
+        result["aot-cds"] = (["-XX:SharedArchiveFile=" + archive, "-Dspring.aot.enabled=true", "-jar", cds_jar],
+                             ["--spring.profiles.active=prod"])
+    else:
+        print(f"Sin {archive}: se omite la variante aot-cds", file=sys.stderr)
+    return result
+
+
+def start(name, jvm_args, app_args, port, run):
+    os.makedirs(LOG_DIR, exist_ok=True)
+    log = open(os.path.join(LOG_DIR, f"{name}-{run}.log"), "w", encoding="utf-8")
+    command = ["java", *jvm_args, f"--server.port={port}", *app_args]
+    return subprocess.Popen(command, stdout=log, stderr=subprocess.STDOUT), log
+
+
+def stop(process, log):
+    process.terminate()
+    try:
+        process.wait(timeout=30)
+    except subprocess.TimeoutExpired:
+        process.kill()
+        process.wait()
+    log.close()
+
+
+def request(url, token=None, body=None):
+    headers = {"Content-Type": "application/json"}
+    if token:
+        headers["Authorization"] = "Bearer " + token
+    data = json.dumps(body).encode() if body is not None else None
+    req = urllib.request.Request(url, data=data, headers=headers, method="POST" if data else "GET")
+    with urllib.request.urlopen(req, timeout=5) as response:
+        return response.status, response.read()
+
+
+def wait_for(url, process, token=None):
+    """Reintenta la petición hasta obtener un 200; devuelve False si el proceso muere o se agota el tiempo."""
+    deadline = time.perf_counter() + TIMEOUT
+    while time.perf_counter() < deadline:
+        if process.poll() is not None:
+            return False
+        try:
+            if request(url, token)[0] == 200:
+                return True
+        except (urllib.error.URLError, ConnectionError, TimeoutError):
+            pass
+        time.sleep(POLL_INTERVAL)
+    return False
+
+
+def prepare(jar, port):
+    """Arranca la aplicación una vez para obtener un token de administrador y una feature."""
+    process, log = start("prepare", ["-jar", jar], [], port, 0)
+    base = f"http://localhost:{port}"
+    try:
+        if not wait_for(base + "/actuator/health/readiness", process):
+            sys.exit(f"La aplicación no arrancó; revisa {LOG_DIR}/prepare-0.log y DB_URL")
+        try:
+            request(base + "/api/auth/register", body=CREDENTIALS)
+        except urllib.error.HTTPError:
+            pass  # el usuario ya existe de una ejecución anterior
+        token = json.loads(request(base + "/api/auth/login", body=CREDENTIALS)[1])["accessToken"]
+        feature = {"name": f"startup-bench-{int(time.time())}", "description": "Feature del benchmark de arranque",
+                   "enabledByDefault": True}
+        feature_id = json.loads(request(base + "/api/features", token, feature)[1])["id"]
+        return token, feature_id
+    finally:
+        stop(process, log)
+
+
+def measure(name, jvm_args, app_args, port, run, token, feature_id):
+    base = f"http://localhost:{port}"
+    check = f"{base}/api/features/check?featureId={feature_id}&clientId=startup&env=PROD"
+    started = time.perf_counter()
+    process, log = start(name, jvm_args, app_args, port, run)
+    try:
+        if not wait_for(check, process, token):
+            sys.exit(f"[{name}] sin respuesta de /check; revisa {LOG_DIR}/{name}-{run}.log")
+        first_check = time.perf_counter() - started
+        if not wait_for(base + "/actuator/health/readiness", process):
+            sys.exit(f"[{name}] la instancia no llegó a estar lista; revisa {LOG_DIR}/{name}-{run}.log")
+        return first_check, time.perf_counter() - started
+    finally:
+        stop(process, log)
+
+
+def main():
+    parser = argparse.ArgumentParser(description=__doc__, formatter_class=argparse.RawDescriptionHelpFormatter)
+    parser.add_argument("--runs", type=int, default=5, help="arranques medidos por variante")
+    parser.add_argument("--port", type=int, default=18080)
+    parser.add_argument("--only", help="variantes separadas por comas (por defecto, todas)")
+    args = parser.parse_args()
+
+    jar = find_jar()
+    selected = variants(jar)
+    if args.only:
+        selected = {name: selected[name] for name in args.only.split(",")}
+    token, feature_id = prepare(jar, args.port)
+
+    results = {}
+    for name, (jvm_args, app_args) in selected.items():
+        samples = []
+        for run in range(1, args.runs + 1):
+            samples.append(measure(name, jvm_args, app_args, args.port, run, token, feature_id))
+            print(f"[{name}] arranque {run}: primer /check {samples[-1][0]:.2f} s, readiness {samples[-1][1]:.2f} s")
+        results[name] = samples
+
+    print()
+    print(f"{'variante':<10} {'/check mediana':>15} {'/check mín':>11} {'readiness mediana':>18}")
+    for name, samples in results.items():
+        checks = [s[0] for s in samples]
+        ready = [s[1] for s in samples]
+        print(f"{name:<10} {statistics.median(checks):>14.2f}s {min(checks):>10.2f}s {statistics.median(ready):>17.2f}s")
+    return 0
+
+
+if __name__ == "__main__":
+    sys.exit(main())
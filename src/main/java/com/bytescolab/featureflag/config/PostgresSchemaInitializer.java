@@ -0,0 +1,57 @@
+package com.bytescolab.featureflag.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Aplica en PostgreSQL los ajustes de esquema que Hibernate no puede expresar
+ * con {@code ddl-auto=update}, como índices parciales, relajar un {@code NOT NULL}
+ * o eliminar el {@code CHECK} de un enum en una tabla existente.
+ *
+ * <p>Se ejecuta una vez creados todos los singletons, es decir, después de que Hibernate
+ * haya actualizado el esquema. En otras bases de datos (H2 en los tests) no hace nada.</p>
+ *
+ * @author Bytes
+ */
+@Slf4j
+@Component
+public class PostgresSchemaInitializer implements SmartInitializingSingleton {
+
+    static final String[] SCRIPTS = {
+            "db/postgresql/feature-configs.sql",
+            "db/postgresql/audit-events.sql"
+    };
+
+    private final DataSource dataSource;
+
+    public PostgresSchemaInitializer(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!isPostgres()) {
+            return;
+        }
+        for (String script : SCRIPTS) {
+            new ResourceDatabasePopulator(new ClassPathResource(script)).execute(dataSource);
+            log.info("Script de esquema {} aplicado.", script);
+        }
+    }
+
+    private boolean isPostgres() {
+        try (Connection connection = dataSource.getConnection()) {
+            return "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+        } catch (SQLException e) {
+            log.warn("No se pudo determinar la base de datos: {}", e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.bytescolab.featureflag.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita las tareas programadas ({@code @Scheduled}) de la aplicación,
+ * como el refresco periódico de {@code RoleVersionRegistry}.
+ *
+ * @author Bytes
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,131 @@
+package com.bytescolab.featureflag.config;
+
+import com.bytescolab.featureflag.config.security.jwt.JwtUtils;
+import com.bytescolab.featureflag.model.enums.Environment;
+import com.bytescolab.featureflag.repository.FeatureRepository;
+import com.bytescolab.featureflag.service.feature.snapshot.FeatureSnapshotHolder;
+import com.bytescolab.featureflag.service.feature.snapshot.FeatureState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Fase de calentamiento al arrancar, antes de que la instancia se declare lista.
+ *
+ * <ol>
+ *   <li>Carga el snapshot completo de features, configuraciones y reglas, opcionalmente por
+ *   bloques en paralelo ({@code features.warmup.load-chunk-size} y {@code load-parallelism}).</li>
+ *   <li>Ejecuta {@code features.warmup.iterations} evaluaciones sobre el snapshot y una consulta
+ *   de feature inexistente, para que el JIT compile la ruta de {@code /api/features/check} y
+ *   Hibernate prepare la consulta de carga bajo demanda.</li>
+ *   <li>Firma y verifica tokens JWT de un usuario ficticio, sin tocar la tabla de usuarios.</li>
+ * </ol>
+ *
+ * <p>Spring Boot solo publica {@code ReadinessState.ACCEPTING_TRAFFIC} cuando han terminado todos
+ * los {@link ApplicationRunner}, así que {@code /actuator/health/readiness} responde
+ * {@code OUT_OF_SERVICE} mientras dura el calentamiento. Con {@code features.warmup.enabled=false}
+ * solo se carga el snapshot.</p>
+ *
+ * @author Bytes
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class StartupWarmup implements ApplicationRunner {
+
+    private static final Environment[] ENVIRONMENTS = Environment.values();
+    private static final int JWT_ITERATIONS_DIVISOR = 20;
+
+    private final FeatureSnapshotHolder featureSnapshotHolder;
+    private final FeatureRepository featureRepository;
+    private final JwtUtils jwtUtils;
+    private final boolean enabled;
+    private final int iterations;
+    private final int loadChunkSize;
+    private final int loadParallelism;
+
+    public StartupWarmup(FeatureSnapshotHolder featureSnapshotHolder, FeatureRepository featureRepository,
+                         JwtUtils jwtUtils,
+                         @Value("${features.warmup.enabled:true}") boolean enabled,
+                         @Value("${features.warmup.iterations:20000}") int iterations,
+                         @Value("${features.warmup.load-chunk-size:0}") int loadChunkSize,
+                         @Value("${features.warmup.load-parallelism:4}") int loadParallelism) {
+        this.featureSnapshotHolder = featureSnapshotHolder;
+        this.featureRepository = featureRepository;
+        this.jwtUtils = jwtUtils;
+        this.enabled = enabled;
+        this.iterations = iterations;
+        this.loadChunkSize = loadChunkSize;
+        this.loadParallelism = loadParallelism;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        featureSnapshotHolder.reloadAll(loadChunkSize, loadParallelism);
+        long loaded = System.nanoTime();
+        if (!enabled) {
+            log.info("Snapshot cargado en {} ms; calentamiento desactivado", millis(start, loaded));
+            return;
+        }
+
+        int evaluations = warmEvaluation();
+        int verifications = warmJwt();
+        log.info("Calentamiento completado en {} ms: snapshot de {} features en {} ms, {} evaluaciones, {} verificaciones JWT",
+                millis(start, System.nanoTime()), featureSnapshotHolder.current().size(), millis(start, loaded),
+                evaluations, verifications);
+    }
+
+    /**
+     * Evalúa las features del snapshot para clientes y entornos variados, de modo que se recorran
+     * las configuraciones, el rollout y las reglas de targeting.
+     *
+     * @return número de evaluaciones realizadas.
+     */
+    int warmEvaluation() {
+        featureRepository.findRowById(UUID.randomUUID());
+        List<FeatureState> states = new ArrayList<>(featureSnapshotHolder.current().getFeatures().values());
+        if (states.isEmpty()) {
+            return 0;
+        }
+        int enabledCount = 0;
+        for (int i = 0; i < iterations; i++) {
+            FeatureState state = states.get(i % states.size());
+            if (state.isEnabled("warmup-" + i, ENVIRONMENTS[i % ENVIRONMENTS.length])) {
+                enabledCount++;
+            }
+        }
+        log.debug("Evaluaciones de calentamiento activas: {}/{}", enabledCount, iterations);
+        return iterations;
+    }
+
+    /**
+     * Firma y verifica tokens de un usuario ficticio para cargar las clases de JJWT y compilar la
+     * verificación HMAC.
+     *
+     * @return número de verificaciones realizadas.
+     */
+    int warmJwt() {
+        UserDetails user = User.withUsername("warmup").password("").authorities("ROLE_USER").build();
+        String token = jwtUtils.generateToken(user);
+        int verifications = Math.max(1, iterations / JWT_ITERATIONS_DIVISOR);
+        for (int i = 0; i < verifications; i++) {
+            jwtUtils.parse(token);
+        }
+        return verifications;
+    }
+
+    private static long millis(long fromNanos, long toNanos) {
+        return (toNanos - fromNanos) / 1_000_000;
+    }
+}
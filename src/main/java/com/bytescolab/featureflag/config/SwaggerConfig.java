@@ -7,6 +7,7 @@ import io.swagger.v3.oas.models.security.SecurityRequirement;
 import io.swagger.v3.oas.models.security.SecurityScheme;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 
 /**
  * Configuración de Swagger/OpenAPI para la aplicación FeatureFlag API.
@@ -28,11 +29,15 @@ import org.springframework.context.annotation.Configuration;
  * Authorization: Bearer &lt;token-jwt&gt;
  * </pre>
  *
+ * <p>No se carga con el perfil {@code prod}: en producción {@code application-prod.yml} desactiva
+ * springdoc por completo, lo que evita el escaneo de controladores al arrancar.</p>
+ *
  * @author Bytes
  * @see OpenAPI
  * @see SecurityScheme
  */
 @Configuration
+@Profile("!prod")
 public class SwaggerConfig {
 
     /**
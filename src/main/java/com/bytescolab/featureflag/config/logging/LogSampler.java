@@ -0,0 +1,50 @@
+package com.bytescolab.featureflag.config.logging;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limita una traza repetitiva a una línea por intervalo.
+ *
+ * <p>Pensado para los caminos calientes (una traza por petición): en lugar de escribir cada
+ * ocurrencia, se escribe la primera de cada intervalo junto con el número de ocurrencias
+ * agrupadas desde la anterior. No bloquea: las ocurrencias descartadas solo incrementan un
+ * contador.</p>
+ *
+ * <pre>{@code
+ * long count = sampler.sample();
+ * if (count > 0) {
+ *     log.warn("Token nulo o formato inválido ({} peticiones)", count);
+ * }
+ * }</pre>
+ *
+ * @author Bytes
+ */
+public final class LogSampler {
+
+    private final long intervalNanos;
+    private final AtomicLong nextLogAt;
+    private final LongAdder suppressed = new LongAdder();
+
+    public LogSampler(Duration interval) {
+        this.intervalNanos = interval.toNanos();
+        this.nextLogAt = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Registra una ocurrencia.
+     *
+     * @return {@code 0} si la ocurrencia no debe escribirse; en caso contrario, el número de
+     * ocurrencias que representa la línea (esta más las agrupadas desde la última escrita).
+     */
+    public long sample() {
+        long now = System.nanoTime();
+        long next = nextLogAt.get();
+        if (now - next < 0 || !nextLogAt.compareAndSet(next, now + intervalNanos)) {
+            suppressed.increment();
+            return 0;
+        }
+        return suppressed.sumThenReset() + 1;
+    }
+}
@@ -0,0 +1,60 @@
+package com.bytescolab.featureflag.config.logging;
+
+import ch.qos.logback.classic.pattern.MessageConverter;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Conversor de Logback ({@code %redactedMsg}) que oculta los tokens JWT de los mensajes.
+ *
+ * <p>Es la red de seguridad de {@code logback-spring.xml}: aunque una traza incluya por error
+ * un token o una cabecera {@code Authorization}, en el fichero solo quedan {@code ***} y los
+ * cuatro últimos caracteres del token. Los mensajes sin {@code eyJ} (la inmensa mayoría) se devuelven
+ * sin pasar por la expresión regular.</p>
+ *
+ * @author Bytes
+ */
+public class RedactingMessageConverter extends MessageConverter {
+
+    private static final String JWT_PREFIX = "eyJ";
+    private static final Pattern JWT = Pattern.compile("eyJ[A-Za-z0-9_-]*\\.[A-Za-z0-9_-]+\\.[A-Za-z0-9_-]*");
+
+    @Override
+    public String convert(ILoggingEvent event) {
+        return redact(super.convert(event));
+    }
+
+    /**
+     * Sustituye los tokens JWT de un texto por una versión abreviada.
+     *
+     * @param text texto a revisar; puede ser {@code null}.
+     * @return el texto sin tokens completos.
+     */
+    public static String redact(String text) {
+        if (text == null || !text.contains(JWT_PREFIX)) {
+            return text;
+        }
+        Matcher matcher = JWT.matcher(text);
+        StringBuilder redacted = new StringBuilder(text.length());
+        while (matcher.find()) {
+            matcher.appendReplacement(redacted, Matcher.quoteReplacement(token(matcher.group())));
+        }
+        matcher.appendTail(redacted);
+        return redacted.toString();
+    }
+
+    /**
+     * Abrevia un token para poder correlacionar trazas sin exponerlo.
+     *
+     * @param token token en claro.
+     * @return {@code ***} seguido de los cuatro últimos caracteres del token.
+     */
+    public static String token(String token) {
+        if (token == null) {
+            return null;
+        }
+        return token.length() <= 8 ? "***" : "***" + token.substring(token.length() - 4);
+    }
+}
@@ -0,0 +1,52 @@
+package com.bytescolab.featureflag.config.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Cuenta las sentencias SQL que Hibernate envía a la base de datos.
+ *
+ * <p>Se registra como {@link StatementInspector} de Hibernate y, además del total global
+ * ({@code featureflag.db.queries}), lleva un contador por hilo. Quien quiera saber cuántas
+ * consultas ha lanzado un fragmento de código lee {@link #current()} antes y después;
+ * así se mide, por ejemplo, cuántas evaluaciones de features han tenido que ir a base de datos.</p>
+ *
+ * @author Bytes
+ */
+@Component
+public class DbQueryCounter implements StatementInspector, HibernatePropertiesCustomizer {
+
+    private final Counter queries;
+    private final ThreadLocal<long[]> perThread = ThreadLocal.withInitial(() -> new long[1]);
+
+    public DbQueryCounter(MeterRegistry meterRegistry) {
+        this.queries = Counter.builder("featureflag.db.queries")
+                .description("Sentencias SQL ejecutadas por Hibernate")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        perThread.get()[0]++;
+        queries.increment();
+        return sql;
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+
+    /**
+     * @return número de sentencias ejecutadas hasta ahora por el hilo actual.
+     */
+    public long current() {
+        return perThread.get()[0];
+    }
+}
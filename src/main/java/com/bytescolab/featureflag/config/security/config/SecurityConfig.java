@@ -4,6 +4,7 @@ package com.bytescolab.featureflag.config.security.config;
 import com.bytescolab.featureflag.config.security.handlers.RestAuthenticationEntryPoint;
 import com.bytescolab.featureflag.config.security.jwt.JwtFilter;
 import lombok.RequiredArgsConstructor;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -32,7 +33,11 @@ import com.bytescolab.featureflag.config.security.handlers.RestAccessDeniedHandl
  *   <li>Configura un {@link PasswordEncoder} seguro basado en {@link BCryptPasswordEncoder}.</li>
  *   <li>Define endpoints públicos accesibles sin autenticación
  *       ({@code /api/auth/**}, {@code /swagger-ui/**}, {@code /v3/api-docs/**}, entre otros).</li>
+ *   <li>Deja pública la comprobación de salud ({@code /actuator/health}) y reserva el resto de
+ *       endpoints de Actuator, como {@code /actuator/prometheus}, al rol {@code ADMIN}.</li>
  *   <li>Protege el resto de endpoints, requiriendo autenticación mediante JWT.</li>
+ *   <li>Permite los despachos {@code ASYNC} (por ejemplo, el cierre del stream SSE), cuya petición
+ *       original ya fue autorizada.</li>
  *   <li>Configura la política de sesión como {@link SessionCreationPolicy#STATELESS},
  *       evitando el uso de sesiones en servidor.</li>
  *   <li>Registra manejadores personalizados para excepciones de autenticación y autorización:
@@ -80,11 +85,14 @@ public class SecurityConfig {
         http
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/api/auth/**",
                                 "/v3/api-docs/**",
                                 "/swagger-ui/**",
                                 "/swagger-ui.html",
-                                "/error" ).permitAll()
+                                "/error",
+                                "/actuator/health/**").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session -> session
@@ -0,0 +1,16 @@
+package com.bytescolab.featureflag.config.security.jwt;
+
+import java.util.List;
+
+/**
+ * Datos de un token JWT ya verificado, obtenidos con un único parseo.
+ *
+ * @param username         nombre de usuario (subject del token).
+ * @param issuedAtMillis   instante de emisión en milisegundos, o {@code 0} si el token no lo incluye.
+ * @param expiresAtMillis  instante de expiración en milisegundos.
+ * @param roles            autoridades incluidas en el claim {@code roles} (por ejemplo {@code ROLE_ADMIN}).
+ * @author Bytes
+ * @see JwtUtils#parse(String)
+ */
+public record JwtClaims(String username, long issuedAtMillis, long expiresAtMillis, List<String> roles) {
+}
@@ -1,5 +1,7 @@
 package com.bytescolab.featureflag.config.security.jwt;
 
+import com.bytescolab.featureflag.config.logging.LogSampler;
+import com.bytescolab.featureflag.config.logging.RedactingMessageConverter;
 import com.bytescolab.featureflag.exception.*;
 import org.springframework.security.core.userdetails.UserDetailsService;
 
@@ -11,12 +13,14 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.time.Duration;
 /**
  * Filtro de seguridad para la validación de tokens JWT en cada petición HTTP.
  * <p>
@@ -29,8 +33,16 @@ import java.io.IOException;
  * <ul>
  *   <li>Excluye rutas que comiencen con <b>/api/auth/</b> para permitir el acceso sin autenticación.</li>
  *   <li>Valida el formato del token en la cabecera ({@code Bearer <token>}).</li>
- *   <li>Extrae el nombre de usuario del token y lo carga desde la base de datos
- *   usando {@link UserDetailsService}.</li>
+ *   <li>Busca el token en {@link JwtTokenCache}; si ya fue verificado, reutiliza el usuario resuelto
+ *   sin volver a parsear el token ni consultar la base de datos.</li>
+ *   <li>En caso contrario, verifica firma y vigencia con un único parseo, carga el usuario
+ *   usando {@link UserDetailsService} y guarda el resultado en caché hasta la expiración del token.</li>
+ *   <li>Con {@code jwt.stateless.enabled=true}, si el rol del usuario no ha cambiado desde la emisión
+ *   del token (ver {@link RoleVersionRegistry}), las autoridades se toman del claim {@code roles}
+ *   sin consultar la base de datos.</li>
+ *   <li>Registra en {@link JwtMetrics} los aciertos de caché y el tiempo de cada verificación.</li>
+ *   <li>No escribe trazas por petición correcta; las de peticiones sin token o con token rechazado
+ *   se muestrean con {@link LogSampler} y el token nunca se registra completo.</li>
  *   <li>Si el token es válido, crea un {@link UsernamePasswordAuthenticationToken} y lo
  *   almacena en el {@link SecurityContextHolder} para autenticar al usuario en el contexto de Spring Security.</li>
  *   <li>Maneja errores de validación del token lanzando {@link ApiException} con códigos definidos en {@link ErrorCodes}.</li>
@@ -42,6 +54,9 @@ import java.io.IOException;
  *
  * @author Bytes
  * @see JwtUtils
+ * @see JwtTokenCache
+ * @see RoleVersionRegistry
+ * @see JwtMetrics
  * @see UserDetailsService
  * @see ApiException
  * @see ErrorCodes
@@ -51,8 +66,15 @@ import java.io.IOException;
 @RequiredArgsConstructor
 public class JwtFilter extends OncePerRequestFilter {
 
+    /** Como mucho una traza cada 10 s por peticiones sin token o con token rechazado. */
+    private static final LogSampler MISSING_TOKEN_LOG = new LogSampler(Duration.ofSeconds(10));
+    private static final LogSampler REJECTED_TOKEN_LOG = new LogSampler(Duration.ofSeconds(10));
+
     private final JwtUtils jwtUtils;
     private final UserDetailsService userDetailsService;
+    private final JwtTokenCache jwtTokenCache;
+    private final RoleVersionRegistry roleVersionRegistry;
+    private final JwtMetrics jwtMetrics;
 
     /**
      * Intercepta cada petición HTTP para validar si contiene un token JWT válido.
@@ -76,46 +98,89 @@ public class JwtFilter extends OncePerRequestFilter {
         }
 
         final String authHeader = request.getHeader("Authorization");
-        log.info("Recogemos el token {}", authHeader);
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
-            log.warn("Token nulo o formato inválido.");
+            long count = MISSING_TOKEN_LOG.sample();
+            if (count > 0) {
+                log.warn("Token nulo o formato inválido ({} peticiones desde la última traza).", count);
+            }
             return;
         }
 
         String jwt = authHeader.substring(7);
+        if (log.isDebugEnabled()) {
+            log.debug("Token recibido {} en {}", RedactingMessageConverter.token(jwt), uri);
+        }
+
+        if (SecurityContextHolder.getContext().getAuthentication() != null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
 
+        long verificationStart = 0L;
         try {
-            String username = jwtUtils.extractUsername(jwt);
-
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-
-                if (jwtUtils.isTokenValid(jwt, userDetails)) {
-                    UsernamePasswordAuthenticationToken authToken =
-                            new UsernamePasswordAuthenticationToken(
-                                    userDetails,
-                                    null,
-                                    userDetails.getAuthorities()
-                            );
-
-                    log.info("Usuario autenticado correctamente: {}", username);
-                    log.debug("Rol del usuario: {}", userDetails.getAuthorities());
-
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                } else {
-                    log.error("Token no válido para usuario {}", username);
+            UserDetails userDetails = jwtTokenCache.get(jwt);
+
+            if (userDetails != null) {
+                jwtMetrics.cacheHit();
+            } else {
+                verificationStart = jwtMetrics.cacheMiss();
+                JwtClaims claims = jwtUtils.parse(jwt);
+                String username = claims.username();
+                // Leída antes de comprobar o cargar los roles: put descarta la entrada si el
+                // usuario se invalida mientras tanto.
+                long generation = username == null ? 0L : jwtTokenCache.generation(username);
+
+                if (username != null && isStateless(claims)) {
+                    userDetails = User.withUsername(username)
+                            .password("")
+                            .authorities(claims.roles().toArray(String[]::new))
+                            .build();
+                    jwtTokenCache.put(jwt, userDetails, claims.expiresAtMillis(), generation);
+                    jwtMetrics.verified(verificationStart, true);
+                    log.debug("Usuario autenticado a partir de los claims del token: {}", username);
+                } else if (username != null) {
+                    UserDetails loaded = userDetailsService.loadUserByUsername(username);
+
+                    if (username.equals(loaded.getUsername())) {
+                        jwtTokenCache.put(jwt, loaded, claims.expiresAtMillis(), generation);
+                        userDetails = loaded;
+                        jwtMetrics.verified(verificationStart, false);
+                        log.debug("Usuario autenticado correctamente: {}", username);
+                    } else {
+                        log.error("Token no válido para usuario {}", username);
+                    }
+                }
+                if (userDetails == null) {
+                    jwtMetrics.rejected(verificationStart);
                 }
             }
 
+            if (userDetails != null) {
+                UsernamePasswordAuthenticationToken authToken =
+                        new UsernamePasswordAuthenticationToken(
+                                userDetails,
+                                null,
+                                userDetails.getAuthorities()
+                        );
+
+                log.debug("Rol del usuario: {}", userDetails.getAuthorities());
+
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authToken);
+            }
+
         } catch (ApiException e) {
-            switch (e.getCode()) {
-                case ErrorCodes.TOKEN_EXPIRADO -> log.error("Token expirado: {}", e.getMessage());
-                case ErrorCodes.TOKEN_MALFORMADO -> log.error("Token mal formado: {}", e.getMessage());
-                case ErrorCodes.TOKEN_INVALIDO -> log.error("Error al validar el token JWT: {}", e.getMessage());
-                default -> log.error("Error JWT desconocido [{}]: {}", e.getCode(), e.getMessage());
+            jwtMetrics.rejected(verificationStart);
+            long count = REJECTED_TOKEN_LOG.sample();
+            if (count > 0) {
+                switch (e.getCode()) {
+                    case ErrorCodes.TOKEN_EXPIRADO -> log.error("Token expirado: {} ({} rechazos desde la última traza)", e.getMessage(), count);
+                    case ErrorCodes.TOKEN_MALFORMADO -> log.error("Token mal formado: {} ({} rechazos desde la última traza)", e.getMessage(), count);
+                    case ErrorCodes.TOKEN_INVALIDO -> log.error("Error al validar el token JWT: {} ({} rechazos desde la última traza)", e.getMessage(), count);
+                    default -> log.error("Error JWT desconocido [{}]: {} ({} rechazos desde la última traza)", e.getCode(), e.getMessage(), count);
+                }
             }
             SecurityContextHolder.clearContext();
             throw e;
@@ -123,4 +188,10 @@ public class JwtFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    private boolean isStateless(JwtClaims claims) {
+        return roleVersionRegistry.isStatelessEnabled()
+                && !claims.roles().isEmpty()
+                && roleVersionRegistry.isCurrent(claims.username(), claims.issuedAtMillis());
+    }
+}
@@ -0,0 +1,76 @@
+package com.bytescolab.featureflag.config.security.jwt;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Métricas de autenticación JWT registradas por {@link JwtFilter}.
+ *
+ * <ul>
+ *   <li>{@code featureflag.jwt.cache}: búsquedas en {@link JwtTokenCache}, con {@code result=hit|miss}.</li>
+ *   <li>{@code featureflag.jwt.verification}: tiempo de verificar un token que no estaba en caché.
+ *   La etiqueta {@code outcome} indica si el usuario salió de los claims ({@code claims}), de base de
+ *   datos ({@code database}) o si el token fue rechazado ({@code rejected}).</li>
+ * </ul>
+ *
+ * @author Bytes
+ * @see JwtFilter
+ */
+@Component
+public class JwtMetrics {
+
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+    private final Timer fromClaims;
+    private final Timer fromDatabase;
+    private final Timer rejected;
+
+    public JwtMetrics(MeterRegistry meterRegistry) {
+        this.cacheHits = cacheCounter(meterRegistry, "hit");
+        this.cacheMisses = cacheCounter(meterRegistry, "miss");
+        this.fromClaims = verificationTimer(meterRegistry, "claims");
+        this.fromDatabase = verificationTimer(meterRegistry, "database");
+        this.rejected = verificationTimer(meterRegistry, "rejected");
+    }
+
+    public void cacheHit() {
+        cacheHits.increment();
+    }
+
+    /**
+     * Registra un fallo de caché y devuelve el instante de inicio de la verificación.
+     *
+     * @return marca de tiempo a pasar a {@link #verified(long, boolean)} o {@link #rejected(long)}.
+     */
+    public long cacheMiss() {
+        cacheMisses.increment();
+        return System.nanoTime();
+    }
+
+    public void verified(long startNanos, boolean fromClaims) {
+        (fromClaims ? this.fromClaims : fromDatabase).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void rejected(long startNanos) {
+        rejected.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static Counter cacheCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("featureflag.jwt.cache")
+                .description("Búsquedas de tokens ya verificados en la caché")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static Timer verificationTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("featureflag.jwt.verification")
+                .description("Tiempo de verificación de un token JWT fuera de caché")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
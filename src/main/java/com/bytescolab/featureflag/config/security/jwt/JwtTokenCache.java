@@ -0,0 +1,166 @@
+package com.bytescolab.featureflag.config.security.jwt;
+
+import com.bytescolab.featureflag.service.user.event.UserRoleChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caché acotada de tokens JWT ya verificados.
+ *
+ * <p>Cada entrada se indexa por el hash SHA-256 del token (nunca por el token en claro)
+ * y guarda el {@link UserDetails} resuelto junto con la expiración leída de los claims.
+ * Así, {@link JwtFilter} solo verifica la firma y carga el usuario la primera vez que
+ * ve un token; las peticiones siguientes se resuelven con una búsqueda en memoria.</p>
+ *
+ * <h2>Reglas de caducidad:</h2>
+ * <ul>
+ *   <li>Una entrada deja de ser válida en cuanto vence el token del que procede.</li>
+ *   <li>Cuando se alcanza {@code jwt.cache.max-entries} se descartan primero las entradas
+ *   vencidas y, si no basta, un lote de entradas arbitrarias; el token descartado se
+ *   vuelve a verificar en su siguiente uso.</li>
+ *   <li>Al cambiar el rol de un usuario se eliminan todas sus entradas
+ *   (ver {@link UserRoleChangedEvent}).</li>
+ * </ul>
+ *
+ * <p>Una petición puede haber cargado el usuario, o comprobado sus roles, justo antes de un
+ * cambio de rol y registrar el token después de la invalidación. Para no conservar esos roles
+ * obsoletos durante toda la vida del token, cada usuario tiene una generación que se incrementa
+ * al invalidarlo: quien registra un token lee la generación antes de resolver el usuario
+ * ({@link #generation(String)}) y {@link #put} descarta la entrada si ha cambiado entretanto.</p>
+ *
+ * @author Bytes
+ * @see JwtFilter
+ */
+@Slf4j
+@Component
+public class JwtTokenCache {
+
+    private final int maxEntries;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    public JwtTokenCache(@Value("${jwt.cache.max-entries:10000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Devuelve el usuario asociado a un token previamente verificado.
+     *
+     * @param token token JWT en claro.
+     * @return el {@link UserDetails} resuelto, o {@code null} si el token no está en caché o ya ha vencido.
+     */
+    public UserDetails get(String token) {
+        String key = hash(token);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(System.currentTimeMillis())) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.userDetails();
+    }
+
+    /**
+     * Devuelve la generación actual de un usuario; debe leerse antes de resolverlo.
+     *
+     * @param username nombre del usuario.
+     * @return número de invalidaciones del usuario vistas por esta caché.
+     */
+    public long generation(String username) {
+        AtomicLong generation = generations.get(username);
+        return generation == null ? 0L : generation.get();
+    }
+
+    /**
+     * Registra un token ya verificado, salvo que el usuario se haya invalidado desde que se
+     * leyó {@code generation}.
+     *
+     * @param token            token JWT en claro.
+     * @param userDetails      usuario resuelto para el token.
+     * @param expiresAtMillis  instante de expiración del token, en milisegundos.
+     * @param generation       generación del usuario leída antes de resolverlo.
+     */
+    public void put(String token, UserDetails userDetails, long expiresAtMillis, long generation) {
+        if (maxEntries <= 0) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            evict();
+        }
+        String key = hash(token);
+        Entry entry = new Entry(userDetails, expiresAtMillis);
+        entries.put(key, entry);
+        // Se comprueba después de insertar: o bien se ve la nueva generación y se retira la
+        // entrada, o bien la inserción fue anterior y la elimina la propia invalidación.
+        if (generation(userDetails.getUsername()) != generation) {
+            entries.remove(key, entry);
+            log.debug("Token descartado: el usuario {} se invalidó durante la verificación", userDetails.getUsername());
+        }
+    }
+
+    /**
+     * Elimina todas las entradas de un usuario.
+     *
+     * @param username nombre del usuario.
+     */
+    public void invalidateUser(String username) {
+        generations.computeIfAbsent(username, key -> new AtomicLong()).incrementAndGet();
+        entries.values().removeIf(entry -> entry.userDetails().getUsername().equals(username));
+        log.debug("Tokens en caché invalidados para el usuario {}", username);
+    }
+
+    /**
+     * Invalida los tokens de un usuario una vez confirmado el cambio de rol.
+     *
+     * @param event evento con el usuario modificado.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserRoleChanged(UserRoleChangedEvent event) {
+        invalidateUser(event.username());
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void evict() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.isExpired(now));
+
+        int target = maxEntries - Math.max(1, maxEntries / 10);
+        Iterator<String> keys = entries.keySet().iterator();
+        while (entries.size() > target && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    private record Entry(UserDetails userDetails, long expiresAtMillis) {
+        boolean isExpired(long now) {
+            return expiresAtMillis <= now;
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package com.bytescolab.featureflag.config.security.jwt;
 
 import com.bytescolab.featureflag.exception.*;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
@@ -14,7 +16,11 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
 /**
  * Utilidad para la gestión de tokens JWT (JSON Web Tokens).
  * <p>
@@ -28,9 +34,13 @@ import java.util.Date;
  *   <li>Extraer el nombre de usuario (subject) de un token.</li>
  *   <li>Validar que un token sea auténtico y no haya expirado.</li>
  *   <li>Obtener la fecha de expiración de un token en milisegundos.</li>
+ *   <li>Obtener usuario, expiración y roles con un único parseo ({@link #parse(String)}).</li>
  *   <li>Mapear errores comunes de JWT a {@link ApiException} con códigos definidos en {@link ErrorCodes}.</li>
  * </ul>
  *
+ * <p>La clave de firma y el {@link JwtParser} (inmutable y seguro entre hilos) se construyen
+ * una sola vez al arrancar, por lo que verificar un token no reserva claves ni parsers nuevos.</p>
+ *
  * <h2>Excepciones lanzadas:</h2>
  * <ul>
  *   <li>{@link ApiException} con código {@code AUTH_001} si el token ha expirado.</li>
@@ -46,30 +56,49 @@ import java.util.Date;
 @Component
 public class JwtUtils {
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    private static final String ROLES_CLAIM = "roles";
+
+    private final long jwtExpirationMs;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
 
-    @Value("${jwt.expirationMs}")
-    private long jwtExpirationMs;
+    public JwtUtils(@Value("${jwt.secret}") String jwtSecret,
+                    @Value("${jwt.expirationMs}") long jwtExpirationMs) {
+        this.jwtExpirationMs = jwtExpirationMs;
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+    }
 
     public String generateToken(UserDetails userDetails) {
         return Jwts.builder()
                 .setSubject(userDetails.getUsername())
-                .claim("roles", userDetails.getAuthorities())
+                .claim(ROLES_CLAIM, userDetails.getAuthorities())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + jwtExpirationMs))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    public String extractUsername(String token) {
+    /**
+     * Verifica firma y vigencia del token con un único parseo y devuelve sus datos.
+     *
+     * @param token token JWT.
+     * @return usuario, emisión, expiración y roles del token.
+     * @throws ApiException si el token ha expirado, está mal formado o no es válido.
+     */
+    public JwtClaims parse(String token) {
+        Claims claims = extractClaims(token);
+        Date issuedAt = claims.getIssuedAt();
+        return new JwtClaims(
+                claims.getSubject(),
+                issuedAt != null ? issuedAt.getTime() : 0L,
+                claims.getExpiration().getTime(),
+                extractRoles(claims));
+    }
+
+    private Claims extractClaims(String token) {
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody()
-                    .getSubject();
+            return parser.parseClaimsJws(token).getBody();
         } catch (ExpiredJwtException e) {
             throw new ApiException(ErrorCodes.TOKEN_EXPIRADO, ErrorCodes.TOKEN_EXPIRADO_MSG);
         } catch (MalformedJwtException | UnsupportedJwtException e) {
@@ -79,41 +108,36 @@ public class JwtUtils {
         }
     }
 
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        String username = extractUsername(token);
-        return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
+    public String extractUsername(String token) {
+        return parse(token).username();
     }
 
-    private boolean isTokenExpired(String token) {
-        Date expiration = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getExpiration();
-        return expiration.before(new Date());
+    public boolean isTokenValid(String token, UserDetails userDetails) {
+        JwtClaims claims = parse(token);
+        return claims.username().equals(userDetails.getUsername()) && claims.expiresAtMillis() > System.currentTimeMillis();
     }
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-
+    public long extractExpirationMillis(String token) {
+        return parse(token).expiresAtMillis();
     }
 
-    public long extractExpirationMillis(String token) {
-        try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody()
-                    .getExpiration()
-                    .getTime();
-        } catch (ExpiredJwtException e) {
-            throw new ApiException(ErrorCodes.TOKEN_EXPIRADO, ErrorCodes.TOKEN_EXPIRADO_MSG);
-        } catch (MalformedJwtException | UnsupportedJwtException e) {
-            throw new ApiException(ErrorCodes.TOKEN_MALFORMADO, ErrorCodes.TOKEN_MALFORMADO_MSG);
-        } catch (JwtException | IllegalArgumentException e) {
-            throw new ApiException(ErrorCodes.TOKEN_INVALIDO, ErrorCodes.TOKEN_INVALIDO_MSG);
+    /**
+     * Lee el claim {@code roles}. Admite tanto cadenas ({@code "ROLE_ADMIN"}) como la forma
+     * serializada de {@code GrantedAuthority} ({@code {"authority": "ROLE_ADMIN"}}).
+     */
+    private static List<String> extractRoles(Claims claims) {
+        Object raw = claims.get(ROLES_CLAIM);
+        if (!(raw instanceof Collection<?> values)) {
+            return List.of();
+        }
+        List<String> roles = new ArrayList<>(values.size());
+        for (Object value : values) {
+            if (value instanceof String role) {
+                roles.add(role);
+            } else if (value instanceof Map<?, ?> map && map.get("authority") instanceof String role) {
+                roles.add(role);
+            }
         }
+        return List.copyOf(roles);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,117 @@
+package com.bytescolab.featureflag.config.security.jwt;
+
+import com.bytescolab.featureflag.repository.UserRepository;
+import com.bytescolab.featureflag.repository.projection.UserRoleChangeRow;
+import com.bytescolab.featureflag.service.user.event.UserRoleChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registro en memoria de los últimos cambios de rol de cada usuario.
+ *
+ * <p>Permite a {@link JwtFilter} confiar en el claim {@code roles} de un token sin consultar
+ * la tabla de usuarios: un token solo se acepta tal cual si se emitió después del último
+ * cambio de rol de su usuario. En caso contrario se vuelve a cargar el usuario.</p>
+ *
+ * <h2>Actualización:</h2>
+ * <ul>
+ *   <li>Los cambios hechos en este nodo se aplican al confirmarse ({@link UserRoleChangedEvent}).</li>
+ *   <li>Los hechos en otros nodos se leen periódicamente ({@code jwt.stateless.refresh-ms}),
+ *   consultando solo los usuarios con {@code role_updated_at} reciente.</li>
+ *   <li>Cada cambio detectado invalida también los tokens del usuario en {@link JwtTokenCache}.</li>
+ * </ul>
+ *
+ * <p>El modo sin estado es opcional ({@code jwt.stateless.enabled}); hasta completar la primera
+ * lectura ningún token se considera vigente, de modo que se consulta el usuario.</p>
+ *
+ * @author Bytes
+ * @see JwtFilter
+ */
+@Slf4j
+@Component
+public class RoleVersionRegistry {
+
+    /** Solape entre lecturas para no perder cambios confirmados con un instante anterior al último visto. */
+    private static final Duration OVERLAP = Duration.ofMinutes(1);
+
+    private final UserRepository userRepository;
+    private final JwtTokenCache jwtTokenCache;
+    private final boolean statelessEnabled;
+    private final Map<String, Long> roleChanges = new ConcurrentHashMap<>();
+    private volatile Instant watermark = Instant.EPOCH;
+    private volatile boolean loaded;
+
+    public RoleVersionRegistry(UserRepository userRepository,
+                               JwtTokenCache jwtTokenCache,
+                               @Value("${jwt.stateless.enabled:false}") boolean statelessEnabled) {
+        this.userRepository = userRepository;
+        this.jwtTokenCache = jwtTokenCache;
+        this.statelessEnabled = statelessEnabled;
+    }
+
+    /**
+     * @return {@code true} si está activa la autenticación a partir de los claims del token.
+     */
+    public boolean isStatelessEnabled() {
+        return statelessEnabled;
+    }
+
+    /**
+     * Indica si los roles de un token siguen vigentes.
+     *
+     * @param username       nombre del usuario.
+     * @param issuedAtMillis instante de emisión del token.
+     * @return {@code true} si el token se emitió después del último cambio de rol del usuario.
+     */
+    public boolean isCurrent(String username, long issuedAtMillis) {
+        if (!loaded) {
+            return false;
+        }
+        Long changedAt = roleChanges.get(username);
+        return changedAt == null || changedAt <= issuedAtMillis;
+    }
+
+    /**
+     * Lee los cambios de rol confirmados desde la última lectura.
+     */
+    @Scheduled(fixedDelayString = "${jwt.stateless.refresh-ms:30000}")
+    public void refresh() {
+        Instant since = loaded ? watermark.minus(OVERLAP) : Instant.EPOCH;
+        Instant newest = watermark;
+        for (UserRoleChangeRow row : userRepository.findRoleChangesSince(since)) {
+            record(row.username(), row.roleUpdatedAt().toEpochMilli());
+            if (row.roleUpdatedAt().isAfter(newest)) {
+                newest = row.roleUpdatedAt();
+            }
+        }
+        watermark = newest;
+        loaded = true;
+    }
+
+    /**
+     * Aplica un cambio de rol local una vez confirmada la transacción.
+     *
+     * @param event evento con el usuario modificado.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserRoleChanged(UserRoleChangedEvent event) {
+        record(event.username(), System.currentTimeMillis());
+    }
+
+    private void record(String username, long changedAt) {
+        Long previous = roleChanges.get(username);
+        if (previous == null || previous < changedAt) {
+            roleChanges.merge(username, changedAt, Math::max);
+            jwtTokenCache.invalidateUser(username);
+            log.debug("Cambio de rol registrado para el usuario {}", username);
+        }
+    }
+}
@@ -1,28 +1,44 @@
 package com.bytescolab.featureflag.controller;
 
+import com.bytescolab.featureflag.model.enums.AuditAction;
+import com.bytescolab.featureflag.repository.dto.audit.response.AuditEventPageDTO;
+import com.bytescolab.featureflag.repository.dto.audit.response.AuditEventResponseDTO;
 import com.bytescolab.featureflag.repository.dto.feature.request.FeatureConfigCreateRequestDTO;
 import com.bytescolab.featureflag.repository.dto.feature.request.FeatureCreateRequestDTO;
 import com.bytescolab.featureflag.repository.dto.feature.request.FeatureActivationRequestDTO;
+import com.bytescolab.featureflag.repository.dto.feature.request.FeatureBatchActivationRequestDTO;
+import com.bytescolab.featureflag.repository.dto.feature.request.FeatureEvaluationRequestDTO;
+import com.bytescolab.featureflag.repository.dto.feature.request.FeatureRolloutRequestDTO;
+import com.bytescolab.featureflag.repository.dto.feature.response.FeatureBatchActivationResponseDTO;
 import com.bytescolab.featureflag.repository.dto.feature.response.FeatureConfigResponseDTO;
 import com.bytescolab.featureflag.repository.dto.feature.response.FeatureDetailResponseDTO;
+import com.bytescolab.featureflag.repository.dto.feature.response.FeatureEvaluationResponseDTO;
+import com.bytescolab.featureflag.repository.dto.feature.response.FeatureStateResponseDTO;
+import com.bytescolab.featureflag.repository.dto.feature.response.FeatureSummaryPageDTO;
 import com.bytescolab.featureflag.repository.dto.feature.response.FeatureSummaryResponseDTO;
 import com.bytescolab.featureflag.model.enums.Environment;
 import com.bytescolab.featureflag.service.feature.FeatureService;
+import com.bytescolab.featureflag.service.feature.cache.FeatureResponseCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
-
+import java.io.IOException;
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
@@ -36,13 +52,28 @@ import java.util.UUID;
  * <p><b>Endpoints principales:</b></p>
  * <ul>
  *   <li><b>POST /api/features</b>: Crea una nueva feature.</li>
- *   <li><b>GET /api/features</b>: Lista todas las features disponibles, con filtros opcionales.</li>
+ *   <li><b>GET /api/features</b>: Lista las features disponibles, con filtros opcionales y paginación por cursor.</li>
  *   <li><b>GET /api/features/{id}</b>: Obtiene los detalles de una feature por ID.</li>
  *   <li><b>POST /api/features/{id}/enable</b>: Activa una feature para un cliente o entorno específico.</li>
  *   <li><b>POST /api/features/{id}/disable</b>: Desactiva una feature para un cliente o entorno específico.</li>
+ *   <li><b>POST /api/features/{id}/batch</b>: Activa o desactiva una feature para muchos clientes en una transacción.</li>
+ *   <li><b>PUT /api/features/{id}/rollout</b>: Activa una feature para un porcentaje de los clientes de un entorno.</li>
+ *   <li><b>GET /api/features/{id}/history</b>: Historial de auditoría de una feature, filtrable por rango de tiempo y paginado por cursor.</li>
  *   <li><b>GET /api/features/check</b>: Verifica si una feature está activa para un cliente y entorno.</li>
+ *   <li><b>GET /api/features/snapshot</b>: Estado completo de todas las features, para que los SDK evalúen en local.</li>
+ *   <li><b>GET /api/features/check/bulk</b>: Resuelve en una sola petición el estado de todas las features (o de un subconjunto) para un cliente y entorno.</li>
+ *   <li><b>POST /api/features/evaluate</b>: Evalúa features con un contexto de atributos, aplicando las reglas de segmentación.</li>
  * </ul>
  *
+ * <p><b>Peticiones condicionales:</b> las lecturas devuelven un ETag fuerte ({@code "<id>-<revisión>"}
+ * para una feature, {@code "fs-<huella>"} para listados y evaluación masiva, donde la huella es un hash
+ * de los pares (id, revisión) de todas las features). Si coincide con
+ * {@code If-None-Match} se responde {@code 304 Not Modified} sin invocar al servicio ni serializar la respuesta.</p>
+ *
+ * <p><b>Respuestas en caché:</b> el detalle de una feature y las páginas del listado se sirven desde
+ * {@link FeatureResponseCache}, que guarda el JSON ya serializado para cada revisión; se escribe
+ * directamente en la respuesta, sin pasar por Jackson.</p>
+ *
  * <p><b>Seguridad:</b></p>
  * <ul>
  *   <li>Los endpoints de administración (crear, activar y desactivar features) requieren rol <b>ADMIN</b>.</li>
@@ -61,15 +92,21 @@ import java.util.UUID;
 @Tag(name = "Feature", description = "Feature endpoints")
 public class FeatureController {
 
+    /** Cabecera con el cursor de la página siguiente del listado. */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final FeatureService featureService;
+    private final FeatureResponseCache responseCache;
 
     /**
      * Constructor para inyección de dependencias.
      *
      * @param featureService servicio encargado de la lógica de negocio relacionada con las features.
+     * @param responseCache  caché de respuestas serializadas de detalle y listado.
      */
-    public FeatureController(FeatureService featureService) {
+    public FeatureController(FeatureService featureService, FeatureResponseCache responseCache) {
         this.featureService = featureService;
+        this.responseCache = responseCache;
     }
 
     /**
@@ -99,33 +136,73 @@ public class FeatureController {
     }
 
     /**
-     * Lista todas las features disponibles, con posibilidad de filtrar por nombre y estado.
+     * Lista las features disponibles ordenadas por nombre, con filtros opcionales y paginación por cursor.
+     *
+     * <p>Si hay más resultados, la respuesta incluye la cabecera {@code X-Next-Cursor} con el valor
+     * a enviar en {@code after} para obtener la página siguiente.</p>
      *
      * @param enabled valor opcional para filtrar por estado (activada o no por defecto).
-     * @param name    valor opcional para filtrar por nombre.
+     * @param name    valor opcional para filtrar por nombre (contiene, sin distinguir mayúsculas).
+     * @param after   cursor devuelto por la página anterior (opcional).
+     * @param size    tamaño de página (por defecto 50, máximo 200).
+     * @param request  petición, usada para responder {@code 304} si el conjunto de flags no ha cambiado.
+     * @param response respuesta, en la que se escribe directamente el JSON en caché.
      * @return lista de {@link FeatureSummaryResponseDTO}, o {@code 204 No Content} si no existen resultados.
      */
     @GetMapping
-    @Operation(summary = "Listar todas las features", description = "Lista todas las features de todos los clientes y entornos")
+    @Operation(summary = "Listar todas las features", description = "Lista paginada (por cursor) de las features de todos los clientes y entornos")
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     public ResponseEntity<List<FeatureSummaryResponseDTO>> getAllFeatures(
             @RequestParam(required = false) Boolean enabled,
-            @RequestParam(required = false) String name) {
-        var featureList = featureService.getAllFeatures(enabled, name);
-        if (featureList.isEmpty()) return ResponseEntity.noContent().build();
-        return ResponseEntity.ok(featureList);
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer size,
+            WebRequest request,
+            HttpServletResponse response) throws IOException {
+        long flagSetFingerprint = featureService.getFlagSetFingerprint();
+        if (request.checkNotModified(flagSetETag(flagSetFingerprint))) return null;
+
+        if (responseCache.isEnabled()) {
+            FeatureResponseCache.Page cached = responseCache.page(new FeatureResponseCache.PageKey(enabled, name, after, size),
+                    flagSetFingerprint, () -> featureService.getAllFeatures(enabled, name, after, size));
+            if (cached.body() == null) return ResponseEntity.noContent().build();
+            if (cached.nextCursor() != null) {
+                response.setHeader(NEXT_CURSOR_HEADER, cached.nextCursor());
+            }
+            writeJson(response, cached.body());
+            return null;
+        }
+
+        FeatureSummaryPageDTO page = featureService.getAllFeatures(enabled, name, after, size);
+        if (page.getItems().isEmpty()) return ResponseEntity.noContent().build();
+
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            ok.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return ok.body(page.getItems());
     }
 
     /**
      * Obtiene los detalles de una feature específica.
      *
-     * @param id identificador único de la feature.
+     * @param id       identificador único de la feature.
+     * @param request  petición, usada para responder {@code 304} si la feature no ha cambiado.
+     * @param response respuesta, en la que se escribe directamente el JSON en caché.
      * @return {@link FeatureDetailResponseDTO} con información completa de la feature.
      */
     @GetMapping("/{id}")
     @Operation(summary = "Listar una feature", description = "Lista una feature definida por su ID")
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
-    public ResponseEntity<FeatureDetailResponseDTO> getFeatureById(@PathVariable UUID id) {
+    public ResponseEntity<FeatureDetailResponseDTO> getFeatureById(@PathVariable UUID id, WebRequest request,
+                                                                   HttpServletResponse response) throws IOException {
+        Long revision = featureService.getFeatureRevision(id);
+        if (revision != null && request.checkNotModified(featureETag(id, revision))) return null;
+
+        if (revision != null && responseCache.isEnabled()) {
+            writeJson(response, responseCache.detail(id, revision, () -> featureService.getFeatureById(id)));
+            return null;
+        }
         return ResponseEntity.ok(featureService.getFeatureById(id));
     }
 
@@ -159,12 +236,44 @@ public class FeatureController {
         return ResponseEntity.ok(featureService.disableFeatureForClientOrEnv(id, req));
     }
 
+    /**
+     * Activa o desactiva una feature para muchos clientes en una única operación.
+     *
+     * @param id  identificador único de la feature.
+     * @param req lista de (cliente, entorno, estado) a aplicar.
+     * @return el número de configuraciones creadas, modificadas y sin cambios.
+     */
+    @PostMapping("/{id}/batch")
+    @Operation(summary = "Activar/desactivar en lote", description = "Aplica en una transacción el estado de la feature para muchos clientes")
+    @PreAuthorize("hasAnyRole('ADMIN')")
+    public ResponseEntity<FeatureBatchActivationResponseDTO> applyBatch(@PathVariable UUID id,
+                                                                        @Valid @RequestBody FeatureBatchActivationRequestDTO req) {
+        return ResponseEntity.ok(featureService.applyBatch(id, req));
+    }
+
+    /**
+     * Fija el porcentaje de clientes de un entorno para los que la feature está activa.
+     * Los clientes se asignan de forma determinista a partir del par (feature, cliente).
+     *
+     * @param id  identificador único de la feature.
+     * @param req entorno y porcentaje del despliegue.
+     * @return la configuración global del entorno actualizada.
+     */
+    @PutMapping("/{id}/rollout")
+    @Operation(summary = "Despliegue porcentual", description = "Activa la feature para un porcentaje de los clientes de un entorno")
+    @PreAuthorize("hasAnyRole('ADMIN')")
+    public ResponseEntity<FeatureConfigResponseDTO> updateRollout(@PathVariable UUID id,
+                                                                  @Valid @RequestBody FeatureRolloutRequestDTO req) {
+        return ResponseEntity.ok(featureService.updateRollout(id, req));
+    }
+
     /**
      * Verifica si una feature está activa para un cliente en un entorno específico.
      *
      * @param featureId identificador único de la feature.
      * @param clientId  identificador del cliente.
      * @param env       entorno a verificar.
+     * @param request   petición, usada para responder {@code 304} si la feature no ha cambiado.
      * @return {@code true} si la feature está activa, {@code false} en caso contrario.
      */
     @GetMapping("/check")
@@ -172,7 +281,130 @@ public class FeatureController {
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     public ResponseEntity<Boolean> isFeatureActived(@RequestParam UUID featureId,
                                                     @RequestParam String clientId,
-                                                    @RequestParam Environment env) {
+                                                    @RequestParam Environment env,
+                                                    WebRequest request) {
+        if (isNotModified(featureId, request)) return null;
         return ResponseEntity.ok(featureService.isFeatureActived(featureId, clientId, env));
     }
+
+    /**
+     * Devuelve el estado completo de todas las features, con el ETag del conjunto de flags.
+     *
+     * <p>Los SDK lo descargan al arrancar y lo sondean con {@code If-None-Match}: mientras no
+     * cambie ninguna feature la respuesta es un {@code 304} sin cuerpo.</p>
+     *
+     * @param request petición, usada para responder {@code 304} si el conjunto de flags no ha cambiado.
+     * @return lista con el estado de cada feature, ordenada por nombre.
+     */
+    @GetMapping("/snapshot")
+    @Operation(summary = "Estado de todas las features", description = "Estado completo de las features para evaluarlas en local desde un SDK")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<List<FeatureStateResponseDTO>> getFeatureStates(WebRequest request) {
+        if (request.checkNotModified(flagSetETag())) return null;
+        return ResponseEntity.ok(featureService.getFeatureStates());
+    }
+
+    /**
+     * Resuelve en una única petición el estado de todas las features, o del subconjunto indicado,
+     * para un cliente y entorno.
+     *
+     * @param clientId   identificador del cliente.
+     * @param env        entorno a verificar.
+     * @param featureIds identificadores de las features a evaluar (opcional; por defecto, todas).
+     * @param request    petición, usada para responder {@code 304} si el conjunto de flags no ha cambiado.
+     * @return lista con el estado resuelto de cada feature, ordenada por nombre.
+     */
+    @GetMapping("/check/bulk")
+    @Operation(summary = "Comprobar varias features", description = "Comprobar en una sola petición el estado de todas las features, o de un subconjunto, para un cliente y entorno")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<List<FeatureEvaluationResponseDTO>> evaluateFeatures(@RequestParam String clientId,
+                                                                               @RequestParam Environment env,
+                                                                               @RequestParam(required = false) List<UUID> featureIds,
+                                                                               WebRequest request) {
+        if (request.checkNotModified(flagSetETag())) return null;
+        return ResponseEntity.ok(featureService.evaluateFeatures(clientId, env, featureIds));
+    }
+
+    /**
+     * Evalúa features para un cliente y entorno con un contexto de atributos, aplicando
+     * las reglas de segmentación (región, plan, versión de la aplicación...).
+     *
+     * @param req cliente, entorno, atributos y, opcionalmente, las features a evaluar.
+     * @return lista con el estado resuelto de cada feature, ordenada por nombre.
+     */
+    @PostMapping("/evaluate")
+    @Operation(summary = "Evaluar features con atributos", description = "Evalúa features aplicando las reglas de segmentación sobre los atributos indicados")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<List<FeatureEvaluationResponseDTO>> evaluateFeatures(@Valid @RequestBody FeatureEvaluationRequestDTO req) {
+        return ResponseEntity.ok(featureService.evaluateFeatures(req.getClientId(), req.getEnvironment(),
+                req.getFeatureIds(), req.getAttributes()));
+    }
+
+    /**
+     * Devuelve el historial de auditoría de una feature, del cambio más reciente al más antiguo.
+     *
+     * <p>Como en el listado de features, si hay más resultados la respuesta incluye la cabecera
+     * {@code X-Next-Cursor} con el valor a enviar en {@code after}. Cada página es una consulta
+     * acotada sobre el índice {@code (feature_id, occurred_at)}, de modo que recorrer un historial
+     * largo no carga nunca más de una página en memoria.</p>
+     *
+     * @param id          identificador único de la feature.
+     * @param from        instante mínimo, en ISO-8601 (opcional, inclusive).
+     * @param to          instante máximo, en ISO-8601 (opcional, exclusivo; por defecto, ahora).
+     * @param environment entorno por el que filtrar (opcional).
+     * @param action      tipo de cambio por el que filtrar (opcional).
+     * @param clientId    cliente por el que filtrar (opcional).
+     * @param after       cursor devuelto por la página anterior (opcional).
+     * @param size        tamaño de página (por defecto 50, máximo 500).
+     * @return lista de {@link AuditEventResponseDTO}, o {@code 204 No Content} si no existen resultados.
+     */
+    @GetMapping("/{id}/history")
+    @Operation(summary = "Historial de una feature", description = "Historial de auditoría de una feature por rango de tiempo, paginado por cursor")
+    @PreAuthorize("hasAnyRole('ADMIN')")
+    public ResponseEntity<List<AuditEventResponseDTO>> getFeatureHistory(@PathVariable UUID id,
+                                                                         @RequestParam(required = false) Instant from,
+                                                                         @RequestParam(required = false) Instant to,
+                                                                         @RequestParam(required = false) Environment environment,
+                                                                         @RequestParam(required = false) AuditAction action,
+                                                                         @RequestParam(required = false) String clientId,
+                                                                         @RequestParam(required = false) String after,
+                                                                         @RequestParam(required = false) Integer size) {
+        AuditEventPageDTO page = featureService.getFeatureHistory(id, from, to, environment, action, clientId, after, size);
+        if (page.getItems().isEmpty()) return ResponseEntity.noContent().build();
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
+
+    /**
+     * Comprueba {@code If-None-Match} contra la revisión de una feature antes de invocar al servicio.
+     * Si la feature no está en el snapshot no se genera ETag y la petición sigue su curso normal.
+     */
+    private boolean isNotModified(UUID featureId, WebRequest request) {
+        Long revision = featureService.getFeatureRevision(featureId);
+        return revision != null && request.checkNotModified(featureETag(featureId, revision));
+    }
+
+    private static String featureETag(UUID featureId, long revision) {
+        return "\"" + featureId + "-" + revision + "\"";
+    }
+
+    private String flagSetETag() {
+        return flagSetETag(featureService.getFlagSetFingerprint());
+    }
+
+    private static String flagSetETag(long flagSetFingerprint) {
+        return "\"fs-" + Long.toHexString(flagSetFingerprint) + "\"";
+    }
+
+    /** Escribe un JSON ya serializado como cuerpo de una respuesta {@code 200}. */
+    private static void writeJson(HttpServletResponse response, byte[] body) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
 }
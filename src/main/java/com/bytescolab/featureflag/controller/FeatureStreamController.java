@@ -0,0 +1,64 @@
+package com.bytescolab.featureflag.controller;
+
+import com.bytescolab.featureflag.service.feature.stream.FeatureChangeBroadcaster;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Controlador REST que expone el stream de cambios de features mediante Server-Sent Events.
+ *
+ * <p>Permite a los SDK mantener una copia local de las features y evaluarlas sin
+ * consultar la API en cada petición.</p>
+ *
+ * <p><b>Endpoints disponibles:</b></p>
+ * <ul>
+ *   <li><b>GET /api/features/stream</b>: Abre el stream. Sin versión, envía primero la instantánea
+ *   completa (evento {@code snapshot}); con {@code sinceVersion} o la cabecera {@code Last-Event-ID},
+ *   solo los cambios posteriores (eventos {@code feature-change}). El id de evento solo es válido
+ *   en la réplica y la ejecución que lo emitió; si no coincide se envía de nuevo la instantánea.</li>
+ * </ul>
+ *
+ * <p><b>Seguridad:</b> accesible para los roles <b>ADMIN</b> y <b>USER</b>.</p>
+ *
+ * @author Bytes
+ * @see FeatureChangeBroadcaster
+ */
+@RestController
+@RequestMapping("/api/features")
+@Tag(name = "Feature", description = "Feature endpoints")
+public class FeatureStreamController {
+
+    private final FeatureChangeBroadcaster featureChangeBroadcaster;
+
+    /**
+     * Constructor para inyección de dependencias.
+     *
+     * @param featureChangeBroadcaster componente que difunde los cambios de features.
+     */
+    public FeatureStreamController(FeatureChangeBroadcaster featureChangeBroadcaster) {
+        this.featureChangeBroadcaster = featureChangeBroadcaster;
+    }
+
+    /**
+     * Abre el stream de cambios de features.
+     *
+     * @param sinceVersion último id de evento recibido por el cliente (opcional).
+     * @param lastEventId  cabecera enviada por los clientes SSE al reconectar; se usa si no se indica {@code sinceVersion}.
+     * @return el emisor SSE de la suscripción.
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream de cambios", description = "Recibir por SSE los cambios de features, con reanudación desde una versión")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public SseEmitter stream(@RequestParam(required = false) String sinceVersion,
+                             @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+        return featureChangeBroadcaster.subscribe(sinceVersion != null ? sinceVersion : lastEventId);
+    }
+}
@@ -0,0 +1,128 @@
+package com.bytescolab.featureflag.controller;
+
+import com.bytescolab.featureflag.repository.dto.segment.request.SegmentCreateRequestDTO;
+import com.bytescolab.featureflag.repository.dto.segment.request.SegmentMembersRequestDTO;
+import com.bytescolab.featureflag.repository.dto.segment.response.SegmentResponseDTO;
+import com.bytescolab.featureflag.service.segment.SegmentService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Controlador REST para gestionar segmentos de clientes.
+ *
+ * <p>Un segmento es un conjunto reutilizable de clientes al que pueden referirse las
+ * configuraciones de cualquier feature ({@code segmentId} en
+ * {@code POST /api/features/{id}}), en lugar de crear una configuración por cliente.</p>
+ *
+ * <p><b>Endpoints disponibles:</b></p>
+ * <ul>
+ *   <li><b>POST /api/segments</b>: Crea un segmento.</li>
+ *   <li><b>GET /api/segments</b>: Lista los segmentos.</li>
+ *   <li><b>GET /api/segments/{id}</b>: Obtiene un segmento.</li>
+ *   <li><b>PUT /api/segments/{id}/members</b>: Sustituye los miembros de un segmento.</li>
+ *   <li><b>POST /api/segments/{id}/members</b>: Añade miembros a un segmento.</li>
+ * </ul>
+ *
+ * <p><b>Seguridad:</b> modificar segmentos requiere rol <b>ADMIN</b>; consultarlos, <b>ADMIN</b> o <b>USER</b>.</p>
+ *
+ * @author Bytes
+ * @see SegmentService
+ */
+@RestController
+@RequestMapping("/api/segments")
+@Tag(name = "Segment", description = "Segment endpoints")
+public class SegmentController {
+
+    private final SegmentService segmentService;
+
+    /**
+     * Constructor con inyección de dependencias.
+     *
+     * @param segmentService servicio de segmentos.
+     */
+    public SegmentController(SegmentService segmentService) {
+        this.segmentService = segmentService;
+    }
+
+    /**
+     * Crea un segmento de clientes.
+     *
+     * @param dto datos del segmento.
+     * @return el segmento creado y estado {@code 201 Created}.
+     */
+    @PostMapping
+    @Operation(summary = "Crear segmento", description = "Crea un segmento de clientes")
+    @PreAuthorize("hasAnyRole('ADMIN')")
+    public ResponseEntity<SegmentResponseDTO> createSegment(@Valid @RequestBody SegmentCreateRequestDTO dto) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(segmentService.createSegment(dto));
+    }
+
+    /**
+     * Lista los segmentos con su número de miembros.
+     *
+     * @return lista de segmentos.
+     */
+    @GetMapping
+    @Operation(summary = "Listar segmentos", description = "Lista los segmentos de clientes")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<List<SegmentResponseDTO>> getSegments() {
+        return ResponseEntity.ok(segmentService.getSegments());
+    }
+
+    /**
+     * Obtiene un segmento por su identificador.
+     *
+     * @param id identificador único del segmento.
+     * @return el segmento.
+     */
+    @GetMapping("/{id}")
+    @Operation(summary = "Obtener segmento", description = "Obtiene un segmento de clientes")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<SegmentResponseDTO> getSegment(@PathVariable UUID id) {
+        return ResponseEntity.ok(segmentService.getSegment(id));
+    }
+
+    /**
+     * Sustituye los miembros de un segmento.
+     *
+     * @param id  identificador único del segmento.
+     * @param dto nuevos miembros.
+     * @return el segmento actualizado.
+     */
+    @PutMapping("/{id}/members")
+    @Operation(summary = "Sustituir miembros", description = "Sustituye los clientes de un segmento")
+    @PreAuthorize("hasAnyRole('ADMIN')")
+    public ResponseEntity<SegmentResponseDTO> replaceMembers(@PathVariable UUID id,
+                                                             @Valid @RequestBody SegmentMembersRequestDTO dto) {
+        return ResponseEntity.ok(segmentService.replaceMembers(id, dto));
+    }
+
+    /**
+     * Añade miembros a un segmento.
+     *
+     * @param id  identificador único del segmento.
+     * @param dto clientes a añadir.
+     * @return el segmento actualizado.
+     */
+    @PostMapping("/{id}/members")
+    @Operation(summary = "Añadir miembros", description = "Añade clientes a un segmento")
+    @PreAuthorize("hasAnyRole('ADMIN')")
+    public ResponseEntity<SegmentResponseDTO> addMembers(@PathVariable UUID id,
+                                                         @Valid @RequestBody SegmentMembersRequestDTO dto) {
+        return ResponseEntity.ok(segmentService.addMembers(id, dto));
+    }
+}
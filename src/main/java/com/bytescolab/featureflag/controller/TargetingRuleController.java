@@ -0,0 +1,100 @@
+package com.bytescolab.featureflag.controller;
+
+import com.bytescolab.featureflag.repository.dto.feature.request.TargetingRuleCreateRequestDTO;
+import com.bytescolab.featureflag.repository.dto.feature.response.TargetingRuleResponseDTO;
+import com.bytescolab.featureflag.service.feature.TargetingRuleService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Controlador REST para gestionar las reglas de segmentación de una feature.
+ *
+ * <p>Las reglas permiten activar o desactivar una feature según atributos del contexto
+ * (región, plan, versión de la aplicación...). Se evalúan con
+ * {@code POST /api/features/evaluate}.</p>
+ *
+ * <p><b>Endpoints disponibles:</b></p>
+ * <ul>
+ *   <li><b>POST /api/features/{featureId}/rules</b>: Crea una regla.</li>
+ *   <li><b>GET /api/features/{featureId}/rules</b>: Lista las reglas en orden de evaluación.</li>
+ *   <li><b>DELETE /api/features/{featureId}/rules/{ruleId}</b>: Elimina una regla.</li>
+ * </ul>
+ *
+ * <p><b>Seguridad:</b> crear y eliminar reglas requiere rol <b>ADMIN</b>; listarlas, <b>ADMIN</b> o <b>USER</b>.</p>
+ *
+ * @author Bytes
+ * @see TargetingRuleService
+ */
+@RestController
+@RequestMapping("/api/features/{featureId}/rules")
+@Tag(name = "Feature", description = "Feature endpoints")
+public class TargetingRuleController {
+
+    private final TargetingRuleService targetingRuleService;
+
+    /**
+     * Constructor con inyección de dependencias.
+     *
+     * @param targetingRuleService servicio de reglas de segmentación.
+     */
+    public TargetingRuleController(TargetingRuleService targetingRuleService) {
+        this.targetingRuleService = targetingRuleService;
+    }
+
+    /**
+     * Crea una regla de segmentación para una feature.
+     *
+     * @param featureId identificador único de la feature.
+     * @param dto       datos de la regla.
+     * @return la regla creada y estado {@code 201 Created}.
+     */
+    @PostMapping
+    @Operation(summary = "Crear regla", description = "Crea una regla de segmentación para una feature")
+    @PreAuthorize("hasAnyRole('ADMIN')")
+    public ResponseEntity<TargetingRuleResponseDTO> createRule(@PathVariable UUID featureId,
+                                                               @Valid @RequestBody TargetingRuleCreateRequestDTO dto) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(targetingRuleService.createRule(featureId, dto));
+    }
+
+    /**
+     * Lista las reglas de una feature en orden de evaluación.
+     *
+     * @param featureId identificador único de la feature.
+     * @return lista de reglas.
+     */
+    @GetMapping
+    @Operation(summary = "Listar reglas", description = "Lista las reglas de segmentación de una feature")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<List<TargetingRuleResponseDTO>> getRules(@PathVariable UUID featureId) {
+        return ResponseEntity.ok(targetingRuleService.getRules(featureId));
+    }
+
+    /**
+     * Elimina una regla de una feature.
+     *
+     * @param featureId identificador único de la feature.
+     * @param ruleId    identificador único de la regla.
+     * @return {@code 204 No Content}.
+     */
+    @DeleteMapping("/{ruleId}")
+    @Operation(summary = "Eliminar regla", description = "Elimina una regla de segmentación de una feature")
+    @PreAuthorize("hasAnyRole('ADMIN')")
+    public ResponseEntity<Void> deleteRule(@PathVariable UUID featureId, @PathVariable UUID ruleId) {
+        targetingRuleService.deleteRule(featureId, ruleId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -76,6 +76,29 @@ public final class ErrorCodes {
     /**Mensaje descriptivo para {@link #FEATURE_EXISTS_CONFIG}*/
     public static final String FEATURE_EXISTS_CONFIG_MSG = "Ya existe una configuración para feature";
 
+    /** Código de error cuando no se encuentra una regla de segmentación de la feature. */
+    public static final String RULE_NOT_FOUND = "FF_006";
+    /** Mensaje descriptivo para {@link #RULE_NOT_FOUND}. */
+    public static final String RULE_NOT_FOUND_MSG = "Regla no encontrada";
+
+    /** Código de error cuando una regla de segmentación no es válida. */
+    public static final String RULE_INVALID = "FF_007";
+    /** Mensaje descriptivo para {@link #RULE_INVALID}. */
+    public static final String RULE_INVALID_MSG = "Regla no válida";
+
+    // ======================
+    // Segment errors
+    // ======================
+
+    /** Código de error cuando no se encuentra un segmento. */
+    public static final String SEGMENT_NOT_FOUND = "SEG_001";
+    /** Mensaje descriptivo para {@link #SEGMENT_NOT_FOUND}. */
+    public static final String SEGMENT_NOT_FOUND_MSG = "Segmento no encontrado";
+
+    /** Código de error cuando ya existe un segmento con el mismo nombre. */
+    public static final String SEGMENT_EXISTS = "SEG_002";
+    /** Mensaje descriptivo para {@link #SEGMENT_EXISTS}. */
+    public static final String SEGMENT_EXISTS_MSG = "El segmento ya existe";
 
     // ======================
     // User errors
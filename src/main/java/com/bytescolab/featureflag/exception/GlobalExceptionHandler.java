@@ -131,6 +131,10 @@ public class GlobalExceptionHandler {
             Map.entry(ErrorCodes.FEATURE_ENABLE, HttpStatus.CONFLICT),
             Map.entry(ErrorCodes.FEATURE_DISABLE, HttpStatus.CONFLICT),
             Map.entry(ErrorCodes.FEATURE_EXISTS_CONFIG, HttpStatus.CONFLICT),
+            Map.entry(ErrorCodes.RULE_NOT_FOUND, HttpStatus.NOT_FOUND),
+            Map.entry(ErrorCodes.RULE_INVALID, HttpStatus.BAD_REQUEST),
+            Map.entry(ErrorCodes.SEGMENT_NOT_FOUND, HttpStatus.NOT_FOUND),
+            Map.entry(ErrorCodes.SEGMENT_EXISTS, HttpStatus.CONFLICT),
             Map.entry(ErrorCodes.USER_NOT_FOUND, HttpStatus.NOT_FOUND),
             Map.entry(ErrorCodes.USER_EXISTS, HttpStatus.CONFLICT),
             Map.entry(ErrorCodes.BAD_PARAMS, HttpStatus.BAD_REQUEST)
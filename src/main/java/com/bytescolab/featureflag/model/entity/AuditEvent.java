@@ -0,0 +1,99 @@
+package com.bytescolab.featureflag.model.entity;
+
+import com.bytescolab.featureflag.model.enums.AuditAction;
+import com.bytescolab.featureflag.model.enums.Environment;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Entidad JPA que representa un evento de auditoría de una {@link Feature}.
+ *
+ * <p>La tabla <b>audit_events</b> es de solo inserción: la entidad es {@link Immutable}
+ * y no mantiene relaciones, de modo que el historial se conserva aunque la feature
+ * se renombre o desaparezca. Los estados anterior y posterior se guardan como JSON.</p>
+ *
+ * <h2>Campos principales:</h2>
+ * <ul>
+ *   <li><b>occurredAt</b>: Instante en que se produjo el cambio.</li>
+ *   <li><b>action</b>: Tipo de cambio ({@link AuditAction}).</li>
+ *   <li><b>featureId</b> y <b>featureName</b>: Feature afectada.</li>
+ *   <li><b>environment</b> y <b>clientId</b>: Ámbito del cambio, si aplica.</li>
+ *   <li><b>actor</b>: Usuario que realizó el cambio.</li>
+ *   <li><b>before</b> y <b>after</b>: Estado antes y después del cambio.</li>
+ * </ul>
+ *
+ * @author Bytes
+ * @see com.bytescolab.featureflag.service.audit.AuditEventWriter
+ */
+@Entity
+@Immutable
+@Data
+@Table(name = "audit_events", indexes = {
+        @Index(name = "ix_audit_events_feature_time", columnList = "feature_id, occurred_at"),
+        @Index(name = "ix_audit_events_time", columnList = "occurred_at")})
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AuditEvent {
+
+    /** Identificador único del evento (UUID generado automáticamente). */
+    @Id
+    @GeneratedValue(generator = "UUID")
+    private UUID id;
+
+    /** Instante en que se produjo el cambio. */
+    @Column(name = "occurred_at", nullable = false)
+    private Instant occurredAt;
+
+    /** Tipo de cambio. */
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private AuditAction action;
+
+    /** Identificador de la feature afectada. */
+    @Column(name = "feature_id", nullable = false)
+    private UUID featureId;
+
+    /** Nombre de la feature en el momento del cambio. */
+    @Column(name = "feature_name")
+    private String featureName;
+
+    /** Entorno afectado, o {@code null} si el cambio no es de un entorno. */
+    @Enumerated(EnumType.STRING)
+    private Environment environment;
+
+    /** Cliente afectado, o {@code null} si el cambio no es de un cliente. */
+    @Column(name = "client_id")
+    private String clientId;
+
+    /** Usuario que realizó el cambio. */
+    @Column(nullable = false)
+    private String actor;
+
+    /** Estado anterior, o {@code null} si no existía. */
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "before_state")
+    private Map<String, Object> before;
+
+    /** Estado posterior. */
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "after_state")
+    private Map<String, Object> after;
+}
@@ -7,6 +7,8 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -68,8 +70,18 @@ public class Feature {
     /** Indica si la feature está habilitada por defecto en ausencia de configuraciones específicas. */
     private Boolean enabledByDefault;
 
-    /** Lista de configuraciones asociadas a esta feature, organizadas por cliente y entorno. */
+    /** Revisión de la feature; se incrementa con cada cambio en ella o en sus configuraciones. */
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Long revision = 0L;
+
+    /**
+     * Lista de configuraciones asociadas a esta feature, organizadas por cliente y entorno.
+     * Al recorrer las de varias features se cargan por lotes en lugar de una consulta por feature.
+     */
     @OneToMany(mappedBy = "feature", cascade = CascadeType.ALL)
+    @BatchSize(size = 100)
     private List<FeatureConfig> configs;
 
     /**
@@ -6,6 +6,7 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
@@ -30,17 +31,26 @@ import java.util.UUID;
  * <ul>
  *   <li><b>Environment</b>: El entorno de despliegue ({@link com.bytescolab.featureflag.model.enums.Environment})
  *       como DEV, STAGING o PROD.</li>
- *   <li><b>ClientId</b>: El identificador único de un cliente al que aplica la configuración.</li>
+ *   <li><b>ClientId</b>: El identificador único de un cliente al que aplica la configuración,
+ *       o {@code null} para la configuración global del entorno.</li>
+ *   <li><b>Segment</b>: Un {@link Segment} de clientes al que aplica la configuración, en lugar
+ *       de una fila por cliente.</li>
  * </ul>
  *
  * <p>La entidad se persiste en la tabla <b>feature_configs</b> y aplica una restricción
- * de unicidad sobre la combinación de <code>feature_flag_id</code>, <code>environment</code> y <code>client_id</code>,
- * garantizando que no existan configuraciones duplicadas para la misma feature.</p>
+ * de unicidad sobre la combinación de <code>feature_id</code>, <code>environment</code> y <code>client_id</code>,
+ * garantizando que no existan configuraciones duplicadas para la misma feature. Su índice
+ * resuelve tanto la búsqueda por cliente como la configuración global del entorno.</p>
+ *
+ * <p>Como {@code NULL} no colisiona en un índice único, la unicidad de las configuraciones
+ * globales y de segmento en PostgreSQL la garantizan los índices parciales de
+ * {@code db/postgresql/feature-configs.sql}.</p>
  *
  * <h2>Relaciones:</h2>
  * <ul>
  *   <li>{@link Feature}: Relación muchos-a-uno con la entidad Feature,
  *   que indica a qué feature corresponde la configuración.</li>
+ *   <li>{@link Segment}: Relación muchos-a-uno opcional con el segmento al que aplica.</li>
  * </ul>
  *
  * <h2>Campos principales:</h2>
@@ -49,7 +59,10 @@ import java.util.UUID;
  *   <li><b>feature</b>: Referencia a la feature asociada.</li>
  *   <li><b>environment</b>: Entorno donde se aplica la configuración.</li>
  *   <li><b>clientId</b>: Identificador del cliente al que aplica.</li>
+ *   <li><b>segment</b>: Segmento al que aplica; excluyente con {@code clientId}.</li>
  *   <li><b>enabled</b>: Estado de la feature (true = activa, false = inactiva).</li>
+ *   <li><b>rolloutPercentage</b>: En configuraciones globales, porcentaje de clientes del entorno
+ *   para los que la feature está activa (despliegue progresivo).</li>
  * </ul>
  *
  * <p>Incluye el método de conveniencia {@link #isEnabled()} para consultar el estado de la feature.</p>
@@ -62,14 +75,16 @@ import java.util.UUID;
 @Data
 @Table(
         name = "feature_configs",
-        uniqueConstraints = {@UniqueConstraint(columnNames = {"feature_flag_id", "environment", "client_id"})}
+        uniqueConstraints = {@UniqueConstraint(
+                name = "uk_feature_configs_feature_env_client",
+                columnNames = {"feature_id", "environment", "client_id"})}
 )
 @AllArgsConstructor
 @NoArgsConstructor
 @Getter
 @Setter
 @Builder
-@ToString(exclude = "feature")
+@ToString(exclude = {"feature", "segment"})
 public class FeatureConfig {
 
     /** Identificador único de la configuración (UUID generado automáticamente). */
@@ -87,14 +102,26 @@ public class FeatureConfig {
     @Enumerated(EnumType.STRING)
     private Environment environment;
 
-    /** Identificador del cliente al que aplica la configuración. */
-    @Column(name = "client_id", nullable = false)
+    /** Identificador del cliente al que aplica la configuración, o {@code null} si es global del entorno. */
+    @Column(name = "client_id")
     private String clientId;
 
+    /** Segmento de clientes al que aplica la configuración, o {@code null} si no es de segmento. */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "segment_id")
+    private Segment segment;
+
     /** Estado de la feature en esta configuración: true = activa, false = inactiva. */
     @Column(nullable = false)
     private Boolean enabled = false;
 
+    /**
+     * Porcentaje (0-100) de clientes del entorno con la feature activa, o {@code null} si aplica a todos.
+     * Solo tiene sentido en configuraciones globales; los clientes se asignan con {@code RolloutBucket}.
+     */
+    @Column(name = "rollout_percentage")
+    private Integer rolloutPercentage;
+
     /**
      * Devuelve si la feature está habilitada en esta configuración.
      *
@@ -0,0 +1,73 @@
+package com.bytescolab.featureflag.model.entity;
+
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Entidad JPA que representa un segmento: un conjunto reutilizable de clientes
+ * al que pueden referirse las {@link FeatureConfig} de cualquier feature.
+ *
+ * <p>Los miembros se guardan una sola vez en la tabla <b>segment_members</b>, sin repetirse
+ * por feature. En memoria se mantienen como identificadores enteros de un diccionario de
+ * clientes compartido ({@code SegmentRegistry}).</p>
+ *
+ * <h2>Campos principales:</h2>
+ * <ul>
+ *   <li><b>id</b>: Identificador único del segmento (UUID).</li>
+ *   <li><b>name</b>: Nombre único del segmento.</li>
+ *   <li><b>description</b>: Descripción opcional.</li>
+ *   <li><b>clientIds</b>: Clientes que pertenecen al segmento.</li>
+ * </ul>
+ *
+ * @author Bytes
+ * @see FeatureConfig
+ */
+@Entity
+@Data
+@Table(name = "segments")
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ToString(exclude = "clientIds")
+public class Segment {
+
+    /** Identificador único del segmento (UUID generado automáticamente). */
+    @Id
+    @GeneratedValue(generator = "UUID")
+    private UUID id;
+
+    /** Nombre único del segmento. */
+    @Column(nullable = false, unique = true)
+    private String name;
+
+    /** Descripción breve del segmento. */
+    private String description;
+
+    /** Clientes que pertenecen al segmento; solo se cargan al modificarlos. */
+    @ElementCollection
+    @CollectionTable(
+            name = "segment_members",
+            joinColumns = @JoinColumn(name = "segment_id"),
+            uniqueConstraints = @UniqueConstraint(name = "uk_segment_members", columnNames = {"segment_id", "client_id"}),
+            indexes = @Index(name = "ix_segment_members_client", columnList = "client_id"))
+    @Column(name = "client_id", nullable = false)
+    @Builder.Default
+    private Set<String> clientIds = new HashSet<>();
+}
@@ -0,0 +1,36 @@
+package com.bytescolab.featureflag.model.entity;
+
+import com.bytescolab.featureflag.model.enums.ConditionOperator;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Condición de una {@link TargetingRule}: compara un atributo del contexto de evaluación
+ * (por ejemplo {@code region}, {@code plan} o {@code appVersion}) con uno o varios valores.
+ *
+ * <p>No es una entidad: las condiciones de una regla se guardan como JSON en la propia
+ * fila de la regla. El atributo especial {@code clientId} se resuelve con el cliente evaluado.</p>
+ *
+ * @author Bytes
+ * @see TargetingRule
+ * @see ConditionOperator
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TargetingCondition {
+
+    /** Nombre del atributo del contexto a comparar. */
+    private String attribute;
+
+    /** Operador de comparación. */
+    private ConditionOperator operator;
+
+    /** Valores de la condición; los operadores de comparación usan solo el primero. */
+    private List<String> values;
+}
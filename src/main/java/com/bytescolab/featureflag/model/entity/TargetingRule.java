@@ -0,0 +1,86 @@
+package com.bytescolab.featureflag.model.entity;
+
+import com.bytescolab.featureflag.model.enums.Environment;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Entidad JPA que representa una regla de segmentación de una {@link Feature}.
+ *
+ * <p>Una regla se cumple cuando se cumplen todas sus condiciones; en ese caso la feature
+ * toma el valor {@link #enabled} de la regla. Las reglas de una feature se evalúan por
+ * orden de {@link #priority} ascendente y gana la primera que se cumple. Si ninguna se cumple,
+ * se aplican la configuración global del entorno y, por último, {@code enabledByDefault}.</p>
+ *
+ * <p>La entidad se persiste en la tabla <b>targeting_rules</b>. Las condiciones se guardan
+ * como JSON en la columna <code>conditions</code>.</p>
+ *
+ * <h2>Campos principales:</h2>
+ * <ul>
+ *   <li><b>feature</b>: Feature a la que pertenece la regla.</li>
+ *   <li><b>environment</b>: Entorno al que aplica, o {@code null} para todos.</li>
+ *   <li><b>priority</b>: Orden de evaluación (menor primero).</li>
+ *   <li><b>enabled</b>: Resultado de la evaluación cuando la regla se cumple.</li>
+ *   <li><b>conditions</b>: Condiciones que deben cumplirse todas.</li>
+ * </ul>
+ *
+ * @author Bytes
+ * @see Feature
+ * @see TargetingCondition
+ */
+@Entity
+@Data
+@Table(name = "targeting_rules", indexes = @Index(name = "ix_targeting_rules_feature", columnList = "feature_id"))
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ToString(exclude = "feature")
+public class TargetingRule {
+
+    /** Identificador único de la regla (UUID generado automáticamente). */
+    @Id
+    @GeneratedValue(generator = "UUID")
+    private UUID id;
+
+    /** Feature a la que pertenece la regla. */
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "feature_id", nullable = false)
+    private Feature feature;
+
+    /** Entorno al que aplica la regla, o {@code null} si aplica a todos. */
+    @Column(name = "environment")
+    @Enumerated(EnumType.STRING)
+    private Environment environment;
+
+    /** Orden de evaluación: las reglas con menor prioridad se evalúan antes. */
+    @Column(nullable = false)
+    private Integer priority;
+
+    /** Estado de la feature cuando la regla se cumple. */
+    @Column(nullable = false)
+    private Boolean enabled;
+
+    /** Condiciones de la regla, todas obligatorias. */
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(nullable = false)
+    private List<TargetingCondition> conditions;
+}
@@ -4,6 +4,7 @@ import com.bytescolab.featureflag.model.enums.Role;
 
 import java.io.Serial;
 import java.io.Serializable;
+import java.time.Instant;
 import java.util.UUID;
 
 import jakarta.persistence.Column;
@@ -76,4 +77,8 @@ public class User implements Serializable {
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private Role role;
+
+    /** Instante del último cambio de rol; los tokens emitidos antes no se aceptan sin consultar el usuario. */
+    @Column(name = "role_updated_at")
+    private Instant roleUpdatedAt;
 }
@@ -0,0 +1,36 @@
+package com.bytescolab.featureflag.model.enums;
+
+/**
+ * Acciones registradas en la auditoría de features.
+ *
+ * @author Bytes
+ * @see com.bytescolab.featureflag.model.entity.AuditEvent
+ */
+public enum AuditAction {
+    /** Alta de una feature. */
+    FEATURE_CREATED,
+
+    /** Activación de una feature para un cliente o entorno. */
+    FEATURE_ENABLED,
+
+    /** Desactivación de una feature para un cliente o entorno. */
+    FEATURE_DISABLED,
+
+    /** Cambio del porcentaje de despliegue de un entorno. */
+    ROLLOUT_UPDATED,
+
+    /** Activación/desactivación en lote para muchos clientes. */
+    BATCH_APPLIED,
+
+    /** Alta de una configuración (cliente, entorno o segmento) de una feature. */
+    CONFIG_CREATED,
+
+    /** Alta de una regla de segmentación. */
+    RULE_CREATED,
+
+    /** Baja de una regla de segmentación. */
+    RULE_DELETED,
+
+    /** Cambio de los miembros de un segmento usado por la feature. */
+    SEGMENT_MEMBERS_CHANGED
+}
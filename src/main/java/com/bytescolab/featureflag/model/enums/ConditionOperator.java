@@ -0,0 +1,44 @@
+package com.bytescolab.featureflag.model.enums;
+
+/**
+ * Operadores disponibles en las condiciones de una regla de segmentación.
+ *
+ * <p>Los operadores de conjunto comparan el atributo como texto; los numéricos y de
+ * versión interpretan tanto el atributo como el valor de la condición. Si el atributo
+ * no existe o no puede interpretarse, la condición no se cumple (salvo {@link #NOT_IN},
+ * que se cumple cuando el atributo no está en la lista).</p>
+ *
+ * @author Bytes
+ * @see com.bytescolab.featureflag.model.entity.TargetingCondition
+ */
+public enum ConditionOperator {
+    /** El atributo es uno de los valores de la lista. */
+    IN,
+
+    /** El atributo no es ninguno de los valores de la lista. */
+    NOT_IN,
+
+    /** El atributo numérico es mayor que el valor. */
+    GT,
+
+    /** El atributo numérico es mayor o igual que el valor. */
+    GTE,
+
+    /** El atributo numérico es menor que el valor. */
+    LT,
+
+    /** El atributo numérico es menor o igual que el valor. */
+    LTE,
+
+    /** La versión ({@code major.minor.patch}) del atributo es mayor que el valor. */
+    SEMVER_GT,
+
+    /** La versión del atributo es mayor o igual que el valor. */
+    SEMVER_GTE,
+
+    /** La versión del atributo es menor que el valor. */
+    SEMVER_LT,
+
+    /** La versión del atributo es menor o igual que el valor. */
+    SEMVER_LTE
+}
@@ -0,0 +1,67 @@
+package com.bytescolab.featureflag.repository;
+
+import com.bytescolab.featureflag.model.entity.AuditEvent;
+import com.bytescolab.featureflag.model.enums.AuditAction;
+import com.bytescolab.featureflag.model.enums.Environment;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repositorio JPA para la persistencia de entidades {@link AuditEvent}.
+ *
+ * <p>Los eventos solo se insertan, en lotes, desde
+ * {@link com.bytescolab.featureflag.service.audit.AuditEventWriter}. El historial se lee con
+ * {@link #findHistory}, paginado por cursor sobre el índice {@code (feature_id, occurred_at)}.</p>
+ *
+ * @author Bytes
+ * @see AuditEvent
+ */
+@Repository
+public interface AuditEventRepository extends JpaRepository<AuditEvent, UUID> {
+
+    /**
+     * Página del historial de una feature, del evento más reciente al más antiguo.
+     *
+     * <p>La paginación es por cursor: se devuelven los eventos estrictamente anteriores a
+     * {@code (beforeTime, beforeId)} en el orden {@code occurredAt desc, id desc}, de modo
+     * que cada página cuesta lo mismo independientemente de su posición en el historial.
+     * Los filtros nulos no se aplican. Los lotes ({@code BATCH_APPLIED}) que abarcan varios
+     * entornos o clientes no tienen ninguno en sus columnas y se devuelven con cualquier filtro
+     * de entorno o cliente: quien consulta debe comprobar sus cambios en {@code after.changes}.</p>
+     *
+     * @param featureId   identificador de la feature.
+     * @param from        instante mínimo (inclusive).
+     * @param beforeTime  instante del cursor; para la primera página, el final del rango (exclusivo).
+     * @param beforeId    identificador del cursor, para desempatar eventos del mismo instante.
+     * @param environment entorno opcional.
+     * @param action      tipo de cambio opcional.
+     * @param clientId    cliente opcional.
+     * @param limit       número máximo de filas a devolver.
+     * @return la página de {@link AuditEvent}.
+     */
+    @Query("select e from AuditEvent e " +
+            "where e.featureId = :featureId " +
+            "and e.occurredAt >= :from " +
+            "and (e.occurredAt < :beforeTime or (e.occurredAt = :beforeTime and e.id < :beforeId)) " +
+            "and (:environment is null or e.environment = :environment " +
+            "     or (e.environment is null and e.action = com.bytescolab.featureflag.model.enums.AuditAction.BATCH_APPLIED)) " +
+            "and (:action is null or e.action = :action) " +
+            "and (:clientId is null or e.clientId = :clientId " +
+            "     or (e.clientId is null and e.action = com.bytescolab.featureflag.model.enums.AuditAction.BATCH_APPLIED)) " +
+            "order by e.occurredAt desc, e.id desc")
+    List<AuditEvent> findHistory(@Param("featureId") UUID featureId,
+                                 @Param("from") Instant from,
+                                 @Param("beforeTime") Instant beforeTime,
+                                 @Param("beforeId") UUID beforeId,
+                                 @Param("environment") Environment environment,
+                                 @Param("action") AuditAction action,
+                                 @Param("clientId") String clientId,
+                                 Limit limit);
+}
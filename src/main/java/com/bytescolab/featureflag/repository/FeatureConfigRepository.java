@@ -3,9 +3,15 @@ package com.bytescolab.featureflag.repository;
 import com.bytescolab.featureflag.model.entity.Feature;
 import com.bytescolab.featureflag.model.entity.FeatureConfig;
 import com.bytescolab.featureflag.model.enums.Environment;
+import com.bytescolab.featureflag.repository.projection.FeatureConfigRow;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -23,6 +29,12 @@ import java.util.UUID;
  *       Verifica si ya existe una configuración para un feature dado, cliente y entorno.</li>
  *   <li>{@link #findByFeatureIdAndEnvironmentAndClientIdIsNull(UUID, Environment)}:
  *       Busca la configuración por entorno cuando no está asociada a un cliente (configuración global).</li>
+ *   <li>{@link #updateEnabled(UUID, Environment, String, Boolean)}: Cambio de estado condicional en una sentencia.</li>
+ *   <li>{@link #findClientConfigs(UUID, Collection)}: Configuraciones de varios clientes en una consulta.</li>
+ *   <li>{@link #existsByFeatureIdAndEnvironmentAndSegmentId(UUID, Environment, UUID)} y
+ *       {@link #findFeatureIdsBySegmentId(UUID)}: Configuraciones que usan un segmento.</li>
+ *   <li>{@link #findAllRows()}, {@link #findRowsByFeatureId(UUID)} y {@link #findRowsByFeatureIdIn(Collection)}: Proyecciones ligeras usadas
+ *       para construir el snapshot de evaluación en memoria.</li>
  * </ul>
  *
  * <p>Al extender {@link JpaRepository}, hereda todos los métodos CRUD estándar
@@ -38,31 +50,130 @@ public interface FeatureConfigRepository extends JpaRepository<FeatureConfig, UU
 
     /**
      * Busca una configuración específica de un feature en un entorno y cliente concretos.
+     * Con {@code clientId} nulo devuelve la configuración global del entorno; las
+     * configuraciones de segmento nunca se devuelven.
      *
      * @param feature la entidad {@link Feature} asociada.
      * @param environment el entorno en el que aplica la configuración.
      * @param clientId el identificador del cliente.
      * @return un {@link Optional} que contiene la configuración si existe, o vacío en caso contrario.
      */
-    Optional<FeatureConfig> findByFeatureAndEnvironmentAndClientId(Feature feature, Environment environment, String clientId);
+    @Query("select c from FeatureConfig c where c.feature = :feature and c.environment = :environment " +
+            "and c.segment is null " +
+            "and (c.clientId = :clientId or (:clientId is null and c.clientId is null))")
+    Optional<FeatureConfig> findByFeatureAndEnvironmentAndClientId(@Param("feature") Feature feature,
+                                                                   @Param("environment") Environment environment,
+                                                                   @Param("clientId") String clientId);
 
     /**
      * Verifica si ya existe una configuración para un feature dado en un entorno y cliente específicos.
+     * Con {@code clientId} nulo comprueba la configuración global del entorno.
      *
      * @param feature la entidad {@link Feature} asociada.
      * @param environment el entorno en el que aplica la configuración.
      * @param clientId el identificador del cliente.
      * @return {@code true} si la configuración existe, {@code false} en caso contrario.
      */
-    boolean existsByFeatureAndEnvironmentAndClientId(Feature feature, Environment environment, String clientId);
+    @Query("select count(c) > 0 from FeatureConfig c where c.feature = :feature and c.environment = :environment " +
+            "and c.segment is null " +
+            "and (c.clientId = :clientId or (:clientId is null and c.clientId is null))")
+    boolean existsByFeatureAndEnvironmentAndClientId(@Param("feature") Feature feature,
+                                                     @Param("environment") Environment environment,
+                                                     @Param("clientId") String clientId);
 
     /**
-     * Busca una configuración de feature en un entorno específico sin cliente asociado (configuración global).
+     * Busca una configuración de feature en un entorno específico sin cliente ni segmento asociado
+     * (configuración global).
      *
      * @param featureId el identificador único de la {@link Feature}.
      * @param env el entorno en el que aplica la configuración.
      * @return un {@link Optional} con la configuración encontrada, o vacío si no existe.
      */
-    Optional<FeatureConfig> findByFeatureIdAndEnvironmentAndClientIdIsNull(UUID featureId, Environment env);
+    @Query("select c from FeatureConfig c where c.feature.id = :featureId and c.environment = :env " +
+            "and c.clientId is null and c.segment is null")
+    Optional<FeatureConfig> findByFeatureIdAndEnvironmentAndClientIdIsNull(@Param("featureId") UUID featureId,
+                                                                          @Param("env") Environment env);
+
+    /**
+     * Cambia el estado de una configuración por cliente (o global, con {@code clientId} nulo)
+     * solo si su estado actual es distinto del pedido, en una única sentencia.
+     *
+     * @param featureId   el identificador único de la {@link Feature}.
+     * @param environment el entorno de la configuración.
+     * @param clientId    el identificador del cliente, o {@code null} para la configuración global.
+     * @param enabled     el nuevo estado.
+     * @return {@code 1} si la configuración ha cambiado; {@code 0} si no existe o ya tenía ese estado.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update FeatureConfig c set c.enabled = :enabled " +
+            "where c.feature.id = :featureId and c.environment = :environment and c.segment is null " +
+            "and (c.clientId = :clientId or (:clientId is null and c.clientId is null)) " +
+            "and c.enabled <> :enabled")
+    int updateEnabled(@Param("featureId") UUID featureId,
+                      @Param("environment") Environment environment,
+                      @Param("clientId") String clientId,
+                      @Param("enabled") Boolean enabled);
+
+    /**
+     * Recupera en una única consulta las configuraciones por cliente de una feature para un
+     * conjunto de clientes, en todos los entornos. Se usa como lectura previa de las escrituras en lote.
+     *
+     * @param featureId el identificador único de la {@link Feature}.
+     * @param clientIds identificadores de los clientes.
+     * @return las configuraciones existentes de esos clientes.
+     */
+    @Query("select c from FeatureConfig c where c.feature.id = :featureId and c.segment is null " +
+            "and c.clientId in :clientIds")
+    List<FeatureConfig> findClientConfigs(@Param("featureId") UUID featureId,
+                                          @Param("clientIds") Collection<String> clientIds);
+
+    /**
+     * Verifica si ya existe una configuración de una feature para un segmento en un entorno.
+     *
+     * @param featureId el identificador único de la {@link Feature}.
+     * @param environment el entorno en el que aplica la configuración.
+     * @param segmentId el identificador del segmento.
+     * @return {@code true} si la configuración existe.
+     */
+    boolean existsByFeatureIdAndEnvironmentAndSegmentId(UUID featureId, Environment environment, UUID segmentId);
+
+    /**
+     * Identificadores de las features con alguna configuración que usa el segmento.
+     *
+     * @param segmentId el identificador del segmento.
+     * @return los identificadores de feature, sin repetir.
+     */
+    @Query("select distinct c.feature.id from FeatureConfig c where c.segment.id = :segmentId")
+    List<UUID> findFeatureIdsBySegmentId(@Param("segmentId") UUID segmentId);
+
+    /**
+     * Recupera todas las configuraciones como proyección de solo lectura, en una única consulta.
+     *
+     * @return una lista de {@link FeatureConfigRow}.
+     */
+    @Query("select new com.bytescolab.featureflag.repository.projection.FeatureConfigRow(" +
+            "c.feature.id, c.environment, c.clientId, c.enabled, c.rolloutPercentage, c.segment.id) from FeatureConfig c")
+    List<FeatureConfigRow> findAllRows();
+
+    /**
+     * Recupera las configuraciones de una feature como proyección de solo lectura.
+     *
+     * @param featureId el identificador único de la {@link Feature}.
+     * @return una lista de {@link FeatureConfigRow}, vacía si la feature no tiene configuraciones.
+     */
+    @Query("select new com.bytescolab.featureflag.repository.projection.FeatureConfigRow(" +
+            "c.feature.id, c.environment, c.clientId, c.enabled, c.rolloutPercentage, c.segment.id) from FeatureConfig c where c.feature.id = :featureId")
+    List<FeatureConfigRow> findRowsByFeatureId(@Param("featureId") UUID featureId);
+
+    /**
+     * Recupera las configuraciones de un conjunto de features como proyección de solo lectura,
+     * en una única consulta.
+     *
+     * @param featureIds identificadores de las features.
+     * @return una lista de {@link FeatureConfigRow}.
+     */
+    @Query("select new com.bytescolab.featureflag.repository.projection.FeatureConfigRow(" +
+            "c.feature.id, c.environment, c.clientId, c.enabled, c.rolloutPercentage, c.segment.id) from FeatureConfig c where c.feature.id in :featureIds")
+    List<FeatureConfigRow> findRowsByFeatureIdIn(@Param("featureIds") Collection<UUID> featureIds);
 
 }
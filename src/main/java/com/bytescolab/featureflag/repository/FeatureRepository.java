@@ -1,10 +1,20 @@
 package com.bytescolab.featureflag.repository;
 
 import com.bytescolab.featureflag.model.entity.Feature;
+import com.bytescolab.featureflag.repository.projection.FeatureRow;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -20,6 +30,13 @@ import java.util.UUID;
  *   <li>{@link #findByNameContainingIgnoreCase(String)}: Busca features cuyo nombre contenga un texto, sin distinguir mayúsculas/minúsculas.</li>
  *   <li>{@link #findByEnabledByDefaultAndNameContainingIgnoreCase(Boolean, String)}:
  *       Busca features filtrando tanto por estado de activación por defecto como por nombre parcial.</li>
+ *   <li>{@link #findAllRows()}, {@link #findRowById(UUID)} y {@link #findRowsByIdIn(Collection)}: Proyecciones ligeras usadas
+ *       para construir el snapshot de evaluación en memoria.</li>
+ *   <li>{@link #findByIdForUpdate(UUID)}: Lee y bloquea una feature para serializar sus escrituras.</li>
+ *   <li>{@link #computeFlagSetVersion()}: Versión del conjunto de flags, para reconciliar el snapshot entre réplicas.</li>
+ *   <li>{@link #findAllIds()}: Identificadores de todas las features, para la carga del snapshot por bloques.</li>
+ *   <li>{@link #incrementRevision(UUID)}: Incrementa la revisión de una feature tras cada escritura.</li>
+ *   <li>{@link #findPage(Boolean, String, String, Limit)}: Listado paginado por cursor con todos los filtros en SQL.</li>
  * </ul>
  *
  * <p>Al extender {@link JpaRepository}, hereda todos los métodos CRUD estándar
@@ -64,4 +81,92 @@ public interface FeatureRepository extends JpaRepository<Feature, UUID> {
      */
     List<Feature> findByEnabledByDefaultAndNameContainingIgnoreCase(Boolean enabled, String name);
 
+    /**
+     * Recupera todas las features como proyección de solo lectura.
+     *
+     * @return una lista de {@link FeatureRow} con los campos necesarios para la evaluación.
+     */
+    @Query("select new com.bytescolab.featureflag.repository.projection.FeatureRow(f.id, f.name, f.enabledByDefault, f.revision) " +
+            "from Feature f")
+    List<FeatureRow> findAllRows();
+
+    /**
+     * Calcula en base de datos la versión del conjunto de flags: la suma de {@code revision + 1}
+     * de todas las features, igual que {@code FeatureSnapshot#getFlagSetVersion()}.
+     *
+     * @return la versión del conjunto de flags persistido.
+     */
+    @Query("select coalesce(sum(f.revision + 1), 0L) from Feature f")
+    long computeFlagSetVersion();
+
+    /**
+     * Recupera los identificadores de todas las features, para cargar el snapshot por bloques.
+     *
+     * @return los identificadores de las features.
+     */
+    @Query("select f.id from Feature f")
+    List<UUID> findAllIds();
+
+    /**
+     * Recupera una feature como proyección de solo lectura.
+     *
+     * @param id identificador de la feature.
+     * @return un {@link Optional} con la {@link FeatureRow}, o vacío si no existe.
+     */
+    @Query("select new com.bytescolab.featureflag.repository.projection.FeatureRow(f.id, f.name, f.enabledByDefault, f.revision) " +
+            "from Feature f where f.id = :id")
+    Optional<FeatureRow> findRowById(@Param("id") UUID id);
+
+    /**
+     * Recupera un conjunto de features como proyección de solo lectura, en una única consulta.
+     *
+     * @param ids identificadores de las features.
+     * @return una lista de {@link FeatureRow} con las features existentes.
+     */
+    @Query("select new com.bytescolab.featureflag.repository.projection.FeatureRow(f.id, f.name, f.enabledByDefault, f.revision) " +
+            "from Feature f where f.id in :ids")
+    List<FeatureRow> findRowsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Recupera una feature bloqueando su fila ({@code SELECT ... FOR UPDATE}) hasta el fin de la
+     * transacción. Serializa las escrituras concurrentes sobre las configuraciones de la feature.
+     *
+     * @param id identificador de la feature.
+     * @return la feature bloqueada, o vacío si no existe.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select f from Feature f where f.id = :id")
+    Optional<Feature> findByIdForUpdate(@Param("id") UUID id);
+
+    /**
+     * Incrementa de forma atómica la revisión de una feature.
+     *
+     * @param id identificador de la feature.
+     * @return el número de filas actualizadas ({@code 0} si la feature no existe).
+     */
+    @Modifying
+    @Transactional
+    @Query("update Feature f set f.revision = f.revision + 1 where f.id = :id")
+    int incrementRevision(@Param("id") UUID id);
+
+    /**
+     * Recupera una página de features ordenadas por nombre, aplicando los filtros en base de datos
+     * y paginando por cursor (keyset): la página empieza en el primer nombre posterior a {@code after}.
+     *
+     * @param enabled     estado de activación por defecto, o {@code null} para no filtrar.
+     * @param namePattern patrón {@code LIKE} en minúsculas para el nombre, o {@code null} para no filtrar.
+     * @param after       último nombre de la página anterior ({@code ""} para la primera página).
+     * @param limit       número máximo de filas a devolver.
+     * @return la página de {@link Feature} ordenada por nombre.
+     */
+    @Query("select f from Feature f " +
+            "where (:enabled is null or f.enabledByDefault = :enabled) " +
+            "and (:namePattern is null or lower(f.name) like :namePattern escape '\\') " +
+            "and f.name > :after " +
+            "order by f.name asc")
+    List<Feature> findPage(@Param("enabled") Boolean enabled,
+                           @Param("namePattern") String namePattern,
+                           @Param("after") String after,
+                           Limit limit);
+
 }
@@ -0,0 +1,52 @@
+package com.bytescolab.featureflag.repository;
+
+import com.bytescolab.featureflag.model.entity.Segment;
+import com.bytescolab.featureflag.repository.projection.SegmentMemberRow;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repositorio JPA para gestionar la persistencia de entidades {@link Segment}.
+ *
+ * <h2>Consultas personalizadas:</h2>
+ * <ul>
+ *   <li>{@link #existsByName(String)}: Verifica si ya existe un segmento con ese nombre.</li>
+ *   <li>{@link #findAllMemberRows()} y {@link #findMemberIds(UUID)}: Miembros de los segmentos,
+ *       sin cargar las entidades, para construir la pertenencia en memoria.</li>
+ * </ul>
+ *
+ * @author Bytes
+ * @see Segment
+ */
+@Repository
+public interface SegmentRepository extends JpaRepository<Segment, UUID> {
+
+    /**
+     * @param name nombre del segmento.
+     * @return {@code true} si ya existe un segmento con ese nombre.
+     */
+    boolean existsByName(String name);
+
+    /**
+     * Recupera los miembros de todos los segmentos en una única consulta.
+     *
+     * @return una lista de {@link SegmentMemberRow}.
+     */
+    @Query("select new com.bytescolab.featureflag.repository.projection.SegmentMemberRow(s.id, m) " +
+            "from Segment s join s.clientIds m")
+    List<SegmentMemberRow> findAllMemberRows();
+
+    /**
+     * Recupera los miembros de un segmento.
+     *
+     * @param segmentId identificador del segmento.
+     * @return los identificadores de cliente del segmento.
+     */
+    @Query("select m from Segment s join s.clientIds m where s.id = :segmentId")
+    List<String> findMemberIds(@Param("segmentId") UUID segmentId);
+}
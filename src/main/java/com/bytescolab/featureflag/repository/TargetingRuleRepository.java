@@ -0,0 +1,71 @@
+package com.bytescolab.featureflag.repository;
+
+import com.bytescolab.featureflag.model.entity.TargetingRule;
+import com.bytescolab.featureflag.repository.projection.TargetingRuleRow;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repositorio JPA para gestionar la persistencia de entidades {@link TargetingRule}.
+ *
+ * <h2>Consultas personalizadas:</h2>
+ * <ul>
+ *   <li>{@link #findByIdAndFeatureId(UUID, UUID)}: Busca una regla concreta de una feature.</li>
+ *   <li>{@link #findRowsByFeatureIdOrderByPriority(UUID)}: Reglas de una feature en orden de evaluación.</li>
+ *   <li>{@link #findAllRows()} y {@link #findRowsByFeatureIdIn(Collection)}: Proyecciones ligeras usadas
+ *       para compilar las reglas del snapshot de evaluación en memoria.</li>
+ * </ul>
+ *
+ * @author Bytes
+ * @see TargetingRule
+ */
+@Repository
+public interface TargetingRuleRepository extends JpaRepository<TargetingRule, UUID> {
+
+    /**
+     * Busca una regla de una feature concreta.
+     *
+     * @param id        identificador de la regla.
+     * @param featureId identificador de la feature.
+     * @return un {@link Optional} con la regla, o vacío si no existe o pertenece a otra feature.
+     */
+    Optional<TargetingRule> findByIdAndFeatureId(UUID id, UUID featureId);
+
+    /**
+     * Recupera todas las reglas como proyección de solo lectura, en una única consulta.
+     *
+     * @return una lista de {@link TargetingRuleRow}.
+     */
+    @Query("select new com.bytescolab.featureflag.repository.projection.TargetingRuleRow(" +
+            "r.id, r.feature.id, r.environment, r.priority, r.enabled, r.conditions) from TargetingRule r")
+    List<TargetingRuleRow> findAllRows();
+
+    /**
+     * Recupera las reglas de una feature, en orden de evaluación.
+     *
+     * @param featureId identificador de la feature.
+     * @return una lista de {@link TargetingRuleRow}, vacía si la feature no tiene reglas.
+     */
+    @Query("select new com.bytescolab.featureflag.repository.projection.TargetingRuleRow(" +
+            "r.id, r.feature.id, r.environment, r.priority, r.enabled, r.conditions) from TargetingRule r " +
+            "where r.feature.id = :featureId order by r.priority")
+    List<TargetingRuleRow> findRowsByFeatureIdOrderByPriority(@Param("featureId") UUID featureId);
+
+    /**
+     * Recupera las reglas de un conjunto de features, en una única consulta.
+     *
+     * @param featureIds identificadores de las features.
+     * @return una lista de {@link TargetingRuleRow}.
+     */
+    @Query("select new com.bytescolab.featureflag.repository.projection.TargetingRuleRow(" +
+            "r.id, r.feature.id, r.environment, r.priority, r.enabled, r.conditions) from TargetingRule r " +
+            "where r.feature.id in :featureIds")
+    List<TargetingRuleRow> findRowsByFeatureIdIn(@Param("featureIds") Collection<UUID> featureIds);
+}
@@ -1,9 +1,14 @@
 package com.bytescolab.featureflag.repository;
 
 import com.bytescolab.featureflag.model.entity.User;
+import com.bytescolab.featureflag.repository.projection.UserRoleChangeRow;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -17,6 +22,7 @@ import java.util.UUID;
  * <ul>
  *   <li>{@link #findByUsername(String)}: Recupera un usuario a partir de su nombre de usuario.</li>
  *   <li>{@link #existsByUsername(String)}: Verifica si ya existe un usuario con el nombre dado.</li>
+ *   <li>{@link #findRoleChangesSince(Instant)}: Cambios de rol recientes, para la autenticación sin estado.</li>
  * </ul>
  *
  * <p>Al extender {@link JpaRepository}, hereda todos los métodos CRUD estándar
@@ -44,4 +50,14 @@ public interface UserRepository extends JpaRepository<User, UUID> {
      * @return {@code true} si existe un usuario con ese nombre, {@code false} en caso contrario.
      */
     boolean existsByUsername(String username);
+
+    /**
+     * Recupera los usuarios cuyo rol ha cambiado después del instante indicado.
+     *
+     * @param since instante a partir del cual buscar cambios (exclusivo).
+     * @return una lista de {@link UserRoleChangeRow}.
+     */
+    @Query("select new com.bytescolab.featureflag.repository.projection.UserRoleChangeRow(u.username, u.roleUpdatedAt) " +
+            "from User u where u.roleUpdatedAt > :since")
+    List<UserRoleChangeRow> findRoleChangesSince(@Param("since") Instant since);
 }
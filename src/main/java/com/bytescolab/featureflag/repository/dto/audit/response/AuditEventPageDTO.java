@@ -0,0 +1,34 @@
+package com.bytescolab.featureflag.repository.dto.audit.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página del historial de auditoría de una feature, paginada por cursor.
+ *
+ * <p>Como en el listado de features, el controlador devuelve {@link #items} como cuerpo y
+ * {@link #nextCursor} en la cabecera {@code X-Next-Cursor}.</p>
+ *
+ * @author Bytes
+ * @see AuditEventResponseDTO
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AuditEventPageDTO {
+
+    /**
+     * Eventos de la página, del más reciente al más antiguo.
+     */
+    private List<AuditEventResponseDTO> items;
+
+    /**
+     * Cursor para pedir la página siguiente (parámetro {@code after}), o {@code null} si no hay más.
+     */
+    private String nextCursor;
+}
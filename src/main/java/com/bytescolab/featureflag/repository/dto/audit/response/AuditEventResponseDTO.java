@@ -0,0 +1,49 @@
+package com.bytescolab.featureflag.repository.dto.audit.response;
+
+import com.bytescolab.featureflag.model.enums.AuditAction;
+import com.bytescolab.featureflag.model.enums.Environment;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * DTO de respuesta con un evento del historial de auditoría de una feature.
+ *
+ * @author Bytes
+ * @see com.bytescolab.featureflag.model.entity.AuditEvent
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AuditEventResponseDTO {
+
+    /** Identificador del evento. */
+    private UUID id;
+
+    /** Instante en que se produjo el cambio. */
+    private Instant occurredAt;
+
+    /** Tipo de cambio. */
+    private AuditAction action;
+
+    /** Entorno afectado, si aplica. */
+    private Environment environment;
+
+    /** Cliente afectado, si aplica. */
+    private String clientId;
+
+    /** Usuario que realizó el cambio. */
+    private String actor;
+
+    /** Estado anterior al cambio. */
+    private Map<String, Object> before;
+
+    /** Estado posterior al cambio. */
+    private Map<String, Object> after;
+}
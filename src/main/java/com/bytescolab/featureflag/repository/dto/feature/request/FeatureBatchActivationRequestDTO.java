@@ -0,0 +1,41 @@
+package com.bytescolab.featureflag.repository.dto.feature.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO de solicitud para activar o desactivar una {@code Feature} en muchos
+ * clientes a la vez.
+ *
+ * <p>Cada elemento indica cliente, entorno y estado deseado. Si un mismo par
+ * (cliente, entorno) aparece varias veces, prevalece el último.</p>
+ *
+ * @author Bytes
+ * @see FeatureActivationRequestDTO
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class FeatureBatchActivationRequestDTO {
+
+    /** Número máximo de elementos por petición. */
+    public static final int MAX_ITEMS = 5000;
+
+    /**
+     * Configuraciones a aplicar; {@code enabled} nulo equivale a activar.
+     */
+    @Valid
+    @NotEmpty(message = "items es obligatorio")
+    @Size(max = MAX_ITEMS, message = "Como máximo " + MAX_ITEMS + " elementos por petición")
+    @Schema(description = "Lista de (clientId, environment, enabled) a aplicar")
+    private List<FeatureActivationRequestDTO> items;
+}
@@ -2,19 +2,23 @@ package com.bytescolab.featureflag.repository.dto.feature.request;
 
 import com.bytescolab.featureflag.model.enums.Environment;
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.UUID;
+
 /**
  * DTO para la creación de configuraciones
  * asociadas a una {@code Feature}.
  *
  * <p>Permite definir si una feature está habilitada o deshabilitada
  * en un entorno específico ({@link com.bytescolab.featureflag.model.enums.Environment})
- * y opcionalmente asociarla a un cliente concreto.</p>
+ * y opcionalmente asociarla a un cliente concreto o a un segmento de clientes.</p>
  *
  * @author Bytes
  * @see FeatureCreateRequestDTO
@@ -49,4 +53,20 @@ public class FeatureConfigCreateRequestDTO {
     @NotNull(message = "enabled es obligatorio")
     @Schema(example = "true", description = "Indica si la feature está activada o desactivada en este cliente/entorno")
     private Boolean enabled;
+
+    /**
+     * Porcentaje de clientes del entorno para los que la feature estará activa.
+     * Opcional y solo admitido en configuraciones globales (sin {@code clientId}).
+     */
+    @Min(value = 0, message = "rolloutPercentage debe estar entre 0 y 100")
+    @Max(value = 100, message = "rolloutPercentage debe estar entre 0 y 100")
+    @Schema(example = "5", description = "Porcentaje de clientes del entorno con la feature activa (opcional, solo sin clientId)")
+    private Integer rolloutPercentage;
+
+    /**
+     * Segmento de clientes al que aplica la configuración.
+     * Opcional y excluyente con {@code clientId} y {@code rolloutPercentage}.
+     */
+    @Schema(example = "3fa85f64-5717-4562-b3fc-2c963f66afa6", description = "Segmento al que aplica la configuración (opcional, sin clientId)")
+    private UUID segmentId;
 }
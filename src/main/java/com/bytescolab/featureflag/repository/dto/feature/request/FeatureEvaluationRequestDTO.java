@@ -0,0 +1,54 @@
+package com.bytescolab.featureflag.repository.dto.feature.request;
+
+import com.bytescolab.featureflag.model.enums.Environment;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * DTO para evaluar features con un contexto de atributos, sobre el que se aplican
+ * las reglas de segmentación.
+ *
+ * @author Bytes
+ * @see com.bytescolab.featureflag.repository.dto.feature.response.FeatureEvaluationResponseDTO
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class FeatureEvaluationRequestDTO {
+
+    /**
+     * Identificador del cliente evaluado.
+     */
+    @NotBlank(message = "clientId es necesario")
+    @Schema(example = "cliente123", description = "Identificador del cliente")
+    private String clientId;
+
+    /**
+     * Entorno a evaluar.
+     */
+    @NotNull(message = "El environment es obligatorio")
+    @Schema(example = "PROD", description = "Entorno a evaluar (DEV, STAGING, PROD)")
+    private Environment environment;
+
+    /**
+     * Atributos del contexto de evaluación.
+     */
+    @Schema(example = "{\"region\": \"EU\", \"plan\": \"pro\", \"appVersion\": \"2.4.1\"}", description = "Atributos del contexto")
+    private Map<String, String> attributes;
+
+    /**
+     * Features a evaluar. Opcional; por defecto, todas.
+     */
+    @Schema(description = "Features a evaluar (opcional, por defecto todas)")
+    private List<UUID> featureIds;
+}
@@ -0,0 +1,43 @@
+package com.bytescolab.featureflag.repository.dto.feature.request;
+
+import com.bytescolab.featureflag.model.enums.Environment;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO para fijar el despliegue porcentual de una {@code Feature} en un entorno.
+ *
+ * <p>Se guarda en la configuración global del entorno (sin cliente): una única fila
+ * decide para qué porcentaje de clientes está activa la feature, sin persistir nada por cliente.</p>
+ *
+ * @author Bytes
+ * @see com.bytescolab.featureflag.model.entity.FeatureConfig
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class FeatureRolloutRequestDTO {
+
+    /**
+     * Entorno al que aplica el despliegue.
+     */
+    @NotNull(message = "El environment es obligatorio")
+    @Schema(example = "PROD", description = "Entorno al que aplica el despliegue (DEV, STAGING, PROD)")
+    private Environment environment;
+
+    /**
+     * Porcentaje de clientes del entorno con la feature activa.
+     */
+    @NotNull(message = "percentage es obligatorio")
+    @Min(value = 0, message = "percentage debe estar entre 0 y 100")
+    @Max(value = 100, message = "percentage debe estar entre 0 y 100")
+    @Schema(example = "5", description = "Porcentaje de clientes del entorno con la feature activa (0-100)")
+    private Integer percentage;
+}
@@ -0,0 +1,49 @@
+package com.bytescolab.featureflag.repository.dto.feature.request;
+
+import com.bytescolab.featureflag.model.enums.ConditionOperator;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO de una condición de una regla de segmentación, usado tanto en la creación
+ * de reglas como en su respuesta.
+ *
+ * @author Bytes
+ * @see TargetingRuleCreateRequestDTO
+ * @see com.bytescolab.featureflag.model.entity.TargetingCondition
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TargetingConditionDTO {
+
+    /**
+     * Atributo del contexto de evaluación a comparar.
+     */
+    @NotBlank(message = "attribute es obligatorio")
+    @Schema(example = "region", description = "Atributo del contexto (clientId, region, plan, appVersion...)")
+    private String attribute;
+
+    /**
+     * Operador de comparación.
+     */
+    @NotNull(message = "operator es obligatorio")
+    @Schema(example = "IN", description = "Operador (IN, NOT_IN, GT, GTE, LT, LTE, SEMVER_GT, SEMVER_GTE, SEMVER_LT, SEMVER_LTE)")
+    private ConditionOperator operator;
+
+    /**
+     * Valores de la condición; los operadores de comparación usan solo el primero.
+     */
+    @NotEmpty(message = "values es obligatorio")
+    @Schema(example = "[\"EU\", \"UK\"]", description = "Valores de la condición")
+    private List<String> values;
+}
@@ -0,0 +1,54 @@
+package com.bytescolab.featureflag.repository.dto.feature.request;
+
+import com.bytescolab.featureflag.model.enums.Environment;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO para la creación de una regla de segmentación de una {@code Feature}.
+ *
+ * @author Bytes
+ * @see TargetingConditionDTO
+ * @see com.bytescolab.featureflag.model.entity.TargetingRule
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TargetingRuleCreateRequestDTO {
+
+    /**
+     * Entorno al que aplica la regla. Opcional; si no se indica aplica a todos.
+     */
+    @Schema(example = "PROD", description = "Entorno al que aplica la regla (opcional, por defecto todos)")
+    private Environment environment;
+
+    /**
+     * Orden de evaluación: las reglas con menor prioridad se evalúan antes.
+     */
+    @NotNull(message = "priority es obligatorio")
+    @Schema(example = "10", description = "Orden de evaluación (menor primero)")
+    private Integer priority;
+
+    /**
+     * Estado de la feature cuando la regla se cumple.
+     */
+    @NotNull(message = "enabled es obligatorio")
+    @Schema(example = "true", description = "Estado de la feature cuando se cumplen todas las condiciones")
+    private Boolean enabled;
+
+    /**
+     * Condiciones de la regla; deben cumplirse todas.
+     */
+    @Valid
+    @NotEmpty(message = "conditions es obligatorio")
+    private List<TargetingConditionDTO> conditions;
+}
@@ -0,0 +1,41 @@
+package com.bytescolab.featureflag.repository.dto.feature.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * DTO de respuesta con el resultado de una activación/desactivación en lote.
+ *
+ * @author Bytes
+ * @see com.bytescolab.featureflag.repository.dto.feature.request.FeatureBatchActivationRequestDTO
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class FeatureBatchActivationResponseDTO {
+
+    /**
+     * Identificador de la feature.
+     */
+    private UUID featureId;
+
+    /**
+     * Configuraciones nuevas creadas.
+     */
+    private Integer created;
+
+    /**
+     * Configuraciones existentes cuyo estado ha cambiado.
+     */
+    private Integer updated;
+
+    /**
+     * Configuraciones que ya tenían el estado pedido.
+     */
+    private Integer unchanged;
+}
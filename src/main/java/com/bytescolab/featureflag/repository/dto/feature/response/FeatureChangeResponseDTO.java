@@ -0,0 +1,46 @@
+package com.bytescolab.featureflag.repository.dto.feature.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * DTO de respuesta que representa un cambio confirmado en una {@code Feature},
+ * tal y como se emite por {@code GET /api/features/stream}.
+ *
+ * <p>La versión es creciente y sin huecos dentro de una misma ejecución del servidor;
+ * un cliente que se reconecta indica el último {@code eventId} recibido para obtener solo
+ * los cambios posteriores.</p>
+ *
+ * @author Bytes
+ * @see FeatureStateResponseDTO
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class FeatureChangeResponseDTO {
+
+    /**
+     * Versión del cambio.
+     */
+    private long version;
+
+    /**
+     * Id del evento SSE ({@code <época>-<versión>}), válido solo en el nodo y la ejecución que lo emitió.
+     */
+    private String eventId;
+
+    /**
+     * Identificador de la feature modificada.
+     */
+    private UUID featureId;
+
+    /**
+     * Estado completo de la feature tras el cambio, o {@code null} si ya no existe.
+     */
+    private FeatureStateResponseDTO feature;
+}
@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+
+import java.util.UUID;
 /**
  * DTO de respuesta para representar la configuración
  * de una {@code Feature} en un entorno y/o cliente específico.
@@ -40,4 +42,14 @@ public class FeatureConfigResponseDTO {
      * en este cliente/entorno.
      */
     private Boolean enabled;
+
+    /**
+     * Porcentaje de clientes del entorno con la feature activa, o {@code null} si aplica a todos.
+     */
+    private Integer rolloutPercentage;
+
+    /**
+     * Segmento al que aplica esta configuración, o {@code null} si no es de segmento.
+     */
+    private UUID segmentId;
 }
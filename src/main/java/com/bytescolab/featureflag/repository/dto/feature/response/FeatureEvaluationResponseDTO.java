@@ -0,0 +1,40 @@
+package com.bytescolab.featureflag.repository.dto.feature.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * DTO de respuesta con el estado resuelto de una {@code Feature}
+ * para un cliente y entorno concretos.
+ *
+ * <p>Se devuelve en la evaluación masiva de features, de modo que un cliente
+ * puede conocer el estado de todos sus flags con una única petición.</p>
+ *
+ * @author Bytes
+ * @see com.bytescolab.featureflag.controller.FeatureController
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class FeatureEvaluationResponseDTO {
+
+    /**
+     * Identificador único de la feature.
+     */
+    private UUID featureId;
+
+    /**
+     * Nombre único de la feature.
+     */
+    private String name;
+
+    /**
+     * Estado resuelto de la feature para el cliente y entorno solicitados.
+     */
+    private Boolean enabled;
+}
@@ -0,0 +1,41 @@
+package com.bytescolab.featureflag.repository.dto.feature.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO de respuesta con el estado completo de todas las features en una versión dada.
+ *
+ * <p>Se envía al abrir el stream de cambios sin versión previa, o cuando la versión
+ * indicada ya no puede reconstruirse con cambios incrementales.</p>
+ *
+ * @author Bytes
+ * @see FeatureStateResponseDTO
+ * @see FeatureChangeResponseDTO
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class FeatureSnapshotResponseDTO {
+
+    /**
+     * Versión a partir de la cual continuar recibiendo cambios.
+     */
+    private long version;
+
+    /**
+     * Id del evento SSE ({@code <época>-<versión>}) que indicar en {@code sinceVersion} o
+     * {@code Last-Event-ID} para reanudar.
+     */
+    private String eventId;
+
+    /**
+     * Estado de todas las features.
+     */
+    private List<FeatureStateResponseDTO> features;
+}
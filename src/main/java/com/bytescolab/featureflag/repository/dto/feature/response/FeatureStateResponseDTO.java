@@ -0,0 +1,58 @@
+package com.bytescolab.featureflag.repository.dto.feature.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO de respuesta con todo lo necesario para evaluar una {@code Feature} en el cliente:
+ * valor por defecto y configuraciones por entorno y cliente.
+ *
+ * <p>Se envía en el stream de cambios y en las instantáneas completas, de forma que
+ * los SDK puedan mantener una copia local y evaluar los flags sin llamar a la API.</p>
+ *
+ * @author Bytes
+ * @see FeatureChangeResponseDTO
+ * @see FeatureSnapshotResponseDTO
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class FeatureStateResponseDTO {
+
+    /**
+     * Identificador único de la feature.
+     */
+    private UUID id;
+
+    /**
+     * Nombre único de la feature.
+     */
+    private String name;
+
+    /**
+     * Valor aplicado cuando no hay configuración para el entorno o cliente.
+     */
+    private Boolean enabledByDefault;
+
+    /**
+     * Revisión de la feature, incrementada en cada escritura.
+     */
+    private Long revision;
+
+    /**
+     * Configuraciones de la feature por entorno y cliente.
+     */
+    private List<FeatureConfigResponseDTO> configs;
+
+    /**
+     * Indica si la feature tiene reglas de segmentación o configuraciones de segmento, que solo
+     * el servidor puede resolver; los SDK deben consultar {@code /api/features/check} para ella.
+     */
+    private Boolean requiresServerEvaluation;
+}
@@ -0,0 +1,34 @@
+package com.bytescolab.featureflag.repository.dto.feature.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página del listado de features paginado por cursor.
+ *
+ * <p>El controlador devuelve {@link #items} como cuerpo de la respuesta y {@link #nextCursor}
+ * en la cabecera {@code X-Next-Cursor}, de modo que el formato del listado no cambia.</p>
+ *
+ * @author Bytes
+ * @see FeatureSummaryResponseDTO
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class FeatureSummaryPageDTO {
+
+    /**
+     * Features de la página, ordenadas por nombre.
+     */
+    private List<FeatureSummaryResponseDTO> items;
+
+    /**
+     * Cursor para pedir la página siguiente (parámetro {@code after}), o {@code null} si no hay más.
+     */
+    private String nextCursor;
+}
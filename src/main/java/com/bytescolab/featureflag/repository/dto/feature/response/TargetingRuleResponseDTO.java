@@ -0,0 +1,39 @@
+package com.bytescolab.featureflag.repository.dto.feature.response;
+
+import com.bytescolab.featureflag.model.enums.Environment;
+import com.bytescolab.featureflag.repository.dto.feature.request.TargetingConditionDTO;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO de respuesta con una regla de segmentación de una {@code Feature}.
+ *
+ * @author Bytes
+ * @see com.bytescolab.featureflag.model.entity.TargetingRule
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TargetingRuleResponseDTO {
+
+    /** Identificador único de la regla. */
+    private UUID id;
+
+    /** Entorno al que aplica, o {@code null} si aplica a todos. */
+    private Environment environment;
+
+    /** Orden de evaluación (menor primero). */
+    private Integer priority;
+
+    /** Estado de la feature cuando la regla se cumple. */
+    private Boolean enabled;
+
+    /** Condiciones de la regla. */
+    private List<TargetingConditionDTO> conditions;
+}
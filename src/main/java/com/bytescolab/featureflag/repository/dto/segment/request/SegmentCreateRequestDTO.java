@@ -0,0 +1,42 @@
+package com.bytescolab.featureflag.repository.dto.segment.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+
+/**
+ * DTO para la creación de un segmento de clientes.
+ *
+ * @author Bytes
+ * @see com.bytescolab.featureflag.model.entity.Segment
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class SegmentCreateRequestDTO {
+
+    /**
+     * Nombre único del segmento.
+     */
+    @NotBlank(message = "El nombre es obligatorio")
+    @Schema(example = "beta-testers", description = "Nombre único del segmento")
+    private String name;
+
+    /**
+     * Descripción opcional del segmento.
+     */
+    @Schema(example = "Clientes inscritos en el programa beta", description = "Descripción del segmento")
+    private String description;
+
+    /**
+     * Clientes iniciales del segmento. Opcional.
+     */
+    @Schema(example = "[\"cliente123\", \"cliente456\"]", description = "Clientes del segmento (opcional)")
+    private Set<String> clientIds;
+}
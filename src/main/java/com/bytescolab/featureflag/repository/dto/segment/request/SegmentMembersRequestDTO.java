@@ -0,0 +1,30 @@
+package com.bytescolab.featureflag.repository.dto.segment.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+
+/**
+ * DTO con los clientes a añadir a un segmento o que sustituyen a sus miembros.
+ *
+ * @author Bytes
+ * @see com.bytescolab.featureflag.model.entity.Segment
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class SegmentMembersRequestDTO {
+
+    /**
+     * Identificadores de cliente.
+     */
+    @NotNull(message = "clientIds es obligatorio")
+    @Schema(example = "[\"cliente123\", \"cliente456\"]", description = "Identificadores de cliente")
+    private Set<String> clientIds;
+}
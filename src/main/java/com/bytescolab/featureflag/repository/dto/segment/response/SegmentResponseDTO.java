@@ -0,0 +1,42 @@
+package com.bytescolab.featureflag.repository.dto.segment.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * DTO de respuesta con los datos de un segmento. No incluye los miembros, que pueden
+ * ser cientos de miles, sino solo su número.
+ *
+ * @author Bytes
+ * @see com.bytescolab.featureflag.model.entity.Segment
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class SegmentResponseDTO {
+
+    /**
+     * Identificador único del segmento.
+     */
+    private UUID id;
+
+    /**
+     * Nombre único del segmento.
+     */
+    private String name;
+
+    /**
+     * Descripción del segmento.
+     */
+    private String description;
+
+    /**
+     * Número de clientes del segmento.
+     */
+    private Integer memberCount;
+}
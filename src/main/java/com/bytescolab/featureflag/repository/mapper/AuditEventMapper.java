@@ -0,0 +1,41 @@
+package com.bytescolab.featureflag.repository.mapper;
+
+import com.bytescolab.featureflag.exception.ApiException;
+import com.bytescolab.featureflag.exception.ErrorCodes;
+import com.bytescolab.featureflag.model.entity.AuditEvent;
+import com.bytescolab.featureflag.repository.dto.audit.response.AuditEventResponseDTO;
+
+/**
+ * Utility class that provides mapping methods between {@link AuditEvent} entities and their DTOs.
+ * <p>
+ * This class is stateless and contains only static methods.
+ * It cannot be instantiated.
+ */
+public final class AuditEventMapper {
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private AuditEventMapper() {
+        throw new ApiException(ErrorCodes.BAD_REQUEST, ErrorCodes.BAD_REQUEST_MSG);
+    }
+
+    /**
+     * Converts an {@link AuditEvent} entity into an {@link AuditEventResponseDTO}.
+     *
+     * @param event the audit event entity
+     * @return a DTO representation of the audit event
+     */
+    public static AuditEventResponseDTO toResponseDTO(AuditEvent event) {
+        return AuditEventResponseDTO.builder()
+                .id(event.getId())
+                .occurredAt(event.getOccurredAt())
+                .action(event.getAction())
+                .environment(event.getEnvironment())
+                .clientId(event.getClientId())
+                .actor(event.getActor())
+                .before(event.getBefore())
+                .after(event.getAfter())
+                .build();
+    }
+}
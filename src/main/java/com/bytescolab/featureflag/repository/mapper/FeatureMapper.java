@@ -5,12 +5,17 @@ import com.bytescolab.featureflag.repository.dto.feature.request.FeatureConfigCr
 import com.bytescolab.featureflag.repository.dto.feature.request.FeatureCreateRequestDTO;
 import com.bytescolab.featureflag.repository.dto.feature.response.FeatureConfigResponseDTO;
 import com.bytescolab.featureflag.repository.dto.feature.response.FeatureDetailResponseDTO;
+import com.bytescolab.featureflag.repository.dto.feature.response.FeatureStateResponseDTO;
 import com.bytescolab.featureflag.repository.dto.feature.response.FeatureSummaryResponseDTO;
 import com.bytescolab.featureflag.exception.ApiException;
 import com.bytescolab.featureflag.exception.ErrorCodes;
 import com.bytescolab.featureflag.model.entity.Feature;
 import com.bytescolab.featureflag.model.entity.FeatureConfig;
+import com.bytescolab.featureflag.model.entity.Segment;
+import com.bytescolab.featureflag.repository.projection.FeatureConfigRow;
+import com.bytescolab.featureflag.service.feature.snapshot.FeatureState;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -32,6 +37,7 @@ public final class FeatureMapper {
     /**
      * Converts a {@link FeatureCreateRequestDTO} into a {@link Feature} entity.
      * If the request contains configuration DTOs, they are also mapped to {@link FeatureConfig}.
+     * Segment configurations only carry a {@link Segment} reference holding its id.
      *
      * @param dto the feature creation request DTO
      * @return a {@link Feature} entity populated with the DTO data
@@ -49,6 +55,9 @@ public final class FeatureMapper {
                             .environment(feaConfigDto.getEnvironment())
                             .clientId(feaConfigDto.getClientId())
                             .enabled(feaConfigDto.getEnabled())
+                            .segment(feaConfigDto.getSegmentId() != null
+                                    ? Segment.builder().id(feaConfigDto.getSegmentId()).build()
+                                    : null)
                             .feature(feature)
                             .build())
                     .toList();
@@ -105,6 +114,50 @@ public final class FeatureMapper {
                 .environment(config.getEnvironment())
                 .clientId(config.getClientId())
                 .enabled(config.getEnabled())
+                .rolloutPercentage(config.getRolloutPercentage())
+                .segmentId(config.getSegment() != null ? config.getSegment().getId() : null)
+                .build();
+    }
+
+    /**
+     * Converts a snapshot {@link FeatureState} into a {@link FeatureStateResponseDTO}.
+     *
+     * Features with targeting rules or segment configurations are flagged as requiring
+     * server-side evaluation, since rules and segment members are not part of the DTO.
+     *
+     * @param state the resolved feature state
+     * @return a DTO with everything needed to evaluate the feature client-side
+     */
+    public static FeatureStateResponseDTO toStateDTO(FeatureState state) {
+        List<FeatureConfigResponseDTO> configs = new ArrayList<>(state.getConfigs().size());
+        boolean requiresServer = !state.getRules().isEmpty();
+        for (FeatureConfigRow config : state.getConfigs()) {
+            configs.add(toConfigDTO(config));
+            requiresServer |= config.segmentId() != null;
+        }
+        return FeatureStateResponseDTO.builder()
+                .id(state.getId())
+                .name(state.getName())
+                .enabledByDefault(state.isEnabledByDefault())
+                .revision(state.getRevision())
+                .configs(configs)
+                .requiresServerEvaluation(requiresServer)
+                .build();
+    }
+
+    /**
+     * Converts a {@link FeatureConfigRow} projection into a {@link FeatureConfigResponseDTO}.
+     *
+     * @param config the feature configuration row
+     * @return a DTO representation of the feature configuration
+     */
+    public static FeatureConfigResponseDTO toConfigDTO(FeatureConfigRow config) {
+        return FeatureConfigResponseDTO.builder()
+                .environment(config.environment())
+                .clientId(config.clientId())
+                .enabled(config.enabled())
+                .rolloutPercentage(config.rolloutPercentage())
+                .segmentId(config.segmentId())
                 .build();
     }
 
@@ -120,6 +173,8 @@ public final class FeatureMapper {
                 .environment(dto.getEnvironment())
                 .clientId(dto.getClientId())
                 .enabled(dto.getEnabled())
+                .rolloutPercentage(dto.getRolloutPercentage())
+                .segment(dto.getSegmentId() != null ? Segment.builder().id(dto.getSegmentId()).build() : null)
                 .feature(feature)
                 .build();
     }
@@ -0,0 +1,55 @@
+package com.bytescolab.featureflag.repository.mapper;
+
+import com.bytescolab.featureflag.exception.ApiException;
+import com.bytescolab.featureflag.exception.ErrorCodes;
+import com.bytescolab.featureflag.model.entity.Segment;
+import com.bytescolab.featureflag.repository.dto.segment.request.SegmentCreateRequestDTO;
+import com.bytescolab.featureflag.repository.dto.segment.response.SegmentResponseDTO;
+
+import java.util.HashSet;
+
+/**
+ * Utility class that provides mapping methods between {@link Segment} entities and their DTOs.
+ * <p>
+ * This class is stateless and contains only static methods.
+ * It cannot be instantiated.
+ */
+public final class SegmentMapper {
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private SegmentMapper() {
+        throw new ApiException(ErrorCodes.BAD_REQUEST, ErrorCodes.BAD_REQUEST_MSG);
+    }
+
+    /**
+     * Converts a {@link SegmentCreateRequestDTO} into a {@link Segment} entity.
+     *
+     * @param dto the segment creation request DTO
+     * @return a {@link Segment} entity with the requested members
+     */
+    public static Segment toEntity(SegmentCreateRequestDTO dto) {
+        return Segment.builder()
+                .name(dto.getName())
+                .description(dto.getDescription())
+                .clientIds(dto.getClientIds() != null ? new HashSet<>(dto.getClientIds()) : new HashSet<>())
+                .build();
+    }
+
+    /**
+     * Converts a {@link Segment} entity into a {@link SegmentResponseDTO}.
+     *
+     * @param segment     the segment entity
+     * @param memberCount the number of clients in the segment
+     * @return a DTO without the member list
+     */
+    public static SegmentResponseDTO toResponseDTO(Segment segment, int memberCount) {
+        return SegmentResponseDTO.builder()
+                .id(segment.getId())
+                .name(segment.getName())
+                .description(segment.getDescription())
+                .memberCount(memberCount)
+                .build();
+    }
+}
@@ -0,0 +1,78 @@
+package com.bytescolab.featureflag.repository.mapper;
+
+import com.bytescolab.featureflag.exception.ApiException;
+import com.bytescolab.featureflag.exception.ErrorCodes;
+import com.bytescolab.featureflag.model.entity.Feature;
+import com.bytescolab.featureflag.model.entity.TargetingCondition;
+import com.bytescolab.featureflag.model.entity.TargetingRule;
+import com.bytescolab.featureflag.repository.dto.feature.request.TargetingConditionDTO;
+import com.bytescolab.featureflag.repository.dto.feature.request.TargetingRuleCreateRequestDTO;
+import com.bytescolab.featureflag.repository.dto.feature.response.TargetingRuleResponseDTO;
+import com.bytescolab.featureflag.repository.projection.TargetingRuleRow;
+
+import java.util.List;
+
+/**
+ * Utility class that provides mapping methods between
+ * {@link TargetingRule} entities, their projections and their corresponding DTOs.
+ * <p>
+ * This class is stateless and contains only static methods.
+ * It cannot be instantiated.
+ */
+public final class TargetingRuleMapper {
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private TargetingRuleMapper() {
+        throw new ApiException(ErrorCodes.BAD_REQUEST, ErrorCodes.BAD_REQUEST_MSG);
+    }
+
+    /**
+     * Converts a rule creation request into a {@link TargetingRule} entity.
+     *
+     * @param dto     the rule creation request
+     * @param feature the feature the rule belongs to
+     * @return a {@link TargetingRule} entity
+     */
+    public static TargetingRule toEntity(TargetingRuleCreateRequestDTO dto, Feature feature) {
+        return TargetingRule.builder()
+                .feature(feature)
+                .environment(dto.getEnvironment())
+                .priority(dto.getPriority())
+                .enabled(dto.getEnabled())
+                .conditions(dto.getConditions().stream()
+                        .map(c -> new TargetingCondition(c.getAttribute(), c.getOperator(), List.copyOf(c.getValues())))
+                        .toList())
+                .build();
+    }
+
+    /**
+     * Converts a {@link TargetingRule} entity into its read-only projection, as used by the snapshot.
+     *
+     * @param rule the rule entity
+     * @return a {@link TargetingRuleRow}
+     */
+    public static TargetingRuleRow toRow(TargetingRule rule) {
+        return new TargetingRuleRow(rule.getId(), rule.getFeature().getId(), rule.getEnvironment(),
+                rule.getPriority(), rule.getEnabled(), rule.getConditions());
+    }
+
+    /**
+     * Converts a {@link TargetingRuleRow} projection into a {@link TargetingRuleResponseDTO}.
+     *
+     * @param row the rule projection
+     * @return a response DTO
+     */
+    public static TargetingRuleResponseDTO toResponseDTO(TargetingRuleRow row) {
+        return TargetingRuleResponseDTO.builder()
+                .id(row.id())
+                .environment(row.environment())
+                .priority(row.priority())
+                .enabled(row.enabled())
+                .conditions(row.conditions().stream()
+                        .map(c -> new TargetingConditionDTO(c.getAttribute(), c.getOperator(), c.getValues()))
+                        .toList())
+                .build();
+    }
+}
@@ -0,0 +1,37 @@
+package com.bytescolab.featureflag.repository.projection;
+
+import com.bytescolab.featureflag.model.enums.Environment;
+
+import java.util.UUID;
+
+/**
+ * Proyección de solo lectura de una {@code FeatureConfig} utilizada para construir
+ * el snapshot de evaluación en memoria.
+ *
+ * @param featureId   identificador de la feature a la que pertenece la configuración.
+ * @param environment entorno al que aplica.
+ * @param clientId    cliente al que aplica, o {@code null} si aplica a todo el entorno.
+ * @param enabled     estado de la feature en esta configuración.
+ * @param rolloutPercentage porcentaje de clientes incluidos, o {@code null} si aplica a todos.
+ * @param segmentId   segmento al que aplica, o {@code null} si no es una configuración de segmento.
+ * @author Bytes
+ * @see com.bytescolab.featureflag.model.entity.FeatureConfig
+ */
+public record FeatureConfigRow(UUID featureId, Environment environment, String clientId, Boolean enabled,
+                               Integer rolloutPercentage, UUID segmentId) {
+
+    /**
+     * Configuración sin despliegue porcentual.
+     */
+    public FeatureConfigRow(UUID featureId, Environment environment, String clientId, Boolean enabled) {
+        this(featureId, environment, clientId, enabled, null, null);
+    }
+
+    /**
+     * Configuración que no es de segmento.
+     */
+    public FeatureConfigRow(UUID featureId, Environment environment, String clientId, Boolean enabled,
+                            Integer rolloutPercentage) {
+        this(featureId, environment, clientId, enabled, rolloutPercentage, null);
+    }
+}
@@ -0,0 +1,19 @@
+package com.bytescolab.featureflag.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Proyección de solo lectura con los campos de {@code Feature} necesarios para evaluar un flag.
+ *
+ * <p>Se obtiene mediante una expresión constructora JPQL, por lo que no pasa por el
+ * contexto de persistencia y siempre refleja el estado confirmado en base de datos.</p>
+ *
+ * @param id               identificador de la feature.
+ * @param name             nombre de la feature.
+ * @param enabledByDefault valor por defecto cuando no hay configuración aplicable.
+ * @param revision         revisión de la feature, incrementada en cada escritura.
+ * @author Bytes
+ * @see com.bytescolab.featureflag.model.entity.Feature
+ */
+public record FeatureRow(UUID id, String name, Boolean enabledByDefault, Long revision) {
+}
@@ -0,0 +1,15 @@
+package com.bytescolab.featureflag.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Proyección de solo lectura de un miembro de un segmento, usada para cargar
+ * todas las pertenencias en memoria con una única consulta.
+ *
+ * @param segmentId identificador del segmento.
+ * @param clientId  identificador del cliente.
+ * @author Bytes
+ * @see com.bytescolab.featureflag.model.entity.Segment
+ */
+public record SegmentMemberRow(UUID segmentId, String clientId) {
+}
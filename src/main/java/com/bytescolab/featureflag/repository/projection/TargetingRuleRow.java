@@ -0,0 +1,24 @@
+package com.bytescolab.featureflag.repository.projection;
+
+import com.bytescolab.featureflag.model.entity.TargetingCondition;
+import com.bytescolab.featureflag.model.enums.Environment;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Proyección de solo lectura de una {@code TargetingRule} utilizada para compilar
+ * las reglas del snapshot de evaluación en memoria.
+ *
+ * @param id          identificador de la regla.
+ * @param featureId   identificador de la feature a la que pertenece.
+ * @param environment entorno al que aplica, o {@code null} si aplica a todos.
+ * @param priority    orden de evaluación (menor primero).
+ * @param enabled     estado de la feature cuando la regla se cumple.
+ * @param conditions  condiciones de la regla.
+ * @author Bytes
+ * @see com.bytescolab.featureflag.model.entity.TargetingRule
+ */
+public record TargetingRuleRow(UUID id, UUID featureId, Environment environment, Integer priority, Boolean enabled,
+                               List<TargetingCondition> conditions) {
+}
@@ -0,0 +1,14 @@
+package com.bytescolab.featureflag.repository.projection;
+
+import java.time.Instant;
+
+/**
+ * Proyección de solo lectura con el último cambio de rol de un usuario.
+ *
+ * @param username      nombre del usuario.
+ * @param roleUpdatedAt instante del último cambio de rol.
+ * @author Bytes
+ * @see com.bytescolab.featureflag.model.entity.User
+ */
+public record UserRoleChangeRow(String username, Instant roleUpdatedAt) {
+}
@@ -0,0 +1,243 @@
+package com.bytescolab.featureflag.service.audit;
+
+import com.bytescolab.featureflag.model.entity.AuditEvent;
+import com.bytescolab.featureflag.repository.AuditEventRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Escribe los eventos de auditoría en la tabla <b>audit_events</b> desde un hilo propio.
+ *
+ * <p>Las peticiones solo encolan el evento en una cola sin bloqueos y acotada a
+ * {@code audit.queue-capacity} elementos. Un único hilo de fondo vacía la cola en lotes de
+ * hasta {@code audit.batch-size} eventos y los guarda con un {@code saveAll}, de modo que la
+ * escritura de auditoría no añade latencia a las peticiones ni una inserción por cambio.
+ * Si no hay trabajo, el hilo espera {@code audit.flush-interval-ms} o hasta que la cola
+ * acumule un lote completo.</p>
+ *
+ * <p>Con la cola llena se aplica {@code audit.overflow-policy} ({@link AuditOverflowPolicy}).
+ * Los eventos descartados se cuentan en {@link #dropped()}. Al parar la aplicación se
+ * escribe todo lo pendiente, y los eventos que lleguen con el escritor parado se guardan
+ * directamente. Un evento que se encola mientras el escritor se para, después del último
+ * vaciado, lo recupera de la cola y lo guarda quien lo envió: ningún evento se pierde en la
+ * parada.</p>
+ *
+ * <p>La profundidad de la cola y los descartes se publican como {@code featureflag.audit.queue.depth}
+ * y {@code featureflag.audit.dropped}.</p>
+ *
+ * @author Bytes
+ * @see AuditTrail
+ */
+@Slf4j
+@Component
+public class AuditEventWriter implements SmartLifecycle, MeterBinder {
+
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final AuditEventRepository auditEventRepository;
+    private final int capacity;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final AuditOverflowPolicy overflowPolicy;
+
+    private final Queue<AuditEvent> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+
+    private volatile boolean running;
+    private volatile Thread worker;
+
+    public AuditEventWriter(AuditEventRepository auditEventRepository,
+                            @Value("${audit.queue-capacity:10000}") int capacity,
+                            @Value("${audit.batch-size:200}") int batchSize,
+                            @Value("${audit.flush-interval-ms:200}") long flushIntervalMs,
+                            @Value("${audit.overflow-policy:BLOCK}") AuditOverflowPolicy overflowPolicy) {
+        if (capacity < 1 || batchSize < 1 || flushIntervalMs < 1) {
+            throw new IllegalArgumentException("La configuración de auditoría debe ser positiva");
+        }
+        this.auditEventRepository = auditEventRepository;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /**
+     * Encola un evento para su escritura.
+     *
+     * @param event evento de auditoría.
+     * @return {@code true} si el evento se encoló; {@code false} si se descartó por estar la cola llena.
+     */
+    public boolean submit(AuditEvent event) {
+        if (!running) {
+            auditEventRepository.save(event);
+            return true;
+        }
+        while (!tryReserve()) {
+            if (!running) {
+                auditEventRepository.save(event);
+                return true;
+            }
+            switch (overflowPolicy) {
+                case DROP_NEWEST -> {
+                    dropped.incrementAndGet();
+                    return false;
+                }
+                case DROP_OLDEST -> {
+                    if (queue.poll() != null) {
+                        size.decrementAndGet();
+                        dropped.incrementAndGet();
+                    }
+                }
+                case BLOCK -> {
+                    LockSupport.unpark(worker);
+                    LockSupport.parkNanos(this, BLOCK_PARK_NANOS);
+                }
+            }
+        }
+        queue.offer(event);
+        if (!running) {
+            // stop() pudo vaciar la cola antes de este offer: si el evento sigue ahí, nadie lo
+            // escribirá. Si ya no está, lo tomó un vaciado y se está escribiendo.
+            if (queue.remove(event)) {
+                size.decrementAndGet();
+                auditEventRepository.save(event);
+            }
+            return true;
+        }
+        if (size.get() >= batchSize) {
+            LockSupport.unpark(worker);
+        }
+        return true;
+    }
+
+    /** Reserva un hueco en la cola sin bloquear. */
+    private boolean tryReserve() {
+        int current;
+        do {
+            current = size.get();
+            if (current >= capacity) {
+                return false;
+            }
+        } while (!size.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    /** @return número de eventos pendientes de escribir. */
+    public int pending() {
+        return size.get();
+    }
+
+    /** @return número de eventos descartados desde el arranque. */
+    public long dropped() {
+        return dropped.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("featureflag.audit.queue.depth", this, AuditEventWriter::pending)
+                .description("Eventos de auditoría pendientes de escribir")
+                .register(registry);
+        FunctionCounter.builder("featureflag.audit.dropped", this, AuditEventWriter::dropped)
+                .description("Eventos de auditoría descartados por cola llena o error de escritura")
+                .register(registry);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        Thread thread = new Thread(this::run, "audit-writer");
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        Thread thread = worker;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /** Se para después del servidor web, cuando ya no llegan peticiones que auditar. */
+    @Override
+    public int getPhase() {
+        return DEFAULT_PHASE - 2048;
+    }
+
+    /** Hilo escritor: vacía la cola en lotes hasta que se para el componente. */
+    private void run() {
+        int written = 0;
+        while (running) {
+            if (written < batchSize) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            }
+            written = flush();
+        }
+    }
+
+    /**
+     * Escribe los eventos pendientes en lotes.
+     *
+     * @return número de eventos escritos en el último lote.
+     */
+    private int flush() {
+        int written = 0;
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        AuditEvent event;
+        while ((event = queue.poll()) != null) {
+            size.decrementAndGet();
+            batch.add(event);
+            if (batch.size() == batchSize) {
+                written = write(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            written = write(batch);
+        }
+        return written;
+    }
+
+    private int write(List<AuditEvent> batch) {
+        try {
+            auditEventRepository.saveAll(batch);
+        } catch (RuntimeException e) {
+            dropped.addAndGet(batch.size());
+            log.error("No se pudieron guardar {} eventos de auditoría", batch.size(), e);
+        }
+        return batch.size();
+    }
+}
@@ -0,0 +1,17 @@
+package com.bytescolab.featureflag.service.audit;
+
+/**
+ * Qué hacer con un evento de auditoría cuando la cola del {@link AuditEventWriter} está llena.
+ *
+ * @author Bytes
+ */
+public enum AuditOverflowPolicy {
+    /** El hilo que registra el evento espera a que el escritor libere sitio: no se pierde nada. */
+    BLOCK,
+
+    /** Se descarta el evento nuevo. */
+    DROP_NEWEST,
+
+    /** Se descarta el evento más antiguo de la cola para hacer sitio al nuevo. */
+    DROP_OLDEST
+}
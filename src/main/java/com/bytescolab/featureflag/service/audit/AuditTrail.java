@@ -0,0 +1,251 @@
+package com.bytescolab.featureflag.service.audit;
+
+import com.bytescolab.featureflag.model.entity.AuditEvent;
+import com.bytescolab.featureflag.model.entity.Feature;
+import com.bytescolab.featureflag.model.entity.FeatureConfig;
+import com.bytescolab.featureflag.model.entity.Segment;
+import com.bytescolab.featureflag.model.entity.TargetingRule;
+import com.bytescolab.featureflag.model.enums.AuditAction;
+import com.bytescolab.featureflag.model.enums.Environment;
+import com.bytescolab.featureflag.config.security.SecurityUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Punto de entrada de la auditoría de features.
+ *
+ * <p>Construye un {@link AuditEvent} por cambio, con su propio instante, el usuario actual y
+ * el estado antes y después, y lo entrega al {@link AuditEventWriter}. Se audita toda escritura
+ * que cambia la evaluación de una feature: altas, activaciones, despliegues, lotes,
+ * configuraciones, reglas y cambios de miembros de los segmentos que usa. Si el cambio se hace
+ * dentro de una transacción, el evento se entrega solo cuando esta se confirma: un cambio
+ * revertido no deja rastro en la auditoría.</p>
+ *
+ * @author Bytes
+ * @see AuditEventWriter
+ */
+@Component
+public class AuditTrail {
+
+    private final AuditEventWriter writer;
+
+    public AuditTrail(AuditEventWriter writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Registra el alta de una feature.
+     *
+     * @param feature feature creada.
+     */
+    public void featureCreated(Feature feature) {
+        Map<String, Object> after = new HashMap<>();
+        after.put("name", feature.getName());
+        after.put("enabledByDefault", feature.getEnabledByDefault());
+        record(AuditEvent.builder()
+                .action(AuditAction.FEATURE_CREATED)
+                .featureId(feature.getId())
+                .featureName(feature.getName())
+                .after(after));
+    }
+
+    /**
+     * Registra la activación o desactivación de una feature para un cliente o entorno.
+     *
+     * @param feature     feature modificada.
+     * @param environment entorno afectado.
+     * @param clientId    cliente afectado, o {@code null} para todo el entorno.
+     * @param before      estado de la configuración antes del cambio, o {@code null} si no existía.
+     * @param after       estado tras el cambio.
+     */
+    public void featureToggled(Feature feature, Environment environment, String clientId, Boolean before, boolean after) {
+        record(AuditEvent.builder()
+                .action(after ? AuditAction.FEATURE_ENABLED : AuditAction.FEATURE_DISABLED)
+                .featureId(feature.getId())
+                .featureName(feature.getName())
+                .environment(environment)
+                .clientId(clientId)
+                .before(before != null ? Map.of("enabled", before) : null)
+                .after(Map.of("enabled", after)));
+    }
+
+    /**
+     * Registra el cambio del porcentaje de despliegue de un entorno.
+     *
+     * @param feature     feature modificada.
+     * @param environment entorno afectado.
+     * @param before      porcentaje anterior, o {@code null} si no había.
+     * @param after       porcentaje nuevo.
+     */
+    public void rolloutChanged(Feature feature, Environment environment, Integer before, Integer after) {
+        record(AuditEvent.builder()
+                .action(AuditAction.ROLLOUT_UPDATED)
+                .featureId(feature.getId())
+                .featureName(feature.getName())
+                .environment(environment)
+                .before(before != null ? Map.of("rolloutPercentage", before) : null)
+                .after(Map.of("rolloutPercentage", after)));
+    }
+
+    /**
+     * Registra un lote de activaciones/desactivaciones con sus totales y cada configuración
+     * cambiada en {@code after.changes}. Si todos los cambios son del mismo entorno o del mismo
+     * cliente, el evento lleva además ese entorno o cliente.
+     *
+     * @param feature   feature modificada.
+     * @param created   configuraciones creadas.
+     * @param updated   configuraciones modificadas.
+     * @param unchanged elementos que no cambiaron nada.
+     * @param changes   configuraciones creadas o modificadas, como mucho una por elemento del lote.
+     */
+    public void batchApplied(Feature feature, int created, int updated, int unchanged, List<ConfigChange> changes) {
+        List<Map<String, Object>> changed = new ArrayList<>(changes.size());
+        Environment environment = changes.isEmpty() ? null : changes.get(0).environment();
+        String clientId = changes.isEmpty() ? null : changes.get(0).clientId();
+        for (ConfigChange change : changes) {
+            Map<String, Object> item = new HashMap<>();
+            item.put("environment", change.environment().name());
+            item.put("clientId", change.clientId());
+            item.put("before", change.before());
+            item.put("after", change.after());
+            changed.add(item);
+            if (environment != change.environment()) {
+                environment = null;
+            }
+            if (!Objects.equals(clientId, change.clientId())) {
+                clientId = null;
+            }
+        }
+        Map<String, Object> after = new HashMap<>();
+        after.put("created", created);
+        after.put("updated", updated);
+        after.put("unchanged", unchanged);
+        after.put("changes", changed);
+        record(AuditEvent.builder()
+                .action(AuditAction.BATCH_APPLIED)
+                .featureId(feature.getId())
+                .featureName(feature.getName())
+                .environment(environment)
+                .clientId(clientId)
+                .after(after));
+    }
+
+    /**
+     * Cambio de una configuración de cliente dentro de un lote.
+     *
+     * @param environment entorno de la configuración.
+     * @param clientId    cliente de la configuración.
+     * @param before      estado anterior, o {@code null} si la configuración no existía.
+     * @param after       estado tras el lote.
+     */
+    public record ConfigChange(Environment environment, String clientId, Boolean before, boolean after) {
+    }
+
+    /**
+     * Registra el alta de una configuración de cliente, de entorno o de segmento.
+     *
+     * @param feature feature modificada.
+     * @param config  configuración creada.
+     */
+    public void configCreated(Feature feature, FeatureConfig config) {
+        Map<String, Object> after = new HashMap<>();
+        after.put("enabled", config.getEnabled());
+        if (config.getRolloutPercentage() != null) {
+            after.put("rolloutPercentage", config.getRolloutPercentage());
+        }
+        if (config.getSegment() != null) {
+            after.put("segmentId", config.getSegment().getId());
+            after.put("segmentName", config.getSegment().getName());
+        }
+        record(AuditEvent.builder()
+                .action(AuditAction.CONFIG_CREATED)
+                .featureId(feature.getId())
+                .featureName(feature.getName())
+                .environment(config.getEnvironment())
+                .clientId(config.getClientId())
+                .after(after));
+    }
+
+    /**
+     * Registra el alta de una regla de segmentación.
+     *
+     * @param feature feature modificada.
+     * @param rule    regla creada.
+     */
+    public void ruleCreated(Feature feature, TargetingRule rule) {
+        record(AuditEvent.builder()
+                .action(AuditAction.RULE_CREATED)
+                .featureId(feature.getId())
+                .featureName(feature.getName())
+                .environment(rule.getEnvironment())
+                .after(describe(rule)));
+    }
+
+    /**
+     * Registra la baja de una regla de segmentación.
+     *
+     * @param feature feature modificada.
+     * @param rule    regla eliminada.
+     */
+    public void ruleDeleted(Feature feature, TargetingRule rule) {
+        record(AuditEvent.builder()
+                .action(AuditAction.RULE_DELETED)
+                .featureId(feature.getId())
+                .featureName(feature.getName())
+                .environment(rule.getEnvironment())
+                .before(describe(rule)));
+    }
+
+    /**
+     * Registra, en el historial de una feature, el cambio de miembros de un segmento que usa.
+     *
+     * @param featureId     feature afectada.
+     * @param featureName   nombre de la feature.
+     * @param segment       segmento modificado.
+     * @param membersBefore número de miembros antes del cambio.
+     */
+    public void segmentMembersChanged(UUID featureId, String featureName, Segment segment, int membersBefore) {
+        record(AuditEvent.builder()
+                .action(AuditAction.SEGMENT_MEMBERS_CHANGED)
+                .featureId(featureId)
+                .featureName(featureName)
+                .before(Map.of("segmentId", segment.getId(), "segmentName", segment.getName(), "members", membersBefore))
+                .after(Map.of("segmentId", segment.getId(), "segmentName", segment.getName(),
+                        "members", segment.getClientIds().size())));
+    }
+
+    private static Map<String, Object> describe(TargetingRule rule) {
+        Map<String, Object> state = new HashMap<>();
+        state.put("ruleId", rule.getId());
+        state.put("priority", rule.getPriority());
+        state.put("enabled", rule.getEnabled());
+        state.put("conditions", rule.getConditions());
+        return state;
+    }
+
+    private void record(AuditEvent.AuditEventBuilder builder) {
+        AuditEvent event = builder
+                .occurredAt(Instant.now())
+                .actor(SecurityUtils.getCurrentUser())
+                .build();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    writer.submit(event);
+                }
+            });
+        } else {
+            writer.submit(event);
+        }
+    }
+}
@@ -71,7 +71,7 @@ public class AuthServiceImpl implements AuthService {
             String token = jwtUtils.generateToken(principal);
             long expMillis = jwtUtils.extractExpirationMillis(token);
 
-            log.info("Usuario: {} logueado con Bearer: {}", dto.getUsername(), token);
+            log.info("Usuario {} ha iniciado sesión", principal.getUsername());
 
             return AuthResponseDTO.builder()
                     .accessToken(token)
@@ -0,0 +1,249 @@
+package com.bytescolab.featureflag.service.cluster;
+
+import com.bytescolab.featureflag.service.feature.event.FeatureChangedEvent;
+import com.bytescolab.featureflag.service.segment.event.SegmentChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Canal de invalidación entre réplicas sobre {@code LISTEN/NOTIFY} de PostgreSQL.
+ *
+ * <p>Cada {@link FeatureChangedEvent} y {@link SegmentChangedEvent} local se traduce en un
+ * {@code pg_notify} dentro de la misma transacción que hizo la escritura: PostgreSQL solo
+ * entrega la notificación si la transacción confirma, y para entonces el cambio ya es visible
+ * para las demás réplicas. El mensaje es {@code <F|S>:<id>:<nodo>}.</p>
+ *
+ * <p>Un hilo propio mantiene una conexión con {@code LISTEN} y republica los cambios de las
+ * demás réplicas como eventos locales con {@code remote = true}. Así {@code FeatureSnapshotHolder},
+ * {@code SegmentRegistry} y el stream SSE los aplican igual que un cambio local, pero no se
+ * vuelven a notificar. Si la conexión se pierde se reintenta y, al recuperarla, se lanza una
+ * reconciliación con {@link SnapshotReconciler} para cubrir las notificaciones perdidas.</p>
+ *
+ * <p>Con otra base de datos (H2 en los tests) o con {@code features.cluster.notify.enabled=false}
+ * el canal no hace nada y solo queda la reconciliación periódica.</p>
+ *
+ * @author Bytes
+ * @see SnapshotReconciler
+ */
+@Slf4j
+@Component
+public class PostgresChangeChannel implements SmartLifecycle {
+
+    static final char FEATURE = 'F';
+    static final char SEGMENT = 'S';
+    private static final Pattern CHANNEL_NAME = Pattern.compile("[a-z_][a-z0-9_]*");
+    private static final long RECONNECT_DELAY_MS = 1000L;
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SnapshotReconciler reconciler;
+    private final String channel;
+    private final boolean enabled;
+    private final int pollTimeoutMs;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private volatile boolean postgres;
+    private volatile boolean running;
+    private volatile Connection listenConnection;
+    private Thread thread;
+
+    public PostgresChangeChannel(DataSource dataSource, ApplicationEventPublisher eventPublisher,
+                                 SnapshotReconciler reconciler,
+                                 @Value("${features.cluster.notify.channel:featureflag_changes}") String channel,
+                                 @Value("${features.cluster.notify.enabled:true}") boolean enabled,
+                                 @Value("${features.cluster.notify.poll-timeout-ms:500}") int pollTimeoutMs) {
+        if (!CHANNEL_NAME.matcher(channel).matches()) {
+            throw new IllegalArgumentException("Nombre de canal no válido: " + channel);
+        }
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.eventPublisher = eventPublisher;
+        this.reconciler = reconciler;
+        this.channel = channel;
+        this.enabled = enabled;
+        this.pollTimeoutMs = pollTimeoutMs;
+    }
+
+    /**
+     * Notifica el cambio de una feature dentro de la transacción que lo produjo.
+     *
+     * @param event evento local; los que llegan de otra réplica se ignoran.
+     */
+    @EventListener
+    public void onFeatureChanged(FeatureChangedEvent event) {
+        if (!event.remote()) {
+            notify(FEATURE, event.featureId());
+        }
+    }
+
+    /**
+     * Notifica el cambio de los miembros de un segmento dentro de la transacción que lo produjo.
+     *
+     * @param event evento local; los que llegan de otra réplica se ignoran.
+     */
+    @EventListener
+    public void onSegmentChanged(SegmentChangedEvent event) {
+        if (!event.remote()) {
+            notify(SEGMENT, event.segmentId());
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running || !enabled) {
+            return;
+        }
+        try {
+            listenConnection = openListenConnection();
+        } catch (SQLException e) {
+            log.warn("No se pudo abrir la conexión LISTEN; solo se usará la reconciliación periódica: {}", e.getMessage());
+            return;
+        }
+        if (listenConnection == null) {
+            return;
+        }
+        postgres = true;
+        running = true;
+        thread = new Thread(this::run, "cluster-listener");
+        thread.setDaemon(true);
+        thread.start();
+        log.info("Escuchando cambios de otras réplicas en el canal '{}' (nodo {})", channel, nodeId);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        thread.interrupt();
+        try {
+            thread.join(pollTimeoutMs * 2L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        closeQuietly(listenConnection);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /** @return identificador de esta réplica en los mensajes del canal. */
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    private void notify(char type, UUID id) {
+        if (!postgres) {
+            return;
+        }
+        jdbcTemplate.query("select pg_notify(?, ?)", rs -> null, channel, type + ":" + id + ":" + nodeId);
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                PGNotification[] notifications = listenConnection.unwrap(PGConnection.class).getNotifications(pollTimeoutMs);
+                if (notifications != null) {
+                    for (PGNotification notification : notifications) {
+                        apply(notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Conexión LISTEN perdida, reintentando: {}", e.getMessage());
+                reconnect();
+            } catch (RuntimeException e) {
+                log.error("Error aplicando un cambio de otra réplica", e);
+            }
+        }
+    }
+
+    /**
+     * Aplica un mensaje del canal. Los mensajes de esta misma réplica se ignoran, porque su
+     * cambio ya se aplicó con el evento local.
+     */
+    void apply(String payload) {
+        String[] parts = payload.split(":", 3);
+        if (parts.length != 3 || parts[0].length() != 1) {
+            log.warn("Mensaje de invalidación no reconocido: {}", payload);
+            return;
+        }
+        if (nodeId.equals(parts[2])) {
+            return;
+        }
+        UUID id = UUID.fromString(parts[1]);
+        switch (parts[0].charAt(0)) {
+            case SEGMENT -> eventPublisher.publishEvent(new SegmentChangedEvent(id, true));
+            case FEATURE -> eventPublisher.publishEvent(new FeatureChangedEvent(id, true));
+            default -> log.warn("Mensaje de invalidación no reconocido: {}", payload);
+        }
+    }
+
+    private void reconnect() {
+        closeQuietly(listenConnection);
+        while (running) {
+            try {
+                Thread.sleep(RECONNECT_DELAY_MS);
+                listenConnection = openListenConnection();
+                log.info("Conexión LISTEN recuperada; reconciliando el snapshot");
+                reconciler.resync();
+                return;
+            } catch (InterruptedException e) {
+                return;
+            } catch (SQLException | RuntimeException e) {
+                log.warn("No se pudo recuperar la conexión LISTEN: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Abre una conexión del pool y se suscribe al canal.
+     *
+     * @return la conexión, o {@code null} si la base de datos no es PostgreSQL.
+     */
+    private Connection openListenConnection() throws SQLException {
+        Connection connection = dataSource.getConnection();
+        if (!connection.isWrapperFor(PGConnection.class)) {
+            connection.close();
+            return null;
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("LISTEN " + channel);
+        } catch (SQLException e) {
+            closeQuietly(connection);
+            throw e;
+        }
+        return connection;
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+            // la conexión ya estaba rota
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.bytescolab.featureflag.service.cluster;
+
+import com.bytescolab.featureflag.repository.FeatureRepository;
+import com.bytescolab.featureflag.repository.projection.FeatureRow;
+import com.bytescolab.featureflag.service.feature.event.FeatureChangedEvent;
+import com.bytescolab.featureflag.service.feature.snapshot.FeatureSnapshot;
+import com.bytescolab.featureflag.service.feature.snapshot.FeatureSnapshotHolder;
+import com.bytescolab.featureflag.service.feature.snapshot.FeatureState;
+import com.bytescolab.featureflag.service.segment.SegmentRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Red de seguridad de la invalidación entre réplicas.
+ *
+ * <p>Periódicamente compara la versión del conjunto de flags calculada en base de datos
+ * ({@link FeatureRepository#computeFlagSetVersion()}) con la del snapshot en memoria. Si no
+ * coinciden, alguna notificación de {@link PostgresChangeChannel} se ha perdido: se releen los
+ * segmentos y se publica un {@link FeatureChangedEvent} remoto por cada feature cuya revisión
+ * difiere (o que ya no existe), de modo que el snapshot y el stream SSE se actualizan igual
+ * que con una notificación.</p>
+ *
+ * <p>En el caso habitual la comprobación es una única consulta agregada.</p>
+ *
+ * @author Bytes
+ * @see PostgresChangeChannel
+ */
+@Slf4j
+@Component
+public class SnapshotReconciler {
+
+    private final FeatureRepository featureRepository;
+    private final FeatureSnapshotHolder featureSnapshotHolder;
+    private final SegmentRegistry segmentRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public SnapshotReconciler(FeatureRepository featureRepository, FeatureSnapshotHolder featureSnapshotHolder,
+                              SegmentRegistry segmentRegistry, ApplicationEventPublisher eventPublisher) {
+        this.featureRepository = featureRepository;
+        this.featureSnapshotHolder = featureSnapshotHolder;
+        this.segmentRegistry = segmentRegistry;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Comprueba la versión del snapshot y, si no coincide con la de base de datos, lo corrige.
+     *
+     * @return número de features actualizadas.
+     */
+    @Scheduled(fixedDelayString = "${features.cluster.reconcile-interval-ms:30000}",
+            initialDelayString = "${features.cluster.reconcile-interval-ms:30000}")
+    public int reconcile() {
+        if (featureRepository.computeFlagSetVersion() == featureSnapshotHolder.current().getFlagSetVersion()) {
+            return 0;
+        }
+        return resync();
+    }
+
+    /**
+     * Relee los segmentos y actualiza todas las features cuya revisión no coincide con la de
+     * base de datos, sin comprobar antes la versión. Se usa tras recuperar la conexión
+     * {@code LISTEN}, cuando también pueden haberse perdido cambios de segmentos.
+     *
+     * @return número de features actualizadas.
+     */
+    public int resync() {
+        segmentRegistry.reloadAll();
+        FeatureSnapshot snapshot = featureSnapshotHolder.current();
+        List<FeatureRow> rows = featureRepository.findAllRows();
+        Set<UUID> stale = new HashSet<>();
+        for (FeatureRow row : rows) {
+            FeatureState state = snapshot.get(row.id());
+            long revision = row.revision() != null ? row.revision() : 0L;
+            if (state == null || state.getRevision() != revision) {
+                stale.add(row.id());
+            }
+        }
+        Set<UUID> existing = new HashSet<>(rows.size() * 2);
+        rows.forEach(row -> existing.add(row.id()));
+        for (UUID featureId : snapshot.getFeatures().keySet()) {
+            if (!existing.contains(featureId)) {
+                stale.add(featureId);
+            }
+        }
+
+        stale.forEach(featureId -> eventPublisher.publishEvent(new FeatureChangedEvent(featureId, true)));
+        if (!stale.isEmpty()) {
+            log.warn("Snapshot desincronizado con la base de datos: {} features actualizadas", stale.size());
+        }
+        return stale.size();
+    }
+}
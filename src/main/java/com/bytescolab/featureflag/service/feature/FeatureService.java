@@ -1,15 +1,25 @@
 package com.bytescolab.featureflag.service.feature;
 
+import com.bytescolab.featureflag.model.enums.AuditAction;
+import com.bytescolab.featureflag.repository.dto.audit.response.AuditEventPageDTO;
 import com.bytescolab.featureflag.repository.dto.feature.request.FeatureConfigCreateRequestDTO;
 import com.bytescolab.featureflag.repository.dto.feature.request.FeatureCreateRequestDTO;
 import com.bytescolab.featureflag.repository.dto.feature.request.FeatureActivationRequestDTO;
+import com.bytescolab.featureflag.repository.dto.feature.request.FeatureBatchActivationRequestDTO;
+import com.bytescolab.featureflag.repository.dto.feature.request.FeatureRolloutRequestDTO;
+import com.bytescolab.featureflag.repository.dto.feature.response.FeatureBatchActivationResponseDTO;
 import com.bytescolab.featureflag.repository.dto.feature.response.FeatureConfigResponseDTO;
 import com.bytescolab.featureflag.repository.dto.feature.response.FeatureDetailResponseDTO;
-import com.bytescolab.featureflag.repository.dto.feature.response.FeatureSummaryResponseDTO;
+import com.bytescolab.featureflag.repository.dto.feature.response.FeatureEvaluationResponseDTO;
+import com.bytescolab.featureflag.repository.dto.feature.response.FeatureStateResponseDTO;
+import com.bytescolab.featureflag.repository.dto.feature.response.FeatureSummaryPageDTO;
 import com.bytescolab.featureflag.model.enums.Environment;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
@@ -19,7 +29,7 @@ public interface FeatureService {
 
     FeatureConfigResponseDTO createConfigFeature (UUID id, FeatureConfigCreateRequestDTO dto);
 
-    List<FeatureSummaryResponseDTO> getAllFeatures(Boolean enabled, String name);
+    FeatureSummaryPageDTO getAllFeatures(Boolean enabled, String name, String after, Integer size);
 
     FeatureDetailResponseDTO getFeatureById(UUID id);
 
@@ -27,5 +37,23 @@ public interface FeatureService {
 
     String disableFeatureForClientOrEnv(UUID featureId, FeatureActivationRequestDTO dto);
 
+    FeatureBatchActivationResponseDTO applyBatch(UUID featureId, FeatureBatchActivationRequestDTO dto);
+
+    FeatureConfigResponseDTO updateRollout(UUID featureId, FeatureRolloutRequestDTO dto);
+
     boolean isFeatureActived(UUID featureId, String clientId, Environment environment);
+
+    List<FeatureEvaluationResponseDTO> evaluateFeatures(String clientId, Environment environment, Collection<UUID> featureIds);
+
+    List<FeatureEvaluationResponseDTO> evaluateFeatures(String clientId, Environment environment, Collection<UUID> featureIds,
+                                                        Map<String, String> attributes);
+
+    AuditEventPageDTO getFeatureHistory(UUID featureId, Instant from, Instant to, Environment environment,
+                                        AuditAction action, String clientId, String after, Integer size);
+
+    List<FeatureStateResponseDTO> getFeatureStates();
+
+    Long getFeatureRevision(UUID featureId);
+
+    long getFlagSetFingerprint();
 }
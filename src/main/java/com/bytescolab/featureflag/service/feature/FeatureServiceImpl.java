@@ -2,40 +2,93 @@ package com.bytescolab.featureflag.service.feature;
 
 import com.bytescolab.featureflag.exception.ApiException;
 import com.bytescolab.featureflag.exception.ErrorCodes;
+import com.bytescolab.featureflag.model.entity.AuditEvent;
 import com.bytescolab.featureflag.model.entity.Feature;
 import com.bytescolab.featureflag.model.entity.FeatureConfig;
+import com.bytescolab.featureflag.model.entity.Segment;
+import com.bytescolab.featureflag.model.enums.AuditAction;
 import com.bytescolab.featureflag.model.enums.Environment;
+import com.bytescolab.featureflag.repository.AuditEventRepository;
 import com.bytescolab.featureflag.repository.FeatureConfigRepository;
 import com.bytescolab.featureflag.repository.FeatureRepository;
+import com.bytescolab.featureflag.repository.SegmentRepository;
+import com.bytescolab.featureflag.repository.dto.audit.response.AuditEventPageDTO;
+import com.bytescolab.featureflag.repository.dto.audit.response.AuditEventResponseDTO;
 import com.bytescolab.featureflag.repository.dto.feature.request.FeatureActivationRequestDTO;
+import com.bytescolab.featureflag.repository.dto.feature.request.FeatureBatchActivationRequestDTO;
 import com.bytescolab.featureflag.repository.dto.feature.request.FeatureConfigCreateRequestDTO;
 import com.bytescolab.featureflag.repository.dto.feature.request.FeatureCreateRequestDTO;
+import com.bytescolab.featureflag.repository.dto.feature.request.FeatureRolloutRequestDTO;
+import com.bytescolab.featureflag.repository.dto.feature.response.FeatureBatchActivationResponseDTO;
 import com.bytescolab.featureflag.repository.dto.feature.response.FeatureConfigResponseDTO;
 import com.bytescolab.featureflag.repository.dto.feature.response.FeatureDetailResponseDTO;
+import com.bytescolab.featureflag.repository.dto.feature.response.FeatureEvaluationResponseDTO;
+import com.bytescolab.featureflag.repository.dto.feature.response.FeatureStateResponseDTO;
+import com.bytescolab.featureflag.repository.dto.feature.response.FeatureSummaryPageDTO;
 import com.bytescolab.featureflag.repository.dto.feature.response.FeatureSummaryResponseDTO;
+import com.bytescolab.featureflag.repository.mapper.AuditEventMapper;
 import com.bytescolab.featureflag.repository.mapper.FeatureMapper;
-import com.bytescolab.featureflag.config.security.SecurityUtils;
-import com.bytescolab.featureflag.utils.logging.FeatureAuditLogger;
+import com.bytescolab.featureflag.service.audit.AuditTrail;
+import com.bytescolab.featureflag.service.feature.event.FeatureChangedEvent;
+import com.bytescolab.featureflag.service.feature.metrics.FeatureEvaluationMetrics;
+import com.bytescolab.featureflag.service.feature.snapshot.FeatureSnapshotHolder;
+import com.bytescolab.featureflag.service.feature.snapshot.FeatureState;
+import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @Slf4j
 @Service
 public class FeatureServiceImpl implements FeatureService {
 
+    /** Tamaño de página por defecto del listado de features. */
+    static final int DEFAULT_PAGE_SIZE = 50;
+    /** Tamaño máximo de página del listado de features. */
+    static final int MAX_PAGE_SIZE = 200;
+    /** Tamaño máximo de página del historial de auditoría. */
+    static final int MAX_HISTORY_PAGE_SIZE = 500;
+    /** Separador entre instante e id en el cursor del historial. */
+    private static final char HISTORY_CURSOR_SEPARATOR = '_';
+    private static final UUID MIN_UUID = new UUID(0L, 0L);
+
     private final FeatureRepository featureRepository;
     private final FeatureConfigRepository featureConfigRepository;
-    private final FeatureAuditLogger featureAuditLogger;
+    private final SegmentRepository segmentRepository;
+    private final AuditEventRepository auditEventRepository;
+    private final AuditTrail auditTrail;
+    private final FeatureSnapshotHolder featureSnapshotHolder;
+    private final FeatureEvaluationMetrics evaluationMetrics;
+    private final ApplicationEventPublisher eventPublisher;
 
 
     public FeatureServiceImpl(FeatureRepository featureRepository,
-                              FeatureConfigRepository featureConfigRepository, FeatureAuditLogger featureAuditLogger) {
+                              FeatureConfigRepository featureConfigRepository, SegmentRepository segmentRepository,
+                              AuditEventRepository auditEventRepository, AuditTrail auditTrail,
+                              FeatureSnapshotHolder featureSnapshotHolder, FeatureEvaluationMetrics evaluationMetrics,
+                              ApplicationEventPublisher eventPublisher) {
         this.featureRepository = featureRepository;
         this.featureConfigRepository = featureConfigRepository;
-        this.featureAuditLogger = featureAuditLogger;
+        this.segmentRepository = segmentRepository;
+        this.auditEventRepository = auditEventRepository;
+        this.auditTrail = auditTrail;
+        this.featureSnapshotHolder = featureSnapshotHolder;
+        this.evaluationMetrics = evaluationMetrics;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -44,21 +97,40 @@ public class FeatureServiceImpl implements FeatureService {
             throw new ApiException(ErrorCodes.FEATURE_EXISTS, ErrorCodes.FEATURE_EXISTS_MSG);
         }
 
+        if (dto.getConfigs() != null) {
+            dto.getConfigs().forEach(FeatureServiceImpl::validateConfig);
+        }
         Feature entity = FeatureMapper.toEntity(dto);
+        if (entity.getConfigs() != null) {
+            for (FeatureConfig config : entity.getConfigs()) {
+                if (config.getSegment() != null) {
+                    config.setSegment(getSegmentOrThrow(config.getSegment().getId()));
+                }
+            }
+        }
         Feature saved = featureRepository.save(entity);
-        String currentUser = SecurityUtils.getCurrentUser();
 
-        featureAuditLogger.logCreation(dto.getName(), currentUser);
+        auditTrail.featureCreated(saved);
         log.info("Feature {} creada con éxito.", entity.getName());
+        eventPublisher.publishEvent(new FeatureChangedEvent(saved.getId()));
 
         return FeatureMapper.toDetailResponseDTO(saved);
     }
 
+    /**
+     * Crea una configuración en una transacción: la inserción y el incremento de revisión se
+     * confirman juntos y el evento de cambio se publica tras el commit.
+     */
     @Override
+    @Transactional
     public FeatureConfigResponseDTO createConfigFeature(UUID id, FeatureConfigCreateRequestDTO dto) {
 
+        validateConfig(dto);
         Feature feature = getFeatureOrThrow(id);
-        boolean exists = featureConfigRepository
+        Segment segment = dto.getSegmentId() != null ? getSegmentOrThrow(dto.getSegmentId()) : null;
+        boolean exists = segment != null
+                ? featureConfigRepository.existsByFeatureIdAndEnvironmentAndSegmentId(feature.getId(), dto.getEnvironment(), segment.getId())
+                : featureConfigRepository
                 .findByFeatureAndEnvironmentAndClientId(feature, dto.getEnvironment(), dto.getClientId())
                 .isPresent();
 
@@ -71,35 +143,40 @@ public class FeatureServiceImpl implements FeatureService {
                 .environment(dto.getEnvironment())
                 .clientId(dto.getClientId())
                 .enabled(dto.getEnabled())
+                .rolloutPercentage(dto.getRolloutPercentage())
+                .segment(segment)
                 .build();
 
         FeatureConfig saved = featureConfigRepository.save(config);
+        featureRepository.incrementRevision(feature.getId());
+        eventPublisher.publishEvent(new FeatureChangedEvent(feature.getId()));
+        auditTrail.configCreated(feature, saved);
 
-        return FeatureConfigResponseDTO.builder()
-                .environment(saved.getEnvironment())
-                .clientId(saved.getClientId())
-                .enabled(saved.isEnabled())
-                .build();
+        return FeatureMapper.toConfigDTO(saved);
     }
 
 
     @Override
-    public List<FeatureSummaryResponseDTO> getAllFeatures(Boolean enabled, String name) {
-        var features = featureRepository.findAll();
-
-        return features.stream()
-                .filter(feature -> name == null || feature.getName().equalsIgnoreCase(name))
-                .filter(feature -> {
-                    if (enabled != null) {
-                        return feature.getConfigs().stream()
-                                .anyMatch(config -> config.isEnabled() == enabled);
-                    } else {
-
-                        return feature.isEnabledByDefault();
-                    }
-                })
+    public FeatureSummaryPageDTO getAllFeatures(Boolean enabled, String name, String after, Integer size) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        if (pageSize < 1) {
+            throw new ApiException(ErrorCodes.BAD_PARAMS, ErrorCodes.BAD_PARAMS_MSG);
+        }
+        boolean firstPage = after == null || after.isEmpty();
+        String namePattern = name == null || name.isBlank() ? null : "%" + escapeLike(name.trim().toLowerCase(Locale.ROOT)) + "%";
+
+        List<Feature> features = featureRepository.findPage(enabled, namePattern, firstPage ? "" : after, Limit.of(pageSize + 1));
+        if (features.isEmpty() && firstPage && namePattern != null) {
+            throw new ApiException(ErrorCodes.FEATURE_NOT_FOUND, ErrorCodes.FEATURE_NOT_FOUND_MSG);
+        }
+
+        boolean hasNext = features.size() > pageSize;
+        List<FeatureSummaryResponseDTO> items = features.stream()
+                .limit(pageSize)
                 .map(FeatureMapper::toSummaryDTO)
                 .toList();
+        String nextCursor = hasNext ? items.get(items.size() - 1).getName() : null;
+        return new FeatureSummaryPageDTO(items, nextCursor);
     }
 
     @Override
@@ -109,73 +186,336 @@ public class FeatureServiceImpl implements FeatureService {
         return FeatureMapper.toDetailResponseDTO(feature);
     }
 
+    /**
+     * Activa la feature en una transacción. La fila de la feature se bloquea para serializar las
+     * escrituras concurrentes y el cambio se aplica con una actualización condicional; solo si la
+     * configuración no existe se inserta. El evento de cambio se publica tras el commit.
+     *
+     * <p>Solo se rechaza si la propia configuración ya está activada: un cliente que ya evalúa a
+     * activo por despliegue, segmento o regla puede recibir igualmente su configuración explícita.</p>
+     */
     @Override
+    @Transactional
     public String enableFeatureForClientOrEnv(UUID featureId, FeatureActivationRequestDTO dto) {
-        boolean isActivated = isFeatureActived(featureId, dto.getClientId(), dto.getEnvironment());
-        if (isActivated) {
-            throw new ApiException(ErrorCodes.FEATURE_ENABLE, ErrorCodes.FEATURE_ENABLE_MSG);
-        }
         if (Boolean.FALSE.equals(dto.getEnabled())) {
             throw new ApiException(ErrorCodes.BAD_PARAMS, ErrorCodes.BAD_PARAMS_MSG);
         }
-        Feature feature = getFeatureOrThrow(featureId);
-
-        FeatureConfig config = featureConfigRepository
-                .findByFeatureAndEnvironmentAndClientId(feature, dto.getEnvironment(), dto.getClientId())
-                .orElse(FeatureMapper.toConfigEntity(dto, feature));
+        Feature feature = lockFeatureOrThrow(featureId);
+
+        // La actualización condicional solo afecta a una configuración desactivada
+        Boolean previous = false;
+        if (featureConfigRepository.updateEnabled(featureId, dto.getEnvironment(), dto.getClientId(), true) == 0) {
+            if (featureConfigRepository.existsByFeatureAndEnvironmentAndClientId(feature, dto.getEnvironment(), dto.getClientId())) {
+                throw new ApiException(ErrorCodes.FEATURE_ENABLE, ErrorCodes.FEATURE_ENABLE_MSG);
+            }
+            featureConfigRepository.save(FeatureMapper.toConfigEntity(dto, feature));
+            previous = null;
+        }
 
-        String currentUser = SecurityUtils.getCurrentUser();
-        config.setEnabled(true);
-        featureConfigRepository.save(config);
+        featureRepository.incrementRevision(feature.getId());
+        eventPublisher.publishEvent(new FeatureChangedEvent(feature.getId()));
 
-        featureAuditLogger.logActivation(feature.getName(), dto.getEnvironment().toString(), dto.getClientId(), currentUser);
-        log.info("Feature '{}' activada correctamente para clientId: '{}' y env: '{}'",
+        auditTrail.featureToggled(feature, dto.getEnvironment(), dto.getClientId(), previous, true);
+        log.debug("Feature '{}' activada para clientId: '{}' y env: '{}'",
                 feature.getName(), dto.getClientId(), dto.getEnvironment());
 
-        return String.format("Feature '%s' activada correctamente para clientId= %s y env= %s",
-                feature.getName(), dto.getClientId(), dto.getEnvironment());
+        return "Feature '" + feature.getName() + "' activada correctamente para clientId= " + dto.getClientId()
+                + " y env= " + dto.getEnvironment();
     }
 
+    /**
+     * Desactiva la feature en una transacción, con la fila de la feature bloqueada y una
+     * actualización condicional de la configuración existente.
+     */
     @Override
+    @Transactional
     public String disableFeatureForClientOrEnv(UUID featureId, FeatureActivationRequestDTO dto) {
-        boolean isActivated = isFeatureActived(featureId, dto.getClientId(), dto.getEnvironment());
-        if (!isActivated) {
-            throw new ApiException(ErrorCodes.FEATURE_DISABLE, ErrorCodes.FEATURE_DISABLE_MSG);
-        }
         if (Boolean.TRUE.equals(dto.getEnabled())) {
             throw new ApiException(ErrorCodes.BAD_PARAMS, ErrorCodes.BAD_PARAMS_MSG);
         }
-        Feature feature = getFeatureOrThrow(featureId);
+        Feature feature = lockFeatureOrThrow(featureId);
 
-        FeatureConfig config = featureConfigRepository
-                .findByFeatureAndEnvironmentAndClientId(feature, dto.getEnvironment(), dto.getClientId())
-                .orElseThrow(() -> new ApiException(ErrorCodes.BAD_PARAMS, "No existe configuración para deshabilitar"));
+        if (featureConfigRepository.updateEnabled(featureId, dto.getEnvironment(), dto.getClientId(), false) == 0) {
+            if (featureConfigRepository.existsByFeatureAndEnvironmentAndClientId(feature, dto.getEnvironment(), dto.getClientId())) {
+                throw new ApiException(ErrorCodes.FEATURE_DISABLE, ErrorCodes.FEATURE_DISABLE_MSG);
+            }
+            throw new ApiException(ErrorCodes.BAD_PARAMS, "No existe configuración para deshabilitar");
+        }
 
-        String currentUser = SecurityUtils.getCurrentUser();
-        config.setEnabled(false);
-        featureConfigRepository.save(config);
+        featureRepository.incrementRevision(feature.getId());
+        eventPublisher.publishEvent(new FeatureChangedEvent(feature.getId()));
 
-        featureAuditLogger.logDesactivation(feature.getName(), dto.getEnvironment().toString(), dto.getClientId(), currentUser);
-        log.info("Feature '{}' desactivada correctamente para clientId: '{}' y env: '{}'",
+        auditTrail.featureToggled(feature, dto.getEnvironment(), dto.getClientId(), true, false);
+        log.debug("Feature '{}' desactivada para clientId: '{}' y env: '{}'",
                 feature.getName(), dto.getClientId(), dto.getEnvironment());
 
-        return String.format("Feature '%s' desactivada correctamente para clientId= %s y env= %s",
-                feature.getName(), dto.getClientId(), dto.getEnvironment());
+        return "Feature '" + feature.getName() + "' desactivada correctamente para clientId= " + dto.getClientId()
+                + " y env= " + dto.getEnvironment();
+    }
+
+    /**
+     * Aplica en una única transacción un lote de activaciones/desactivaciones por cliente,
+     * con la fila de la feature bloqueada como en las activaciones individuales.
+     * Las configuraciones existentes se leen con una sola consulta; las nuevas y las modificadas
+     * se guardan juntas con inserciones y actualizaciones JDBC en lote
+     * ({@code hibernate.jdbc.batch_size}). La revisión se incrementa y el cambio se publica una vez.
+     */
+    @Override
+    @Transactional
+    public FeatureBatchActivationResponseDTO applyBatch(UUID featureId, FeatureBatchActivationRequestDTO dto) {
+        Feature feature = lockFeatureOrThrow(featureId);
+
+        Map<ConfigKey, Boolean> requested = new LinkedHashMap<>();
+        for (FeatureActivationRequestDTO item : dto.getItems()) {
+            requested.put(new ConfigKey(item.getEnvironment(), item.getClientId()), !Boolean.FALSE.equals(item.getEnabled()));
+        }
+        Set<String> clientIds = new HashSet<>();
+        requested.keySet().forEach(key -> clientIds.add(key.clientId()));
+
+        Map<ConfigKey, FeatureConfig> existing = new HashMap<>();
+        for (FeatureConfig config : featureConfigRepository.findClientConfigs(featureId, clientIds)) {
+            existing.put(new ConfigKey(config.getEnvironment(), config.getClientId()), config);
+        }
+
+        List<FeatureConfig> toSave = new ArrayList<>();
+        List<AuditTrail.ConfigChange> changes = new ArrayList<>();
+        int created = 0;
+        int updated = 0;
+        for (Map.Entry<ConfigKey, Boolean> entry : requested.entrySet()) {
+            ConfigKey key = entry.getKey();
+            FeatureConfig config = existing.get(key);
+            if (config == null) {
+                toSave.add(FeatureConfig.builder()
+                        .feature(feature)
+                        .environment(key.environment())
+                        .clientId(key.clientId())
+                        .enabled(entry.getValue())
+                        .build());
+                changes.add(new AuditTrail.ConfigChange(key.environment(), key.clientId(), null, entry.getValue()));
+                created++;
+            } else if (config.isEnabled() != entry.getValue()) {
+                changes.add(new AuditTrail.ConfigChange(key.environment(), key.clientId(), config.isEnabled(), entry.getValue()));
+                config.setEnabled(entry.getValue());
+                toSave.add(config);
+                updated++;
+            }
+        }
+        int unchanged = requested.size() - created - updated;
+
+        if (!toSave.isEmpty()) {
+            featureConfigRepository.saveAll(toSave);
+            featureRepository.incrementRevision(featureId);
+            eventPublisher.publishEvent(new FeatureChangedEvent(featureId));
+        }
+
+        auditTrail.batchApplied(feature, created, updated, unchanged, changes);
+        log.debug("Feature '{}' actualizada en lote: {} creadas, {} modificadas, {} sin cambios",
+                feature.getName(), created, updated, unchanged);
+
+        return FeatureBatchActivationResponseDTO.builder()
+                .featureId(featureId)
+                .created(created)
+                .updated(updated)
+                .unchanged(unchanged)
+                .build();
+    }
+
+    /**
+     * Cambia el porcentaje de despliegue de un entorno en una transacción, con la fila de la
+     * feature bloqueada como en las activaciones: dos despliegues concurrentes del mismo entorno
+     * no pueden crear a la vez la configuración global. La revisión se incrementa en la misma
+     * transacción y el evento de cambio y la auditoría se entregan tras el commit.
+     */
+    @Override
+    @Transactional
+    public FeatureConfigResponseDTO updateRollout(UUID featureId, FeatureRolloutRequestDTO dto) {
+        Feature feature = lockFeatureOrThrow(featureId);
+
+        FeatureConfig config = featureConfigRepository
+                .findByFeatureIdAndEnvironmentAndClientIdIsNull(featureId, dto.getEnvironment())
+                .orElseGet(() -> FeatureConfig.builder()
+                        .feature(feature)
+                        .environment(dto.getEnvironment())
+                        .enabled(true)
+                        .build());
+
+        Integer previousPercentage = config.getRolloutPercentage();
+        config.setRolloutPercentage(dto.getPercentage());
+        FeatureConfig saved = featureConfigRepository.save(config);
+        featureRepository.incrementRevision(feature.getId());
+        eventPublisher.publishEvent(new FeatureChangedEvent(feature.getId()));
+
+        auditTrail.rolloutChanged(feature, dto.getEnvironment(), previousPercentage, dto.getPercentage());
+        log.info("Feature '{}' desplegada al {}% en env: '{}'", feature.getName(), dto.getPercentage(), dto.getEnvironment());
+
+        return FeatureMapper.toConfigDTO(saved);
+    }
+
+    /**
+     * Historial de auditoría de una feature, del cambio más reciente al más antiguo, paginado por
+     * cursor ({@code "<instante>_<id>"} del último evento leído). Sin {@code to} se toma el
+     * instante actual y sin {@code from} todo el historial anterior.
+     *
+     * <p>Con filtro de entorno o cliente, un lote solo se devuelve si alguno de sus cambios
+     * ({@code after.changes}) coincide. Los lotes descartados cuentan para la página, que puede
+     * traer menos elementos que {@code size} aunque haya un cursor siguiente.</p>
+     */
+    @Override
+    public AuditEventPageDTO getFeatureHistory(UUID featureId, Instant from, Instant to, Environment environment,
+                                               AuditAction action, String clientId, String after, Integer size) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_HISTORY_PAGE_SIZE);
+        Instant lowerBound = from != null ? from : Instant.EPOCH;
+        Instant upperBound = to != null ? to : Instant.now();
+        if (pageSize < 1 || lowerBound.isAfter(upperBound)) {
+            throw new ApiException(ErrorCodes.BAD_PARAMS, ErrorCodes.BAD_PARAMS_MSG);
+        }
+
+        Instant beforeTime = upperBound;
+        UUID beforeId = MIN_UUID;
+        if (after != null && !after.isEmpty()) {
+            int separator = after.lastIndexOf(HISTORY_CURSOR_SEPARATOR);
+            try {
+                beforeTime = Instant.parse(after.substring(0, separator));
+                beforeId = UUID.fromString(after.substring(separator + 1));
+            } catch (RuntimeException e) {
+                throw new ApiException(ErrorCodes.BAD_PARAMS, ErrorCodes.BAD_PARAMS_MSG);
+            }
+        }
+
+        List<AuditEvent> events = auditEventRepository.findHistory(featureId, lowerBound, beforeTime, beforeId,
+                environment, action, clientId, Limit.of(pageSize + 1));
+        boolean hasNext = events.size() > pageSize;
+        List<AuditEvent> page = hasNext ? events.subList(0, pageSize) : events;
+        List<AuditEventResponseDTO> items = page.stream()
+                .filter(event -> batchMatches(event, environment, clientId))
+                .map(AuditEventMapper::toResponseDTO)
+                .toList();
+        String nextCursor = null;
+        if (hasNext) {
+            AuditEvent last = page.get(page.size() - 1);
+            nextCursor = last.getOccurredAt().toString() + HISTORY_CURSOR_SEPARATOR + last.getId();
+        }
+        return new AuditEventPageDTO(items, nextCursor);
+    }
+
+    /**
+     * @return {@code true} si el evento no es un lote, no hay filtro de entorno ni de cliente, o
+     *         alguno de los cambios del lote coincide con ambos filtros.
+     */
+    private static boolean batchMatches(AuditEvent event, Environment environment, String clientId) {
+        if (event.getAction() != AuditAction.BATCH_APPLIED || (environment == null && clientId == null)) {
+            return true;
+        }
+        Object changes = event.getAfter() != null ? event.getAfter().get("changes") : null;
+        if (!(changes instanceof List<?> list)) {
+            return false;
+        }
+        for (Object item : list) {
+            if (item instanceof Map<?, ?> change
+                    && (environment == null || environment.name().equals(change.get("environment")))
+                    && (clientId == null || clientId.equals(change.get("clientId")))) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @Override
     public boolean isFeatureActived(UUID featureId, String clientId, Environment environment) {
-        Feature feature = getFeatureOrThrow(featureId);
+        long lookup = evaluationMetrics.lookupStarted();
+        FeatureState state = featureSnapshotHolder.getOrLoad(featureId);
+        evaluationMetrics.lookupFinished(lookup);
+        if (state == null) {
+            throw new ApiException(ErrorCodes.FEATURE_NOT_FOUND, ErrorCodes.FEATURE_NOT_FOUND_MSG);
+        }
+        boolean enabled = state.isEnabled(clientId, environment);
+        evaluationMetrics.evaluated(state, environment, enabled);
+        return enabled;
+    }
 
-        return featureConfigRepository.findByFeatureAndEnvironmentAndClientId(feature, environment, clientId)
-                .map(FeatureConfig::isEnabled)
-                .or(() -> featureConfigRepository.findByFeatureIdAndEnvironmentAndClientIdIsNull(feature.getId(), environment)
-                        .map(FeatureConfig::isEnabled))
-                .orElse(feature.isEnabledByDefault());
+    @Override
+    public List<FeatureEvaluationResponseDTO> evaluateFeatures(String clientId, Environment environment, Collection<UUID> featureIds) {
+        return evaluateFeatures(clientId, environment, featureIds, Map.of());
+    }
+
+    @Override
+    public List<FeatureEvaluationResponseDTO> evaluateFeatures(String clientId, Environment environment, Collection<UUID> featureIds,
+                                                               Map<String, String> attributes) {
+        Map<String, String> context = attributes != null ? attributes : Map.of();
+        Collection<FeatureState> states;
+        if (featureIds == null || featureIds.isEmpty()) {
+            states = featureSnapshotHolder.current().getFeatures().values();
+        } else {
+            long lookup = evaluationMetrics.lookupStarted();
+            Map<UUID, FeatureState> found = featureSnapshotHolder.getOrLoadAll(featureIds);
+            evaluationMetrics.lookupFinished(lookup);
+            if (found.size() < new HashSet<>(featureIds).size()) {
+                throw new ApiException(ErrorCodes.FEATURE_NOT_FOUND, ErrorCodes.FEATURE_NOT_FOUND_MSG);
+            }
+            states = found.values();
+        }
+
+        return states.stream()
+                .map(state -> {
+                    boolean enabled = state.isEnabled(clientId, environment, context);
+                    evaluationMetrics.evaluated(state, environment, enabled);
+                    return new FeatureEvaluationResponseDTO(state.getId(), state.getName(), enabled);
+                })
+                .sorted(Comparator.comparing(FeatureEvaluationResponseDTO::getName))
+                .toList();
+    }
+
+    /**
+     * Estado de todas las features del snapshot en memoria, ordenado por nombre, tal como lo
+     * descargan los SDK para evaluar en local.
+     */
+    @Override
+    public List<FeatureStateResponseDTO> getFeatureStates() {
+        return featureSnapshotHolder.current().getFeatures().values().stream()
+                .sorted(Comparator.comparing(FeatureState::getName))
+                .map(FeatureMapper::toStateDTO)
+                .toList();
+    }
+
+    @Override
+    public Long getFeatureRevision(UUID featureId) {
+        FeatureState state = featureSnapshotHolder.current().get(featureId);
+        return state != null ? state.getRevision() : null;
+    }
+
+    @Override
+    public long getFlagSetFingerprint() {
+        return featureSnapshotHolder.current().getFingerprint();
     }
 
     private Feature getFeatureOrThrow(UUID featureId) {
         return featureRepository.findById(featureId)
                 .orElseThrow(() -> new ApiException(ErrorCodes.FEATURE_NOT_FOUND, ErrorCodes.FEATURE_NOT_FOUND_MSG));
     }
-}
\ No newline at end of file
+
+    private Feature lockFeatureOrThrow(UUID featureId) {
+        return featureRepository.findByIdForUpdate(featureId)
+                .orElseThrow(() -> new ApiException(ErrorCodes.FEATURE_NOT_FOUND, ErrorCodes.FEATURE_NOT_FOUND_MSG));
+    }
+
+    private Segment getSegmentOrThrow(UUID segmentId) {
+        return segmentRepository.findById(segmentId)
+                .orElseThrow(() -> new ApiException(ErrorCodes.SEGMENT_NOT_FOUND, ErrorCodes.SEGMENT_NOT_FOUND_MSG));
+    }
+
+    private static void validateConfig(FeatureConfigCreateRequestDTO dto) {
+        if (dto.getRolloutPercentage() != null && (dto.getClientId() != null || dto.getSegmentId() != null)) {
+            throw new ApiException(ErrorCodes.BAD_PARAMS, "El despliegue porcentual solo admite configuraciones sin clientId");
+        }
+        if (dto.getSegmentId() != null && dto.getClientId() != null) {
+            throw new ApiException(ErrorCodes.BAD_PARAMS, "Una configuración aplica a un clientId o a un segmento, no a ambos");
+        }
+    }
+
+    private record ConfigKey(Environment environment, String clientId) {
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,18 @@
+package com.bytescolab.featureflag.service.feature;
+
+import com.bytescolab.featureflag.repository.dto.feature.request.TargetingRuleCreateRequestDTO;
+import com.bytescolab.featureflag.repository.dto.feature.response.TargetingRuleResponseDTO;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.UUID;
+
+@Service
+public interface TargetingRuleService {
+
+    TargetingRuleResponseDTO createRule(UUID featureId, TargetingRuleCreateRequestDTO dto);
+
+    List<TargetingRuleResponseDTO> getRules(UUID featureId);
+
+    void deleteRule(UUID featureId, UUID ruleId);
+}
@@ -0,0 +1,99 @@
+package com.bytescolab.featureflag.service.feature;
+
+import com.bytescolab.featureflag.config.security.SecurityUtils;
+import com.bytescolab.featureflag.exception.ApiException;
+import com.bytescolab.featureflag.exception.ErrorCodes;
+import com.bytescolab.featureflag.model.entity.Feature;
+import com.bytescolab.featureflag.model.entity.TargetingRule;
+import com.bytescolab.featureflag.repository.FeatureRepository;
+import com.bytescolab.featureflag.repository.TargetingRuleRepository;
+import com.bytescolab.featureflag.repository.dto.feature.request.TargetingRuleCreateRequestDTO;
+import com.bytescolab.featureflag.repository.dto.feature.response.TargetingRuleResponseDTO;
+import com.bytescolab.featureflag.repository.mapper.TargetingRuleMapper;
+import com.bytescolab.featureflag.service.audit.AuditTrail;
+import com.bytescolab.featureflag.service.feature.event.FeatureChangedEvent;
+import com.bytescolab.featureflag.service.feature.targeting.RuleCompiler;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Gestión de las reglas de segmentación de las features.
+ *
+ * <p>Cada regla se compila antes de guardarse, de modo que una regla inválida se rechaza
+ * con {@link ErrorCodes#RULE_INVALID} y nunca llega al snapshot. Toda escritura incrementa
+ * la revisión de la feature en la misma transacción que el cambio de la regla y publica un
+ * {@link FeatureChangedEvent}, entregado tras el commit, para recompilar sus reglas, y queda
+ * registrada en la auditoría.</p>
+ *
+ * @author Bytes
+ * @see RuleCompiler
+ */
+@Slf4j
+@Service
+public class TargetingRuleServiceImpl implements TargetingRuleService {
+
+    private final FeatureRepository featureRepository;
+    private final TargetingRuleRepository targetingRuleRepository;
+    private final AuditTrail auditTrail;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public TargetingRuleServiceImpl(FeatureRepository featureRepository,
+                                    TargetingRuleRepository targetingRuleRepository,
+                                    AuditTrail auditTrail,
+                                    ApplicationEventPublisher eventPublisher) {
+        this.featureRepository = featureRepository;
+        this.targetingRuleRepository = targetingRuleRepository;
+        this.auditTrail = auditTrail;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    @Transactional
+    public TargetingRuleResponseDTO createRule(UUID featureId, TargetingRuleCreateRequestDTO dto) {
+        Feature feature = featureRepository.findById(featureId)
+                .orElseThrow(() -> new ApiException(ErrorCodes.FEATURE_NOT_FOUND, ErrorCodes.FEATURE_NOT_FOUND_MSG));
+
+        TargetingRule rule = TargetingRuleMapper.toEntity(dto, feature);
+        try {
+            RuleCompiler.compile(TargetingRuleMapper.toRow(rule));
+        } catch (IllegalArgumentException e) {
+            throw new ApiException(ErrorCodes.RULE_INVALID, e.getMessage());
+        }
+
+        TargetingRule saved = targetingRuleRepository.save(rule);
+        featureRepository.incrementRevision(featureId);
+        eventPublisher.publishEvent(new FeatureChangedEvent(featureId));
+        auditTrail.ruleCreated(feature, saved);
+        log.info("Regla {} creada para la feature '{}' por '{}'", saved.getId(), feature.getName(), SecurityUtils.getCurrentUser());
+
+        return TargetingRuleMapper.toResponseDTO(TargetingRuleMapper.toRow(saved));
+    }
+
+    @Override
+    public List<TargetingRuleResponseDTO> getRules(UUID featureId) {
+        if (!featureRepository.existsById(featureId)) {
+            throw new ApiException(ErrorCodes.FEATURE_NOT_FOUND, ErrorCodes.FEATURE_NOT_FOUND_MSG);
+        }
+        return targetingRuleRepository.findRowsByFeatureIdOrderByPriority(featureId).stream()
+                .map(TargetingRuleMapper::toResponseDTO)
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public void deleteRule(UUID featureId, UUID ruleId) {
+        TargetingRule rule = targetingRuleRepository.findByIdAndFeatureId(ruleId, featureId)
+                .orElseThrow(() -> new ApiException(ErrorCodes.RULE_NOT_FOUND, ErrorCodes.RULE_NOT_FOUND_MSG));
+
+        targetingRuleRepository.delete(rule);
+        featureRepository.incrementRevision(featureId);
+        eventPublisher.publishEvent(new FeatureChangedEvent(featureId));
+        auditTrail.ruleDeleted(rule.getFeature(), rule);
+        log.info("Regla {} eliminada de la feature {} por '{}'", ruleId, featureId, SecurityUtils.getCurrentUser());
+    }
+}
@@ -0,0 +1,173 @@
+package com.bytescolab.featureflag.service.feature.cache;
+
+import com.bytescolab.featureflag.repository.dto.feature.response.FeatureDetailResponseDTO;
+import com.bytescolab.featureflag.repository.dto.feature.response.FeatureSummaryPageDTO;
+import com.bytescolab.featureflag.service.feature.event.FeatureChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Caché de respuestas JSON ya serializadas para {@code GET /api/features/{id}} y {@code GET /api/features}.
+ *
+ * <p>Guarda los bytes UTF-8 que produciría Jackson con el {@link ObjectMapper} de la aplicación:</p>
+ * <ul>
+ *   <li>Detalle de una feature, asociado a su revisión.</li>
+ *   <li>Cada página del listado (por combinación de filtros, cursor y tamaño), asociada a la
+ *   huella del conjunto de flags, junto con su cursor siguiente.</li>
+ * </ul>
+ *
+ * <p>Una entrada solo se usa si su versión coincide con la vigente, de modo que nunca se sirve una
+ * respuesta obsoleta aunque se pierda una invalidación. Además, cada {@link FeatureChangedEvent}
+ * (local o de otra réplica) descarta el detalle de la feature y todas las páginas del listado.
+ * Una lectura que acierta se reduce a copiar el array al flujo de salida.</p>
+ *
+ * <p>El número de entradas está acotado por {@code features.response-cache.max-features} y
+ * {@code max-pages}; al alcanzar el límite las respuestas nuevas se sirven sin guardarse.
+ * Con {@code features.response-cache.enabled=false} el controlador serializa como siempre.</p>
+ *
+ * @author Bytes
+ */
+@Component
+public class FeatureResponseCache {
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int maxFeatures;
+    private final int maxPages;
+    private final Map<UUID, Entry> details = new ConcurrentHashMap<>();
+    private final Map<PageKey, Page> pages = new ConcurrentHashMap<>();
+    private final Counter detailHits;
+    private final Counter detailMisses;
+    private final Counter pageHits;
+    private final Counter pageMisses;
+
+    public FeatureResponseCache(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                                @Value("${features.response-cache.enabled:true}") boolean enabled,
+                                @Value("${features.response-cache.max-features:10000}") int maxFeatures,
+                                @Value("${features.response-cache.max-pages:256}") int maxPages) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.maxFeatures = maxFeatures;
+        this.maxPages = maxPages;
+        this.detailHits = counter(meterRegistry, "detail", "hit");
+        this.detailMisses = counter(meterRegistry, "detail", "miss");
+        this.pageHits = counter(meterRegistry, "page", "hit");
+        this.pageMisses = counter(meterRegistry, "page", "miss");
+    }
+
+    /**
+     * @return {@code true} si las respuestas deben servirse desde la caché.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Devuelve el detalle serializado de una feature, generándolo con {@code loader} si no está
+     * en caché para esa revisión.
+     *
+     * @param featureId identificador de la feature.
+     * @param revision  revisión vigente de la feature.
+     * @param loader    obtiene el DTO de detalle; sus excepciones se propagan sin guardar nada.
+     * @return el JSON del detalle en UTF-8.
+     */
+    public byte[] detail(UUID featureId, long revision, Supplier<FeatureDetailResponseDTO> loader) {
+        Entry entry = details.get(featureId);
+        if (entry != null && entry.version == revision) {
+            detailHits.increment();
+            return entry.body;
+        }
+        detailMisses.increment();
+        byte[] body = serialize(loader.get());
+        if (entry != null || details.size() < maxFeatures) {
+            details.put(featureId, new Entry(revision, body));
+        }
+        return body;
+    }
+
+    /**
+     * Devuelve una página del listado serializada, generándola con {@code loader} si no está en
+     * caché para esa versión del conjunto de flags.
+     *
+     * @param key            filtros, cursor y tamaño de la página.
+     * @param flagSetVersion versión vigente del conjunto de flags ({@code FeatureSnapshot#getFingerprint()}).
+     * @param loader         obtiene la página; sus excepciones se propagan sin guardar nada.
+     * @return la página, con {@code body == null} si no tiene elementos.
+     */
+    public Page page(PageKey key, long flagSetVersion, Supplier<FeatureSummaryPageDTO> loader) {
+        Page page = pages.get(key);
+        if (page != null && page.version == flagSetVersion) {
+            pageHits.increment();
+            return page;
+        }
+        pageMisses.increment();
+        FeatureSummaryPageDTO dto = loader.get();
+        page = new Page(flagSetVersion, dto.getItems().isEmpty() ? null : serialize(dto.getItems()), dto.getNextCursor());
+        if (pages.containsKey(key) || pages.size() < maxPages) {
+            pages.put(key, page);
+        }
+        return page;
+    }
+
+    /**
+     * Descarta las respuestas afectadas por el cambio de una feature.
+     *
+     * @param event evento con la feature modificada.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFeatureChanged(FeatureChangedEvent event) {
+        details.remove(event.featureId());
+        pages.clear();
+    }
+
+    private byte[] serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String cache, String result) {
+        return Counter.builder("featureflag.response.cache")
+                .description("Respuestas de features servidas desde la caché de JSON serializado")
+                .tag("cache", cache)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record Entry(long version, byte[] body) {
+    }
+
+    /**
+     * Clave de una página del listado.
+     *
+     * @param enabled filtro por activación por defecto.
+     * @param name    filtro por nombre.
+     * @param after   cursor.
+     * @param size    tamaño de página solicitado.
+     */
+    public record PageKey(Boolean enabled, String name, String after, Integer size) {
+    }
+
+    /**
+     * Página del listado ya serializada.
+     *
+     * @param version    versión del conjunto de flags con la que se generó.
+     * @param body       JSON de los elementos, o {@code null} si la página está vacía.
+     * @param nextCursor cursor de la página siguiente, o {@code null} si es la última.
+     */
+    public record Page(long version, byte[] body, String nextCursor) {
+    }
+}
@@ -0,0 +1,24 @@
+package com.bytescolab.featureflag.service.feature.event;
+
+import java.util.UUID;
+
+/**
+ * Evento de aplicación publicado por las rutas de escritura de features
+ * (creación, nueva configuración, activación y desactivación).
+ *
+ * <p>Los oyentes lo reciben una vez confirmada la transacción, de modo que
+ * pueden releer el estado de la feature con la garantía de que ya es visible.</p>
+ *
+ * <p>Los cambios hechos en otra réplica llegan por {@code PostgresChangeChannel} y se
+ * republican localmente con {@code remote = true}, para que no se vuelvan a notificar.</p>
+ *
+ * @param featureId identificador de la feature modificada.
+ * @param remote    {@code true} si el cambio se hizo en otra réplica.
+ * @author Bytes
+ */
+public record FeatureChangedEvent(UUID featureId, boolean remote) {
+
+    public FeatureChangedEvent(UUID featureId) {
+        this(featureId, false);
+    }
+}
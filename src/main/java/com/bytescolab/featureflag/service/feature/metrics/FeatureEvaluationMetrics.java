@@ -0,0 +1,123 @@
+package com.bytescolab.featureflag.service.feature.metrics;
+
+import com.bytescolab.featureflag.config.metrics.DbQueryCounter;
+import com.bytescolab.featureflag.model.enums.Environment;
+import com.bytescolab.featureflag.service.feature.snapshot.FeatureState;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Métricas de evaluación de features.
+ *
+ * <ul>
+ *   <li>{@code featureflag.evaluations}: evaluaciones por feature, entorno y resultado. Para acotar
+ *   la cardinalidad solo las primeras {@code features.metrics.max-tagged-features} features
+ *   distintas llevan su nombre como etiqueta; el resto se agrupa en {@value #OTHER_FEATURE}.</li>
+ *   <li>{@code featureflag.snapshot.lookups}: búsquedas en el snapshot en memoria, con
+ *   {@code result=hit} si no hizo falta ir a base de datos y {@code result=miss} en caso contrario.</li>
+ *   <li>{@code featureflag.evaluation.db.queries}: consultas SQL lanzadas por cada petición de evaluación.</li>
+ * </ul>
+ *
+ * <p>Los contadores de cada feature se crean una vez y se reutilizan, de modo que registrar una
+ * evaluación es una búsqueda en un mapa y un incremento.</p>
+ *
+ * @author Bytes
+ * @see DbQueryCounter
+ */
+@Component
+public class FeatureEvaluationMetrics {
+
+    /** Etiqueta que agrupa las features que superan el límite de cardinalidad. */
+    public static final String OTHER_FEATURE = "_other";
+
+    private static final Environment[] ENVIRONMENTS = Environment.values();
+
+    private final MeterRegistry meterRegistry;
+    private final DbQueryCounter dbQueryCounter;
+    private final int maxTaggedFeatures;
+    private final Map<UUID, Counter[]> countersByFeature = new ConcurrentHashMap<>();
+    private final Counter[] otherCounters;
+    private final Counter snapshotHits;
+    private final Counter snapshotMisses;
+    private final DistributionSummary queriesPerEvaluation;
+
+    public FeatureEvaluationMetrics(MeterRegistry meterRegistry, DbQueryCounter dbQueryCounter,
+                                    @Value("${features.metrics.max-tagged-features:500}") int maxTaggedFeatures) {
+        this.meterRegistry = meterRegistry;
+        this.dbQueryCounter = dbQueryCounter;
+        this.maxTaggedFeatures = maxTaggedFeatures;
+        this.otherCounters = counters(OTHER_FEATURE);
+        this.snapshotHits = lookupCounter("hit");
+        this.snapshotMisses = lookupCounter("miss");
+        this.queriesPerEvaluation = DistributionSummary.builder("featureflag.evaluation.db.queries")
+                .description("Consultas SQL por petición de evaluación")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Marca el inicio de una petición de evaluación.
+     *
+     * @return valor a pasar a {@link #lookupFinished(long)}.
+     */
+    public long lookupStarted() {
+        return dbQueryCounter.current();
+    }
+
+    /**
+     * Registra las consultas lanzadas desde {@link #lookupStarted()} y si la búsqueda se resolvió
+     * solo con el snapshot.
+     *
+     * @param mark valor devuelto por {@link #lookupStarted()}.
+     */
+    public void lookupFinished(long mark) {
+        long queries = dbQueryCounter.current() - mark;
+        queriesPerEvaluation.record(queries);
+        (queries == 0 ? snapshotHits : snapshotMisses).increment();
+    }
+
+    /**
+     * Registra el resultado de evaluar una feature.
+     *
+     * @param state       feature evaluada.
+     * @param environment entorno de la evaluación.
+     * @param enabled     resultado.
+     */
+    public void evaluated(FeatureState state, Environment environment, boolean enabled) {
+        Counter[] counters = countersByFeature.get(state.getId());
+        if (counters == null) {
+            counters = countersByFeature.size() < maxTaggedFeatures
+                    ? countersByFeature.computeIfAbsent(state.getId(), id -> counters(state.getName()))
+                    : otherCounters;
+        }
+        counters[environment.ordinal() * 2 + (enabled ? 1 : 0)].increment();
+    }
+
+    private Counter[] counters(String feature) {
+        Counter[] counters = new Counter[ENVIRONMENTS.length * 2];
+        for (Environment environment : ENVIRONMENTS) {
+            for (int result = 0; result < 2; result++) {
+                counters[environment.ordinal() * 2 + result] = Counter.builder("featureflag.evaluations")
+                        .description("Evaluaciones de features por entorno y resultado")
+                        .tag("feature", feature)
+                        .tag("environment", environment.name())
+                        .tag("result", result == 1 ? "enabled" : "disabled")
+                        .register(meterRegistry);
+            }
+        }
+        return counters;
+    }
+
+    private Counter lookupCounter(String result) {
+        return Counter.builder("featureflag.snapshot.lookups")
+                .description("Búsquedas de features en el snapshot en memoria")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
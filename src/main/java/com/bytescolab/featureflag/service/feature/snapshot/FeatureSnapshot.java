@@ -0,0 +1,181 @@
+package com.bytescolab.featureflag.service.feature.snapshot;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Instantánea inmutable y versionada de todas las features y sus configuraciones.
+ *
+ * <p>Las comprobaciones de {@code /api/features/check} se resuelven contra esta
+ * estructura sin acceder a JPA. Cada modificación produce una nueva instancia
+ * (copy-on-write) con la versión incrementada, de forma que los lectores nunca
+ * observan un estado a medio actualizar.</p>
+ *
+ * @author Bytes
+ * @see FeatureState
+ * @see FeatureSnapshotHolder
+ */
+public final class FeatureSnapshot {
+
+    private static final FeatureSnapshot EMPTY = new FeatureSnapshot(0L, Map.of(), 0L, 0L);
+
+    private final long version;
+    private final Map<UUID, FeatureState> features;
+    private final long flagSetVersion;
+    private final long fingerprint;
+
+    private FeatureSnapshot(long version, Map<UUID, FeatureState> features, long flagSetVersion, long fingerprint) {
+        this.version = version;
+        this.features = features;
+        this.flagSetVersion = flagSetVersion;
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * @return una instantánea vacía con versión {@code 0}.
+     */
+    public static FeatureSnapshot empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Crea una instantánea completa a partir de un conjunto de estados.
+     *
+     * @param version versión de la nueva instantánea.
+     * @param states  estados de todas las features.
+     * @return la nueva instantánea.
+     */
+    public static FeatureSnapshot of(long version, Collection<FeatureState> states) {
+        Map<UUID, FeatureState> byId = new HashMap<>(Math.max(16, states.size() * 2));
+        long flagSetVersion = 0L;
+        long fingerprint = 0L;
+        for (FeatureState state : states) {
+            FeatureState previous = byId.put(state.getId(), state);
+            flagSetVersion += weight(state) - weight(previous);
+            fingerprint += hash(state) - hash(previous);
+        }
+        return new FeatureSnapshot(version, Collections.unmodifiableMap(byId), flagSetVersion, fingerprint);
+    }
+
+    /**
+     * Devuelve una nueva instantánea con el estado de una feature añadido o reemplazado.
+     *
+     * @param state estado actualizado de la feature.
+     * @return la nueva instantánea con la versión incrementada.
+     */
+    public FeatureSnapshot with(FeatureState state) {
+        Map<UUID, FeatureState> copy = new HashMap<>(features);
+        FeatureState previous = copy.put(state.getId(), state);
+        return new FeatureSnapshot(version + 1, Collections.unmodifiableMap(copy),
+                flagSetVersion + weight(state) - weight(previous), fingerprint + hash(state) - hash(previous));
+    }
+
+    /**
+     * Devuelve una nueva instantánea con varios estados añadidos o reemplazados, copiando el mapa
+     * una sola vez en lugar de una vez por feature como haría encadenar {@link #with(FeatureState)}.
+     *
+     * @param states estados actualizados de las features.
+     * @return la nueva instantánea con la versión incrementada, o esta misma si no hay estados.
+     */
+    public FeatureSnapshot withAll(Collection<FeatureState> states) {
+        if (states.isEmpty()) {
+            return this;
+        }
+        Map<UUID, FeatureState> copy = new HashMap<>(features);
+        long updatedFlagSetVersion = flagSetVersion;
+        long updatedFingerprint = fingerprint;
+        for (FeatureState state : states) {
+            FeatureState previous = copy.put(state.getId(), state);
+            updatedFlagSetVersion += weight(state) - weight(previous);
+            updatedFingerprint += hash(state) - hash(previous);
+        }
+        return new FeatureSnapshot(version + 1, Collections.unmodifiableMap(copy), updatedFlagSetVersion, updatedFingerprint);
+    }
+
+    /**
+     * Devuelve una nueva instantánea sin la feature indicada.
+     *
+     * @param featureId identificador de la feature a retirar.
+     * @return la nueva instantánea, o esta misma si la feature no estaba presente.
+     */
+    public FeatureSnapshot without(UUID featureId) {
+        if (!features.containsKey(featureId)) {
+            return this;
+        }
+        Map<UUID, FeatureState> copy = new HashMap<>(features);
+        FeatureState previous = copy.remove(featureId);
+        return new FeatureSnapshot(version + 1, Collections.unmodifiableMap(copy),
+                flagSetVersion - weight(previous), fingerprint - hash(previous));
+    }
+
+    /**
+     * @param featureId identificador de la feature.
+     * @return el estado de la feature, o {@code null} si no está en la instantánea.
+     */
+    public FeatureState get(UUID featureId) {
+        return features.get(featureId);
+    }
+
+    /**
+     * @return vista inmutable de todos los estados, indexados por id de feature.
+     */
+    public Map<UUID, FeatureState> getFeatures() {
+        return features;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Versión global del conjunto de flags, derivada de los datos persistidos:
+     * la suma de {@code revision + 1} de todas las features. Crece con cada creación
+     * o modificación y es la misma en todos los nodos que tengan el mismo estado,
+     * a diferencia de {@link #getVersion()}, que es local a esta instancia.
+     *
+     * @return la versión del conjunto de flags.
+     */
+    public long getFlagSetVersion() {
+        return flagSetVersion;
+    }
+
+    /**
+     * Huella del conjunto de flags: suma (módulo 2<sup>64</sup>) de un hash de cada par
+     * (id, revisión). No depende del orden ni del nodo, y a diferencia de
+     * {@link #getFlagSetVersion()} distingue qué features han cambiado: dos réplicas con
+     * instantáneas parciales distintas, o con cambios en features distintas, no coinciden salvo
+     * colisión del hash. Es la base de los ETag del conjunto de flags.
+     *
+     * @return la huella del conjunto de flags.
+     */
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    public int size() {
+        return features.size();
+    }
+
+    private static long weight(FeatureState state) {
+        return state == null ? 0L : state.getRevision() + 1;
+    }
+
+    /** Hash de (id, revisión) con el finalizador de MurmurHash3. */
+    private static long hash(FeatureState state) {
+        if (state == null) {
+            return 0L;
+        }
+        long h = state.getId().getMostSignificantBits() * 0x9E3779B97F4A7C15L
+                ^ state.getId().getLeastSignificantBits()
+                ^ (state.getRevision() + 1) * 0xC2B2AE3D27D4EB4FL;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
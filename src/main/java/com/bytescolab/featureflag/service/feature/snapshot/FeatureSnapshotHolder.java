@@ -0,0 +1,363 @@
+package com.bytescolab.featureflag.service.feature.snapshot;
+
+import com.bytescolab.featureflag.repository.FeatureConfigRepository;
+import com.bytescolab.featureflag.repository.FeatureRepository;
+import com.bytescolab.featureflag.repository.TargetingRuleRepository;
+import com.bytescolab.featureflag.repository.projection.FeatureConfigRow;
+import com.bytescolab.featureflag.repository.projection.FeatureRow;
+import com.bytescolab.featureflag.repository.projection.TargetingRuleRow;
+import com.bytescolab.featureflag.service.feature.targeting.CompiledRule;
+import com.bytescolab.featureflag.service.feature.targeting.RuleCompiler;
+import com.bytescolab.featureflag.service.feature.event.FeatureChangedEvent;
+import com.bytescolab.featureflag.service.segment.SegmentRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Mantiene la {@link FeatureSnapshot} vigente y la sustituye de forma atómica.
+ *
+ * <p>La carga inicial la hace {@code StartupWarmup} al arrancar; hasta entonces las features se
+ * cargan bajo demanda con {@link #getOrLoad(UUID)}.</p>
+ *
+ * <p>Los lectores obtienen la instantánea actual con {@link #current()} sin bloqueo.
+ * Las escrituras de {@code FeatureServiceImpl} publican un {@link FeatureChangedEvent};
+ * una vez confirmada la transacción se relee únicamente la feature afectada y se
+ * publica una nueva instantánea.</p>
+ *
+ * <p>Las configuraciones de segmento se enlazan con el {@link SegmentRegistry}: los estados
+ * comparten el conjunto de miembros de cada segmento en lugar de copiarlo.</p>
+ *
+ * <p>Las recargas se serializan para que la última en ejecutarse lea siempre el
+ * estado confirmado más reciente y ninguna recarga lenta sobrescriba otra posterior. Se usa un
+ * {@link ReentrantLock} en lugar de {@code synchronized} para no fijar el hilo portador cuando
+ * la recarga se ejecuta en un hilo virtual y espera a la base de datos.</p>
+ *
+ * <p>Los ids que no existen se recuerdan en una caché negativa acotada
+ * ({@code features.snapshot.max-absent-ids}), de modo que un {@code /check} con un id inventado no
+ * consulta la base de datos en cada petición ni compite por el bloqueo de recarga. Cada vez que
+ * aparece en el snapshot una feature que no estaba se invalidan todas las entradas negativas.</p>
+ *
+ * @author Bytes
+ * @see FeatureSnapshot
+ * @see FeatureChangedEvent
+ */
+@Slf4j
+@Component
+public class FeatureSnapshotHolder {
+
+    private final FeatureRepository featureRepository;
+    private final FeatureConfigRepository featureConfigRepository;
+    private final TargetingRuleRepository targetingRuleRepository;
+    private final SegmentRegistry segmentRegistry;
+    private final AtomicReference<FeatureSnapshot> current = new AtomicReference<>(FeatureSnapshot.empty());
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<UUID, Long> absentIds = new ConcurrentHashMap<>();
+    private final AtomicLong absentGeneration = new AtomicLong();
+    private final int maxAbsentIds;
+
+    public FeatureSnapshotHolder(FeatureRepository featureRepository,
+                                 FeatureConfigRepository featureConfigRepository,
+                                 TargetingRuleRepository targetingRuleRepository,
+                                 SegmentRegistry segmentRegistry,
+                                 @Value("${features.snapshot.max-absent-ids:10000}") int maxAbsentIds) {
+        this.featureRepository = featureRepository;
+        this.featureConfigRepository = featureConfigRepository;
+        this.targetingRuleRepository = targetingRuleRepository;
+        this.segmentRegistry = segmentRegistry;
+        this.maxAbsentIds = maxAbsentIds;
+    }
+
+    /**
+     * @return la instantánea vigente.
+     */
+    public FeatureSnapshot current() {
+        return current.get();
+    }
+
+    /**
+     * Devuelve el estado de una feature desde la instantánea y, si no está presente,
+     * intenta cargarla desde base de datos (por ejemplo, si se creó en otro nodo).
+     *
+     * <p>La comprobación de existencia se hace sin bloqueo; solo se toma el bloqueo de recarga
+     * cuando la fila existe. Un id inexistente queda en la caché negativa hasta que se publique
+     * alguna feature nueva.</p>
+     *
+     * @param featureId identificador de la feature.
+     * @return el estado de la feature, o {@code null} si no existe.
+     */
+    public FeatureState getOrLoad(UUID featureId) {
+        FeatureState state = current.get().get(featureId);
+        if (state != null) {
+            return state;
+        }
+        long generation = absentGeneration.get();
+        if (isKnownAbsent(featureId, generation)) {
+            return null;
+        }
+        Optional<FeatureRow> feature = featureRepository.findRowById(featureId);
+        if (feature.isEmpty()) {
+            rememberAbsent(featureId, generation);
+            return null;
+        }
+        lock.lock();
+        try {
+            // Una recarga por evento pudo publicarla mientras se esperaba el bloqueo
+            state = current.get().get(featureId);
+            return state != null ? state : publish(feature.get());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Devuelve el estado de un conjunto de features desde una misma instantánea.
+     * Las que no estén presentes se cargan juntas con una única consulta por tabla,
+     * en lugar de una recarga por feature.
+     *
+     * @param featureIds identificadores de las features.
+     * @return los estados encontrados, indexados por id; las features inexistentes no aparecen.
+     */
+    public Map<UUID, FeatureState> getOrLoadAll(Collection<UUID> featureIds) {
+        FeatureSnapshot snapshot = current.get();
+        Map<UUID, FeatureState> found = new LinkedHashMap<>();
+        Set<UUID> missing = new LinkedHashSet<>();
+        long generation = absentGeneration.get();
+        for (UUID featureId : featureIds) {
+            FeatureState state = snapshot.get(featureId);
+            if (state != null) {
+                found.put(featureId, state);
+            } else if (!isKnownAbsent(featureId, generation)) {
+                missing.add(featureId);
+            }
+        }
+        if (!missing.isEmpty()) {
+            Map<UUID, FeatureState> loaded = load(missing);
+            for (UUID featureId : missing) {
+                if (!loaded.containsKey(featureId)) {
+                    rememberAbsent(featureId, generation);
+                }
+            }
+            found.putAll(loaded);
+        }
+        return found;
+    }
+
+    /**
+     * Reconstruye la instantánea completa con tres consultas (features, configuraciones y reglas).
+     */
+    public void reloadAll() {
+        lock.lock();
+        try {
+            List<FeatureState> states = toStates(featureRepository.findAllRows(), featureConfigRepository.findAllRows(),
+                    targetingRuleRepository.findAllRows());
+            FeatureSnapshot snapshot = current.updateAndGet(previous -> FeatureSnapshot.of(previous.getVersion() + 1, states));
+            forgetAbsent();
+            log.info("Snapshot de features cargado: {} features (versión {})", snapshot.size(), snapshot.getVersion());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reconstruye la instantánea completa por bloques de {@code chunkSize} features, cargados en
+     * paralelo con hasta {@code parallelism} conexiones. Pensado para conjuntos de flags grandes,
+     * donde tres consultas sobre toda la tabla tardan más que varias consultas acotadas en paralelo.
+     *
+     * <p>Los bloques no se leen en una misma transacción: una escritura confirmada durante la carga
+     * puede quedar solo en parte, pero su {@link FeatureChangedEvent} la relee al terminar, porque
+     * espera al mismo bloqueo.</p>
+     *
+     * @param chunkSize   features por bloque; con {@code 0} o menos, o si todas caben en un bloque,
+     *                    equivale a {@link #reloadAll()}.
+     * @param parallelism número máximo de bloques cargados a la vez.
+     */
+    public void reloadAll(int chunkSize, int parallelism) {
+        if (chunkSize <= 0) {
+            reloadAll();
+            return;
+        }
+        lock.lock();
+        try {
+            List<UUID> ids = featureRepository.findAllIds();
+            if (ids.size() <= chunkSize) {
+                reloadAll();
+                return;
+            }
+            List<FeatureState> states = new ArrayList<>(ids.size());
+            try (ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, parallelism),
+                    Thread.ofPlatform().name("snapshot-loader-", 0).daemon().factory())) {
+                List<Future<List<FeatureState>>> chunks = new ArrayList<>();
+                for (int from = 0; from < ids.size(); from += chunkSize) {
+                    List<UUID> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+                    chunks.add(executor.submit(() -> toStates(featureRepository.findRowsByIdIn(chunk),
+                            featureConfigRepository.findRowsByFeatureIdIn(chunk),
+                            targetingRuleRepository.findRowsByFeatureIdIn(chunk))));
+                }
+                for (Future<List<FeatureState>> chunk : chunks) {
+                    states.addAll(chunk.get());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Carga del snapshot interrumpida", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Error cargando el snapshot de features", e.getCause());
+            }
+            FeatureSnapshot snapshot = current.updateAndGet(previous -> FeatureSnapshot.of(previous.getVersion() + 1, states));
+            forgetAbsent();
+            log.info("Snapshot de features cargado: {} features en {} bloques (versión {})", snapshot.size(),
+                    (ids.size() + chunkSize - 1) / chunkSize, snapshot.getVersion());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Relee una feature desde base de datos y publica una nueva instantánea con su estado.
+     *
+     * @param featureId identificador de la feature.
+     * @return el nuevo estado, o {@code null} si la feature ya no existe.
+     */
+    public FeatureState reload(UUID featureId) {
+        lock.lock();
+        try {
+            Optional<FeatureRow> feature = featureRepository.findRowById(featureId);
+            if (feature.isEmpty()) {
+                current.updateAndGet(snapshot -> snapshot.without(featureId));
+                return null;
+            }
+            return publish(feature.get());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Completa el estado de una feature con sus configuraciones y reglas y lo publica.
+     * Debe llamarse con el bloqueo tomado.
+     */
+    private FeatureState publish(FeatureRow feature) {
+        UUID featureId = feature.id();
+        FeatureState state = FeatureState.of(feature, featureConfigRepository.findRowsByFeatureId(featureId),
+                compileRules(featureId, targetingRuleRepository.findRowsByFeatureIdOrderByPriority(featureId)),
+                segmentRegistry::membership);
+        if (current.getAndUpdate(snapshot -> snapshot.with(state)).get(featureId) == null) {
+            forgetAbsent();
+        }
+        return state;
+    }
+
+    private Map<UUID, FeatureState> load(Collection<UUID> featureIds) {
+        lock.lock();
+        try {
+            List<FeatureState> states = toStates(
+                    featureRepository.findRowsByIdIn(featureIds),
+                    featureConfigRepository.findRowsByFeatureIdIn(featureIds),
+                    targetingRuleRepository.findRowsByFeatureIdIn(featureIds));
+
+            Map<UUID, FeatureState> byId = new LinkedHashMap<>();
+            for (FeatureState state : states) {
+                byId.put(state.getId(), state);
+            }
+            current.updateAndGet(snapshot -> snapshot.withAll(states));
+            if (!byId.isEmpty()) {
+                forgetAbsent();
+            }
+            return byId;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Una entrada negativa solo es válida si se anotó en la generación vigente: si entre la
+     * consulta y la anotación se publicó una feature nueva, la entrada ya nace caducada.
+     */
+    private boolean isKnownAbsent(UUID featureId, long generation) {
+        Long absentSince = absentIds.get(featureId);
+        return absentSince != null && absentSince == generation;
+    }
+
+    private void rememberAbsent(UUID featureId, long generation) {
+        if (absentIds.size() >= maxAbsentIds) {
+            absentIds.clear();
+        }
+        absentIds.put(featureId, generation);
+    }
+
+    private void forgetAbsent() {
+        absentGeneration.incrementAndGet();
+        absentIds.clear();
+    }
+
+    private List<FeatureState> toStates(List<FeatureRow> features, List<FeatureConfigRow> configs,
+                                               List<TargetingRuleRow> rules) {
+        Map<UUID, List<FeatureConfigRow>> configsByFeature = new HashMap<>();
+        for (FeatureConfigRow config : configs) {
+            configsByFeature.computeIfAbsent(config.featureId(), id -> new ArrayList<>()).add(config);
+        }
+        Map<UUID, List<TargetingRuleRow>> rulesByFeature = new HashMap<>();
+        for (TargetingRuleRow rule : rules) {
+            rulesByFeature.computeIfAbsent(rule.featureId(), id -> new ArrayList<>()).add(rule);
+        }
+
+        List<FeatureState> states = new ArrayList<>(features.size());
+        for (FeatureRow feature : features) {
+            states.add(FeatureState.of(feature, configsByFeature.getOrDefault(feature.id(), List.of()),
+                    compileRules(feature.id(), rulesByFeature.getOrDefault(feature.id(), List.of())),
+                    segmentRegistry::membership));
+        }
+        return states;
+    }
+
+    /**
+     * Compila las reglas de una feature. Las reglas se validan al guardarse; si aun así alguna
+     * no compila, la feature se evalúa sin reglas en lugar de romper el snapshot completo.
+     */
+    private static List<CompiledRule> compileRules(UUID featureId, List<TargetingRuleRow> rules) {
+        if (rules.isEmpty()) {
+            return List.of();
+        }
+        try {
+            return RuleCompiler.compileAll(rules);
+        } catch (IllegalArgumentException e) {
+            log.warn("Reglas de la feature {} ignoradas: {}", featureId, e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * Aplica los cambios de una feature una vez confirmada la transacción que los produjo.
+     * Si la escritura no es transaccional, se ejecuta inmediatamente. Se ejecuta antes que
+     * el resto de oyentes para que estos lean ya el nuevo estado.
+     *
+     * @param event evento con la feature modificada.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFeatureChanged(FeatureChangedEvent event) {
+        reload(event.featureId());
+    }
+}
@@ -0,0 +1,237 @@
+package com.bytescolab.featureflag.service.feature.snapshot;
+
+import com.bytescolab.featureflag.model.enums.Environment;
+import com.bytescolab.featureflag.repository.projection.FeatureConfigRow;
+import com.bytescolab.featureflag.repository.projection.FeatureRow;
+import com.bytescolab.featureflag.service.feature.targeting.CompiledRule;
+import com.bytescolab.featureflag.service.segment.SegmentMembership;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Estado inmutable y ya resuelto de una feature dentro del {@link FeatureSnapshot}.
+ *
+ * <p>Agrupa las configuraciones por entorno para que la evaluación sea una
+ * búsqueda directa por (entorno, cliente), y guarda las reglas de segmentación
+ * ya compiladas. Los segmentos se referencian mediante su {@link SegmentMembership}
+ * compartido, sin copiar sus miembros. La precedencia es:</p>
+ * <ol>
+ *   <li>Configuración específica del cliente en el entorno.</li>
+ *   <li>Configuraciones de los segmentos del entorno a los que pertenece el cliente; si alguno
+ *   la desactiva, prevalece la desactivación.</li>
+ *   <li>Primera regla de segmentación, por prioridad, que se cumple para el entorno y los atributos.</li>
+ *   <li>Configuración global del entorno (sin cliente); si tiene despliegue porcentual,
+ *   solo para los clientes incluidos según {@link RolloutBucket}.</li>
+ *   <li>Valor {@code enabledByDefault} de la feature.</li>
+ * </ol>
+ *
+ * @author Bytes
+ * @see FeatureSnapshot
+ */
+public final class FeatureState {
+
+    private final UUID id;
+    private final String name;
+    private final boolean enabledByDefault;
+    private final long revision;
+    private final Map<Environment, Boolean> environmentDefaults;
+    private final Map<Environment, Integer> environmentRollouts;
+    private final Map<Environment, Map<String, Boolean>> clientOverrides;
+    private final Map<Environment, List<SegmentTarget>> segmentTargets;
+    private final List<FeatureConfigRow> configs;
+    private final List<CompiledRule> rules;
+
+    private FeatureState(UUID id, String name, boolean enabledByDefault, long revision,
+                         Map<Environment, Boolean> environmentDefaults,
+                         Map<Environment, Integer> environmentRollouts,
+                         Map<Environment, Map<String, Boolean>> clientOverrides,
+                         Map<Environment, List<SegmentTarget>> segmentTargets,
+                         List<FeatureConfigRow> configs,
+                         List<CompiledRule> rules) {
+        this.id = id;
+        this.name = name;
+        this.enabledByDefault = enabledByDefault;
+        this.revision = revision;
+        this.environmentDefaults = environmentDefaults;
+        this.environmentRollouts = environmentRollouts;
+        this.clientOverrides = clientOverrides;
+        this.segmentTargets = segmentTargets;
+        this.configs = configs;
+        this.rules = rules;
+    }
+
+    /**
+     * Construye el estado de una feature a partir de sus filas en base de datos.
+     *
+     * @param feature fila de la feature.
+     * @param configs configuraciones de la feature (puede estar vacía).
+     * @return el estado inmutable listo para evaluar.
+     */
+    public static FeatureState of(FeatureRow feature, Collection<FeatureConfigRow> configs) {
+        return of(feature, configs, List.of());
+    }
+
+    /**
+     * Construye el estado de una feature a partir de sus filas en base de datos y sus reglas compiladas.
+     *
+     * @param feature fila de la feature.
+     * @param configs configuraciones de la feature (puede estar vacía).
+     * @param rules   reglas de segmentación compiladas, en orden de evaluación.
+     * @return el estado inmutable listo para evaluar.
+     */
+    public static FeatureState of(FeatureRow feature, Collection<FeatureConfigRow> configs, List<CompiledRule> rules) {
+        return of(feature, configs, rules, segmentId -> null);
+    }
+
+    /**
+     * Construye el estado de una feature resolviendo también sus configuraciones de segmento.
+     *
+     * @param feature  fila de la feature.
+     * @param configs  configuraciones de la feature (puede estar vacía).
+     * @param rules    reglas de segmentación compiladas, en orden de evaluación.
+     * @param segments resuelve el {@link SegmentMembership} de cada segmento; las configuraciones
+     *                 cuyo segmento no se resuelva se ignoran.
+     * @return el estado inmutable listo para evaluar.
+     */
+    public static FeatureState of(FeatureRow feature, Collection<FeatureConfigRow> configs, List<CompiledRule> rules,
+                                  Function<UUID, SegmentMembership> segments) {
+        Map<Environment, Boolean> defaults = new EnumMap<>(Environment.class);
+        Map<Environment, Integer> rollouts = new EnumMap<>(Environment.class);
+        Map<Environment, Map<String, Boolean>> overrides = new EnumMap<>(Environment.class);
+        Map<Environment, List<SegmentTarget>> targets = new EnumMap<>(Environment.class);
+
+        for (FeatureConfigRow config : configs) {
+            boolean enabled = Boolean.TRUE.equals(config.enabled());
+            if (config.segmentId() != null) {
+                SegmentMembership membership = segments.apply(config.segmentId());
+                if (membership != null) {
+                    targets.computeIfAbsent(config.environment(), env -> new ArrayList<>())
+                            .add(new SegmentTarget(membership, enabled));
+                }
+            } else if (config.clientId() == null) {
+                defaults.put(config.environment(), enabled);
+                if (config.rolloutPercentage() != null) {
+                    rollouts.put(config.environment(), config.rolloutPercentage());
+                }
+            } else {
+                overrides.computeIfAbsent(config.environment(), env -> new HashMap<>())
+                        .put(config.clientId(), enabled);
+            }
+        }
+        overrides.replaceAll((env, byClient) -> Collections.unmodifiableMap(byClient));
+        targets.replaceAll((env, bySegment) -> List.copyOf(bySegment));
+
+        return new FeatureState(
+                feature.id(),
+                feature.name(),
+                Boolean.TRUE.equals(feature.enabledByDefault()),
+                feature.revision() != null ? feature.revision() : 0L,
+                Collections.unmodifiableMap(defaults),
+                Collections.unmodifiableMap(rollouts),
+                Collections.unmodifiableMap(overrides),
+                Collections.unmodifiableMap(targets),
+                List.copyOf(configs),
+                List.copyOf(rules));
+    }
+
+    /**
+     * Evalúa si la feature está activa para un cliente en un entorno.
+     *
+     * @param clientId    identificador del cliente.
+     * @param environment entorno a evaluar.
+     * @return {@code true} si la feature está activa.
+     */
+    public boolean isEnabled(String clientId, Environment environment) {
+        return isEnabled(clientId, environment, Map.of());
+    }
+
+    /**
+     * Evalúa si la feature está activa para un cliente en un entorno, aplicando
+     * las reglas de segmentación sobre los atributos indicados.
+     *
+     * @param clientId    identificador del cliente.
+     * @param environment entorno a evaluar.
+     * @param attributes  atributos del contexto (región, plan, versión...); nunca {@code null}.
+     * @return {@code true} si la feature está activa.
+     */
+    public boolean isEnabled(String clientId, Environment environment, Map<String, String> attributes) {
+        Map<String, Boolean> byClient = clientOverrides.get(environment);
+        if (byClient != null && clientId != null) {
+            Boolean enabled = byClient.get(clientId);
+            if (enabled != null) {
+                return enabled;
+            }
+        }
+        List<SegmentTarget> segmentsInEnvironment = segmentTargets.get(environment);
+        if (segmentsInEnvironment != null && clientId != null) {
+            boolean member = false;
+            for (SegmentTarget target : segmentsInEnvironment) {
+                if (target.membership().contains(clientId)) {
+                    if (!target.enabled()) {
+                        return false;
+                    }
+                    member = true;
+                }
+            }
+            if (member) {
+                return true;
+            }
+        }
+        for (CompiledRule rule : rules) {
+            if (rule.matches(environment, clientId, attributes)) {
+                return rule.isEnabled();
+            }
+        }
+        Boolean environmentDefault = environmentDefaults.get(environment);
+        if (environmentDefault == null) {
+            return enabledByDefault;
+        }
+        Integer rollout = environmentRollouts.get(environment);
+        return environmentDefault && (rollout == null || RolloutBucket.isIncluded(id, clientId, rollout));
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isEnabledByDefault() {
+        return enabledByDefault;
+    }
+
+    /**
+     * @return la revisión de la feature, incrementada en cada escritura.
+     */
+    public long getRevision() {
+        return revision;
+    }
+
+    /**
+     * @return las configuraciones a partir de las que se construyó el estado.
+     */
+    public List<FeatureConfigRow> getConfigs() {
+        return configs;
+    }
+
+    /**
+     * @return las reglas de segmentación compiladas, en orden de evaluación.
+     */
+    public List<CompiledRule> getRules() {
+        return rules;
+    }
+
+    /** Configuración de un segmento en un entorno. */
+    private record SegmentTarget(SegmentMembership membership, boolean enabled) {
+    }
+}
@@ -0,0 +1,241 @@
+package com.bytescolab.featureflag.service.feature.stream;
+
+import com.bytescolab.featureflag.repository.dto.feature.response.FeatureChangeResponseDTO;
+import com.bytescolab.featureflag.repository.dto.feature.response.FeatureSnapshotResponseDTO;
+import com.bytescolab.featureflag.repository.dto.feature.response.FeatureStateResponseDTO;
+import com.bytescolab.featureflag.repository.mapper.FeatureMapper;
+import com.bytescolab.featureflag.service.feature.event.FeatureChangedEvent;
+import com.bytescolab.featureflag.service.feature.snapshot.FeatureSnapshotHolder;
+import com.bytescolab.featureflag.service.feature.snapshot.FeatureState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Difunde por Server-Sent Events los cambios confirmados en las features.
+ *
+ * <p>Cada {@link FeatureChangedEvent} se registra en un {@link FeatureChangeLog} con una
+ * versión creciente y se envía a todos los suscriptores como evento {@value #CHANGE_EVENT}
+ * con el estado completo de la feature. El id de cada evento SSE es {@code <época>-<versión>}
+ * (ver {@link FeatureChangeLog}). Al suscribirse:</p>
+ * <ul>
+ *   <li>Sin id previo, se envía primero un evento {@value #SNAPSHOT_EVENT} con todas las features.</li>
+ *   <li>Con id previo, solo los cambios posteriores; si ya no están en el buffer, o el id
+ *   pertenece a otra ejecución del servidor o a otra réplica, se envía la instantánea completa.</li>
+ * </ul>
+ *
+ * <p>Cada suscriptor tiene su propia cola de eventos pendientes. El registro del cambio y su
+ * encolado en todos los suscriptores, así como la réplica inicial de una suscripción, se hacen
+ * bajo un mismo {@link ReentrantLock}, de modo que un cliente nunca pierde un cambio entre la
+ * réplica y los eventos en vivo. La escritura en la red se hace fuera del bloqueo, en un hilo
+ * virtual por suscriptor: un cliente lento no retrasa a los demás ni a la petición de
+ * administración que confirmó el cambio. Si un suscriptor acumula más de
+ * {@code features.stream.buffer-size} eventos sin enviar se cierra su conexión; al reconectar
+ * con {@code Last-Event-ID} recibe lo que le falte.</p>
+ *
+ * @author Bytes
+ * @see FeatureChangeLog
+ * @see FeatureSnapshotHolder
+ */
+@Slf4j
+@Component
+public class FeatureChangeBroadcaster {
+
+    /** Nombre del evento SSE con un cambio incremental. */
+    public static final String CHANGE_EVENT = "feature-change";
+    /** Nombre del evento SSE con la instantánea completa. */
+    public static final String SNAPSHOT_EVENT = "snapshot";
+
+    private final FeatureSnapshotHolder featureSnapshotHolder;
+    private final FeatureChangeLog changeLog;
+    private final long timeoutMs;
+    private final int maxPending;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Executor sender = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("sse-sender-", 0).factory());
+
+    public FeatureChangeBroadcaster(FeatureSnapshotHolder featureSnapshotHolder,
+                                    @Value("${features.stream.buffer-size:1024}") int bufferSize,
+                                    @Value("${features.stream.timeout-ms:1800000}") long timeoutMs) {
+        this.featureSnapshotHolder = featureSnapshotHolder;
+        this.changeLog = new FeatureChangeLog(bufferSize);
+        this.timeoutMs = timeoutMs;
+        this.maxPending = bufferSize;
+    }
+
+    /**
+     * Abre una suscripción al stream de cambios.
+     *
+     * @param lastEventId último id de evento recibido por el cliente, o {@code null} para empezar con la instantánea completa.
+     * @return el {@link SseEmitter} de la suscripción.
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+
+        lock.lock();
+        try {
+            List<FeatureChangeResponseDTO> changes = lastEventId != null ? changeLog.since(lastEventId) : null;
+            if (changes == null) {
+                subscriber.enqueue(snapshotEvent());
+            } else {
+                for (FeatureChangeResponseDTO change : changes) {
+                    subscriber.enqueue(changeEvent(change));
+                }
+            }
+            subscribers.add(subscriber);
+        } finally {
+            lock.unlock();
+        }
+        subscriber.drain();
+        return emitter;
+    }
+
+    /**
+     * Registra y difunde el cambio de una feature. Se ejecuta después de que
+     * {@link FeatureSnapshotHolder} haya publicado el nuevo estado; solo encola el cambio,
+     * el envío se hace en segundo plano.
+     *
+     * @param event evento con la feature modificada.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFeatureChanged(FeatureChangedEvent event) {
+        FeatureState state = featureSnapshotHolder.current().get(event.featureId());
+        FeatureStateResponseDTO dto = state != null ? FeatureMapper.toStateDTO(state) : null;
+
+        List<Subscriber> targets;
+        lock.lock();
+        try {
+            FeatureChangeResponseDTO change = changeLog.append(event.featureId(), dto);
+            targets = List.copyOf(subscribers);
+            for (Subscriber subscriber : targets) {
+                subscriber.enqueue(changeEvent(change));
+            }
+        } finally {
+            lock.unlock();
+        }
+        for (Subscriber subscriber : targets) {
+            sender.execute(subscriber::drain);
+        }
+    }
+
+    /**
+     * Envía periódicamente un comentario a cada suscriptor para mantener viva la conexión
+     * a través de proxies y detectar clientes desconectados.
+     */
+    @Scheduled(fixedDelayString = "${features.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.enqueue(SseEmitter.event().comment("keep-alive"));
+            sender.execute(subscriber::drain);
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    public long getLatestVersion() {
+        return changeLog.getLatestVersion();
+    }
+
+    public String getLatestEventId() {
+        return changeLog.getLatestEventId();
+    }
+
+    private SseEmitter.SseEventBuilder snapshotEvent() {
+        List<FeatureStateResponseDTO> features = featureSnapshotHolder.current().getFeatures().values().stream()
+                .map(FeatureMapper::toStateDTO)
+                .toList();
+        String eventId = changeLog.getLatestEventId();
+        return SseEmitter.event()
+                .id(eventId)
+                .name(SNAPSHOT_EVENT)
+                .data(new FeatureSnapshotResponseDTO(changeLog.getLatestVersion(), eventId, features), MediaType.APPLICATION_JSON);
+    }
+
+    private static SseEmitter.SseEventBuilder changeEvent(FeatureChangeResponseDTO change) {
+        return SseEmitter.event()
+                .id(change.getEventId())
+                .name(CHANGE_EVENT)
+                .data(change, MediaType.APPLICATION_JSON);
+    }
+
+    /**
+     * Cola de eventos pendientes de un suscriptor. Solo un hilo la vacía a la vez, de modo que
+     * los eventos salen en el orden en que se encolaron.
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        private void enqueue(SseEmitter.SseEventBuilder event) {
+            if (closed) {
+                return;
+            }
+            if (size.incrementAndGet() > maxPending) {
+                log.debug("Suscriptor del stream de features desbordado; se cierra la conexión");
+                close(null);
+                return;
+            }
+            pending.offer(event);
+        }
+
+        private void drain() {
+            do {
+                if (!draining.compareAndSet(false, true)) {
+                    return;
+                }
+                try {
+                    SseEmitter.SseEventBuilder event;
+                    while (!closed && (event = pending.poll()) != null) {
+                        size.decrementAndGet();
+                        emitter.send(event);
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    log.debug("No se pudo enviar al suscriptor del stream de features: {}", e.getMessage());
+                    close(e);
+                } finally {
+                    draining.set(false);
+                }
+            } while (!closed && !pending.isEmpty());
+        }
+
+        private void close(Exception error) {
+            closed = true;
+            subscribers.remove(this);
+            pending.clear();
+            if (error != null) {
+                emitter.completeWithError(error);
+            } else {
+                emitter.complete();
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.bytescolab.featureflag.service.feature.stream;
+
+import com.bytescolab.featureflag.repository.dto.feature.response.FeatureChangeResponseDTO;
+import com.bytescolab.featureflag.repository.dto.feature.response.FeatureStateResponseDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Buffer circular con los últimos cambios de features, indexados por versión.
+ *
+ * <p>Cada cambio recibe la versión siguiente a la última (1, 2, 3...). La versión es un contador
+ * local de este proceso, así que el id de evento que se entrega a los clientes la cualifica con
+ * una época aleatoria generada al crear el log: {@code <época>-<versión>}. Un id de otra ejecución
+ * del servidor o de otra réplica no coincide en la época y nunca se interpreta contra este log.</p>
+ *
+ * <p>Al llenarse el buffer se sobrescriben los cambios más antiguos; un cliente que pida reanudar
+ * desde una versión ya descartada, de otra época o con un id mal formado debe recibir una
+ * instantánea completa.</p>
+ *
+ * @author Bytes
+ * @see FeatureChangeBroadcaster
+ */
+public final class FeatureChangeLog {
+
+    private final String epoch;
+    private final FeatureChangeResponseDTO[] buffer;
+    private long latestVersion;
+
+    public FeatureChangeLog(int capacity) {
+        this(Long.toHexString(ThreadLocalRandom.current().nextLong()), capacity);
+    }
+
+    /**
+     * @param epoch    identificador de esta ejecución del log; no puede contener {@code '-'}.
+     * @param capacity número máximo de cambios conservados.
+     */
+    public FeatureChangeLog(String epoch, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("La capacidad debe ser mayor que 0");
+        }
+        if (epoch.isEmpty() || epoch.indexOf('-') >= 0) {
+            throw new IllegalArgumentException("La época no puede estar vacía ni contener '-'");
+        }
+        this.epoch = epoch;
+        this.buffer = new FeatureChangeResponseDTO[capacity];
+    }
+
+    /**
+     * Registra un cambio con la siguiente versión.
+     *
+     * @param featureId identificador de la feature modificada.
+     * @param state     estado tras el cambio, o {@code null} si la feature ya no existe.
+     * @return el cambio registrado.
+     */
+    public synchronized FeatureChangeResponseDTO append(UUID featureId, FeatureStateResponseDTO state) {
+        long version = ++latestVersion;
+        FeatureChangeResponseDTO change = new FeatureChangeResponseDTO(version, eventId(version), featureId, state);
+        buffer[(int) (version % buffer.length)] = change;
+        return change;
+    }
+
+    /**
+     * Devuelve los cambios posteriores a un id de evento.
+     *
+     * @param eventId último id de evento recibido por el cliente ({@code <época>-<versión>}).
+     * @return los cambios en orden de versión, o {@code null} si el id no pertenece a este log o la
+     *         versión no puede reconstruirse de forma incremental y hace falta una instantánea completa.
+     */
+    public synchronized List<FeatureChangeResponseDTO> since(String eventId) {
+        long version = parseVersion(eventId);
+        long oldestAvailable = Math.max(1, latestVersion - buffer.length + 1);
+        if (version < 0 || version > latestVersion || version < oldestAvailable - 1) {
+            return null;
+        }
+        List<FeatureChangeResponseDTO> changes = new ArrayList<>((int) (latestVersion - version));
+        for (long v = version + 1; v <= latestVersion; v++) {
+            changes.add(buffer[(int) (v % buffer.length)]);
+        }
+        return changes;
+    }
+
+    public synchronized long getLatestVersion() {
+        return latestVersion;
+    }
+
+    /**
+     * @return el id de evento de la última versión registrada, desde el que reanudar.
+     */
+    public synchronized String getLatestEventId() {
+        return eventId(latestVersion);
+    }
+
+    public String getEpoch() {
+        return epoch;
+    }
+
+    private String eventId(long version) {
+        return epoch + "-" + version;
+    }
+
+    /**
+     * @return la versión del id, o {@code -1} si está mal formado o es de otra época.
+     */
+    private long parseVersion(String eventId) {
+        if (eventId == null) {
+            return -1;
+        }
+        int separator = eventId.lastIndexOf('-');
+        if (separator != epoch.length() || !eventId.startsWith(epoch)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
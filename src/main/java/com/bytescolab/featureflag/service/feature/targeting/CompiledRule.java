@@ -0,0 +1,59 @@
+package com.bytescolab.featureflag.service.feature.targeting;
+
+import com.bytescolab.featureflag.model.enums.Environment;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Regla de segmentación ya compilada: entorno, prioridad, resultado y un único
+ * {@link TargetingMatcher} con la conjunción de todas sus condiciones.
+ *
+ * @author Bytes
+ * @see RuleCompiler
+ */
+public final class CompiledRule {
+
+    private final UUID id;
+    private final Environment environment;
+    private final int priority;
+    private final boolean enabled;
+    private final TargetingMatcher matcher;
+
+    CompiledRule(UUID id, Environment environment, int priority, boolean enabled, TargetingMatcher matcher) {
+        this.id = id;
+        this.environment = environment;
+        this.priority = priority;
+        this.enabled = enabled;
+        this.matcher = matcher;
+    }
+
+    /**
+     * @param environment entorno evaluado.
+     * @param clientId    identificador del cliente.
+     * @param attributes  atributos del contexto.
+     * @return {@code true} si la regla aplica al entorno y se cumplen todas sus condiciones.
+     */
+    public boolean matches(Environment environment, String clientId, Map<String, String> attributes) {
+        return (this.environment == null || this.environment == environment) && matcher.matches(clientId, attributes);
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public Environment getEnvironment() {
+        return environment;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    /**
+     * @return el estado de la feature cuando la regla se cumple.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+}
@@ -0,0 +1,180 @@
+package com.bytescolab.featureflag.service.feature.targeting;
+
+import com.bytescolab.featureflag.model.entity.TargetingCondition;
+import com.bytescolab.featureflag.model.enums.ConditionOperator;
+import com.bytescolab.featureflag.repository.projection.TargetingRuleRow;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Compila las reglas de segmentación en árboles de {@link TargetingMatcher} inmutables.
+ *
+ * <p>La compilación se hace una vez, al construir el estado de la feature en el snapshot;
+ * en cada petición solo se evalúan los predicados resultantes. Durante la compilación:</p>
+ * <ul>
+ *   <li>Las listas de {@link ConditionOperator#IN}/{@link ConditionOperator#NOT_IN} se convierten en
+ *   conjuntos hash inmutables: la pertenencia cuesta lo mismo con 10 que con 10.000 valores.</li>
+ *   <li>Los valores numéricos y de versión se interpretan una sola vez.</li>
+ *   <li>Las condiciones de una regla se combinan en una conjunción sin listas intermedias.</li>
+ * </ul>
+ *
+ * <p>Una condición mal formada produce {@link IllegalArgumentException}, de modo que las reglas
+ * inválidas se rechazan al guardarlas. Los operadores de comparación admiten exactamente un valor,
+ * y los valores numéricos deben ser finitos, tanto en la regla como en los atributos del cliente.</p>
+ *
+ * @author Bytes
+ * @see CompiledRule
+ */
+public final class RuleCompiler {
+
+    private RuleCompiler() {
+    }
+
+    /**
+     * Compila las reglas de una feature y las ordena por prioridad.
+     *
+     * @param rows reglas de la feature.
+     * @return las reglas compiladas, en orden de evaluación.
+     * @throws IllegalArgumentException si alguna condición no es válida.
+     */
+    public static List<CompiledRule> compileAll(Collection<TargetingRuleRow> rows) {
+        List<CompiledRule> rules = new ArrayList<>(rows.size());
+        for (TargetingRuleRow row : rows) {
+            rules.add(compile(row));
+        }
+        rules.sort(Comparator.comparingInt(CompiledRule::getPriority));
+        return List.copyOf(rules);
+    }
+
+    /**
+     * Compila una regla.
+     *
+     * @param row regla a compilar.
+     * @return la regla compilada.
+     * @throws IllegalArgumentException si alguna condición no es válida.
+     */
+    public static CompiledRule compile(TargetingRuleRow row) {
+        if (row.conditions() == null || row.conditions().isEmpty()) {
+            throw new IllegalArgumentException("La regla debe tener al menos una condición");
+        }
+        TargetingMatcher matcher = null;
+        for (TargetingCondition condition : row.conditions()) {
+            TargetingMatcher next = compile(condition);
+            if (matcher == null) {
+                matcher = next;
+            } else {
+                TargetingMatcher left = matcher;
+                matcher = (clientId, attributes) -> left.matches(clientId, attributes) && next.matches(clientId, attributes);
+            }
+        }
+        return new CompiledRule(row.id(), row.environment(),
+                row.priority() != null ? row.priority() : 0,
+                Boolean.TRUE.equals(row.enabled()),
+                matcher);
+    }
+
+    /**
+     * Compila una condición.
+     *
+     * @param condition condición a compilar.
+     * @return el predicado de la condición.
+     * @throws IllegalArgumentException si la condición no es válida.
+     */
+    public static TargetingMatcher compile(TargetingCondition condition) {
+        String attribute = condition.getAttribute();
+        ConditionOperator operator = condition.getOperator();
+        List<String> values = condition.getValues();
+        if (attribute == null || attribute.isBlank()) {
+            throw new IllegalArgumentException("La condición debe indicar un atributo");
+        }
+        if (operator == null) {
+            throw new IllegalArgumentException("La condición sobre '" + attribute + "' debe indicar un operador");
+        }
+        if (values == null || values.isEmpty() || values.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("La condición sobre '" + attribute + "' debe indicar al menos un valor");
+        }
+        if (operator != ConditionOperator.IN && operator != ConditionOperator.NOT_IN && values.size() != 1) {
+            throw new IllegalArgumentException("El operador " + operator + " sobre '" + attribute + "' admite un único valor");
+        }
+
+        return switch (operator) {
+            case IN -> {
+                Set<String> set = Set.copyOf(values);
+                yield (clientId, attributes) -> {
+                    String value = TargetingMatcher.attribute(attribute, clientId, attributes);
+                    return value != null && set.contains(value);
+                };
+            }
+            case NOT_IN -> {
+                Set<String> set = Set.copyOf(values);
+                yield (clientId, attributes) -> {
+                    String value = TargetingMatcher.attribute(attribute, clientId, attributes);
+                    return value == null || !set.contains(value);
+                };
+            }
+            case GT, GTE, LT, LTE -> numeric(attribute, operator, parseNumber(attribute, values.get(0)));
+            case SEMVER_GT, SEMVER_GTE, SEMVER_LT, SEMVER_LTE -> semver(attribute, operator, parseVersion(attribute, values.get(0)));
+        };
+    }
+
+    private static TargetingMatcher numeric(String attribute, ConditionOperator operator, double expected) {
+        return (clientId, attributes) -> {
+            String value = TargetingMatcher.attribute(attribute, clientId, attributes);
+            if (value == null) {
+                return false;
+            }
+            double actual;
+            try {
+                actual = Double.parseDouble(value);
+            } catch (NumberFormatException e) {
+                return false;
+            }
+            if (!Double.isFinite(actual)) {
+                return false;
+            }
+            return compare(operator, Double.compare(actual, expected));
+        };
+    }
+
+    private static TargetingMatcher semver(String attribute, ConditionOperator operator, long expected) {
+        return (clientId, attributes) -> {
+            long actual = SemanticVersion.parse(TargetingMatcher.attribute(attribute, clientId, attributes));
+            return actual != SemanticVersion.INVALID && compare(operator, Long.compare(actual, expected));
+        };
+    }
+
+    private static boolean compare(ConditionOperator operator, int comparison) {
+        return switch (operator) {
+            case GT, SEMVER_GT -> comparison > 0;
+            case GTE, SEMVER_GTE -> comparison >= 0;
+            case LT, SEMVER_LT -> comparison < 0;
+            case LTE, SEMVER_LTE -> comparison <= 0;
+            default -> throw new IllegalStateException("Operador no comparable: " + operator);
+        };
+    }
+
+    private static double parseNumber(String attribute, String value) {
+        try {
+            double number = Double.parseDouble(value);
+            if (!Double.isFinite(number)) {
+                throw new NumberFormatException();
+            }
+            return number;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("El valor '" + value + "' de '" + attribute + "' no es numérico");
+        }
+    }
+
+    private static long parseVersion(String attribute, String value) {
+        long version = SemanticVersion.parse(value);
+        if (version == SemanticVersion.INVALID) {
+            throw new IllegalArgumentException("El valor '" + value + "' de '" + attribute + "' no es una versión válida");
+        }
+        return version;
+    }
+}
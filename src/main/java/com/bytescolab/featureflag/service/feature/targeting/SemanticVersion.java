@@ -0,0 +1,61 @@
+package com.bytescolab.featureflag.service.feature.targeting;
+
+/**
+ * Interpretación de versiones {@code major[.minor[.patch]]} como un único {@code long}
+ * comparable, para que las condiciones de versión comparen enteros.
+ *
+ * <p>Se admiten un prefijo {@code v} y sufijos de pre-release o build ({@code -beta}, {@code +42}),
+ * que se ignoran. Cada componente debe estar entre 0 y {@value #MAX_COMPONENT}.</p>
+ *
+ * @author Bytes
+ */
+public final class SemanticVersion {
+
+    /** Valor máximo de cada componente de la versión. */
+    public static final int MAX_COMPONENT = (1 << 20) - 1;
+
+    /** Valor devuelto por {@link #parse(String)} si la versión no es válida. */
+    public static final long INVALID = -1L;
+
+    private SemanticVersion() {
+    }
+
+    /**
+     * @param version versión a interpretar.
+     * @return la versión codificada, o {@link #INVALID} si no es válida.
+     */
+    public static long parse(String version) {
+        if (version == null) {
+            return INVALID;
+        }
+        int length = version.length();
+        int i = length > 0 && (version.charAt(0) == 'v' || version.charAt(0) == 'V') ? 1 : 0;
+        long encoded = 0L;
+        int components = 0;
+        while (components < 3) {
+            int start = i;
+            long component = 0L;
+            while (i < length && version.charAt(i) >= '0' && version.charAt(i) <= '9') {
+                component = component * 10 + (version.charAt(i) - '0');
+                if (component > MAX_COMPONENT) {
+                    return INVALID;
+                }
+                i++;
+            }
+            if (i == start) {
+                return INVALID;
+            }
+            encoded = (encoded << 20) | component;
+            components++;
+            if (i < length && version.charAt(i) == '.' && components < 3) {
+                i++;
+            } else {
+                break;
+            }
+        }
+        if (i < length && version.charAt(i) != '-' && version.charAt(i) != '+') {
+            return INVALID;
+        }
+        return encoded << (20 * (3 - components));
+    }
+}
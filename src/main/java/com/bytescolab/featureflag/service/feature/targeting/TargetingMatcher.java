@@ -0,0 +1,38 @@
+package com.bytescolab.featureflag.service.feature.targeting;
+
+import java.util.Map;
+
+/**
+ * Predicado compilado sobre el contexto de evaluación (cliente y atributos).
+ *
+ * <p>Las implementaciones son inmutables y no crean objetos al evaluarse.</p>
+ *
+ * @author Bytes
+ * @see RuleCompiler
+ */
+@FunctionalInterface
+public interface TargetingMatcher {
+
+    /** Atributo que se resuelve con el cliente evaluado. */
+    String CLIENT_ID = "clientId";
+
+    /**
+     * @param clientId   identificador del cliente evaluado.
+     * @param attributes atributos del contexto; nunca {@code null}.
+     * @return {@code true} si el contexto cumple el predicado.
+     */
+    boolean matches(String clientId, Map<String, String> attributes);
+
+    /**
+     * Resuelve un atributo del contexto.
+     *
+     * @param name       nombre del atributo.
+     * @param clientId   identificador del cliente evaluado.
+     * @param attributes atributos del contexto.
+     * @return el valor del atributo, o {@code null} si no existe.
+     */
+    static String attribute(String name, String clientId, Map<String, String> attributes) {
+        String value = attributes.get(name);
+        return value == null && CLIENT_ID.equals(name) ? clientId : value;
+    }
+}
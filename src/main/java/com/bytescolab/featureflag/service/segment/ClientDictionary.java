@@ -0,0 +1,51 @@
+package com.bytescolab.featureflag.service.segment;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Diccionario compartido que asigna a cada identificador de cliente un entero estable.
+ *
+ * <p>Cada cliente se guarda una sola vez aunque pertenezca a muchos segmentos; los
+ * segmentos solo almacenan los enteros. Un diccionario solo crece, así que
+ * {@link SegmentRegistry#reloadAll()} construye uno nuevo con los clientes que siguen en algún
+ * segmento y lo sustituye junto con los conjuntos de todos ellos: los clientes que dejan todos
+ * sus segmentos desaparecen en la siguiente recarga completa.</p>
+ *
+ * @author Bytes
+ * @see SegmentRegistry
+ */
+public final class ClientDictionary {
+
+    /** Valor devuelto por {@link #idOf(String)} para clientes desconocidos. */
+    public static final int UNKNOWN = -1;
+
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger();
+
+    /**
+     * @param clientId identificador del cliente.
+     * @return el entero del cliente, o {@link #UNKNOWN} si no pertenece a ningún segmento.
+     */
+    public int idOf(String clientId) {
+        if (clientId == null) {
+            return UNKNOWN;
+        }
+        Integer id = ids.get(clientId);
+        return id != null ? id : UNKNOWN;
+    }
+
+    /**
+     * Devuelve el entero de un cliente, asignándole uno nuevo si aún no lo tiene.
+     *
+     * @param clientId identificador del cliente.
+     * @return el entero del cliente.
+     */
+    public int intern(String clientId) {
+        return ids.computeIfAbsent(clientId, id -> nextId.getAndIncrement());
+    }
+
+    public int size() {
+        return ids.size();
+    }
+}
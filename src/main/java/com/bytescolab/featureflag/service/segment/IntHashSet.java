@@ -0,0 +1,92 @@
+package com.bytescolab.featureflag.service.segment;
+
+import java.util.Arrays;
+
+/**
+ * Conjunto inmutable de enteros no negativos con direccionamiento abierto.
+ *
+ * <p>Guarda los valores directamente en un {@code int[]} con factor de carga máximo de 0,5:
+ * unos 8 bytes por miembro, frente a los más de 40 de un {@code HashSet<String>}, y
+ * {@link #contains(int)} en tiempo constante sin crear objetos.</p>
+ *
+ * @author Bytes
+ * @see SegmentMembership
+ */
+public final class IntHashSet {
+
+    /** Conjunto vacío. */
+    public static final IntHashSet EMPTY = new IntHashSet(new int[]{-1, -1}, 0);
+
+    private static final int FREE = -1;
+
+    private final int[] table;
+    private final int mask;
+    private final int size;
+
+    private IntHashSet(int[] table, int size) {
+        this.table = table;
+        this.mask = table.length - 1;
+        this.size = size;
+    }
+
+    /**
+     * Construye el conjunto a partir de unos valores; los duplicados se ignoran.
+     *
+     * @param values valores no negativos.
+     * @param count  número de valores a tomar de {@code values}.
+     * @return el conjunto.
+     */
+    public static IntHashSet of(int[] values, int count) {
+        if (count == 0) {
+            return EMPTY;
+        }
+        int capacity = Integer.highestOneBit(Math.max(2, count) * 2 - 1) << 1;
+        int[] table = new int[capacity];
+        Arrays.fill(table, FREE);
+        int mask = capacity - 1;
+        int size = 0;
+        for (int i = 0; i < count; i++) {
+            int value = values[i];
+            if (value < 0) {
+                throw new IllegalArgumentException("Solo se admiten valores no negativos");
+            }
+            int slot = mix(value) & mask;
+            while (table[slot] != FREE && table[slot] != value) {
+                slot = (slot + 1) & mask;
+            }
+            if (table[slot] == FREE) {
+                table[slot] = value;
+                size++;
+            }
+        }
+        return new IntHashSet(table, size);
+    }
+
+    /**
+     * @param value valor a buscar.
+     * @return {@code true} si el valor pertenece al conjunto.
+     */
+    public boolean contains(int value) {
+        if (value < 0) {
+            return false;
+        }
+        int slot = mix(value) & mask;
+        int current;
+        while ((current = table[slot]) != FREE) {
+            if (current == value) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static int mix(int value) {
+        int h = value * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
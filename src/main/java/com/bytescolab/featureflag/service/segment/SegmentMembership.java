@@ -0,0 +1,56 @@
+package com.bytescolab.featureflag.service.segment;
+
+import java.util.UUID;
+
+/**
+ * Pertenencia en memoria de un segmento.
+ *
+ * <p>Es un manejador estable: todas las features que usan el segmento comparten la misma
+ * instancia, de modo que la memoria es proporcional al tamaño del segmento y no al número
+ * de features. Al cambiar los miembros se sustituyen de forma atómica el conjunto interno y
+ * el diccionario con el que se construyó, sin reconstruir el estado de esas features.</p>
+ *
+ * @author Bytes
+ * @see SegmentRegistry
+ */
+public final class SegmentMembership {
+
+    private final UUID segmentId;
+    private volatile Members members = Members.EMPTY;
+
+    SegmentMembership(UUID segmentId) {
+        this.segmentId = segmentId;
+    }
+
+    /**
+     * @param clientId identificador del cliente.
+     * @return {@code true} si el cliente pertenece al segmento.
+     */
+    public boolean contains(String clientId) {
+        Members current = members;
+        return current.set().contains(current.dictionary().idOf(clientId));
+    }
+
+    /**
+     * Sustituye los miembros del segmento.
+     *
+     * @param dictionary diccionario con el que se tradujeron los clientes de {@code members}.
+     * @param members    enteros de los clientes del segmento.
+     */
+    void replace(ClientDictionary dictionary, IntHashSet members) {
+        this.members = new Members(dictionary, members);
+    }
+
+    public UUID getSegmentId() {
+        return segmentId;
+    }
+
+    public int size() {
+        return members.set().size();
+    }
+
+    /** Conjunto de miembros y el diccionario que da sentido a sus enteros, leídos siempre juntos. */
+    private record Members(ClientDictionary dictionary, IntHashSet set) {
+        static final Members EMPTY = new Members(new ClientDictionary(), IntHashSet.EMPTY);
+    }
+}
@@ -0,0 +1,145 @@
+package com.bytescolab.featureflag.service.segment;
+
+import com.bytescolab.featureflag.repository.SegmentRepository;
+import com.bytescolab.featureflag.repository.projection.SegmentMemberRow;
+import com.bytescolab.featureflag.service.segment.event.SegmentChangedEvent;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Mantiene en memoria la pertenencia de todos los segmentos.
+ *
+ * <p>Cada cliente se traduce una única vez a un entero mediante un {@link ClientDictionary}
+ * compartido, y cada segmento guarda sus miembros en un {@link IntHashSet}. Las features
+ * reciben el {@link SegmentMembership} del segmento, que es el mismo objeto para todas ellas:
+ * un segmento de cientos de miles de clientes ocupa memoria una sola vez aunque lo usen
+ * muchas features, y la comprobación de pertenencia es O(1).</p>
+ *
+ * <p>Al cambiar los miembros de un segmento se publica un {@link SegmentChangedEvent}; una vez
+ * confirmada la transacción se relee solo ese segmento y se sustituye su conjunto. La recarga
+ * completa construye además un diccionario nuevo, de modo que los clientes que ya no están en
+ * ningún segmento dejan de ocupar memoria. Las recargas
+ * se serializan con un {@link ReentrantLock}, que no fija el hilo portador de un hilo virtual
+ * mientras espera a la base de datos.</p>
+ *
+ * @author Bytes
+ * @see SegmentMembership
+ */
+@Slf4j
+@Component
+public class SegmentRegistry {
+
+    private final SegmentRepository segmentRepository;
+    private volatile ClientDictionary dictionary = new ClientDictionary();
+    private final Map<UUID, SegmentMembership> memberships = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public SegmentRegistry(SegmentRepository segmentRepository) {
+        this.segmentRepository = segmentRepository;
+    }
+
+    /**
+     * Devuelve el manejador de pertenencia de un segmento. Si el segmento aún no se ha cargado,
+     * el manejador empieza vacío y se completa en la siguiente recarga.
+     *
+     * @param segmentId identificador del segmento.
+     * @return el manejador compartido del segmento.
+     */
+    public SegmentMembership membership(UUID segmentId) {
+        return memberships.computeIfAbsent(segmentId, id -> new SegmentMembership(id));
+    }
+
+    /**
+     * Carga los miembros de todos los segmentos con una única consulta, sobre un diccionario nuevo
+     * que sustituye al anterior.
+     */
+    @PostConstruct
+    public void reloadAll() {
+        lock.lock();
+        try {
+            ClientDictionary fresh = new ClientDictionary();
+            Map<UUID, IntBuffer> bySegment = new HashMap<>();
+            for (SegmentMemberRow row : segmentRepository.findAllMemberRows()) {
+                bySegment.computeIfAbsent(row.segmentId(), id -> new IntBuffer()).add(fresh.intern(row.clientId()));
+            }
+            for (SegmentMembership membership : memberships.values()) {
+                if (!bySegment.containsKey(membership.getSegmentId())) {
+                    membership.replace(fresh, IntHashSet.EMPTY);
+                }
+            }
+            bySegment.forEach((segmentId, members) -> membership(segmentId).replace(fresh, members.toSet()));
+            dictionary = fresh;
+            log.info("Segmentos cargados: {} segmentos, {} clientes distintos", bySegment.size(), fresh.size());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Relee los miembros de un segmento y sustituye su conjunto en memoria.
+     *
+     * @param segmentId identificador del segmento.
+     */
+    public void reload(UUID segmentId) {
+        lock.lock();
+        try {
+            List<String> clientIds = segmentRepository.findMemberIds(segmentId);
+            ClientDictionary current = dictionary;
+            IntBuffer members = new IntBuffer();
+            for (String clientId : clientIds) {
+                members.add(current.intern(clientId));
+            }
+            membership(segmentId).replace(current, members.toSet());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return número de clientes distintos del diccionario vigente.
+     */
+    public int getClientCount() {
+        return dictionary.size();
+    }
+
+    /**
+     * Aplica los cambios de un segmento una vez confirmada la transacción que los produjo.
+     * Se ejecuta antes que el resto de oyentes para que las features lean ya los nuevos miembros.
+     *
+     * @param event evento con el segmento modificado.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSegmentChanged(SegmentChangedEvent event) {
+        reload(event.segmentId());
+    }
+
+    /** Acumulador de enteros sin autoboxing. */
+    private static final class IntBuffer {
+        private int[] values = new int[16];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        IntHashSet toSet() {
+            return IntHashSet.of(values, size);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.bytescolab.featureflag.service.segment;
+
+import com.bytescolab.featureflag.repository.dto.segment.request.SegmentCreateRequestDTO;
+import com.bytescolab.featureflag.repository.dto.segment.request.SegmentMembersRequestDTO;
+import com.bytescolab.featureflag.repository.dto.segment.response.SegmentResponseDTO;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.UUID;
+
+@Service
+public interface SegmentService {
+
+    SegmentResponseDTO createSegment(SegmentCreateRequestDTO dto);
+
+    List<SegmentResponseDTO> getSegments();
+
+    SegmentResponseDTO getSegment(UUID segmentId);
+
+    SegmentResponseDTO replaceMembers(UUID segmentId, SegmentMembersRequestDTO dto);
+
+    SegmentResponseDTO addMembers(UUID segmentId, SegmentMembersRequestDTO dto);
+}
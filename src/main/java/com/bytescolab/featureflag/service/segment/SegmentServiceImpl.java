@@ -0,0 +1,129 @@
+package com.bytescolab.featureflag.service.segment;
+
+import com.bytescolab.featureflag.config.security.SecurityUtils;
+import com.bytescolab.featureflag.exception.ApiException;
+import com.bytescolab.featureflag.exception.ErrorCodes;
+import com.bytescolab.featureflag.model.entity.Segment;
+import com.bytescolab.featureflag.repository.FeatureConfigRepository;
+import com.bytescolab.featureflag.repository.FeatureRepository;
+import com.bytescolab.featureflag.repository.SegmentRepository;
+import com.bytescolab.featureflag.repository.dto.segment.request.SegmentCreateRequestDTO;
+import com.bytescolab.featureflag.repository.dto.segment.request.SegmentMembersRequestDTO;
+import com.bytescolab.featureflag.repository.dto.segment.response.SegmentResponseDTO;
+import com.bytescolab.featureflag.repository.mapper.SegmentMapper;
+import com.bytescolab.featureflag.repository.projection.FeatureRow;
+import com.bytescolab.featureflag.service.audit.AuditTrail;
+import com.bytescolab.featureflag.service.feature.event.FeatureChangedEvent;
+import com.bytescolab.featureflag.service.segment.event.SegmentChangedEvent;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Gestión de los segmentos de clientes.
+ *
+ * <p>Al cambiar los miembros de un segmento se publica un {@link SegmentChangedEvent} para
+ * recargar su pertenencia en memoria y, además, se incrementa la revisión de cada feature
+ * que lo usa y se publica su {@link FeatureChangedEvent}, de modo que los ETags y el
+ * stream de cambios reflejen que su evaluación ha cambiado. El cambio queda en el historial
+ * de auditoría de cada una de esas features.</p>
+ *
+ * @author Bytes
+ * @see SegmentRegistry
+ */
+@Slf4j
+@Service
+public class SegmentServiceImpl implements SegmentService {
+
+    private final SegmentRepository segmentRepository;
+    private final FeatureConfigRepository featureConfigRepository;
+    private final FeatureRepository featureRepository;
+    private final SegmentRegistry segmentRegistry;
+    private final AuditTrail auditTrail;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public SegmentServiceImpl(SegmentRepository segmentRepository,
+                              FeatureConfigRepository featureConfigRepository,
+                              FeatureRepository featureRepository,
+                              SegmentRegistry segmentRegistry,
+                              AuditTrail auditTrail,
+                              ApplicationEventPublisher eventPublisher) {
+        this.segmentRepository = segmentRepository;
+        this.featureConfigRepository = featureConfigRepository;
+        this.featureRepository = featureRepository;
+        this.segmentRegistry = segmentRegistry;
+        this.auditTrail = auditTrail;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    @Transactional
+    public SegmentResponseDTO createSegment(SegmentCreateRequestDTO dto) {
+        if (segmentRepository.existsByName(dto.getName())) {
+            throw new ApiException(ErrorCodes.SEGMENT_EXISTS, ErrorCodes.SEGMENT_EXISTS_MSG);
+        }
+
+        Segment saved = segmentRepository.save(SegmentMapper.toEntity(dto));
+        eventPublisher.publishEvent(new SegmentChangedEvent(saved.getId()));
+        log.info("Segmento '{}' creado con {} clientes por '{}'", saved.getName(), saved.getClientIds().size(),
+                SecurityUtils.getCurrentUser());
+
+        return SegmentMapper.toResponseDTO(saved, saved.getClientIds().size());
+    }
+
+    @Override
+    public List<SegmentResponseDTO> getSegments() {
+        return segmentRepository.findAll().stream()
+                .map(segment -> SegmentMapper.toResponseDTO(segment, segmentRegistry.membership(segment.getId()).size()))
+                .toList();
+    }
+
+    @Override
+    public SegmentResponseDTO getSegment(UUID segmentId) {
+        Segment segment = getSegmentOrThrow(segmentId);
+        return SegmentMapper.toResponseDTO(segment, segmentRegistry.membership(segmentId).size());
+    }
+
+    @Override
+    @Transactional
+    public SegmentResponseDTO replaceMembers(UUID segmentId, SegmentMembersRequestDTO dto) {
+        Segment segment = getSegmentOrThrow(segmentId);
+        int membersBefore = segment.getClientIds().size();
+        segment.getClientIds().retainAll(dto.getClientIds());
+        segment.getClientIds().addAll(dto.getClientIds());
+        return membersChanged(segmentRepository.save(segment), membersBefore);
+    }
+
+    @Override
+    @Transactional
+    public SegmentResponseDTO addMembers(UUID segmentId, SegmentMembersRequestDTO dto) {
+        Segment segment = getSegmentOrThrow(segmentId);
+        int membersBefore = segment.getClientIds().size();
+        segment.getClientIds().addAll(dto.getClientIds());
+        return membersChanged(segmentRepository.save(segment), membersBefore);
+    }
+
+    private SegmentResponseDTO membersChanged(Segment segment, int membersBefore) {
+        eventPublisher.publishEvent(new SegmentChangedEvent(segment.getId()));
+        List<UUID> featureIds = featureConfigRepository.findFeatureIdsBySegmentId(segment.getId());
+        if (!featureIds.isEmpty()) {
+            for (FeatureRow feature : featureRepository.findRowsByIdIn(featureIds)) {
+                featureRepository.incrementRevision(feature.id());
+                eventPublisher.publishEvent(new FeatureChangedEvent(feature.id()));
+                auditTrail.segmentMembersChanged(feature.id(), feature.name(), segment, membersBefore);
+            }
+        }
+        log.info("Segmento '{}' actualizado a {} clientes por '{}'", segment.getName(), segment.getClientIds().size(),
+                SecurityUtils.getCurrentUser());
+        return SegmentMapper.toResponseDTO(segment, segment.getClientIds().size());
+    }
+
+    private Segment getSegmentOrThrow(UUID segmentId) {
+        return segmentRepository.findById(segmentId)
+                .orElseThrow(() -> new ApiException(ErrorCodes.SEGMENT_NOT_FOUND, ErrorCodes.SEGMENT_NOT_FOUND_MSG));
+    }
+}
@@ -0,0 +1,21 @@
+package com.bytescolab.featureflag.service.segment.event;
+
+import java.util.UUID;
+
+/**
+ * Evento de aplicación publicado cuando cambian los miembros de un segmento.
+ *
+ * <p>Se publica antes que los {@code FeatureChangedEvent} de las features que usan
+ * el segmento, para que la pertenencia en memoria esté actualizada cuando se
+ * reconstruyan sus estados.</p>
+ *
+ * @param segmentId identificador del segmento modificado.
+ * @param remote    {@code true} si el cambio se hizo en otra réplica.
+ * @author Bytes
+ */
+public record SegmentChangedEvent(UUID segmentId, boolean remote) {
+
+    public SegmentChangedEvent(UUID segmentId) {
+        this(segmentId, false);
+    }
+}
@@ -5,17 +5,22 @@ import com.bytescolab.featureflag.exception.ErrorCodes;
 import com.bytescolab.featureflag.model.entity.User;
 import com.bytescolab.featureflag.model.enums.Role;
 import com.bytescolab.featureflag.repository.UserRepository;
+import com.bytescolab.featureflag.service.user.event.UserRoleChangedEvent;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService{
 
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -25,7 +30,9 @@ public class UserServiceImpl implements UserService{
 
         Role role = Role.valueOf(newRole.toUpperCase());
         user.setRole(role);
+        user.setRoleUpdatedAt(Instant.now());
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserRoleChangedEvent(user.getUsername()));
 
         String msg = String.format("Usuario %s actualizado correctamente con rol: %s", name, role.name());
         log.info("Usuario {} actualizado correctamente con rol: {}", name, role.name());
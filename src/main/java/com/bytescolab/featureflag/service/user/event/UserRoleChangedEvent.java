@@ -0,0 +1,14 @@
+package com.bytescolab.featureflag.service.user.event;
+
+/**
+ * Evento de aplicación publicado cuando cambia el rol de un usuario.
+ *
+ * <p>Los oyentes lo reciben una vez confirmada la transacción, de modo que
+ * cualquier estado derivado del rol anterior (por ejemplo, tokens ya verificados
+ * en caché) puede descartarse sabiendo que el nuevo rol ya es visible.</p>
+ *
+ * @param username nombre del usuario modificado.
+ * @author Bytes
+ */
+public record UserRoleChangedEvent(String username) {
+}
@@ -0,0 +1,6 @@
+-- Ajustes de esquema de audit_events que ddl-auto=update no aplica por sí solo.
+-- Se ejecuta en cada arranque contra PostgreSQL: todas las sentencias son idempotentes.
+
+-- Hibernate genera un CHECK con los valores de AuditAction al crear la tabla y no lo
+-- actualiza después: sin eliminarlo, las acciones añadidas más tarde no podrían insertarse.
+ALTER TABLE audit_events DROP CONSTRAINT IF EXISTS audit_events_action_check;
@@ -0,0 +1,19 @@
+-- Ajustes de esquema de feature_configs que ddl-auto=update no aplica por sí solo.
+-- Se ejecuta en cada arranque contra PostgreSQL: todas las sentencias son idempotentes.
+
+-- Las configuraciones globales del entorno se guardan con client_id NULL.
+ALTER TABLE feature_configs ALTER COLUMN client_id DROP NOT NULL;
+
+-- Las configuraciones de segmento también tienen client_id NULL: el índice global
+-- original las habría tratado como duplicados de la configuración global.
+DROP INDEX IF EXISTS ux_feature_configs_global;
+
+-- Unicidad y búsqueda index-only de la configuración global (feature, entorno).
+CREATE UNIQUE INDEX IF NOT EXISTS ux_feature_configs_env_global
+    ON feature_configs (feature_id, environment) INCLUDE (enabled)
+    WHERE client_id IS NULL AND segment_id IS NULL;
+
+-- Una única configuración por (feature, entorno, segmento).
+CREATE UNIQUE INDEX IF NOT EXISTS ux_feature_configs_segment
+    ON feature_configs (feature_id, environment, segment_id)
+    WHERE segment_id IS NOT NULL;
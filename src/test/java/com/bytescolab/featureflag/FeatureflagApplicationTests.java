@@ -1,16 +1,35 @@
 package com.bytescolab.featureflag;
 
+import com.bytescolab.featureflag.service.feature.snapshot.FeatureSnapshotHolder;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 @ActiveProfiles("test")
 @SpringBootTest
 class FeatureflagApplicationTests {
 
+	@Autowired
+	private ApplicationAvailability applicationAvailability;
+
+	@Autowired
+	private FeatureSnapshotHolder featureSnapshotHolder;
+
 	@Test
 	void contextLoads() {
 		//empty method
 	}
 
+	@Test
+	void readyOnlyAfterWarmupLoadedSnapshot() {
+		assertEquals(ReadinessState.ACCEPTING_TRAFFIC, applicationAvailability.getReadinessState());
+		assertTrue(featureSnapshotHolder.current().getVersion() >= 1);
+	}
+
 }
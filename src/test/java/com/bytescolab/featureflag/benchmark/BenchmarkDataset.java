@@ -0,0 +1,74 @@
+package com.bytescolab.featureflag.benchmark;
+
+import com.bytescolab.featureflag.model.entity.Feature;
+import com.bytescolab.featureflag.model.entity.FeatureConfig;
+import com.bytescolab.featureflag.model.enums.Environment;
+import com.bytescolab.featureflag.repository.projection.FeatureConfigRow;
+import com.bytescolab.featureflag.repository.projection.FeatureRow;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Conjunto de datos sintético y determinista para los benchmarks: {@code features} features,
+ * cada una con {@code configsPerFeature} configuraciones repartidas entre entornos y
+ * clientes, más una configuración global por entorno en una de cada tres features.
+ */
+final class BenchmarkDataset {
+
+    static final int CLIENTS = 64;
+
+    final List<FeatureRow> featureRows = new ArrayList<>();
+    final List<FeatureConfigRow> configRows = new ArrayList<>();
+    final UUID[] featureIds;
+    final String[] clientIds = new String[CLIENTS];
+
+    BenchmarkDataset(int features, int configsPerFeature) {
+        Random random = new Random(42);
+        Environment[] environments = Environment.values();
+        for (int c = 0; c < CLIENTS; c++) {
+            clientIds[c] = "client-" + c;
+        }
+        featureIds = new UUID[features];
+        for (int f = 0; f < features; f++) {
+            UUID id = new UUID(f, 42);
+            featureIds[f] = id;
+            featureRows.add(new FeatureRow(id, "flag-" + f, random.nextBoolean(), 0L));
+            for (int c = 0; c < configsPerFeature; c++) {
+                configRows.add(new FeatureConfigRow(id, environments[c % environments.length],
+                        clientIds[c % CLIENTS], random.nextBoolean()));
+            }
+            if (f % 3 == 0) {
+                for (Environment environment : environments) {
+                    configRows.add(new FeatureConfigRow(id, environment, null, random.nextBoolean()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Construye una entidad {@link Feature} con el número de configuraciones indicado.
+     */
+    static Feature feature(int configs) {
+        Feature feature = Feature.builder()
+                .id(UUID.randomUUID())
+                .name("flag-detail")
+                .description("Feature con " + configs + " configuraciones")
+                .enabledByDefault(true)
+                .configs(new ArrayList<>())
+                .build();
+        Environment[] environments = Environment.values();
+        for (int c = 0; c < configs; c++) {
+            feature.getConfigs().add(FeatureConfig.builder()
+                    .id(UUID.randomUUID())
+                    .feature(feature)
+                    .environment(environments[c % environments.length])
+                    .clientId("client-" + c)
+                    .enabled(c % 2 == 0)
+                    .build());
+        }
+        return feature;
+    }
+}
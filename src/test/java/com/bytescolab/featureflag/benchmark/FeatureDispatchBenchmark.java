@@ -0,0 +1,75 @@
+package com.bytescolab.featureflag.benchmark;
+
+import com.bytescolab.featureflag.controller.FeatureController;
+import com.bytescolab.featureflag.service.feature.cache.FeatureResponseCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Petición completa a través de {@code DispatcherServlet} con MockMvc: binding de parámetros,
+ * invocación de {@link FeatureController}, evaluación en el snapshot y serialización JSON.
+ * No incluye la cadena de seguridad ni la red; ver {@link JwtUtilsBenchmark} para el coste del JWT.
+ *
+ * <pre>mvn -Pbenchmark test -Djmh.args="FeatureDispatchBenchmark -p features=100"</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FeatureDispatchBenchmark {
+
+    @Param({"100", "1000"})
+    public int features;
+
+    private MockMvc mockMvc;
+    private UUID featureId;
+    private String clientId;
+
+    @Setup
+    public void setUp() {
+        BenchmarkDataset dataset = new BenchmarkDataset(features, 8);
+        FeatureResponseCache responseCache = new FeatureResponseCache(new ObjectMapper(), new SimpleMeterRegistry(), true, features, 256);
+        mockMvc = MockMvcBuilders.standaloneSetup(
+                new FeatureController(FeatureEvaluationBenchmark.newService(dataset), responseCache)).build();
+        featureId = dataset.featureIds[features / 2];
+        clientId = dataset.clientIds[1];
+    }
+
+    @Benchmark
+    public MockHttpServletResponse check() throws Exception {
+        return mockMvc.perform(get("/api/features/check")
+                        .param("featureId", featureId.toString())
+                        .param("clientId", clientId)
+                        .param("env", "PROD"))
+                .andReturn().getResponse();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse checkBulk() throws Exception {
+        return mockMvc.perform(get("/api/features/check/bulk")
+                        .param("clientId", clientId)
+                        .param("env", "PROD"))
+                .andReturn().getResponse();
+    }
+}
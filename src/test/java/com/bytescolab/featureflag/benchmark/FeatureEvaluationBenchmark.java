@@ -0,0 +1,112 @@
+package com.bytescolab.featureflag.benchmark;
+
+import com.bytescolab.featureflag.config.metrics.DbQueryCounter;
+import com.bytescolab.featureflag.model.enums.Environment;
+import com.bytescolab.featureflag.repository.AuditEventRepository;
+import com.bytescolab.featureflag.repository.FeatureConfigRepository;
+import com.bytescolab.featureflag.repository.FeatureRepository;
+import com.bytescolab.featureflag.repository.SegmentRepository;
+import com.bytescolab.featureflag.repository.TargetingRuleRepository;
+import com.bytescolab.featureflag.repository.dto.feature.response.FeatureEvaluationResponseDTO;
+import com.bytescolab.featureflag.service.audit.AuditTrail;
+import com.bytescolab.featureflag.service.feature.FeatureServiceImpl;
+import com.bytescolab.featureflag.service.feature.metrics.FeatureEvaluationMetrics;
+import com.bytescolab.featureflag.service.feature.snapshot.FeatureSnapshotHolder;
+import com.bytescolab.featureflag.service.segment.SegmentRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Resolución de flags contra el snapshot en memoria, tal como la ejecuta {@link FeatureServiceImpl}.
+ *
+ * <ul>
+ *   <li>{@code isFeatureActived}: una feature para un cliente y entorno, recorriendo
+ *   combinaciones (feature, cliente) precalculadas.</li>
+ *   <li>{@code evaluateAll}: todas las features del dataset para un cliente ({@code /check/bulk}).</li>
+ * </ul>
+ *
+ * <pre>mvn -Pbenchmark test -Djmh.args="FeatureEvaluationBenchmark -p features=1000"</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FeatureEvaluationBenchmark {
+
+    private static final int LOOKUPS = 1024;
+
+    @Param({"100", "1000", "10000"})
+    public int features;
+
+    @Param({"4", "32"})
+    public int configsPerFeature;
+
+    private FeatureServiceImpl featureService;
+    private UUID[] lookupFeatures;
+    private String[] lookupClients;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        BenchmarkDataset dataset = new BenchmarkDataset(features, configsPerFeature);
+        featureService = newService(dataset);
+
+        lookupFeatures = new UUID[LOOKUPS];
+        lookupClients = new String[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            lookupFeatures[i] = dataset.featureIds[(i * 7919) % features];
+            lookupClients[i] = dataset.clientIds[(i * 31) % BenchmarkDataset.CLIENTS];
+        }
+    }
+
+    @Benchmark
+    public boolean isFeatureActived() {
+        int i = next++ & (LOOKUPS - 1);
+        return featureService.isFeatureActived(lookupFeatures[i], lookupClients[i], Environment.PROD);
+    }
+
+    @Benchmark
+    public List<FeatureEvaluationResponseDTO> evaluateAll() {
+        int i = next++ & (LOOKUPS - 1);
+        return featureService.evaluateFeatures(lookupClients[i], Environment.PROD, null);
+    }
+
+    /**
+     * Crea un {@link FeatureServiceImpl} cuyo snapshot se carga desde el dataset; los
+     * repositorios son mocks, por lo que ninguna evaluación toca la base de datos.
+     */
+    static FeatureServiceImpl newService(BenchmarkDataset dataset) {
+        FeatureRepository featureRepository = mock(FeatureRepository.class);
+        FeatureConfigRepository featureConfigRepository = mock(FeatureConfigRepository.class);
+        when(featureRepository.findAllRows()).thenReturn(dataset.featureRows);
+        when(featureConfigRepository.findAllRows()).thenReturn(dataset.configRows);
+
+        FeatureSnapshotHolder holder = new FeatureSnapshotHolder(featureRepository, featureConfigRepository,
+                mock(TargetingRuleRepository.class), new SegmentRegistry(mock(SegmentRepository.class)), 10000);
+        holder.reloadAll();
+        return new FeatureServiceImpl(featureRepository, featureConfigRepository, mock(SegmentRepository.class),
+                mock(AuditEventRepository.class), mock(AuditTrail.class),
+                holder, new FeatureEvaluationMetrics(new SimpleMeterRegistry(), new DbQueryCounter(new SimpleMeterRegistry()), 500),
+                mock(ApplicationEventPublisher.class));
+    }
+}
@@ -0,0 +1,67 @@
+package com.bytescolab.featureflag.benchmark;
+
+import com.bytescolab.featureflag.model.entity.Feature;
+import com.bytescolab.featureflag.repository.dto.feature.response.FeatureDetailResponseDTO;
+import com.bytescolab.featureflag.repository.dto.feature.response.FeatureStateResponseDTO;
+import com.bytescolab.featureflag.repository.mapper.FeatureMapper;
+import com.bytescolab.featureflag.repository.projection.FeatureConfigRow;
+import com.bytescolab.featureflag.repository.projection.FeatureRow;
+import com.bytescolab.featureflag.service.feature.snapshot.FeatureState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de mapear una feature con muchas configuraciones a sus DTOs de respuesta.
+ *
+ * <ul>
+ *   <li>{@code toDetailResponseDTO}: desde la entidad JPA ({@code GET /api/features/{id}}).</li>
+ *   <li>{@code toStateDTO}: desde el estado del snapshot (stream SSE).</li>
+ * </ul>
+ *
+ * <pre>mvn -Pbenchmark test -Djmh.args="FeatureMapperBenchmark -prof gc"</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FeatureMapperBenchmark {
+
+    @Param({"1", "10", "100", "1000"})
+    public int configs;
+
+    private Feature feature;
+    private FeatureState state;
+
+    @Setup
+    public void setUp() {
+        feature = BenchmarkDataset.feature(configs);
+        List<FeatureConfigRow> rows = feature.getConfigs().stream()
+                .map(c -> new FeatureConfigRow(feature.getId(), c.getEnvironment(), c.getClientId(), c.getEnabled()))
+                .toList();
+        state = FeatureState.of(new FeatureRow(feature.getId(), feature.getName(), feature.getEnabledByDefault(), 0L), rows);
+    }
+
+    @Benchmark
+    public FeatureDetailResponseDTO toDetailResponseDTO() {
+        return FeatureMapper.toDetailResponseDTO(feature);
+    }
+
+    @Benchmark
+    public FeatureStateResponseDTO toStateDTO() {
+        return FeatureMapper.toStateDTO(state);
+    }
+}
@@ -0,0 +1,83 @@
+package com.bytescolab.featureflag.benchmark;
+
+import com.bytescolab.featureflag.config.security.jwt.JwtClaims;
+import com.bytescolab.featureflag.config.security.jwt.JwtUtils;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste por token de verificar un JWT.
+ *
+ * <ul>
+ *   <li>{@code legacyFilterPath}: lo que hacía {@code JwtFilter} antes, {@code extractUsername}
+ *   seguido de {@code isTokenValid}; tres parseos, cada uno con su clave y su parser nuevos.</li>
+ *   <li>{@code legacySingleParse}: un único parseo, pero construyendo clave y parser en cada llamada.</li>
+ *   <li>{@code parse}: {@link JwtUtils#parse(String)} con clave y parser precalculados.</li>
+ * </ul>
+ *
+ * <pre>mvn -Pbenchmark test -Djmh.args="JwtUtilsBenchmark -prof gc"</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilsBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-1234567890123456789012";
+
+    private JwtUtils jwtUtils;
+    private UserDetails user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = new JwtUtils(SECRET, 3_600_000L);
+        user = User.withUsername("pepe").password("x").authorities("ROLE_ADMIN").build();
+        token = jwtUtils.generateToken(user);
+    }
+
+    @Benchmark
+    public boolean legacyFilterPath() {
+        String username = legacyClaims(token).getSubject();
+        return username.equals(user.getUsername())
+                && legacyClaims(token).getSubject().equals(user.getUsername())
+                && !legacyClaims(token).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public Claims legacySingleParse() {
+        return legacyClaims(token);
+    }
+
+    @Benchmark
+    public JwtClaims parse() {
+        return jwtUtils.parse(token);
+    }
+
+    private static Claims legacyClaims(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
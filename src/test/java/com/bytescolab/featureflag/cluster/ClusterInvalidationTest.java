@@ -0,0 +1,152 @@
+package com.bytescolab.featureflag.cluster;
+
+import com.bytescolab.featureflag.FeatureflagApplication;
+import com.bytescolab.featureflag.model.enums.Environment;
+import com.bytescolab.featureflag.repository.FeatureRepository;
+import com.bytescolab.featureflag.repository.dto.feature.request.FeatureActivationRequestDTO;
+import com.bytescolab.featureflag.repository.dto.feature.request.FeatureCreateRequestDTO;
+import com.bytescolab.featureflag.repository.dto.segment.request.SegmentCreateRequestDTO;
+import com.bytescolab.featureflag.repository.dto.segment.request.SegmentMembersRequestDTO;
+import com.bytescolab.featureflag.service.cluster.SnapshotReconciler;
+import com.bytescolab.featureflag.service.feature.FeatureService;
+import com.bytescolab.featureflag.service.feature.snapshot.FeatureSnapshotHolder;
+import com.bytescolab.featureflag.service.feature.snapshot.FeatureState;
+import com.bytescolab.featureflag.service.segment.SegmentRegistry;
+import com.bytescolab.featureflag.service.segment.SegmentService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Dos réplicas de la aplicación sobre un mismo PostgreSQL embebido: los cambios hechos en una
+ * deben llegar al snapshot de la otra por {@code LISTEN/NOTIFY}, y los que se salten las
+ * notificaciones deben corregirse con la reconciliación por versión.
+ */
+class ClusterInvalidationTest {
+
+    private static final Duration PROPAGATION_TIMEOUT = Duration.ofSeconds(5);
+
+    private static EmbeddedPostgres postgres;
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startCluster() throws IOException {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        postgres = EmbeddedPostgres.start();
+        nodeA = startNode();
+        nodeB = startNode();
+    }
+
+    @AfterAll
+    static void stopCluster() throws IOException {
+        if (nodeB != null) {
+            nodeB.close();
+        }
+        if (nodeA != null) {
+            nodeA.close();
+        }
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Test
+    void featureWrittenOnOneNode_isAppliedOnTheOther() {
+        UUID featureId = nodeA.getBean(FeatureService.class).createFeature(FeatureCreateRequestDTO.builder()
+                .name("cluster_" + UUID.randomUUID())
+                .description("Feature replicada")
+                .enabledByDefault(false)
+                .build()).getId();
+        FeatureSnapshotHolder holderB = nodeB.getBean(FeatureSnapshotHolder.class);
+        awaitTrue(() -> holderB.current().get(featureId) != null);
+
+        nodeA.getBean(FeatureService.class).enableFeatureForClientOrEnv(featureId,
+                new FeatureActivationRequestDTO(Environment.PROD, "client-1", true));
+
+        awaitTrue(() -> holderB.current().get(featureId).isEnabled("client-1", Environment.PROD));
+        assertEquals(nodeA.getBean(FeatureSnapshotHolder.class).current().getFlagSetVersion(),
+                holderB.current().getFlagSetVersion());
+    }
+
+    @Test
+    void segmentMembersChangedOnOneNode_areAppliedOnTheOther() {
+        SegmentService segmentsA = nodeA.getBean(SegmentService.class);
+        UUID segmentId = segmentsA.createSegment(SegmentCreateRequestDTO.builder()
+                .name("cluster_" + UUID.randomUUID())
+                .clientIds(Set.of("client-1"))
+                .build()).getId();
+        SegmentRegistry registryB = nodeB.getBean(SegmentRegistry.class);
+        awaitTrue(() -> registryB.membership(segmentId).contains("client-1"));
+
+        segmentsA.addMembers(segmentId, new SegmentMembersRequestDTO(Set.of("client-2")));
+
+        awaitTrue(() -> registryB.membership(segmentId).contains("client-2"));
+    }
+
+    @Test
+    void changeWithoutNotification_isRecoveredByReconciliation() {
+        UUID featureId = nodeA.getBean(FeatureService.class).createFeature(FeatureCreateRequestDTO.builder()
+                .name("cluster_" + UUID.randomUUID())
+                .description("Feature modificada sin evento")
+                .enabledByDefault(false)
+                .build()).getId();
+        FeatureSnapshotHolder holderB = nodeB.getBean(FeatureSnapshotHolder.class);
+        awaitTrue(() -> holderB.current().get(featureId) != null);
+        long revision = holderB.current().get(featureId).getRevision();
+
+        // Escritura directa: no publica FeatureChangedEvent, así que no hay NOTIFY
+        new TransactionTemplate(nodeA.getBean(PlatformTransactionManager.class))
+                .executeWithoutResult(status -> nodeA.getBean(FeatureRepository.class).incrementRevision(featureId));
+        assertEquals(revision, holderB.current().get(featureId).getRevision());
+
+        assertEquals(1, nodeB.getBean(SnapshotReconciler.class).reconcile());
+
+        FeatureState state = holderB.current().get(featureId);
+        assertEquals(revision + 1, state.getRevision());
+        assertEquals(0, nodeB.getBean(SnapshotReconciler.class).reconcile());
+    }
+
+    private static ConfigurableApplicationContext startNode() {
+        return new SpringApplicationBuilder(FeatureflagApplication.class)
+                .profiles("test")
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                        "--spring.datasource.username=postgres",
+                        "--spring.datasource.password=",
+                        "--spring.datasource.driver-class-name=org.postgresql.Driver",
+                        "--spring.datasource.hikari.maximum-pool-size=5",
+                        "--spring.datasource.hikari.minimum-idle=1",
+                        "--spring.jpa.show-sql=false",
+                        "--features.cluster.reconcile-interval-ms=3600000");
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + PROPAGATION_TIMEOUT.toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("El cambio no llegó a la otra réplica en " + PROPAGATION_TIMEOUT.toSeconds() + " s");
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("Interrumpido esperando la propagación");
+            }
+        }
+    }
+}
@@ -2,13 +2,25 @@ package com.bytescolab.featureflag.controller;
 
 import com.bytescolab.featureflag.config.security.config.SecurityConfig;
 import com.bytescolab.featureflag.config.security.jwt.JwtFilter;
+import com.bytescolab.featureflag.model.enums.AuditAction;
+import com.bytescolab.featureflag.repository.dto.audit.response.AuditEventPageDTO;
+import com.bytescolab.featureflag.repository.dto.audit.response.AuditEventResponseDTO;
 import com.bytescolab.featureflag.repository.dto.feature.request.FeatureActivationRequestDTO;
+import com.bytescolab.featureflag.repository.dto.feature.request.FeatureBatchActivationRequestDTO;
 import com.bytescolab.featureflag.repository.dto.feature.request.FeatureConfigCreateRequestDTO;
 import com.bytescolab.featureflag.repository.dto.feature.request.FeatureCreateRequestDTO;
+import com.bytescolab.featureflag.repository.dto.feature.request.FeatureEvaluationRequestDTO;
+import com.bytescolab.featureflag.repository.dto.feature.request.FeatureRolloutRequestDTO;
+import com.bytescolab.featureflag.repository.dto.feature.response.FeatureBatchActivationResponseDTO;
+import com.bytescolab.featureflag.repository.dto.feature.response.FeatureConfigResponseDTO;
 import com.bytescolab.featureflag.repository.dto.feature.response.FeatureDetailResponseDTO;
+import com.bytescolab.featureflag.repository.dto.feature.response.FeatureEvaluationResponseDTO;
+import com.bytescolab.featureflag.repository.dto.feature.response.FeatureStateResponseDTO;
+import com.bytescolab.featureflag.repository.dto.feature.response.FeatureSummaryPageDTO;
 import com.bytescolab.featureflag.repository.dto.feature.response.FeatureSummaryResponseDTO;
 import com.bytescolab.featureflag.model.enums.Environment;
 import com.bytescolab.featureflag.service.feature.FeatureService;
+import com.bytescolab.featureflag.service.feature.cache.FeatureResponseCache;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -23,11 +35,15 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import static java.util.Collections.emptyList;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -54,6 +70,7 @@ class FeatureControllerTest {
     @Autowired private MockMvc mockMvc;
     @Autowired private ObjectMapper objectMapper;
     @MockitoBean private FeatureService featureService;
+    @MockitoBean private FeatureResponseCache responseCache;
 
     @Test
     void createFeature_Returns201_WithBody() throws Exception {
@@ -89,7 +106,7 @@ class FeatureControllerTest {
 
     @Test
     void getAllFeatures_Empty_Returns204() throws Exception {
-        when(featureService.getAllFeatures(null, null)).thenReturn(emptyList());
+        when(featureService.getAllFeatures(null, null, null, null)).thenReturn(new FeatureSummaryPageDTO(emptyList(), null));
 
         mockMvc.perform(get("/api/features"))
                 .andExpect(status().isNoContent());
@@ -103,11 +120,70 @@ class FeatureControllerTest {
                 .description("Modo oscuro")
                 .build();
 
-        when(featureService.getAllFeatures(null, null)).thenReturn(List.of(summary));
+        when(featureService.getAllFeatures(null, null, null, null)).thenReturn(new FeatureSummaryPageDTO(List.of(summary), null));
 
         mockMvc.perform(get("/api/features"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].name").value("dark_mode"));
+                .andExpect(jsonPath("$[0].name").value("dark_mode"))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    void getAllFeatures_WithMorePages_ReturnsNextCursorHeader() throws Exception {
+        var summary = FeatureSummaryResponseDTO.builder()
+                .id(UUID.randomUUID())
+                .name("dark_mode")
+                .build();
+
+        when(featureService.getAllFeatures(eq(true), eq("dark"), eq("alpha"), eq(1)))
+                .thenReturn(new FeatureSummaryPageDTO(List.of(summary), "dark_mode"));
+
+        mockMvc.perform(get("/api/features")
+                        .param("enabled", "true")
+                        .param("name", "dark")
+                        .param("after", "alpha")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "dark_mode"));
+    }
+
+    @Test
+    void getFeatureHistory_WithFilters_ReturnsEventsAndNextCursor() throws Exception {
+        UUID id = UUID.randomUUID();
+        Instant from = Instant.parse("2025-01-01T00:00:00Z");
+        Instant to = Instant.parse("2025-01-08T00:00:00Z");
+        var event = AuditEventResponseDTO.builder()
+                .id(UUID.randomUUID())
+                .occurredAt(Instant.parse("2025-01-03T10:00:00Z"))
+                .action(AuditAction.FEATURE_DISABLED)
+                .environment(Environment.PROD)
+                .actor("admin")
+                .after(Map.of("enabled", false))
+                .build();
+
+        when(featureService.getFeatureHistory(id, from, to, Environment.PROD, AuditAction.FEATURE_DISABLED, null, null, 1))
+                .thenReturn(new AuditEventPageDTO(List.of(event), "cursor-1"));
+
+        mockMvc.perform(get("/api/features/{id}/history", id)
+                        .param("from", "2025-01-01T00:00:00Z")
+                        .param("to", "2025-01-08T00:00:00Z")
+                        .param("environment", "PROD")
+                        .param("action", "FEATURE_DISABLED")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].actor").value("admin"))
+                .andExpect(jsonPath("$[0].after.enabled").value(false))
+                .andExpect(header().string("X-Next-Cursor", "cursor-1"));
+    }
+
+    @Test
+    void getFeatureHistory_Empty_Returns204() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(featureService.getFeatureHistory(eq(id), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(new AuditEventPageDTO(emptyList(), null));
+
+        mockMvc.perform(get("/api/features/{id}/history", id))
+                .andExpect(status().isNoContent());
     }
 
     @Test
@@ -173,4 +249,207 @@ class FeatureControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().string("true"));
     }
+
+    @Test
+    void checkBulk_Returns200_list() throws Exception {
+        UUID fid = UUID.randomUUID();
+        when(featureService.evaluateFeatures(eq("acme"), eq(Environment.DEV), eq(List.of(fid))))
+                .thenReturn(List.of(new FeatureEvaluationResponseDTO(fid, "flag-a", true)));
+
+        mockMvc.perform(get("/api/features/check/bulk")
+                        .param("clientId", "acme")
+                        .param("env", "DEV")
+                        .param("featureIds", fid.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].featureId").value(fid.toString()))
+                .andExpect(jsonPath("$[0].name").value("flag-a"))
+                .andExpect(jsonPath("$[0].enabled").value(true));
+    }
+
+    @Test
+    void checkBulk_withoutIds_evaluatesAll() throws Exception {
+        when(featureService.evaluateFeatures(eq("acme"), eq(Environment.PROD), isNull())).thenReturn(emptyList());
+
+        mockMvc.perform(get("/api/features/check/bulk")
+                        .param("clientId", "acme")
+                        .param("env", "PROD"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[]"));
+    }
+
+    @Test
+    void getFeatureById_matchingIfNoneMatch_Returns304WithoutCallingService() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(featureService.getFeatureRevision(id)).thenReturn(3L);
+
+        mockMvc.perform(get("/api/features/{id}", id).header("If-None-Match", "\"" + id + "-3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(featureService, never()).getFeatureById(any());
+    }
+
+    @Test
+    void getFeatureById_staleIfNoneMatch_Returns200WithETag() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(featureService.getFeatureRevision(id)).thenReturn(4L);
+        when(featureService.getFeatureById(id)).thenReturn(FeatureDetailResponseDTO.builder().id(id).name("dark_mode").build());
+
+        mockMvc.perform(get("/api/features/{id}", id).header("If-None-Match", "\"" + id + "-3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + id + "-4\""))
+                .andExpect(jsonPath("$.name").value("dark_mode"));
+    }
+
+    @Test
+    void getFeatureById_cached_writesCachedBytesWithETag() throws Exception {
+        UUID id = UUID.randomUUID();
+        byte[] cached = ("{\"id\":\"" + id + "\",\"name\":\"dark_mode\"}").getBytes(StandardCharsets.UTF_8);
+        when(featureService.getFeatureRevision(id)).thenReturn(4L);
+        when(responseCache.isEnabled()).thenReturn(true);
+        when(responseCache.detail(eq(id), eq(4L), any())).thenReturn(cached);
+
+        mockMvc.perform(get("/api/features/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + id + "-4\""))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().bytes(cached));
+
+        verify(featureService, never()).getFeatureById(any());
+    }
+
+    @Test
+    void getAllFeatures_cached_writesCachedPageAndNextCursor() throws Exception {
+        byte[] cached = "[{\"name\":\"dark_mode\"}]".getBytes(StandardCharsets.UTF_8);
+        when(featureService.getFlagSetFingerprint()).thenReturn(0x7fL);
+        when(responseCache.isEnabled()).thenReturn(true);
+        when(responseCache.page(eq(new FeatureResponseCache.PageKey(null, null, null, 1)), eq(0x7fL), any()))
+                .thenReturn(new FeatureResponseCache.Page(0x7fL, cached, "dark_mode"));
+
+        mockMvc.perform(get("/api/features").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "dark_mode"))
+                .andExpect(jsonPath("$[0].name").value("dark_mode"));
+
+        verify(featureService, never()).getAllFeatures(any(), any(), any(), any());
+    }
+
+    @Test
+    void getAllFeatures_matchingFlagSetVersion_Returns304() throws Exception {
+        when(featureService.getFlagSetFingerprint()).thenReturn(0x2aL);
+
+        mockMvc.perform(get("/api/features").header("If-None-Match", "\"fs-2a\""))
+                .andExpect(status().isNotModified());
+
+        verify(featureService, never()).getAllFeatures(any(), any(), any(), any());
+    }
+
+    @Test
+    void getFeatureStates_Returns200WithFlagSetETag() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(featureService.getFlagSetFingerprint()).thenReturn(0x7fL);
+        when(featureService.getFeatureStates()).thenReturn(List.of(FeatureStateResponseDTO.builder()
+                .id(id).name("flag-a").enabledByDefault(true).revision(3L).configs(List.of())
+                .requiresServerEvaluation(false).build()));
+
+        mockMvc.perform(get("/api/features/snapshot"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"fs-7f\""))
+                .andExpect(jsonPath("$[0].id").value(id.toString()))
+                .andExpect(jsonPath("$[0].requiresServerEvaluation").value(false));
+    }
+
+    @Test
+    void getFeatureStates_matchingFlagSetVersion_Returns304() throws Exception {
+        when(featureService.getFlagSetFingerprint()).thenReturn(0x7fL);
+
+        mockMvc.perform(get("/api/features/snapshot").header("If-None-Match", "\"fs-7f\""))
+                .andExpect(status().isNotModified());
+
+        verify(featureService, never()).getFeatureStates();
+    }
+
+    @Test
+    void checkFeature_matchingRevision_Returns304() throws Exception {
+        UUID fid = UUID.randomUUID();
+        when(featureService.getFeatureRevision(fid)).thenReturn(0L);
+
+        mockMvc.perform(get("/api/features/check")
+                        .param("featureId", fid.toString())
+                        .param("clientId", "acme")
+                        .param("env", "DEV")
+                        .header("If-None-Match", "\"" + fid + "-0\""))
+                .andExpect(status().isNotModified());
+
+        verify(featureService, never()).isFeatureActived(any(), any(), any());
+    }
+
+    @Test
+    void updateRollout_Returns200() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(featureService.updateRollout(eq(id), any())).thenReturn(FeatureConfigResponseDTO.builder()
+                .environment(Environment.PROD).enabled(true).rolloutPercentage(5).build());
+
+        mockMvc.perform(put("/api/features/{id}/rollout", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new FeatureRolloutRequestDTO(Environment.PROD, 5))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rolloutPercentage").value(5));
+    }
+
+    @Test
+    void updateRollout_percentageOutOfRange_Returns400() throws Exception {
+        mockMvc.perform(put("/api/features/{id}/rollout", UUID.randomUUID())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new FeatureRolloutRequestDTO(Environment.PROD, 150))))
+                .andExpect(status().isBadRequest());
+
+        verify(featureService, never()).updateRollout(any(), any());
+    }
+
+    @Test
+    void evaluateWithAttributes_Returns200() throws Exception {
+        UUID fid = UUID.randomUUID();
+        var req = FeatureEvaluationRequestDTO.builder()
+                .clientId("acme")
+                .environment(Environment.PROD)
+                .attributes(Map.of("region", "EU"))
+                .build();
+        when(featureService.evaluateFeatures("acme", Environment.PROD, null, Map.of("region", "EU")))
+                .thenReturn(List.of(new FeatureEvaluationResponseDTO(fid, "dark_mode", true)));
+
+        mockMvc.perform(post("/api/features/evaluate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].enabled").value(true));
+    }
+
+    @Test
+    void applyBatch_Returns200WithCounts() throws Exception {
+        UUID id = UUID.randomUUID();
+        var req = new FeatureBatchActivationRequestDTO(List.of(
+                new FeatureActivationRequestDTO(Environment.PROD, "c1", true),
+                new FeatureActivationRequestDTO(Environment.PROD, "c2", false)));
+        when(featureService.applyBatch(eq(id), any())).thenReturn(new FeatureBatchActivationResponseDTO(id, 1, 1, 0));
+
+        mockMvc.perform(post("/api/features/{id}/batch", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.updated").value(1));
+    }
+
+    @Test
+    void applyBatch_itemWithoutClient_Returns400() throws Exception {
+        var req = new FeatureBatchActivationRequestDTO(List.of(new FeatureActivationRequestDTO(Environment.PROD, null, true)));
+
+        mockMvc.perform(post("/api/features/{id}/batch", UUID.randomUUID())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isBadRequest());
+
+        verify(featureService, never()).applyBatch(any(), any());
+    }
 }
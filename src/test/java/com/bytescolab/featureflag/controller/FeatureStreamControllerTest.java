@@ -0,0 +1,77 @@
+package com.bytescolab.featureflag.controller;
+
+import com.bytescolab.featureflag.config.security.config.SecurityConfig;
+import com.bytescolab.featureflag.config.security.jwt.JwtFilter;
+import com.bytescolab.featureflag.service.feature.stream.FeatureChangeBroadcaster;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.security.oauth2.resource.servlet.OAuth2ResourceServerAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityFilterAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(
+        controllers = FeatureStreamController.class,
+        excludeAutoConfiguration = {
+                SecurityAutoConfiguration.class,
+                SecurityFilterAutoConfiguration.class,
+                OAuth2ResourceServerAutoConfiguration.class
+        },
+        excludeFilters = @ComponentScan.Filter(
+                type = FilterType.ASSIGNABLE_TYPE,
+                classes = {
+                        SecurityConfig.class,
+                        JwtFilter.class
+                }
+        )
+)
+@AutoConfigureMockMvc(addFilters = false)
+class FeatureStreamControllerTest {
+
+    @Autowired private MockMvc mockMvc;
+    @MockitoBean private FeatureChangeBroadcaster featureChangeBroadcaster;
+
+    @Test
+    void stream_withSinceVersion_startsAsync() throws Exception {
+        when(featureChangeBroadcaster.subscribe("a1b2-7")).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/features/stream").param("sinceVersion", "a1b2-7"))
+                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted());
+
+        verify(featureChangeBroadcaster).subscribe("a1b2-7");
+    }
+
+    @Test
+    void stream_withLastEventIdHeader_resumesFromIt() throws Exception {
+        when(featureChangeBroadcaster.subscribe("a1b2-3")).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/features/stream").header("Last-Event-ID", "a1b2-3"))
+                .andExpect(request().asyncStarted());
+
+        verify(featureChangeBroadcaster).subscribe("a1b2-3");
+    }
+
+    @Test
+    void stream_withoutVersion_subscribesFromSnapshot() throws Exception {
+        when(featureChangeBroadcaster.subscribe(isNull())).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/features/stream"))
+                .andExpect(request().asyncStarted());
+
+        verify(featureChangeBroadcaster).subscribe(isNull());
+    }
+}
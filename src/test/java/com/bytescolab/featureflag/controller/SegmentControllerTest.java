@@ -0,0 +1,97 @@
+package com.bytescolab.featureflag.controller;
+
+import com.bytescolab.featureflag.config.security.config.SecurityConfig;
+import com.bytescolab.featureflag.config.security.jwt.JwtFilter;
+import com.bytescolab.featureflag.repository.dto.segment.request.SegmentCreateRequestDTO;
+import com.bytescolab.featureflag.repository.dto.segment.request.SegmentMembersRequestDTO;
+import com.bytescolab.featureflag.repository.dto.segment.response.SegmentResponseDTO;
+import com.bytescolab.featureflag.service.segment.SegmentService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.security.oauth2.resource.servlet.OAuth2ResourceServerAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityFilterAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Set;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(
+        controllers = SegmentController.class,
+        excludeAutoConfiguration = {
+                SecurityAutoConfiguration.class,
+                SecurityFilterAutoConfiguration.class,
+                OAuth2ResourceServerAutoConfiguration.class
+        },
+        excludeFilters = @ComponentScan.Filter(
+                type = FilterType.ASSIGNABLE_TYPE,
+                classes = {
+                        SecurityConfig.class,
+                        JwtFilter.class
+                }
+        )
+)
+@AutoConfigureMockMvc(addFilters = false)
+class SegmentControllerTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper objectMapper;
+    @MockitoBean private SegmentService segmentService;
+
+    @Test
+    void createSegment_Returns201() throws Exception {
+        UUID segmentId = UUID.randomUUID();
+        var req = SegmentCreateRequestDTO.builder().name("beta").clientIds(Set.of("c1", "c2")).build();
+        when(segmentService.createSegment(any())).thenReturn(SegmentResponseDTO.builder()
+                .id(segmentId).name("beta").memberCount(2).build());
+
+        mockMvc.perform(post("/api/segments")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(segmentId.toString()))
+                .andExpect(jsonPath("$.memberCount").value(2));
+    }
+
+    @Test
+    void createSegment_withoutName_Returns400() throws Exception {
+        mockMvc.perform(post("/api/segments")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(SegmentCreateRequestDTO.builder().build())))
+                .andExpect(status().isBadRequest());
+
+        verify(segmentService, never()).createSegment(any());
+    }
+
+    @Test
+    void replaceMembers_Returns200() throws Exception {
+        UUID segmentId = UUID.randomUUID();
+        when(segmentService.replaceMembers(eq(segmentId), any())).thenReturn(SegmentResponseDTO.builder()
+                .id(segmentId).name("beta").memberCount(1).build());
+
+        mockMvc.perform(put("/api/segments/{id}/members", segmentId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new SegmentMembersRequestDTO(Set.of("c9")))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.memberCount").value(1));
+
+        verify(segmentService).replaceMembers(segmentId, new SegmentMembersRequestDTO(Set.of("c9")));
+    }
+}
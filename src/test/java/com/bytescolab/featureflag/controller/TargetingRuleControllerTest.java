@@ -0,0 +1,101 @@
+package com.bytescolab.featureflag.controller;
+
+import com.bytescolab.featureflag.config.security.config.SecurityConfig;
+import com.bytescolab.featureflag.config.security.jwt.JwtFilter;
+import com.bytescolab.featureflag.model.enums.ConditionOperator;
+import com.bytescolab.featureflag.repository.dto.feature.request.TargetingConditionDTO;
+import com.bytescolab.featureflag.repository.dto.feature.request.TargetingRuleCreateRequestDTO;
+import com.bytescolab.featureflag.repository.dto.feature.response.TargetingRuleResponseDTO;
+import com.bytescolab.featureflag.service.feature.TargetingRuleService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.security.oauth2.resource.servlet.OAuth2ResourceServerAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityFilterAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(
+        controllers = TargetingRuleController.class,
+        excludeAutoConfiguration = {
+                SecurityAutoConfiguration.class,
+                SecurityFilterAutoConfiguration.class,
+                OAuth2ResourceServerAutoConfiguration.class
+        },
+        excludeFilters = @ComponentScan.Filter(
+                type = FilterType.ASSIGNABLE_TYPE,
+                classes = {
+                        SecurityConfig.class,
+                        JwtFilter.class
+                }
+        )
+)
+@AutoConfigureMockMvc(addFilters = false)
+class TargetingRuleControllerTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper objectMapper;
+    @MockitoBean private TargetingRuleService targetingRuleService;
+
+    @Test
+    void createRule_Returns201() throws Exception {
+        UUID featureId = UUID.randomUUID();
+        UUID ruleId = UUID.randomUUID();
+        var req = TargetingRuleCreateRequestDTO.builder()
+                .priority(10)
+                .enabled(true)
+                .conditions(List.of(new TargetingConditionDTO("region", ConditionOperator.IN, List.of("EU"))))
+                .build();
+        when(targetingRuleService.createRule(eq(featureId), any())).thenReturn(TargetingRuleResponseDTO.builder()
+                .id(ruleId).priority(10).enabled(true).conditions(req.getConditions()).build());
+
+        mockMvc.perform(post("/api/features/{featureId}/rules", featureId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(ruleId.toString()))
+                .andExpect(jsonPath("$.conditions[0].operator").value("IN"));
+    }
+
+    @Test
+    void createRule_withoutConditions_Returns400() throws Exception {
+        var req = TargetingRuleCreateRequestDTO.builder().priority(10).enabled(true).conditions(List.of()).build();
+
+        mockMvc.perform(post("/api/features/{featureId}/rules", UUID.randomUUID())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isBadRequest());
+
+        verify(targetingRuleService, never()).createRule(any(), any());
+    }
+
+    @Test
+    void deleteRule_Returns204() throws Exception {
+        UUID featureId = UUID.randomUUID();
+        UUID ruleId = UUID.randomUUID();
+
+        mockMvc.perform(delete("/api/features/{featureId}/rules/{ruleId}", featureId, ruleId))
+                .andExpect(status().isNoContent());
+
+        verify(targetingRuleService).deleteRule(featureId, ruleId);
+    }
+}
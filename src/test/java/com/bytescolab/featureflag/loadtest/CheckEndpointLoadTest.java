@@ -0,0 +1,244 @@
+package com.bytescolab.featureflag.loadtest;
+
+import com.bytescolab.featureflag.FeatureflagApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Prueba de carga de {@code GET /api/features/check} con hilos de plataforma frente a hilos virtuales.
+ *
+ * <p>Arranca la aplicación dos veces sobre H2 en memoria, primero con el pool de Tomcat y después
+ * con {@code spring.threads.virtual.enabled=true}. En cada ejecución registra un administrador,
+ * crea una feature y la consulta desde {@code concurrency} conexiones simultáneas durante
+ * {@code duration} segundos, tras un calentamiento de {@code warmup} segundos. Imprime el
+ * throughput y los percentiles de latencia de cada modo; {@code modes=platform} o {@code modes=virtual}
+ * ejecuta solo uno. La aplicación usa su configuración de logging habitual, de modo que el coste
+ * de las trazas por petición forma parte de la medida.</p>
+ *
+ * <p>El generador de carga corre en la misma JVM que el servidor, así que las cifras sirven para
+ * comparar ambos modos entre sí, no como capacidad absoluta de la API.</p>
+ *
+ * <pre>
+ * mvn -Ploadtest test [-Dloadtest.args="concurrency=2000 duration=30 tomcat-threads=200 pool-size=20 modes=platform,virtual"]
+ * </pre>
+ */
+public final class CheckEndpointLoadTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final int CLIENT_IDS = 1024;
+
+    private CheckEndpointLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        // DevTools relanzaría main() en otro classloader con los argumentos de la aplicación
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        System.out.printf("Carga: %d conexiones, %ds de medición (%ds de calentamiento), Tomcat %d hilos, pool JDBC %d%n",
+                options.concurrency, options.durationSeconds, options.warmupSeconds, options.tomcatThreads, options.poolSize);
+
+        List<Result> results = new ArrayList<>();
+        for (String mode : options.modes) {
+            results.add(run(mode, mode.equals("virtual"), options));
+        }
+
+        System.out.println();
+        System.out.printf("%-10s %12s %10s %10s %10s %10s %8s%n", "modo", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "errores");
+        for (Result result : results) {
+            System.out.printf("%-10s %12.0f %10.2f %10.2f %10.2f %10.2f %8d%n", result.mode, result.throughput,
+                    result.percentileMs(0.50), result.percentileMs(0.99), result.percentileMs(0.999),
+                    result.percentileMs(1.0), result.errors);
+        }
+    }
+
+    private static Result run(String mode, boolean virtualThreads, Options options) throws Exception {
+        // Como argumentos de línea de comandos, para que prevalezcan sobre application.yml
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(FeatureflagApplication.class)
+                .profiles("test")
+                .run(
+                        "--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--server.tomcat.threads.max=" + options.tomcatThreads,
+                        "--spring.datasource.url=jdbc:h2:mem:loadtest-" + mode + ";DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.hikari.maximum-pool-size=" + options.poolSize,
+                        "--spring.datasource.hikari.minimum-idle=" + options.poolSize,
+                        "--spring.jpa.show-sql=false")) {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+            String baseUrl = "http://localhost:" + port;
+
+            String token = login(client, baseUrl);
+            String featureId = createFeature(client, baseUrl, token);
+            HttpRequest[] requests = new HttpRequest[CLIENT_IDS];
+            for (int i = 0; i < CLIENT_IDS; i++) {
+                requests[i] = HttpRequest.newBuilder(URI.create(baseUrl + "/api/features/check?featureId=" + featureId
+                                + "&clientId=client-" + i + "&env=PROD"))
+                        .header("Authorization", "Bearer " + token)
+                        .GET()
+                        .build();
+            }
+
+            System.out.printf("[%s] calentando %ds...%n", mode, options.warmupSeconds);
+            drive(client, requests, options.concurrency, options.warmupSeconds);
+            System.out.printf("[%s] midiendo %ds...%n", mode, options.durationSeconds);
+            return drive(client, requests, options.concurrency, options.durationSeconds).named(mode);
+        }
+    }
+
+    /**
+     * Lanza un hilo virtual por conexión; cada uno encadena peticiones hasta agotar el tiempo
+     * y guarda la latencia de cada respuesta correcta.
+     */
+    private static Result drive(HttpClient client, HttpRequest[] requests, int concurrency, int seconds)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        long[][] latencies = new long[concurrency][];
+        int[] counts = new int[concurrency];
+        AtomicLong errors = new AtomicLong();
+        Thread[] workers = new Thread[concurrency];
+
+        for (int w = 0; w < concurrency; w++) {
+            int worker = w;
+            workers[w] = Thread.ofVirtual().start(() -> {
+                long[] samples = new long[1024];
+                int count = 0;
+                int next = worker;
+                while (System.nanoTime() < deadline) {
+                    HttpRequest request = requests[next++ % requests.length];
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                    } catch (IOException e) {
+                        errors.incrementAndGet();
+                        continue;
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                    if (count == samples.length) {
+                        samples = Arrays.copyOf(samples, count * 2);
+                    }
+                    samples[count++] = System.nanoTime() - start;
+                }
+                latencies[worker] = samples;
+                counts[worker] = count;
+            });
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        int total = 0;
+        for (int count : counts) {
+            total += count;
+        }
+        long[] all = new long[total];
+        int offset = 0;
+        for (int w = 0; w < concurrency; w++) {
+            System.arraycopy(latencies[w], 0, all, offset, counts[w]);
+            offset += counts[w];
+        }
+        Arrays.sort(all);
+        return new Result(null, (double) total / seconds, all, errors.get());
+    }
+
+    private static String login(HttpClient client, String baseUrl) throws IOException, InterruptedException {
+        Map<String, String> credentials = Map.of("username", "admin", "password", "Admin1!load");
+        post(client, baseUrl + "/api/auth/register", null, credentials);
+        return post(client, baseUrl + "/api/auth/login", null, credentials).get("accessToken").asText();
+    }
+
+    private static String createFeature(HttpClient client, String baseUrl, String token)
+            throws IOException, InterruptedException {
+        Map<String, Object> feature = Map.of(
+                "name", "load-test-flag",
+                "description", "Feature de la prueba de carga",
+                "enabledByDefault", true);
+        return post(client, baseUrl + "/api/features", token, feature).get("id").asText();
+    }
+
+    private static JsonNode post(HttpClient client, String url, String token, Object body)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(MAPPER.writeValueAsBytes(body)));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        HttpResponse<byte[]> response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException("POST " + url + " respondió " + response.statusCode() + ": "
+                    + new String(response.body()));
+        }
+        return MAPPER.readTree(response.body());
+    }
+
+    private record Result(String mode, double throughput, long[] sortedLatencies, long errors) {
+
+        Result named(String name) {
+            return new Result(name, throughput, sortedLatencies, errors);
+        }
+
+        double percentileMs(double percentile) {
+            if (sortedLatencies.length == 0) {
+                return Double.NaN;
+            }
+            int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+
+    private record Options(int concurrency, int durationSeconds, int warmupSeconds, int tomcatThreads, int poolSize,
+                           List<String> modes) {
+
+        static Options parse(String[] args) {
+            int concurrency = 1000;
+            int duration = 20;
+            int warmup = 5;
+            int tomcatThreads = 200;
+            int poolSize = 20;
+            List<String> modes = List.of("platform", "virtual");
+            for (String arg : args) {
+                String[] pair = arg.split("=", 2);
+                if (pair.length != 2) {
+                    throw new IllegalArgumentException("Argumento no válido: " + arg);
+                }
+                if (pair[0].equals("modes")) {
+                    modes = List.of(pair[1].split(","));
+                    if (!List.of("platform", "virtual").containsAll(modes)) {
+                        throw new IllegalArgumentException("Modos válidos: platform, virtual");
+                    }
+                    continue;
+                }
+                int value = Integer.parseInt(pair[1]);
+                switch (pair[0]) {
+                    case "concurrency" -> concurrency = value;
+                    case "duration" -> duration = value;
+                    case "warmup" -> warmup = value;
+                    case "tomcat-threads" -> tomcatThreads = value;
+                    case "pool-size" -> poolSize = value;
+                    default -> throw new IllegalArgumentException("Argumento desconocido: " + arg);
+                }
+            }
+            return new Options(concurrency, duration, warmup, tomcatThreads, poolSize, modes);
+        }
+    }
+}
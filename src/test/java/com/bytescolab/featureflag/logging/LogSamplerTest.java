@@ -0,0 +1,40 @@
+package com.bytescolab.featureflag.logging;
+
+import com.bytescolab.featureflag.config.logging.LogSampler;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogSamplerTest {
+
+    @Test
+    void sample_logsFirstOccurrenceAndGroupsTheRestOfTheInterval() throws InterruptedException {
+        LogSampler sampler = new LogSampler(Duration.ofMillis(100));
+
+        assertEquals(1, sampler.sample());
+        assertEquals(0, sampler.sample());
+        assertEquals(0, sampler.sample());
+        assertEquals(0, sampler.sample());
+
+        Thread.sleep(150);
+
+        assertEquals(4, sampler.sample());
+        assertEquals(0, sampler.sample());
+    }
+
+    @Test
+    void sample_longInterval_writesOnlyOnce() {
+        LogSampler sampler = new LogSampler(Duration.ofHours(1));
+
+        long written = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (sampler.sample() > 0) {
+                written++;
+            }
+        }
+
+        assertEquals(1, written);
+    }
+}
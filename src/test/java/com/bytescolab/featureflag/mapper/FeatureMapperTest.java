@@ -5,11 +5,15 @@ import com.bytescolab.featureflag.repository.dto.feature.request.FeatureConfigCr
 import com.bytescolab.featureflag.repository.dto.feature.request.FeatureCreateRequestDTO;
 import com.bytescolab.featureflag.repository.dto.feature.response.FeatureConfigResponseDTO;
 import com.bytescolab.featureflag.repository.dto.feature.response.FeatureDetailResponseDTO;
+import com.bytescolab.featureflag.repository.dto.feature.response.FeatureStateResponseDTO;
 import com.bytescolab.featureflag.repository.dto.feature.response.FeatureSummaryResponseDTO;
 import com.bytescolab.featureflag.model.entity.Feature;
 import com.bytescolab.featureflag.model.entity.FeatureConfig;
 import com.bytescolab.featureflag.model.enums.Environment;
 import com.bytescolab.featureflag.repository.mapper.FeatureMapper;
+import com.bytescolab.featureflag.repository.projection.FeatureConfigRow;
+import com.bytescolab.featureflag.repository.projection.FeatureRow;
+import com.bytescolab.featureflag.service.feature.snapshot.FeatureState;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
@@ -152,4 +156,31 @@ class FeatureMapperTest {
         assertTrue(cfg.getEnabled());
         assertEquals(feature, cfg.getFeature());
     }
+
+    @Test
+    void toStateDTO_mapsSnapshotStateWithConfigs() {
+        UUID id = UUID.randomUUID();
+        FeatureState state = FeatureState.of(new FeatureRow(id, "flag-s", false, 0L), List.of(
+                new FeatureConfigRow(id, Environment.DEV, null, true),
+                new FeatureConfigRow(id, Environment.PROD, "clientS", false)));
+
+        FeatureStateResponseDTO dto = FeatureMapper.toStateDTO(state);
+
+        assertEquals(id, dto.getId());
+        assertEquals("flag-s", dto.getName());
+        assertFalse(dto.getEnabledByDefault());
+        assertEquals(2, dto.getConfigs().size());
+        assertEquals("clientS", dto.getConfigs().get(1).getClientId());
+        assertFalse(dto.getConfigs().get(1).getEnabled());
+        assertFalse(dto.getRequiresServerEvaluation());
+    }
+
+    @Test
+    void toStateDTO_segmentConfig_requiresServerEvaluation() {
+        UUID id = UUID.randomUUID();
+        FeatureState state = FeatureState.of(new FeatureRow(id, "flag-s", false, 0L), List.of(
+                new FeatureConfigRow(id, Environment.PROD, null, true, null, UUID.randomUUID())));
+
+        assertTrue(FeatureMapper.toStateDTO(state).getRequiresServerEvaluation());
+    }
 }
@@ -0,0 +1,76 @@
+package com.bytescolab.featureflag.repository;
+
+import com.bytescolab.featureflag.model.entity.AuditEvent;
+import com.bytescolab.featureflag.model.enums.AuditAction;
+import com.bytescolab.featureflag.model.enums.Environment;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class AuditEventRepositoryTest {
+
+    @Autowired
+    private AuditEventRepository auditEventRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void saveAll_persistsStateAsJson() {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        UUID featureId = UUID.randomUUID();
+        List<AuditEvent> saved = auditEventRepository.saveAll(List.of(
+                AuditEvent.builder().occurredAt(now).action(AuditAction.FEATURE_ENABLED).featureId(featureId)
+                        .featureName("flag-a").environment(Environment.PROD).clientId("c1").actor("admin")
+                        .before(Map.of("enabled", false)).after(Map.of("enabled", true)).build(),
+                AuditEvent.builder().occurredAt(now).action(AuditAction.ROLLOUT_UPDATED).featureId(featureId)
+                        .featureName("flag-a").environment(Environment.PROD).actor("admin")
+                        .after(Map.of("rolloutPercentage", 25)).build()));
+        entityManager.flush();
+        entityManager.clear();
+
+        AuditEvent toggle = auditEventRepository.findById(saved.get(0).getId()).orElseThrow();
+        AuditEvent rollout = auditEventRepository.findById(saved.get(1).getId()).orElseThrow();
+
+        assertEquals(now, toggle.getOccurredAt());
+        assertEquals(Map.of("enabled", false), toggle.getBefore());
+        assertEquals(Map.of("enabled", true), toggle.getAfter());
+        assertNull(rollout.getBefore());
+        assertEquals(25, ((Number) rollout.getAfter().get("rolloutPercentage")).intValue());
+    }
+
+    @Test
+    void findHistory_clientFilter_includesMultiClientBatches() {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        UUID featureId = UUID.randomUUID();
+        Map<String, Object> changes = Map.of("created", 1, "updated", 1, "unchanged", 0, "changes", List.of(
+                Map.of("environment", "PROD", "clientId", "c1", "after", true),
+                Map.of("environment", "PROD", "clientId", "c2", "before", true, "after", false)));
+        auditEventRepository.saveAll(List.of(
+                AuditEvent.builder().occurredAt(now).action(AuditAction.BATCH_APPLIED).featureId(featureId)
+                        .featureName("flag-a").environment(Environment.PROD).actor("admin").after(changes).build(),
+                AuditEvent.builder().occurredAt(now.minusSeconds(1)).action(AuditAction.FEATURE_ENABLED).featureId(featureId)
+                        .featureName("flag-a").environment(Environment.PROD).clientId("c9").actor("admin")
+                        .after(Map.of("enabled", true)).build()));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<AuditEvent> history = auditEventRepository.findHistory(featureId, Instant.EPOCH, now.plusSeconds(1),
+                new UUID(0L, 0L), Environment.PROD, null, "c2", Limit.of(10));
+
+        assertEquals(1, history.size());
+        assertEquals(AuditAction.BATCH_APPLIED, history.get(0).getAction());
+        assertEquals(2, ((List<?>) history.get(0).getAfter().get("changes")).size());
+    }
+}
@@ -3,10 +3,13 @@ package com.bytescolab.featureflag.repository;
 import com.bytescolab.featureflag.model.entity.Feature;
 import com.bytescolab.featureflag.model.entity.FeatureConfig;
 import com.bytescolab.featureflag.model.enums.Environment;
+import com.bytescolab.featureflag.repository.projection.FeatureConfigRow;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -39,4 +42,63 @@ class FeatureConfigRepositoryTest {
 
         assertTrue(configRepository.findByFeatureIdAndEnvironmentAndClientIdIsNull(feature.getId(), Environment.DEV).isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    void rowProjections_work() {
+        Feature feature = featureRepository.save(Feature.builder()
+                .name("flag-rows").description("d").enabledByDefault(false).build());
+        configRepository.save(FeatureConfig.builder()
+                .feature(feature)
+                .environment(Environment.PROD)
+                .clientId("c1")
+                .enabled(true)
+                .build());
+
+        List<FeatureConfigRow> rows = configRepository.findRowsByFeatureId(feature.getId());
+        assertEquals(1, rows.size());
+        assertEquals(new FeatureConfigRow(feature.getId(), Environment.PROD, "c1", true), rows.get(0));
+        assertTrue(configRepository.findAllRows().contains(rows.get(0)));
+
+        assertEquals("flag-rows", featureRepository.findRowById(feature.getId()).orElseThrow().name());
+    }
+
+    @Test
+    void globalConfig_coexistsWithClientConfigs() {
+        Feature feature = featureRepository.save(Feature.builder()
+                .name("flag-resolve").description("d").enabledByDefault(false).build());
+        configRepository.saveAll(List.of(
+                FeatureConfig.builder().feature(feature).environment(Environment.PROD).clientId(null).enabled(true).build(),
+                FeatureConfig.builder().feature(feature).environment(Environment.PROD).clientId("c1").enabled(false).build()));
+
+        assertFalse(configRepository.findByFeatureAndEnvironmentAndClientId(feature, Environment.PROD, "c1").orElseThrow().getEnabled());
+        assertTrue(configRepository.findByFeatureIdAndEnvironmentAndClientIdIsNull(feature.getId(), Environment.DEV).isEmpty());
+        assertTrue(configRepository.findByFeatureIdAndEnvironmentAndClientIdIsNull(feature.getId(), Environment.PROD).isPresent());
+    }
+
+    @Test
+    void uniqueConstraint_rejectsDuplicateClientConfig() {
+        Feature feature = featureRepository.save(Feature.builder()
+                .name("flag-unique").description("d").enabledByDefault(false).build());
+        configRepository.saveAndFlush(FeatureConfig.builder()
+                .feature(feature).environment(Environment.DEV).clientId("c1").enabled(true).build());
+
+        assertThrows(DataIntegrityViolationException.class, () -> configRepository.saveAndFlush(FeatureConfig.builder()
+                .feature(feature).environment(Environment.DEV).clientId("c1").enabled(false).build()));
+    }
+
+    @Test
+    void findClientConfigs_returnsOnlyRequestedClientsInEveryEnvironment() {
+        Feature feature = featureRepository.save(Feature.builder()
+                .name("flag-batch").description("d").enabledByDefault(false).build());
+        configRepository.saveAll(List.of(
+                FeatureConfig.builder().feature(feature).environment(Environment.PROD).clientId(null).enabled(true).build(),
+                FeatureConfig.builder().feature(feature).environment(Environment.PROD).clientId("c1").enabled(true).build(),
+                FeatureConfig.builder().feature(feature).environment(Environment.DEV).clientId("c1").enabled(false).build(),
+                FeatureConfig.builder().feature(feature).environment(Environment.DEV).clientId("c2").enabled(true).build()));
+
+        List<FeatureConfig> found = configRepository.findClientConfigs(feature.getId(), List.of("c1", "c3"));
+
+        assertEquals(2, found.size());
+        assertTrue(found.stream().allMatch(c -> "c1".equals(c.getClientId())));
+    }
+}
@@ -4,8 +4,11 @@ import com.bytescolab.featureflag.model.entity.Feature;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
 
 import java.util.List;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -15,6 +18,9 @@ class FeatureRepositoryTest {
     @Autowired
     private FeatureRepository featureRepository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
     @Test
     void finders_work() {
         Feature f1 = Feature.builder().name("alpha").description("d").enabledByDefault(true).build();
@@ -27,4 +33,35 @@ class FeatureRepositoryTest {
         assertEquals(2, featureRepository.findByNameContainingIgnoreCase("beta").size());
         assertEquals(2, featureRepository.findByEnabledByDefaultAndNameContainingIgnoreCase(false, "beta").size());
     }
-}
\ No newline at end of file
+
+    @Test
+    void findPage_filtersInSqlAndPagesByName() {
+        featureRepository.saveAll(List.of(
+                Feature.builder().name("flag-a").description("d").enabledByDefault(true).build(),
+                Feature.builder().name("flag-b").description("d").enabledByDefault(false).build(),
+                Feature.builder().name("flag-c").description("d").enabledByDefault(true).build(),
+                Feature.builder().name("other_1").description("d").enabledByDefault(true).build()));
+
+        List<Feature> first = featureRepository.findPage(null, "%flag%", "", Limit.of(2));
+        List<Feature> second = featureRepository.findPage(null, "%flag%", first.get(1).getName(), Limit.of(2));
+
+        assertEquals(List.of("flag-a", "flag-b"), first.stream().map(Feature::getName).toList());
+        assertEquals(List.of("flag-c"), second.stream().map(Feature::getName).toList());
+        assertEquals(3, featureRepository.findPage(true, null, "", Limit.of(10)).size());
+        assertEquals(List.of("other_1"), featureRepository.findPage(null, "%r\\_%", "", Limit.of(10))
+                .stream().map(Feature::getName).toList());
+    }
+
+    @Test
+    void incrementRevision_bumpsPersistedRevision() {
+        Feature saved = featureRepository.save(Feature.builder().name("rev").description("d").enabledByDefault(true).build());
+        assertEquals(0L, saved.getRevision());
+
+        assertEquals(1, featureRepository.incrementRevision(saved.getId()));
+        assertEquals(1, featureRepository.incrementRevision(saved.getId()));
+        entityManager.clear();
+
+        assertEquals(2L, featureRepository.findRowById(saved.getId()).orElseThrow().revision());
+        assertEquals(0, featureRepository.incrementRevision(UUID.randomUUID()));
+    }
+}
@@ -0,0 +1,72 @@
+package com.bytescolab.featureflag.repository;
+
+import com.bytescolab.featureflag.model.entity.Feature;
+import com.bytescolab.featureflag.model.entity.FeatureConfig;
+import com.bytescolab.featureflag.model.entity.Segment;
+import com.bytescolab.featureflag.model.enums.Environment;
+import com.bytescolab.featureflag.repository.projection.FeatureConfigRow;
+import com.bytescolab.featureflag.repository.projection.SegmentMemberRow;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class SegmentRepositoryTest {
+
+    @Autowired
+    private SegmentRepository segmentRepository;
+
+    @Autowired
+    private FeatureRepository featureRepository;
+
+    @Autowired
+    private FeatureConfigRepository configRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void memberQueries_returnRowsWithoutLoadingEntities() {
+        Segment beta = segmentRepository.save(Segment.builder().name("beta")
+                .clientIds(new HashSet<>(Set.of("c1", "c2"))).build());
+        Segment empty = segmentRepository.save(Segment.builder().name("empty").build());
+        entityManager.flush();
+        entityManager.clear();
+
+        assertTrue(segmentRepository.existsByName("beta"));
+        assertEquals(Set.of(new SegmentMemberRow(beta.getId(), "c1"), new SegmentMemberRow(beta.getId(), "c2")),
+                Set.copyOf(segmentRepository.findAllMemberRows()));
+        assertEquals(Set.of("c1", "c2"), Set.copyOf(segmentRepository.findMemberIds(beta.getId())));
+        assertTrue(segmentRepository.findMemberIds(empty.getId()).isEmpty());
+    }
+
+    @Test
+    void segmentConfigs_areProjectedAndNeverTakenForTheGlobalConfig() {
+        Segment beta = segmentRepository.save(Segment.builder().name("beta").build());
+        Feature feature = featureRepository.save(Feature.builder().name("seg-flag").description("d").enabledByDefault(false).build());
+        configRepository.save(FeatureConfig.builder().feature(feature).environment(Environment.PROD)
+                .segment(beta).enabled(true).build());
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(List.of(new FeatureConfigRow(feature.getId(), Environment.PROD, null, true, null, beta.getId())),
+                configRepository.findRowsByFeatureId(feature.getId()));
+        assertEquals(List.of(feature.getId()), configRepository.findFeatureIdsBySegmentId(beta.getId()));
+        assertTrue(configRepository.existsByFeatureIdAndEnvironmentAndSegmentId(feature.getId(), Environment.PROD, beta.getId()));
+        assertTrue(configRepository.findByFeatureIdAndEnvironmentAndClientIdIsNull(feature.getId(), Environment.PROD).isEmpty());
+        assertTrue(configRepository.findByFeatureAndEnvironmentAndClientId(feature, Environment.PROD, null).isEmpty());
+
+        configRepository.save(FeatureConfig.builder().feature(feature).environment(Environment.PROD).enabled(false).build());
+        entityManager.flush();
+
+        assertTrue(configRepository.findByFeatureAndEnvironmentAndClientId(feature, Environment.PROD, null).isPresent());
+        assertEquals(2, configRepository.findAllRows().size());
+    }
+}
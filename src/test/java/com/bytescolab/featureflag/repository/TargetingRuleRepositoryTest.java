@@ -0,0 +1,56 @@
+package com.bytescolab.featureflag.repository;
+
+import com.bytescolab.featureflag.model.entity.Feature;
+import com.bytescolab.featureflag.model.entity.TargetingCondition;
+import com.bytescolab.featureflag.model.entity.TargetingRule;
+import com.bytescolab.featureflag.model.enums.ConditionOperator;
+import com.bytescolab.featureflag.model.enums.Environment;
+import com.bytescolab.featureflag.repository.projection.TargetingRuleRow;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class TargetingRuleRepositoryTest {
+
+    @Autowired
+    private FeatureRepository featureRepository;
+
+    @Autowired
+    private TargetingRuleRepository ruleRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void rowProjections_roundTripConditionsInPriorityOrder() {
+        Feature feature = featureRepository.save(Feature.builder()
+                .name("flag-rules").description("d").enabledByDefault(false).build());
+        TargetingCondition region = new TargetingCondition("region", ConditionOperator.IN, List.of("EU", "UK"));
+        TargetingCondition version = new TargetingCondition("appVersion", ConditionOperator.SEMVER_GTE, List.of("2.4.0"));
+        TargetingRule second = ruleRepository.save(TargetingRule.builder()
+                .feature(feature).priority(20).enabled(false).conditions(List.of(region)).build());
+        TargetingRule first = ruleRepository.save(TargetingRule.builder()
+                .feature(feature).environment(Environment.PROD).priority(10).enabled(true)
+                .conditions(List.of(region, version)).build());
+        entityManager.flush();
+        entityManager.clear();
+
+        List<TargetingRuleRow> rows = ruleRepository.findRowsByFeatureIdOrderByPriority(feature.getId());
+
+        assertEquals(List.of(first.getId(), second.getId()), rows.stream().map(TargetingRuleRow::id).toList());
+        assertEquals(new TargetingRuleRow(first.getId(), feature.getId(), Environment.PROD, 10, true, List.of(region, version)),
+                rows.get(0));
+        assertEquals(Set.copyOf(rows), Set.copyOf(ruleRepository.findRowsByFeatureIdIn(List.of(feature.getId()))));
+        assertTrue(ruleRepository.findAllRows().containsAll(rows));
+        assertTrue(ruleRepository.findByIdAndFeatureId(first.getId(), feature.getId()).isPresent());
+        assertTrue(ruleRepository.findByIdAndFeatureId(first.getId(), UUID.randomUUID()).isEmpty());
+    }
+}
@@ -1,6 +1,10 @@
 package com.bytescolab.featureflag.security;
 
+import com.bytescolab.featureflag.config.security.jwt.JwtClaims;
 import com.bytescolab.featureflag.config.security.jwt.JwtFilter;
+import com.bytescolab.featureflag.config.security.jwt.JwtMetrics;
+import com.bytescolab.featureflag.config.security.jwt.JwtTokenCache;
+import com.bytescolab.featureflag.config.security.jwt.RoleVersionRegistry;
 import com.bytescolab.featureflag.config.security.jwt.JwtUtils;
 import com.bytescolab.featureflag.exception.ApiException;
 import com.bytescolab.featureflag.exception.ErrorCodes;
@@ -20,8 +24,12 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class JwtFilterTest {
@@ -32,6 +40,15 @@ class JwtFilterTest {
     @Mock
     private UserDetailsService userDetailsService;
 
+    @Mock
+    private JwtTokenCache jwtTokenCache;
+
+    @Mock
+    private RoleVersionRegistry roleVersionRegistry;
+
+    @Mock
+    private JwtMetrics jwtMetrics;
+
     @Mock
     private FilterChain filterChain;
 
@@ -75,14 +92,17 @@ class JwtFilterTest {
         request.addHeader("Authorization", "Bearer valid-token");
 
         UserDetails userDetails = new User("pepe", "pass", Collections.emptyList());
+        long expiresAt = System.currentTimeMillis() + 60_000;
 
-        when(jwtUtils.extractUsername("valid-token")).thenReturn("pepe");
+        when(jwtUtils.parse("valid-token")).thenReturn(claims("pepe", expiresAt));
         when(userDetailsService.loadUserByUsername("pepe")).thenReturn(userDetails);
-        when(jwtUtils.isTokenValid("valid-token", userDetails)).thenReturn(true);
 
         jwtFilter.doFilter(request, response, filterChain);
 
         verify(filterChain).doFilter(request, response);
+        verify(jwtTokenCache).put("valid-token", userDetails, expiresAt, 0L);
+        verify(jwtMetrics).cacheMiss();
+        verify(jwtMetrics).verified(anyLong(), eq(false));
 
         assertNotNull(SecurityContextHolder.getContext().getAuthentication());
         assertEquals("pepe",
@@ -94,16 +114,91 @@ class JwtFilterTest {
         request.setRequestURI("/api/feature");
         request.addHeader("Authorization", "Bearer invalid-token");
 
-        UserDetails userDetails = new User("pepe", "pass", Collections.emptyList());
+        UserDetails userDetails = new User("otro", "pass", Collections.emptyList());
 
-        when(jwtUtils.extractUsername("invalid-token")).thenReturn("pepe");
+        when(jwtUtils.parse("invalid-token")).thenReturn(claims("pepe", System.currentTimeMillis() + 60_000));
         when(userDetailsService.loadUserByUsername("pepe")).thenReturn(userDetails);
-        when(jwtUtils.isTokenValid("invalid-token", userDetails)).thenReturn(false);
 
         jwtFilter.doFilter(request, response, filterChain);
 
         verify(filterChain).doFilter(request, response);
         assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(jwtTokenCache, never()).put(any(), any(), anyLong(), anyLong());
+        verify(jwtMetrics).rejected(anyLong());
+    }
+
+    @Test
+    void doFilter_cachedToken_skipsParsingAndUserLookup() throws ServletException, IOException {
+        request.setRequestURI("/api/feature");
+        request.addHeader("Authorization", "Bearer cached-token");
+
+        UserDetails userDetails = new User("pepe", "pass", Collections.emptyList());
+        when(jwtTokenCache.get("cached-token")).thenReturn(userDetails);
+
+        jwtFilter.doFilter(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+        assertEquals("pepe",
+                ((UserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal()).getUsername());
+        verifyNoInteractions(jwtUtils, userDetailsService);
+        verify(jwtMetrics).cacheHit();
+        verify(jwtMetrics, never()).cacheMiss();
+    }
+
+    @Test
+    void doFilter_statelessMode_buildsAuthenticationFromClaims() throws ServletException, IOException {
+        request.setRequestURI("/api/feature");
+        request.addHeader("Authorization", "Bearer stateless-token");
+
+        JwtClaims claims = new JwtClaims("pepe", System.currentTimeMillis(), System.currentTimeMillis() + 60_000, List.of("ROLE_ADMIN"));
+        when(jwtUtils.parse("stateless-token")).thenReturn(claims);
+        when(roleVersionRegistry.isStatelessEnabled()).thenReturn(true);
+        when(roleVersionRegistry.isCurrent("pepe", claims.issuedAtMillis())).thenReturn(true);
+
+        jwtFilter.doFilter(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+        assertEquals("pepe", SecurityContextHolder.getContext().getAuthentication().getName());
+        assertEquals("ROLE_ADMIN",
+                SecurityContextHolder.getContext().getAuthentication().getAuthorities().iterator().next().getAuthority());
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void doFilter_statelessMode_roleChangedAfterIssue_loadsUser() throws ServletException, IOException {
+        request.setRequestURI("/api/feature");
+        request.addHeader("Authorization", "Bearer old-token");
+
+        UserDetails userDetails = new User("pepe", "pass", Collections.emptyList());
+        JwtClaims claims = new JwtClaims("pepe", 1_000L, System.currentTimeMillis() + 60_000, List.of("ROLE_ADMIN"));
+        when(jwtUtils.parse("old-token")).thenReturn(claims);
+        when(roleVersionRegistry.isStatelessEnabled()).thenReturn(true);
+        when(roleVersionRegistry.isCurrent("pepe", 1_000L)).thenReturn(false);
+        when(userDetailsService.loadUserByUsername("pepe")).thenReturn(userDetails);
+
+        jwtFilter.doFilter(request, response, filterChain);
+
+        verify(userDetailsService).loadUserByUsername("pepe");
+        assertSame(userDetails, SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+    }
+
+    @Test
+    void doFilter_roleChangedWhileLoadingUser_cachesWithGenerationReadBeforeLoad() throws ServletException, IOException {
+        request.setRequestURI("/api/feature");
+        request.addHeader("Authorization", "Bearer valid-token");
+
+        UserDetails userDetails = new User("pepe", "pass", Collections.emptyList());
+        long expiresAt = System.currentTimeMillis() + 60_000;
+        when(jwtUtils.parse("valid-token")).thenReturn(claims("pepe", expiresAt));
+        when(jwtTokenCache.generation("pepe")).thenReturn(3L);
+        when(userDetailsService.loadUserByUsername("pepe")).thenAnswer(invocation -> {
+            when(jwtTokenCache.generation("pepe")).thenReturn(4L);
+            return userDetails;
+        });
+
+        jwtFilter.doFilter(request, response, filterChain);
+
+        verify(jwtTokenCache).put("valid-token", userDetails, expiresAt, 3L);
     }
 
     @Test
@@ -111,7 +206,7 @@ class JwtFilterTest {
         request.setRequestURI("/api/feature");
         request.addHeader("Authorization", "Bearer expired-token");
 
-        when(jwtUtils.extractUsername("expired-token"))
+        when(jwtUtils.parse("expired-token"))
                 .thenThrow(new ApiException(ErrorCodes.TOKEN_EXPIRADO, "Token expirado"));
 
         ApiException thrown = assertThrows(ApiException.class, () ->
@@ -121,4 +216,8 @@ class JwtFilterTest {
         assertEquals(ErrorCodes.TOKEN_EXPIRADO, thrown.getCode());
         assertNull(SecurityContextHolder.getContext().getAuthentication());
     }
+
+    private static JwtClaims claims(String subject, long expiresAtMillis) {
+        return new JwtClaims(subject, System.currentTimeMillis(), expiresAtMillis, List.of());
+    }
 }
@@ -0,0 +1,84 @@
+package com.bytescolab.featureflag.security;
+
+import com.bytescolab.featureflag.config.security.jwt.JwtTokenCache;
+import com.bytescolab.featureflag.service.user.event.UserRoleChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtTokenCacheTest {
+
+    private final UserDetails pepe = new User("pepe", "pass", Collections.emptyList());
+    private final UserDetails ana = new User("ana", "pass", Collections.emptyList());
+
+    private static long inOneHour() {
+        return System.currentTimeMillis() + 3_600_000L;
+    }
+
+    @Test
+    void put_thenGet_returnsCachedUser() {
+        JwtTokenCache cache = new JwtTokenCache(10);
+
+        cache.put("token-a", pepe, inOneHour(), 0L);
+
+        assertSame(pepe, cache.get("token-a"));
+        assertNull(cache.get("token-b"));
+    }
+
+    @Test
+    void get_expiredEntry_returnsNullAndEvicts() {
+        JwtTokenCache cache = new JwtTokenCache(10);
+
+        cache.put("token-a", pepe, System.currentTimeMillis() - 1, 0L);
+
+        assertNull(cache.get("token-a"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void put_beyondMaxEntries_staysBounded() {
+        JwtTokenCache cache = new JwtTokenCache(20);
+
+        for (int i = 0; i < 100; i++) {
+            cache.put("token-" + i, pepe, inOneHour(), 0L);
+        }
+
+        assertTrue(cache.size() <= 20);
+        assertSame(pepe, cache.get("token-99"));
+    }
+
+    @Test
+    void onUserRoleChanged_removesOnlyThatUsersTokens() {
+        JwtTokenCache cache = new JwtTokenCache(10);
+        cache.put("token-pepe-1", pepe, inOneHour(), 0L);
+        cache.put("token-pepe-2", pepe, inOneHour(), 0L);
+        cache.put("token-ana", ana, inOneHour(), 0L);
+
+        cache.onUserRoleChanged(new UserRoleChangedEvent("pepe"));
+
+        assertNull(cache.get("token-pepe-1"));
+        assertNull(cache.get("token-pepe-2"));
+        assertSame(ana, cache.get("token-ana"));
+    }
+
+    @Test
+    void put_afterConcurrentInvalidation_discardsStaleUser() {
+        JwtTokenCache cache = new JwtTokenCache(10);
+        cache.put("token-ana", ana, inOneHour(), cache.generation("ana"));
+
+        long generation = cache.generation("pepe");
+        // El usuario se carga con sus roles antiguos y el cambio de rol llega antes del put
+        cache.invalidateUser("pepe");
+        cache.put("token-pepe", pepe, inOneHour(), generation);
+
+        assertNull(cache.get("token-pepe"));
+        assertSame(ana, cache.get("token-ana"));
+
+        cache.put("token-pepe", pepe, inOneHour(), cache.generation("pepe"));
+        assertSame(pepe, cache.get("token-pepe"));
+    }
+}
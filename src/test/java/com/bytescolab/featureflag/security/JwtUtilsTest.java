@@ -1,12 +1,16 @@
 package com.bytescolab.featureflag.security;
 
+import com.bytescolab.featureflag.config.security.jwt.JwtClaims;
 import com.bytescolab.featureflag.config.security.jwt.JwtUtils;
+import com.bytescolab.featureflag.exception.ApiException;
+import com.bytescolab.featureflag.exception.ErrorCodes;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class JwtUtilsTest {
@@ -15,10 +19,7 @@ class JwtUtilsTest {
 
     @BeforeEach
     void setUp() {
-        jwtUtils = new JwtUtils();
-        // Set secret and expiration via reflection for tests
-        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", "super-secret-key-for-tests-12345678901234567890");
-        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 3600000L); // 1h
+        jwtUtils = new JwtUtils("super-secret-key-for-tests-12345678901234567890", 3600000L); // 1h
     }
 
     @Test
@@ -29,4 +30,37 @@ class JwtUtilsTest {
         assertEquals("pepe", jwtUtils.extractUsername(token));
         assertTrue(jwtUtils.extractExpirationMillis(token) > System.currentTimeMillis());
     }
-}
\ No newline at end of file
+
+    @Test
+    void parse_returnsUsernameExpiryAndRolesFromSingleParse() {
+        UserDetails user = User.withUsername("pepe").password("x").authorities("ROLE_ADMIN").build();
+        String token = jwtUtils.generateToken(user);
+
+        JwtClaims claims = jwtUtils.parse(token);
+
+        assertEquals("pepe", claims.username());
+        assertEquals(List.of("ROLE_ADMIN"), claims.roles());
+        assertTrue(claims.expiresAtMillis() > claims.issuedAtMillis());
+        assertTrue(jwtUtils.isTokenValid(token, user));
+    }
+
+    @Test
+    void parse_tokenSignedWithOtherKey_throwsTokenInvalido() {
+        UserDetails user = User.withUsername("pepe").password("x").authorities("ROLE_USER").build();
+        String foreign = new JwtUtils("another-secret-key-for-tests-1234567890123456", 3600000L).generateToken(user);
+
+        ApiException ex = assertThrows(ApiException.class, () -> jwtUtils.parse(foreign));
+
+        assertEquals(ErrorCodes.TOKEN_INVALIDO, ex.getCode());
+    }
+
+    @Test
+    void parse_expiredToken_throwsTokenExpirado() {
+        UserDetails user = User.withUsername("pepe").password("x").authorities("ROLE_USER").build();
+        String expired = new JwtUtils("super-secret-key-for-tests-12345678901234567890", -1000L).generateToken(user);
+
+        ApiException ex = assertThrows(ApiException.class, () -> jwtUtils.parse(expired));
+
+        assertEquals(ErrorCodes.TOKEN_EXPIRADO, ex.getCode());
+    }
+}
@@ -0,0 +1,77 @@
+package com.bytescolab.featureflag.security;
+
+import com.bytescolab.featureflag.config.security.jwt.JwtTokenCache;
+import com.bytescolab.featureflag.config.security.jwt.RoleVersionRegistry;
+import com.bytescolab.featureflag.repository.UserRepository;
+import com.bytescolab.featureflag.repository.projection.UserRoleChangeRow;
+import com.bytescolab.featureflag.service.user.event.UserRoleChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class RoleVersionRegistryTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private JwtTokenCache jwtTokenCache;
+
+    private RoleVersionRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        registry = new RoleVersionRegistry(userRepository, jwtTokenCache, true);
+    }
+
+    @Test
+    void isCurrent_beforeFirstRefresh_returnsFalse() {
+        assertFalse(registry.isCurrent("pepe", System.currentTimeMillis()));
+    }
+
+    @Test
+    void refresh_rejectsTokensIssuedBeforeRoleChange() {
+        Instant changedAt = Instant.parse("2025-01-01T10:00:00Z");
+        when(userRepository.findRoleChangesSince(any())).thenReturn(List.of(new UserRoleChangeRow("pepe", changedAt)));
+
+        registry.refresh();
+
+        assertFalse(registry.isCurrent("pepe", changedAt.toEpochMilli() - 1));
+        assertTrue(registry.isCurrent("pepe", changedAt.toEpochMilli() + 1));
+        assertTrue(registry.isCurrent("ana", 0L));
+        verify(jwtTokenCache).invalidateUser("pepe");
+    }
+
+    @Test
+    void refresh_sameChangeTwice_invalidatesCacheOnce() {
+        Instant changedAt = Instant.parse("2025-01-01T10:00:00Z");
+        when(userRepository.findRoleChangesSince(any())).thenReturn(List.of(new UserRoleChangeRow("pepe", changedAt)));
+
+        registry.refresh();
+        registry.refresh();
+
+        verify(jwtTokenCache, times(1)).invalidateUser("pepe");
+        verify(userRepository).findRoleChangesSince(Instant.EPOCH);
+        verify(userRepository).findRoleChangesSince(changedAt.minusSeconds(60));
+    }
+
+    @Test
+    void onUserRoleChanged_rejectsTokensIssuedBefore() {
+        when(userRepository.findRoleChangesSince(any())).thenReturn(List.of());
+        registry.refresh();
+        long issuedAt = System.currentTimeMillis() - 1_000;
+
+        registry.onUserRoleChanged(new UserRoleChangedEvent("pepe"));
+
+        assertFalse(registry.isCurrent("pepe", issuedAt));
+    }
+}
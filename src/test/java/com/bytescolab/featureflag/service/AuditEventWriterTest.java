@@ -0,0 +1,171 @@
+package com.bytescolab.featureflag.service;
+
+import com.bytescolab.featureflag.model.entity.AuditEvent;
+import com.bytescolab.featureflag.model.enums.AuditAction;
+import com.bytescolab.featureflag.repository.AuditEventRepository;
+import com.bytescolab.featureflag.service.audit.AuditEventWriter;
+import com.bytescolab.featureflag.service.audit.AuditOverflowPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class AuditEventWriterTest {
+
+    @Mock
+    private AuditEventRepository auditEventRepository;
+
+    private final List<AuditEvent> written = new ArrayList<>();
+    private AuditEventWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(auditEventRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            Collection<AuditEvent> batch = invocation.getArgument(0);
+            synchronized (written) {
+                written.addAll(batch);
+            }
+            return List.copyOf(batch);
+        });
+        when(auditEventRepository.save(any(AuditEvent.class))).thenAnswer(invocation -> {
+            AuditEvent event = invocation.getArgument(0);
+            synchronized (written) {
+                written.add(event);
+            }
+            return event;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (writer != null) {
+            writer.stop();
+        }
+    }
+
+    @Test
+    void submit_writesEventsInBatchesFromBackgroundThread() {
+        writer = new AuditEventWriter(auditEventRepository, 1000, 50, 10, AuditOverflowPolicy.BLOCK);
+        writer.start();
+
+        for (int i = 0; i < 120; i++) {
+            assertTrue(writer.submit(event(i)));
+        }
+
+        verify(auditEventRepository, timeout(2000).atLeast(3)).saveAll(anyList());
+        writer.stop();
+        assertEquals(120, written.size());
+        assertEquals(0, writer.pending());
+        verify(auditEventRepository, never()).save(any());
+    }
+
+    @Test
+    void dropNewest_rejectsEventsWhenQueueIsFull() {
+        writer = new AuditEventWriter(auditEventRepository, 2, 10, 60_000, AuditOverflowPolicy.DROP_NEWEST);
+        writer.start();
+
+        assertTrue(writer.submit(event(0)));
+        assertTrue(writer.submit(event(1)));
+        assertFalse(writer.submit(event(2)));
+
+        writer.stop();
+        assertEquals(1, writer.dropped());
+        assertEquals(List.of("0", "1"), written.stream().map(AuditEvent::getFeatureName).toList());
+    }
+
+    @Test
+    void dropOldest_keepsNewestEventsWhenQueueIsFull() {
+        writer = new AuditEventWriter(auditEventRepository, 2, 10, 60_000, AuditOverflowPolicy.DROP_OLDEST);
+        writer.start();
+
+        writer.submit(event(0));
+        writer.submit(event(1));
+        assertTrue(writer.submit(event(2)));
+
+        writer.stop();
+        assertEquals(1, writer.dropped());
+        assertEquals(List.of("1", "2"), written.stream().map(AuditEvent::getFeatureName).toList());
+    }
+
+    @Test
+    void block_waitsForWriterInsteadOfDropping() throws InterruptedException {
+        writer = new AuditEventWriter(auditEventRepository, 4, 4, 5, AuditOverflowPolicy.BLOCK);
+        writer.start();
+
+        Thread[] producers = new Thread[4];
+        for (int t = 0; t < producers.length; t++) {
+            int base = t * 100;
+            producers[t] = new Thread(() -> {
+                for (int i = 0; i < 100; i++) {
+                    writer.submit(event(base + i));
+                }
+            });
+            producers[t].start();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        writer.stop();
+        assertEquals(0, writer.dropped());
+        assertEquals(400, written.size());
+    }
+
+    @Test
+    void submit_racingWithStop_neverLosesEvents() throws InterruptedException {
+        writer = new AuditEventWriter(auditEventRepository, 10_000, 50, 60_000, AuditOverflowPolicy.BLOCK);
+        writer.start();
+
+        Thread[] producers = new Thread[4];
+        int perProducer = 2_000;
+        for (int t = 0; t < producers.length; t++) {
+            int base = t * perProducer;
+            producers[t] = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    writer.submit(event(base + i));
+                }
+            });
+            producers[t].start();
+        }
+        Thread.sleep(1);
+        writer.stop();
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        assertEquals(producers.length * perProducer, written.size());
+        assertEquals(0, writer.pending());
+    }
+
+    @Test
+    void submit_whenStopped_savesDirectly() {
+        writer = new AuditEventWriter(auditEventRepository, 10, 10, 10, AuditOverflowPolicy.BLOCK);
+
+        assertTrue(writer.submit(event(0)));
+
+        verify(auditEventRepository).save(any(AuditEvent.class));
+    }
+
+    private static AuditEvent event(int i) {
+        return AuditEvent.builder()
+                .occurredAt(Instant.now())
+                .action(AuditAction.FEATURE_ENABLED)
+                .featureId(UUID.randomUUID())
+                .featureName(String.valueOf(i))
+                .actor("admin")
+                .build();
+    }
+}
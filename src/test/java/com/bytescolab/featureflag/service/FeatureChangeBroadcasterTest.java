@@ -0,0 +1,56 @@
+package com.bytescolab.featureflag.service;
+
+import com.bytescolab.featureflag.repository.projection.FeatureRow;
+import com.bytescolab.featureflag.service.feature.event.FeatureChangedEvent;
+import com.bytescolab.featureflag.service.feature.snapshot.FeatureSnapshot;
+import com.bytescolab.featureflag.service.feature.snapshot.FeatureSnapshotHolder;
+import com.bytescolab.featureflag.service.feature.snapshot.FeatureState;
+import com.bytescolab.featureflag.service.feature.stream.FeatureChangeBroadcaster;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+class FeatureChangeBroadcasterTest {
+
+    @Mock
+    private FeatureSnapshotHolder featureSnapshotHolder;
+
+    private FeatureChangeBroadcaster broadcaster;
+    private UUID featureId;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        broadcaster = new FeatureChangeBroadcaster(featureSnapshotHolder, 16, 60_000L);
+        featureId = UUID.randomUUID();
+        when(featureSnapshotHolder.current()).thenReturn(FeatureSnapshot.of(1L, List.of(
+                FeatureState.of(new FeatureRow(featureId, "flag-a", true, 0L), List.of()))));
+    }
+
+    @Test
+    void subscribe_registersSubscriber() {
+        assertNotNull(broadcaster.subscribe(null));
+        assertNotNull(broadcaster.subscribe("foreign-0"));
+
+        assertEquals(2, broadcaster.getSubscriberCount());
+    }
+
+    @Test
+    void onFeatureChanged_appendsVersionedChange() {
+        broadcaster.subscribe(null);
+
+        broadcaster.onFeatureChanged(new FeatureChangedEvent(featureId));
+        broadcaster.onFeatureChanged(new FeatureChangedEvent(UUID.randomUUID()));
+
+        assertEquals(2L, broadcaster.getLatestVersion());
+        assertTrue(broadcaster.getLatestEventId().endsWith("-2"));
+        assertEquals(1, broadcaster.getSubscriberCount());
+    }
+}
@@ -0,0 +1,78 @@
+package com.bytescolab.featureflag.service;
+
+import com.bytescolab.featureflag.repository.dto.feature.response.FeatureChangeResponseDTO;
+import com.bytescolab.featureflag.service.feature.stream.FeatureChangeLog;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeatureChangeLogTest {
+
+    @Test
+    void append_assignsConsecutiveVersions() {
+        FeatureChangeLog log = new FeatureChangeLog("e1", 4);
+
+        FeatureChangeResponseDTO first = log.append(UUID.randomUUID(), null);
+        FeatureChangeResponseDTO second = log.append(UUID.randomUUID(), null);
+
+        assertEquals(1L, first.getVersion());
+        assertEquals("e1-1", first.getEventId());
+        assertEquals(2L, second.getVersion());
+        assertEquals(2L, log.getLatestVersion());
+        assertEquals("e1-2", log.getLatestEventId());
+    }
+
+    @Test
+    void since_returnsOnlyLaterChanges() {
+        FeatureChangeLog log = new FeatureChangeLog("e1", 4);
+        for (int i = 0; i < 3; i++) {
+            log.append(UUID.randomUUID(), null);
+        }
+
+        List<FeatureChangeResponseDTO> changes = log.since("e1-1");
+
+        assertEquals(List.of(2L, 3L), changes.stream().map(FeatureChangeResponseDTO::getVersion).toList());
+        assertTrue(log.since("e1-3").isEmpty());
+    }
+
+    @Test
+    void since_overwrittenVersion_requiresSnapshot() {
+        FeatureChangeLog log = new FeatureChangeLog("e1", 4);
+        for (int i = 0; i < 10; i++) {
+            log.append(UUID.randomUUID(), null);
+        }
+
+        assertNull(log.since("e1-5"));
+        assertEquals(4, log.since("e1-6").size());
+    }
+
+    @Test
+    void since_versionFromAnotherRun_requiresSnapshot() {
+        FeatureChangeLog log = new FeatureChangeLog("e1", 4);
+        log.append(UUID.randomUUID(), null);
+
+        assertNull(log.since("e1-42"));
+        assertNull(log.since("e1--1"));
+    }
+
+    @Test
+    void since_eventIdFromAnotherEpoch_requiresSnapshot() {
+        FeatureChangeLog restarted = new FeatureChangeLog("e2", 4);
+        for (int i = 0; i < 3; i++) {
+            restarted.append(UUID.randomUUID(), null);
+        }
+
+        assertNull(restarted.since("e1-1"));
+        assertNull(restarted.since("1"));
+        assertNull(restarted.since("e2-x"));
+        assertEquals(2, restarted.since("e2-1").size());
+    }
+
+    @Test
+    void newLogs_getDistinctEpochs() {
+        assertNotEquals(new FeatureChangeLog(4).getEpoch(), new FeatureChangeLog(4).getEpoch());
+    }
+}
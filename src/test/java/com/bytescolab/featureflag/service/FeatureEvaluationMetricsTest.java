@@ -0,0 +1,84 @@
+package com.bytescolab.featureflag.service;
+
+import com.bytescolab.featureflag.config.metrics.DbQueryCounter;
+import com.bytescolab.featureflag.model.enums.Environment;
+import com.bytescolab.featureflag.repository.projection.FeatureRow;
+import com.bytescolab.featureflag.service.feature.metrics.FeatureEvaluationMetrics;
+import com.bytescolab.featureflag.service.feature.snapshot.FeatureState;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeatureEvaluationMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private DbQueryCounter queryCounter;
+    private FeatureEvaluationMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        queryCounter = new DbQueryCounter(registry);
+        metrics = new FeatureEvaluationMetrics(registry, queryCounter, 2);
+    }
+
+    @Test
+    void evaluated_countsPerFeatureEnvironmentAndResult() {
+        FeatureState state = state("flag-a");
+
+        metrics.evaluated(state, Environment.PROD, true);
+        metrics.evaluated(state, Environment.PROD, true);
+        metrics.evaluated(state, Environment.DEV, false);
+
+        assertEquals(2.0, evaluations("flag-a", "PROD", "enabled"));
+        assertEquals(1.0, evaluations("flag-a", "DEV", "disabled"));
+        assertEquals(0.0, evaluations("flag-a", "PROD", "disabled"));
+    }
+
+    @Test
+    void evaluated_beyondLimit_groupsFeaturesUnderOther() {
+        metrics.evaluated(state("flag-a"), Environment.PROD, true);
+        metrics.evaluated(state("flag-b"), Environment.PROD, true);
+        metrics.evaluated(state("flag-c"), Environment.PROD, true);
+        metrics.evaluated(state("flag-d"), Environment.PROD, true);
+
+        assertNull(registry.find("featureflag.evaluations").tag("feature", "flag-c").counter());
+        assertEquals(2.0, evaluations(FeatureEvaluationMetrics.OTHER_FEATURE, "PROD", "enabled"));
+        assertEquals(3, registry.find("featureflag.evaluations").tag("environment", "PROD").tag("result", "enabled")
+                .counters().size());
+    }
+
+    @Test
+    void lookupFinished_recordsQueriesAndSnapshotHitOrMiss() {
+        long hit = metrics.lookupStarted();
+        metrics.lookupFinished(hit);
+
+        long miss = metrics.lookupStarted();
+        queryCounter.inspect("select 1");
+        queryCounter.inspect("select 2");
+        metrics.lookupFinished(miss);
+
+        assertEquals(1.0, registry.get("featureflag.snapshot.lookups").tag("result", "hit").counter().count());
+        assertEquals(1.0, registry.get("featureflag.snapshot.lookups").tag("result", "miss").counter().count());
+        assertEquals(2, registry.get("featureflag.evaluation.db.queries").summary().count());
+        assertEquals(2.0, registry.get("featureflag.evaluation.db.queries").summary().totalAmount());
+        assertEquals(2.0, registry.get("featureflag.db.queries").counter().count());
+    }
+
+    private double evaluations(String feature, String environment, String result) {
+        return registry.get("featureflag.evaluations")
+                .tag("feature", feature)
+                .tag("environment", environment)
+                .tag("result", result)
+                .counter().count();
+    }
+
+    private static FeatureState state(String name) {
+        return FeatureState.of(new FeatureRow(UUID.randomUUID(), name, true, 0L), List.of());
+    }
+}
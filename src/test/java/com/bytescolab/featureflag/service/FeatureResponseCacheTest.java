@@ -0,0 +1,115 @@
+package com.bytescolab.featureflag.service;
+
+import com.bytescolab.featureflag.repository.dto.feature.response.FeatureDetailResponseDTO;
+import com.bytescolab.featureflag.repository.dto.feature.response.FeatureSummaryPageDTO;
+import com.bytescolab.featureflag.repository.dto.feature.response.FeatureSummaryResponseDTO;
+import com.bytescolab.featureflag.service.feature.cache.FeatureResponseCache;
+import com.bytescolab.featureflag.service.feature.event.FeatureChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeatureResponseCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private SimpleMeterRegistry registry;
+    private FeatureResponseCache cache;
+    private UUID featureId;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        cache = new FeatureResponseCache(objectMapper, registry, true, 2, 2);
+        featureId = UUID.randomUUID();
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void detail_sameRevision_returnsCachedBytesWithoutLoading() throws Exception {
+        byte[] first = cache.detail(featureId, 1L, detailLoader(featureId, "dark_mode"));
+        byte[] second = cache.detail(featureId, 1L, detailLoader(featureId, "dark_mode"));
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertArrayEquals(objectMapper.writeValueAsBytes(detail(featureId, "dark_mode")), first);
+        assertEquals(1.0, registry.get("featureflag.response.cache").tag("cache", "detail").tag("result", "hit").counter().count());
+    }
+
+    @Test
+    void detail_newRevision_reloads() {
+        cache.detail(featureId, 1L, detailLoader(featureId, "dark_mode"));
+
+        byte[] updated = cache.detail(featureId, 2L, detailLoader(featureId, "dark_mode_v2"));
+
+        assertEquals(2, loads.get());
+        assertTrue(new String(updated).contains("dark_mode_v2"));
+    }
+
+    @Test
+    void detail_beyondLimit_isServedButNotStored() {
+        cache.detail(UUID.randomUUID(), 1L, detailLoader(featureId, "a"));
+        cache.detail(UUID.randomUUID(), 1L, detailLoader(featureId, "b"));
+
+        cache.detail(featureId, 1L, detailLoader(featureId, "c"));
+        cache.detail(featureId, 1L, detailLoader(featureId, "c"));
+
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void page_cachedPerKeyAndFlagSetVersion_invalidatedOnFeatureChange() {
+        FeatureResponseCache.PageKey key = new FeatureResponseCache.PageKey(null, null, null, 1);
+        Supplier<FeatureSummaryPageDTO> loader = () -> {
+            loads.incrementAndGet();
+            return new FeatureSummaryPageDTO(List.of(FeatureSummaryResponseDTO.builder().name("dark_mode").build()), "dark_mode");
+        };
+
+        FeatureResponseCache.Page first = cache.page(key, 5L, loader);
+        assertSame(first, cache.page(key, 5L, loader));
+        assertEquals("dark_mode", first.nextCursor());
+        assertTrue(new String(first.body()).contains("\"name\":\"dark_mode\""));
+
+        cache.onFeatureChanged(new FeatureChangedEvent(featureId));
+        cache.page(key, 5L, loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void page_empty_hasNoBody() {
+        FeatureResponseCache.Page page = cache.page(new FeatureResponseCache.PageKey(true, "x", null, null), 1L,
+                () -> new FeatureSummaryPageDTO(List.of(), null));
+
+        assertNull(page.body());
+    }
+
+    @Test
+    void onFeatureChanged_dropsDetailOfChangedFeature() {
+        cache.detail(featureId, 1L, detailLoader(featureId, "dark_mode"));
+
+        cache.onFeatureChanged(new FeatureChangedEvent(featureId, true));
+        cache.detail(featureId, 1L, detailLoader(featureId, "dark_mode"));
+
+        assertEquals(2, loads.get());
+    }
+
+    private Supplier<FeatureDetailResponseDTO> detailLoader(UUID id, String name) {
+        return () -> {
+            loads.incrementAndGet();
+            return detail(id, name);
+        };
+    }
+
+    private static FeatureDetailResponseDTO detail(UUID id, String name) {
+        return FeatureDetailResponseDTO.builder().id(id).name(name).description("desc").enabledByDefault(true).build();
+    }
+}
@@ -3,30 +3,58 @@ package com.bytescolab.featureflag.service;
 
 import com.bytescolab.featureflag.exception.ApiException;
 import com.bytescolab.featureflag.exception.ErrorCodes;
+import com.bytescolab.featureflag.model.entity.AuditEvent;
 import com.bytescolab.featureflag.model.entity.Feature;
 import com.bytescolab.featureflag.model.entity.FeatureConfig;
+import com.bytescolab.featureflag.model.entity.Segment;
+import com.bytescolab.featureflag.model.enums.AuditAction;
 import com.bytescolab.featureflag.model.enums.Environment;
+import com.bytescolab.featureflag.repository.AuditEventRepository;
 import com.bytescolab.featureflag.repository.FeatureConfigRepository;
 import com.bytescolab.featureflag.repository.FeatureRepository;
+import com.bytescolab.featureflag.repository.SegmentRepository;
+import com.bytescolab.featureflag.repository.dto.audit.response.AuditEventPageDTO;
 import com.bytescolab.featureflag.repository.dto.feature.request.FeatureActivationRequestDTO;
+import com.bytescolab.featureflag.repository.dto.feature.request.FeatureBatchActivationRequestDTO;
 import com.bytescolab.featureflag.repository.dto.feature.request.FeatureConfigCreateRequestDTO;
 import com.bytescolab.featureflag.repository.dto.feature.request.FeatureCreateRequestDTO;
+import com.bytescolab.featureflag.repository.dto.feature.request.FeatureRolloutRequestDTO;
+import com.bytescolab.featureflag.repository.dto.feature.response.FeatureBatchActivationResponseDTO;
 import com.bytescolab.featureflag.repository.dto.feature.response.FeatureConfigResponseDTO;
 import com.bytescolab.featureflag.repository.dto.feature.response.FeatureDetailResponseDTO;
+import com.bytescolab.featureflag.repository.dto.feature.response.FeatureEvaluationResponseDTO;
+import com.bytescolab.featureflag.repository.dto.feature.response.FeatureSummaryPageDTO;
 import com.bytescolab.featureflag.repository.dto.feature.response.FeatureSummaryResponseDTO;
+import com.bytescolab.featureflag.repository.projection.FeatureConfigRow;
+import com.bytescolab.featureflag.repository.projection.FeatureRow;
+import com.bytescolab.featureflag.service.audit.AuditTrail;
 import com.bytescolab.featureflag.service.feature.FeatureServiceImpl;
-import com.bytescolab.featureflag.utils.logging.FeatureAuditLogger;
+import com.bytescolab.featureflag.service.feature.event.FeatureChangedEvent;
+import com.bytescolab.featureflag.service.feature.snapshot.FeatureSnapshot;
+import com.bytescolab.featureflag.service.feature.metrics.FeatureEvaluationMetrics;
+import com.bytescolab.featureflag.service.feature.snapshot.FeatureSnapshotHolder;
+import com.bytescolab.featureflag.service.feature.snapshot.FeatureState;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class FeatureServiceImplTest {
@@ -38,7 +66,22 @@ class FeatureServiceImplTest {
     private FeatureConfigRepository featureConfigRepository;
 
     @Mock
-    private FeatureAuditLogger featureAuditLogger;
+    private SegmentRepository segmentRepository;
+
+    @Mock
+    private AuditEventRepository auditEventRepository;
+
+    @Mock
+    private AuditTrail auditTrail;
+
+    @Mock
+    private FeatureSnapshotHolder featureSnapshotHolder;
+
+    @Mock
+    private FeatureEvaluationMetrics evaluationMetrics;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private FeatureServiceImpl service;
@@ -58,6 +101,11 @@ class FeatureServiceImplTest {
                 .build();
     }
 
+    private void givenSnapshot(FeatureConfigRow... configs) {
+        when(featureSnapshotHolder.getOrLoad(featureId)).thenReturn(FeatureState.of(
+                new FeatureRow(featureId, feature.getName(), feature.getEnabledByDefault(), 0L), List.of(configs)));
+    }
+
     @Test
     void createFeature_ok() {
         FeatureCreateRequestDTO dto = FeatureCreateRequestDTO.builder()
@@ -73,7 +121,7 @@ class FeatureServiceImplTest {
 
         assertEquals("flag-x", res.getName());
         verify(featureRepository).save(any(Feature.class));
-        verify(featureAuditLogger).logCreation(eq("flag-x"), anyString());
+        verify(auditTrail).featureCreated(feature);
     }
 
     @Test
@@ -87,35 +135,130 @@ class FeatureServiceImplTest {
     }
 
     @Test
-    void getAllFeatures_noFilters_returnsAll() {
-        when(featureRepository.findAll()).thenReturn(List.of(feature));
+    void getAllFeatures_noFilters_returnsFirstPage() {
+        when(featureRepository.findPage(null, null, "", Limit.of(51))).thenReturn(List.of(feature));
+
+        FeatureSummaryPageDTO res = service.getAllFeatures(null, null, null, null);
+
+        assertEquals(1, res.getItems().size());
+        assertEquals("flag-x", res.getItems().get(0).getName());
+        assertNull(res.getNextCursor());
+        verify(featureRepository, never()).findAll();
+    }
+
+    @Test
+    void getFeatureHistory_fullPage_returnsCursorOfLastEvent() {
+        Instant to = Instant.parse("2025-01-08T00:00:00Z");
+        AuditEvent newest = historyEvent(Instant.parse("2025-01-07T00:00:00Z"));
+        AuditEvent older = historyEvent(Instant.parse("2025-01-06T00:00:00Z"));
+        AuditEvent oldest = historyEvent(Instant.parse("2025-01-05T00:00:00Z"));
+        when(auditEventRepository.findHistory(featureId, Instant.EPOCH, to, new UUID(0L, 0L), Environment.PROD, null, null, Limit.of(3)))
+                .thenReturn(List.of(newest, older, oldest));
+
+        AuditEventPageDTO res = service.getFeatureHistory(featureId, null, to, Environment.PROD, null, null, null, 2);
+
+        assertEquals(2, res.getItems().size());
+        assertEquals("2025-01-06T00:00:00Z_" + older.getId(), res.getNextCursor());
+    }
+
+    @Test
+    void getFeatureHistory_withCursor_continuesAfterLastEvent() {
+        Instant from = Instant.parse("2025-01-01T00:00:00Z");
+        UUID lastId = UUID.randomUUID();
+        when(auditEventRepository.findHistory(eq(featureId), eq(from), eq(Instant.parse("2025-01-06T00:00:00Z")), eq(lastId),
+                isNull(), eq(AuditAction.FEATURE_ENABLED), eq("c1"), eq(Limit.of(51)))).thenReturn(List.of());
+
+        AuditEventPageDTO res = service.getFeatureHistory(featureId, from, null, null, AuditAction.FEATURE_ENABLED, "c1",
+                "2025-01-06T00:00:00Z_" + lastId, null);
+
+        assertTrue(res.getItems().isEmpty());
+        assertNull(res.getNextCursor());
+    }
+
+    @Test
+    void getFeatureHistory_clientFilter_keepsOnlyBatchesThatChangedThatClient() {
+        Instant to = Instant.parse("2025-01-08T00:00:00Z");
+        AuditEvent withC1 = batchEvent(Instant.parse("2025-01-07T00:00:00Z"), "c1", "c2");
+        AuditEvent withoutC1 = batchEvent(Instant.parse("2025-01-06T00:00:00Z"), "c2", "c3");
+        AuditEvent next = batchEvent(Instant.parse("2025-01-05T00:00:00Z"), "c1", "c4");
+        when(auditEventRepository.findHistory(featureId, Instant.EPOCH, to, new UUID(0L, 0L), null, null, "c1", Limit.of(3)))
+                .thenReturn(List.of(withC1, withoutC1, next));
+
+        AuditEventPageDTO res = service.getFeatureHistory(featureId, null, to, null, null, "c1", null, 2);
+
+        assertEquals(1, res.getItems().size());
+        assertEquals(withC1.getId(), res.getItems().get(0).getId());
+        assertEquals("2025-01-06T00:00:00Z_" + withoutC1.getId(), res.getNextCursor());
+    }
+
+    @Test
+    void getFeatureHistory_invalidCursorOrRange_throwsBadParams() {
+        Instant now = Instant.now();
 
-        List<FeatureSummaryResponseDTO> res = service.getAllFeatures(null, null);
+        ApiException badCursor = assertThrows(ApiException.class,
+                () -> service.getFeatureHistory(featureId, null, null, null, null, null, "not-a-cursor", null));
+        ApiException badRange = assertThrows(ApiException.class,
+                () -> service.getFeatureHistory(featureId, now, now.minusSeconds(1), null, null, null, null, null));
 
-        assertEquals(1, res.size());
-        assertEquals("flag-x", res.get(0).getName());
+        assertEquals(ErrorCodes.BAD_PARAMS, badCursor.getCode());
+        assertEquals(ErrorCodes.BAD_PARAMS, badRange.getCode());
+        verifyNoInteractions(auditEventRepository);
     }
 
     @Test
     void getAllFeatures_withNameAndEnabled_found() {
-        when(featureRepository.existsByName("flag-x")).thenReturn(true);
-        when(featureRepository.findByEnabledByDefaultAndNameContainingIgnoreCase(true, "flag-x"))
-                .thenReturn(List.of(feature));
+        when(featureRepository.findPage(true, "%flag-x%", "", Limit.of(51))).thenReturn(List.of(feature));
 
-        var res = service.getAllFeatures(true, "flag-x");
+        var res = service.getAllFeatures(true, "Flag-X", null, null);
 
-        assertEquals(1, res.size());
-        verify(featureRepository).findByEnabledByDefaultAndNameContainingIgnoreCase(true, "flag-x");
+        assertEquals(1, res.getItems().size());
+        verify(featureRepository).findPage(true, "%flag-x%", "", Limit.of(51));
     }
 
     @Test
     void getAllFeatures_withNameNotFound_throwsApiException() {
-        when(featureRepository.existsByName("other")).thenReturn(false);
+        when(featureRepository.findPage(null, "%other%", "", Limit.of(51))).thenReturn(List.of());
 
-        ApiException ex = assertThrows(ApiException.class, () -> service.getAllFeatures(null, "other"));
+        ApiException ex = assertThrows(ApiException.class, () -> service.getAllFeatures(null, "other", null, null));
         assertEquals(ErrorCodes.FEATURE_NOT_FOUND, ex.getCode());
     }
 
+    @Test
+    void getAllFeatures_fullPage_returnsNextCursor() {
+        Feature second = Feature.builder().id(UUID.randomUUID()).name("flag-y").description("d").enabledByDefault(true).build();
+        Feature third = Feature.builder().id(UUID.randomUUID()).name("flag-z").description("d").enabledByDefault(true).build();
+        when(featureRepository.findPage(null, null, "flag-w", Limit.of(3))).thenReturn(List.of(feature, second, third));
+
+        FeatureSummaryPageDTO res = service.getAllFeatures(null, null, "flag-w", 2);
+
+        assertEquals(2, res.getItems().size());
+        assertEquals("flag-y", res.getNextCursor());
+    }
+
+    @Test
+    void getAllFeatures_sizeAboveCap_isClamped() {
+        when(featureRepository.findPage(null, null, "", Limit.of(201))).thenReturn(List.of());
+
+        service.getAllFeatures(null, null, null, 10_000);
+
+        verify(featureRepository).findPage(null, null, "", Limit.of(201));
+    }
+
+    @Test
+    void getAllFeatures_invalidSize_throwsBadParams() {
+        ApiException ex = assertThrows(ApiException.class, () -> service.getAllFeatures(null, null, null, 0));
+        assertEquals(ErrorCodes.BAD_PARAMS, ex.getCode());
+    }
+
+    @Test
+    void getAllFeatures_escapesLikeWildcardsInName() {
+        when(featureRepository.findPage(null, "%a\\_b%", "", Limit.of(51))).thenReturn(List.of(feature));
+
+        service.getAllFeatures(null, "a_b", null, null);
+
+        verify(featureRepository).findPage(null, "%a\\_b%", "", Limit.of(51));
+    }
+
     @Test
     void getFeatureById_ok() {
         when(featureRepository.findById(featureId)).thenReturn(Optional.of(feature));
@@ -136,8 +279,6 @@ class FeatureServiceImplTest {
 
     @Test
     void enableFeature_withDisabledFlag_throwsApiException() {
-        when(featureRepository.findById(featureId)).thenReturn(Optional.of(feature));
-
         FeatureActivationRequestDTO dto = FeatureActivationRequestDTO.builder()
                 .environment(Environment.DEV)
                 .clientId("c1")
@@ -147,19 +288,15 @@ class FeatureServiceImplTest {
         ApiException ex = assertThrows(ApiException.class,
                 () -> service.enableFeatureForClientOrEnv(featureId, dto));
 
-        assertEquals(ErrorCodes.FEATURE_ENABLE, ex.getCode());
+        assertEquals(ErrorCodes.BAD_PARAMS, ex.getCode());
+        verifyNoInteractions(featureConfigRepository, eventPublisher);
     }
 
     @Test
     void enableFeature_withNullEnabled_throwsApiException() {
-        when(featureRepository.findById(featureId)).thenReturn(Optional.of(feature));
-        when(featureConfigRepository.findByFeatureAndEnvironmentAndClientId(feature, Environment.DEV, "clientB"))
-                .thenReturn(Optional.of(FeatureConfig.builder()
-                        .feature(feature)
-                        .environment(Environment.DEV)
-                        .clientId("clientB")
-                        .enabled(true)
-                        .build()));
+        when(featureRepository.findByIdForUpdate(featureId)).thenReturn(Optional.of(feature));
+        when(featureConfigRepository.existsByFeatureAndEnvironmentAndClientId(feature, Environment.DEV, "clientB"))
+                .thenReturn(true);
 
         FeatureActivationRequestDTO dto = FeatureActivationRequestDTO.builder()
                 .environment(Environment.DEV)
@@ -183,9 +320,10 @@ class FeatureServiceImplTest {
                 .enabled(true)
                 .build();
 
-        when(featureRepository.findById(featureId)).thenReturn(Optional.of(feature));
-        when(featureConfigRepository.findByFeatureAndEnvironmentAndClientId(feature, Environment.DEV, "c1"))
-                .thenReturn(Optional.of(config));
+        when(featureRepository.findByIdForUpdate(featureId)).thenReturn(Optional.of(feature));
+        when(featureConfigRepository.existsByFeatureAndEnvironmentAndClientId(feature, Environment.DEV, "c1"))
+                .thenReturn(true);
+        givenSnapshot(new FeatureConfigRow(featureId, Environment.DEV, "c1", true));
 
         FeatureActivationRequestDTO dto = FeatureActivationRequestDTO.builder()
                 .environment(Environment.DEV)
@@ -197,20 +335,28 @@ class FeatureServiceImplTest {
                 () -> service.enableFeatureForClientOrEnv(featureId, dto));
 
         assertEquals(ErrorCodes.FEATURE_ENABLE, ex.getCode());
+        verify(featureConfigRepository, never()).save(any());
     }
 
     @Test
-    void disableFeature_updatesConfig() {
-        FeatureConfig config = FeatureConfig.builder()
-                .feature(feature)
-                .environment(Environment.PROD)
-                .clientId("c1")
-                .enabled(true)
-                .build();
+    void enableFeature_clientAlreadyOnThroughRollout_pinsExplicitOverride() {
+        when(featureRepository.findByIdForUpdate(featureId)).thenReturn(Optional.of(feature));
+        when(featureConfigRepository.updateEnabled(featureId, Environment.PROD, "c1", true)).thenReturn(0);
+        when(featureConfigRepository.existsByFeatureAndEnvironmentAndClientId(feature, Environment.PROD, "c1")).thenReturn(false);
+        givenSnapshot(new FeatureConfigRow(featureId, Environment.PROD, null, true, 100));
 
-        when(featureRepository.findById(featureId)).thenReturn(Optional.of(feature));
-        when(featureConfigRepository.findByFeatureAndEnvironmentAndClientId(feature, Environment.PROD, "c1"))
-                .thenReturn(Optional.of(config));
+        service.enableFeatureForClientOrEnv(featureId, new FeatureActivationRequestDTO(Environment.PROD, "c1", true));
+
+        verify(featureConfigRepository).save(argThat(config -> config.isEnabled() && "c1".equals(config.getClientId())));
+        verify(featureSnapshotHolder, never()).getOrLoad(any());
+        verify(auditTrail).featureToggled(feature, Environment.PROD, "c1", null, true);
+    }
+
+    @Test
+    void disableFeature_updatesConfig() {
+        when(featureRepository.findByIdForUpdate(featureId)).thenReturn(Optional.of(feature));
+        when(featureConfigRepository.updateEnabled(featureId, Environment.PROD, "c1", false)).thenReturn(1);
+        givenSnapshot(new FeatureConfigRow(featureId, Environment.PROD, "c1", true));
 
         FeatureActivationRequestDTO dto = FeatureActivationRequestDTO.builder()
                 .environment(Environment.PROD)
@@ -221,9 +367,56 @@ class FeatureServiceImplTest {
         String msg = service.disableFeatureForClientOrEnv(featureId, dto);
 
         assertTrue(msg.contains("desactivada correctamente"));
-        assertFalse(config.isEnabled());
-        verify(featureConfigRepository).save(config);
-        verify(featureAuditLogger).logDesactivation(eq("flag-x"), eq("PROD"), eq("c1"), anyString());
+        verify(featureConfigRepository, never()).save(any());
+        verify(auditTrail).featureToggled(feature, Environment.PROD, "c1", true, false);
+        verify(featureRepository).incrementRevision(featureId);
+        verify(eventPublisher).publishEvent(new FeatureChangedEvent(featureId));
+    }
+
+    @Test
+    void enableFeature_existingConfig_updatesConditionallyWithoutLoadingIt() {
+        when(featureRepository.findByIdForUpdate(featureId)).thenReturn(Optional.of(feature));
+        when(featureConfigRepository.updateEnabled(featureId, Environment.DEV, "c1", true)).thenReturn(1);
+        givenSnapshot(new FeatureConfigRow(featureId, Environment.DEV, "c1", false));
+
+        String msg = service.enableFeatureForClientOrEnv(featureId, new FeatureActivationRequestDTO(Environment.DEV, "c1", true));
+
+        assertTrue(msg.contains("activada correctamente"));
+        verify(featureConfigRepository, never()).findByFeatureAndEnvironmentAndClientId(any(), any(), any());
+        verify(featureConfigRepository, never()).save(any());
+        verify(featureRepository, never()).findById(any());
+        verify(featureRepository).incrementRevision(featureId);
+        verify(eventPublisher).publishEvent(new FeatureChangedEvent(featureId));
+        verify(auditTrail).featureToggled(feature, Environment.DEV, "c1", false, true);
+    }
+
+    @Test
+    void enableFeature_missingConfig_insertsIt() {
+        when(featureRepository.findByIdForUpdate(featureId)).thenReturn(Optional.of(feature));
+        when(featureConfigRepository.updateEnabled(featureId, Environment.DEV, "c1", true)).thenReturn(0);
+        when(featureConfigRepository.existsByFeatureAndEnvironmentAndClientId(feature, Environment.DEV, "c1")).thenReturn(false);
+        givenSnapshot(new FeatureConfigRow(featureId, Environment.DEV, null, false));
+
+        service.enableFeatureForClientOrEnv(featureId, new FeatureActivationRequestDTO(Environment.DEV, "c1", null));
+
+        verify(featureConfigRepository).save(argThat(config -> config.isEnabled() && "c1".equals(config.getClientId())));
+        verify(eventPublisher).publishEvent(new FeatureChangedEvent(featureId));
+        verify(auditTrail).featureToggled(feature, Environment.DEV, "c1", null, true);
+    }
+
+    @Test
+    void enableFeature_concurrentlyEnabled_throwsWithoutWriting() {
+        when(featureRepository.findByIdForUpdate(featureId)).thenReturn(Optional.of(feature));
+        when(featureConfigRepository.updateEnabled(featureId, Environment.DEV, "c1", true)).thenReturn(0);
+        when(featureConfigRepository.existsByFeatureAndEnvironmentAndClientId(feature, Environment.DEV, "c1")).thenReturn(true);
+        givenSnapshot(new FeatureConfigRow(featureId, Environment.DEV, null, false));
+
+        ApiException ex = assertThrows(ApiException.class,
+                () -> service.enableFeatureForClientOrEnv(featureId, new FeatureActivationRequestDTO(Environment.DEV, "c1", true)));
+
+        assertEquals(ErrorCodes.FEATURE_ENABLE, ex.getCode());
+        verify(featureConfigRepository, never()).save(any());
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
@@ -238,6 +431,7 @@ class FeatureServiceImplTest {
         when(featureRepository.findById(featureId)).thenReturn(Optional.of(feature));
         when(featureConfigRepository.findByFeatureAndEnvironmentAndClientId(feature, Environment.PROD, "c1"))
                 .thenReturn(Optional.of(config));
+        givenSnapshot(new FeatureConfigRow(featureId, Environment.PROD, "c1", true));
 
         FeatureActivationRequestDTO dto = FeatureActivationRequestDTO.builder()
                 .environment(Environment.PROD)
@@ -253,9 +447,9 @@ class FeatureServiceImplTest {
 
     @Test
     void disableFeature_configNotFound_throwsApiException() {
-        when(featureRepository.findById(featureId)).thenReturn(Optional.of(feature));
-        when(featureConfigRepository.findByFeatureAndEnvironmentAndClientId(feature, Environment.DEV, "cX"))
-                .thenReturn(Optional.empty());
+        when(featureRepository.findByIdForUpdate(featureId)).thenReturn(Optional.of(feature));
+        when(featureConfigRepository.updateEnabled(featureId, Environment.DEV, "cX", false)).thenReturn(0);
+        givenSnapshot();
 
         FeatureActivationRequestDTO dto = FeatureActivationRequestDTO.builder()
                 .environment(Environment.DEV)
@@ -271,49 +465,43 @@ class FeatureServiceImplTest {
 
     @Test
     void isFeatureActived_configByClientPresent() {
-        FeatureConfig config = FeatureConfig.builder()
-                .feature(feature)
-                .environment(Environment.DEV)
-                .clientId("c1")
-                .enabled(true)
-                .build();
-
-        when(featureRepository.findById(featureId)).thenReturn(Optional.of(feature));
-        when(featureConfigRepository.findByFeatureAndEnvironmentAndClientId(feature, Environment.DEV, "c1"))
-                .thenReturn(Optional.of(config));
+        givenSnapshot(new FeatureConfigRow(featureId, Environment.DEV, "c1", true));
 
         boolean active = service.isFeatureActived(featureId, "c1", Environment.DEV);
 
         assertTrue(active);
+        verifyNoInteractions(featureRepository, featureConfigRepository);
     }
 
     @Test
     void isFeatureActived_configByEnvPresent() {
-        when(featureRepository.findById(featureId)).thenReturn(Optional.of(feature));
-        when(featureConfigRepository.findByFeatureAndEnvironmentAndClientId(feature, Environment.DEV, "c1"))
-                .thenReturn(Optional.empty());
-        when(featureConfigRepository.findByFeatureIdAndEnvironmentAndClientIdIsNull(featureId, Environment.DEV))
-                .thenReturn(Optional.of(FeatureConfig.builder().enabled(true).build()));
+        feature.setEnabledByDefault(false);
+        givenSnapshot(new FeatureConfigRow(featureId, Environment.DEV, null, true));
 
         assertTrue(service.isFeatureActived(featureId, "c1", Environment.DEV));
     }
 
+    @Test
+    void isFeatureActived_clientConfigOverridesEnvConfig() {
+        givenSnapshot(
+                new FeatureConfigRow(featureId, Environment.DEV, null, true),
+                new FeatureConfigRow(featureId, Environment.DEV, "c1", false));
+
+        assertFalse(service.isFeatureActived(featureId, "c1", Environment.DEV));
+        assertTrue(service.isFeatureActived(featureId, "c2", Environment.DEV));
+    }
+
     @Test
     void isFeatureActived_noConfig_usesEnabledByDefault() {
         feature.setEnabledByDefault(false);
-
-        when(featureRepository.findById(featureId)).thenReturn(Optional.of(feature));
-        when(featureConfigRepository.findByFeatureAndEnvironmentAndClientId(feature, Environment.STAGING, "c2"))
-                .thenReturn(Optional.empty());
-        when(featureConfigRepository.findByFeatureIdAndEnvironmentAndClientIdIsNull(featureId, Environment.STAGING))
-                .thenReturn(Optional.empty());
+        givenSnapshot();
 
         assertFalse(service.isFeatureActived(featureId, "c2", Environment.STAGING));
     }
 
     @Test
     void isFeatureActived_featureNotFound_throwsApiException() {
-        when(featureRepository.findById(featureId)).thenReturn(Optional.empty());
+        when(featureSnapshotHolder.getOrLoad(featureId)).thenReturn(null);
 
         ApiException ex = assertThrows(ApiException.class,
                 () -> service.isFeatureActived(featureId, "c1", Environment.DEV));
@@ -342,6 +530,8 @@ class FeatureServiceImplTest {
         assertTrue(res.getEnabled());
 
         verify(featureConfigRepository).save(any(FeatureConfig.class));
+        verify(featureRepository).incrementRevision(featureId);
+        verify(auditTrail).configCreated(eq(feature), argThat(config -> "client1".equals(config.getClientId())));
     }
 
     @Test
@@ -383,4 +573,241 @@ class FeatureServiceImplTest {
         assertEquals(ErrorCodes.FEATURE_NOT_FOUND, ex.getCode());
     }
 
+
+    @Test
+    void evaluateFeatures_withoutIds_resolvesEveryFeatureFromSnapshot() {
+        UUID otherId = UUID.randomUUID();
+        FeatureState state = FeatureState.of(new FeatureRow(featureId, "flag-b", false, 0L),
+                List.of(new FeatureConfigRow(featureId, Environment.DEV, "c1", true)));
+        FeatureState other = FeatureState.of(new FeatureRow(otherId, "flag-a", true, 0L), List.of());
+        when(featureSnapshotHolder.current()).thenReturn(FeatureSnapshot.of(1L, List.of(state, other)));
+
+        List<FeatureEvaluationResponseDTO> result = service.evaluateFeatures("c1", Environment.DEV, null);
+
+        assertEquals(2, result.size());
+        assertEquals("flag-a", result.get(0).getName());
+        assertTrue(result.get(0).getEnabled());
+        assertEquals(featureId, result.get(1).getFeatureId());
+        assertTrue(result.get(1).getEnabled());
+        verifyNoInteractions(featureRepository, featureConfigRepository);
+    }
+
+    @Test
+    void evaluateFeatures_withIds_resolvesRequestedSubset() {
+        FeatureState state = FeatureState.of(new FeatureRow(featureId, "flag-a", false, 0L), List.of());
+        when(featureSnapshotHolder.getOrLoadAll(List.of(featureId))).thenReturn(Map.of(featureId, state));
+
+        List<FeatureEvaluationResponseDTO> result = service.evaluateFeatures("c1", Environment.PROD, List.of(featureId));
+
+        assertEquals(1, result.size());
+        assertFalse(result.get(0).getEnabled());
+        verify(featureSnapshotHolder, never()).getOrLoad(any());
+    }
+
+    @Test
+    void evaluateFeatures_unknownId_throwsApiException() {
+        UUID unknownId = UUID.randomUUID();
+        FeatureState state = FeatureState.of(new FeatureRow(featureId, "flag-a", false, 0L), List.of());
+        when(featureSnapshotHolder.getOrLoadAll(List.of(featureId, unknownId))).thenReturn(Map.of(featureId, state));
+
+        ApiException ex = assertThrows(ApiException.class,
+                () -> service.evaluateFeatures("c1", Environment.DEV, List.of(featureId, unknownId)));
+
+        assertEquals(ErrorCodes.FEATURE_NOT_FOUND, ex.getCode());
+    }
+
+    @Test
+    void getFeatureRevision_readsSnapshot() {
+        FeatureState state = FeatureState.of(new FeatureRow(featureId, "flag-a", false, 4L), List.of());
+        when(featureSnapshotHolder.current()).thenReturn(FeatureSnapshot.of(1L, List.of(state)));
+
+        assertEquals(4L, service.getFeatureRevision(featureId));
+        assertNull(service.getFeatureRevision(UUID.randomUUID()));
+        assertEquals(FeatureSnapshot.of(2L, List.of(state)).getFingerprint(), service.getFlagSetFingerprint());
+        verifyNoInteractions(featureRepository, featureConfigRepository);
+    }
+
+    @Test
+    void createConfigFeature_rolloutWithClient_throwsBadParams() {
+        FeatureConfigCreateRequestDTO dto = FeatureConfigCreateRequestDTO.builder()
+                .environment(Environment.PROD)
+                .clientId("client1")
+                .enabled(true)
+                .rolloutPercentage(5)
+                .build();
+
+        ApiException ex = assertThrows(ApiException.class, () -> service.createConfigFeature(featureId, dto));
+
+        assertEquals(ErrorCodes.BAD_PARAMS, ex.getCode());
+        verify(featureConfigRepository, never()).save(any());
+    }
+
+    @Test
+    void createConfigFeature_segment_checksSegmentConfigAndLinksSegment() {
+        UUID segmentId = UUID.randomUUID();
+        Segment segment = Segment.builder().id(segmentId).name("beta").build();
+        FeatureConfigCreateRequestDTO dto = FeatureConfigCreateRequestDTO.builder()
+                .environment(Environment.PROD)
+                .segmentId(segmentId)
+                .enabled(true)
+                .build();
+        when(featureRepository.findById(featureId)).thenReturn(Optional.of(feature));
+        when(segmentRepository.findById(segmentId)).thenReturn(Optional.of(segment));
+        when(featureConfigRepository.existsByFeatureIdAndEnvironmentAndSegmentId(featureId, Environment.PROD, segmentId))
+                .thenReturn(false);
+        when(featureConfigRepository.save(any(FeatureConfig.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        FeatureConfigResponseDTO res = service.createConfigFeature(featureId, dto);
+
+        assertEquals(segmentId, res.getSegmentId());
+        assertNull(res.getClientId());
+        verify(featureConfigRepository, never()).findByFeatureAndEnvironmentAndClientId(any(), any(), any());
+        verify(eventPublisher).publishEvent(new FeatureChangedEvent(featureId));
+    }
+
+    @Test
+    void createConfigFeature_segmentWithClient_throwsBadParams() {
+        FeatureConfigCreateRequestDTO dto = FeatureConfigCreateRequestDTO.builder()
+                .environment(Environment.PROD)
+                .clientId("client1")
+                .segmentId(UUID.randomUUID())
+                .enabled(true)
+                .build();
+
+        ApiException ex = assertThrows(ApiException.class, () -> service.createConfigFeature(featureId, dto));
+
+        assertEquals(ErrorCodes.BAD_PARAMS, ex.getCode());
+        verifyNoInteractions(segmentRepository);
+    }
+
+    @Test
+    void createConfigFeature_unknownSegment_throwsSegmentNotFound() {
+        UUID segmentId = UUID.randomUUID();
+        FeatureConfigCreateRequestDTO dto = FeatureConfigCreateRequestDTO.builder()
+                .environment(Environment.PROD)
+                .segmentId(segmentId)
+                .enabled(true)
+                .build();
+        when(featureRepository.findById(featureId)).thenReturn(Optional.of(feature));
+        when(segmentRepository.findById(segmentId)).thenReturn(Optional.empty());
+
+        ApiException ex = assertThrows(ApiException.class, () -> service.createConfigFeature(featureId, dto));
+
+        assertEquals(ErrorCodes.SEGMENT_NOT_FOUND, ex.getCode());
+        verify(featureConfigRepository, never()).save(any());
+    }
+
+    @Test
+    void applyBatch_preReadsOnceSavesChangesTogetherAndPublishesOnce() {
+        FeatureConfig enabledC1 = FeatureConfig.builder().feature(feature).environment(Environment.PROD)
+                .clientId("c1").enabled(true).build();
+        FeatureConfig enabledC2 = FeatureConfig.builder().feature(feature).environment(Environment.PROD)
+                .clientId("c2").enabled(true).build();
+        when(featureRepository.findByIdForUpdate(featureId)).thenReturn(Optional.of(feature));
+        when(featureConfigRepository.findClientConfigs(eq(featureId), anyCollection()))
+                .thenReturn(List.of(enabledC1, enabledC2));
+
+        FeatureBatchActivationResponseDTO res = service.applyBatch(featureId, new FeatureBatchActivationRequestDTO(List.of(
+                new FeatureActivationRequestDTO(Environment.PROD, "c1", true),
+                new FeatureActivationRequestDTO(Environment.PROD, "c2", false),
+                new FeatureActivationRequestDTO(Environment.PROD, "c3", true),
+                new FeatureActivationRequestDTO(Environment.DEV, "c3", true),
+                new FeatureActivationRequestDTO(Environment.DEV, "c3", false))));
+
+        assertEquals(2, res.getCreated());
+        assertEquals(1, res.getUpdated());
+        assertEquals(1, res.getUnchanged());
+        assertFalse(enabledC2.isEnabled());
+        verify(featureConfigRepository, times(1)).findClientConfigs(featureId, Set.of("c1", "c2", "c3"));
+        verify(featureConfigRepository).saveAll(argThat(configs -> configs instanceof List<?> list && list.size() == 3
+                && list.contains(enabledC2)
+                && list.stream().anyMatch(c -> c instanceof FeatureConfig fc && fc.getEnvironment() == Environment.DEV
+                        && "c3".equals(fc.getClientId()) && !fc.isEnabled())));
+        verify(featureConfigRepository, never()).save(any());
+        verify(featureRepository, times(1)).incrementRevision(featureId);
+        verify(eventPublisher, times(1)).publishEvent(new FeatureChangedEvent(featureId));
+        verify(auditTrail).batchApplied(feature, 2, 1, 1, List.of(
+                new AuditTrail.ConfigChange(Environment.PROD, "c2", true, false),
+                new AuditTrail.ConfigChange(Environment.PROD, "c3", null, true),
+                new AuditTrail.ConfigChange(Environment.DEV, "c3", null, false)));
+    }
+
+    @Test
+    void applyBatch_nothingToChange_skipsWritesAndEvents() {
+        when(featureRepository.findByIdForUpdate(featureId)).thenReturn(Optional.of(feature));
+        when(featureConfigRepository.findClientConfigs(eq(featureId), anyCollection())).thenReturn(List.of(
+                FeatureConfig.builder().feature(feature).environment(Environment.PROD).clientId("c1").enabled(true).build()));
+
+        FeatureBatchActivationResponseDTO res = service.applyBatch(featureId, new FeatureBatchActivationRequestDTO(List.of(
+                new FeatureActivationRequestDTO(Environment.PROD, "c1", null))));
+
+        assertEquals(1, res.getUnchanged());
+        verify(featureConfigRepository, never()).saveAll(any());
+        verify(featureRepository, never()).incrementRevision(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void updateRollout_createsGlobalConfigWhenMissing() {
+        when(featureRepository.findByIdForUpdate(featureId)).thenReturn(Optional.of(feature));
+        when(featureConfigRepository.findByFeatureIdAndEnvironmentAndClientIdIsNull(featureId, Environment.PROD))
+                .thenReturn(Optional.empty());
+        when(featureConfigRepository.save(any(FeatureConfig.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        FeatureConfigResponseDTO res = service.updateRollout(featureId,
+                new FeatureRolloutRequestDTO(Environment.PROD, 5));
+
+        assertEquals(Environment.PROD, res.getEnvironment());
+        assertNull(res.getClientId());
+        assertTrue(res.getEnabled());
+        assertEquals(5, res.getRolloutPercentage());
+        verify(featureRepository).incrementRevision(featureId);
+        verify(eventPublisher).publishEvent(new FeatureChangedEvent(featureId));
+        verify(auditTrail).rolloutChanged(feature, Environment.PROD, null, 5);
+    }
+
+    @Test
+    void updateRollout_updatesExistingGlobalConfig() {
+        FeatureConfig existing = FeatureConfig.builder()
+                .feature(feature).environment(Environment.PROD).enabled(true).rolloutPercentage(5).build();
+        when(featureRepository.findByIdForUpdate(featureId)).thenReturn(Optional.of(feature));
+        when(featureConfigRepository.findByFeatureIdAndEnvironmentAndClientIdIsNull(featureId, Environment.PROD))
+                .thenReturn(Optional.of(existing));
+        when(featureConfigRepository.save(existing)).thenReturn(existing);
+
+        FeatureConfigResponseDTO res = service.updateRollout(featureId,
+                new FeatureRolloutRequestDTO(Environment.PROD, 50));
+
+        assertEquals(50, res.getRolloutPercentage());
+        assertEquals(50, existing.getRolloutPercentage());
+    }
+
+    private AuditEvent batchEvent(Instant occurredAt, String... clientIds) {
+        List<Map<String, Object>> changes = new ArrayList<>();
+        for (String clientId : clientIds) {
+            changes.add(Map.of("environment", "PROD", "clientId", clientId, "after", true));
+        }
+        return AuditEvent.builder()
+                .id(UUID.randomUUID())
+                .occurredAt(occurredAt)
+                .action(AuditAction.BATCH_APPLIED)
+                .featureId(featureId)
+                .featureName("flag-x")
+                .actor("admin")
+                .after(Map.of("created", clientIds.length, "changes", changes))
+                .build();
+    }
+
+    private AuditEvent historyEvent(Instant occurredAt) {
+        return AuditEvent.builder()
+                .id(UUID.randomUUID())
+                .occurredAt(occurredAt)
+                .action(AuditAction.FEATURE_ENABLED)
+                .featureId(featureId)
+                .featureName("flag-x")
+                .actor("admin")
+                .build();
+    }
 }
@@ -0,0 +1,289 @@
+package com.bytescolab.featureflag.service;
+
+import com.bytescolab.featureflag.model.enums.Environment;
+import com.bytescolab.featureflag.repository.FeatureConfigRepository;
+import com.bytescolab.featureflag.repository.FeatureRepository;
+import com.bytescolab.featureflag.repository.SegmentRepository;
+import com.bytescolab.featureflag.repository.TargetingRuleRepository;
+import com.bytescolab.featureflag.repository.projection.FeatureConfigRow;
+import com.bytescolab.featureflag.repository.projection.FeatureRow;
+import com.bytescolab.featureflag.repository.projection.SegmentMemberRow;
+import com.bytescolab.featureflag.service.feature.event.FeatureChangedEvent;
+import com.bytescolab.featureflag.service.feature.snapshot.FeatureSnapshot;
+import com.bytescolab.featureflag.service.feature.snapshot.FeatureSnapshotHolder;
+import com.bytescolab.featureflag.service.feature.snapshot.FeatureState;
+import com.bytescolab.featureflag.service.segment.SegmentRegistry;
+import com.bytescolab.featureflag.service.segment.event.SegmentChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+class FeatureSnapshotHolderTest {
+
+    @Mock
+    private FeatureRepository featureRepository;
+
+    @Mock
+    private FeatureConfigRepository featureConfigRepository;
+
+    @Mock
+    private TargetingRuleRepository targetingRuleRepository;
+
+    @Mock
+    private SegmentRepository segmentRepository;
+
+    private SegmentRegistry segmentRegistry;
+    private FeatureSnapshotHolder holder;
+    private UUID featureId;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        segmentRegistry = new SegmentRegistry(segmentRepository);
+        holder = new FeatureSnapshotHolder(featureRepository, featureConfigRepository, targetingRuleRepository,
+                segmentRegistry, 100);
+        featureId = UUID.randomUUID();
+    }
+
+    @Test
+    void reloadAll_buildsSnapshotFromTwoQueries() {
+        UUID otherId = UUID.randomUUID();
+        when(featureRepository.findAllRows()).thenReturn(List.of(
+                new FeatureRow(featureId, "flag-a", false, 0L),
+                new FeatureRow(otherId, "flag-b", true, 0L)));
+        when(featureConfigRepository.findAllRows()).thenReturn(List.of(
+                new FeatureConfigRow(featureId, Environment.PROD, "c1", true)));
+
+        holder.reloadAll();
+
+        FeatureSnapshot snapshot = holder.current();
+        assertEquals(2, snapshot.size());
+        assertEquals(1L, snapshot.getVersion());
+        assertTrue(snapshot.get(featureId).isEnabled("c1", Environment.PROD));
+        assertFalse(snapshot.get(featureId).isEnabled("c2", Environment.PROD));
+        assertTrue(snapshot.get(otherId).isEnabled("c1", Environment.DEV));
+        verify(featureRepository).findAllRows();
+        verify(featureConfigRepository).findAllRows();
+    }
+
+    @Test
+    void reloadAllInChunks_loadsEveryChunkAndBuildsOneSnapshot() {
+        List<UUID> ids = List.of(featureId, UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        when(featureRepository.findAllIds()).thenReturn(ids);
+        when(featureRepository.findRowsByIdIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<UUID> chunk = invocation.getArgument(0);
+            return chunk.stream().map(id -> new FeatureRow(id, "flag-" + id, false, 0L)).toList();
+        });
+        when(featureConfigRepository.findRowsByFeatureIdIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<UUID> chunk = invocation.getArgument(0);
+            return chunk.contains(featureId)
+                    ? List.of(new FeatureConfigRow(featureId, Environment.PROD, "c1", true))
+                    : List.of();
+        });
+
+        holder.reloadAll(2, 3);
+
+        FeatureSnapshot snapshot = holder.current();
+        assertEquals(5, snapshot.size());
+        assertEquals(1L, snapshot.getVersion());
+        assertTrue(snapshot.get(featureId).isEnabled("c1", Environment.PROD));
+        verify(featureRepository, times(3)).findRowsByIdIn(anyCollection());
+        verify(featureRepository, never()).findAllRows();
+    }
+
+    @Test
+    void reloadAllInChunks_fewFeatures_usesSingleLoad() {
+        when(featureRepository.findAllIds()).thenReturn(List.of(featureId));
+        when(featureRepository.findAllRows()).thenReturn(List.of(new FeatureRow(featureId, "flag-a", false, 0L)));
+
+        holder.reloadAll(100, 4);
+
+        assertEquals(1, holder.current().size());
+        verify(featureRepository, never()).findRowsByIdIn(anyCollection());
+    }
+
+    @Test
+    void onFeatureChanged_swapsOnlyChangedFeatureAndBumpsVersion() {
+        when(featureRepository.findAllRows()).thenReturn(List.of(new FeatureRow(featureId, "flag-a", false, 0L)));
+        when(featureConfigRepository.findAllRows()).thenReturn(List.of());
+        holder.reloadAll();
+        FeatureSnapshot before = holder.current();
+
+        when(featureRepository.findRowById(featureId)).thenReturn(Optional.of(new FeatureRow(featureId, "flag-a", false, 0L)));
+        when(featureConfigRepository.findRowsByFeatureId(featureId)).thenReturn(List.of(
+                new FeatureConfigRow(featureId, Environment.DEV, null, true)));
+
+        holder.onFeatureChanged(new FeatureChangedEvent(featureId));
+
+        FeatureSnapshot after = holder.current();
+        assertNotSame(before, after);
+        assertEquals(before.getVersion() + 1, after.getVersion());
+        assertFalse(before.get(featureId).isEnabled("c1", Environment.DEV));
+        assertTrue(after.get(featureId).isEnabled("c1", Environment.DEV));
+    }
+
+    @Test
+    void getOrLoad_missingFeature_loadsFromDatabaseOnce() {
+        when(featureRepository.findRowById(featureId)).thenReturn(Optional.of(new FeatureRow(featureId, "flag-a", true, 0L)));
+        when(featureConfigRepository.findRowsByFeatureId(featureId)).thenReturn(List.of());
+
+        FeatureState first = holder.getOrLoad(featureId);
+        FeatureState second = holder.getOrLoad(featureId);
+
+        assertNotNull(first);
+        assertSame(first, second);
+        verify(featureRepository, times(1)).findRowById(featureId);
+    }
+
+    @Test
+    void getOrLoad_unknownFeature_returnsNull() {
+        when(featureRepository.findRowById(featureId)).thenReturn(Optional.empty());
+
+        assertNull(holder.getOrLoad(featureId));
+        assertNull(holder.current().get(featureId));
+    }
+
+    @Test
+    void getOrLoad_unknownFeature_isRememberedUntilAFeatureIsCreated() {
+        when(featureRepository.findRowById(featureId)).thenReturn(Optional.empty());
+
+        assertNull(holder.getOrLoad(featureId));
+        assertNull(holder.getOrLoad(featureId));
+        verify(featureRepository, times(1)).findRowById(featureId);
+
+        when(featureRepository.findRowById(featureId)).thenReturn(Optional.of(new FeatureRow(featureId, "flag-a", true, 0L)));
+        holder.onFeatureChanged(new FeatureChangedEvent(featureId));
+
+        assertNotNull(holder.getOrLoad(featureId));
+    }
+
+    @Test
+    void getOrLoadAll_unknownFeatures_areNotQueriedAgain() {
+        UUID unknownId = UUID.randomUUID();
+
+        assertTrue(holder.getOrLoadAll(List.of(unknownId)).isEmpty());
+        assertTrue(holder.getOrLoadAll(List.of(unknownId)).isEmpty());
+        assertNull(holder.getOrLoad(unknownId));
+
+        verify(featureRepository, times(1)).findRowsByIdIn(anyCollection());
+        verify(featureRepository, never()).findRowById(unknownId);
+    }
+
+    @Test
+    void getOrLoadAll_loadsOnlyMissingFeaturesInOneQuery() {
+        UUID cachedId = UUID.randomUUID();
+        UUID unknownId = UUID.randomUUID();
+        when(featureRepository.findAllRows()).thenReturn(List.of(new FeatureRow(cachedId, "flag-cached", true, 0L)));
+        when(featureConfigRepository.findAllRows()).thenReturn(List.of());
+        holder.reloadAll();
+
+        when(featureRepository.findRowsByIdIn(anyCollection())).thenReturn(List.of(new FeatureRow(featureId, "flag-a", false, 0L)));
+        when(featureConfigRepository.findRowsByFeatureIdIn(anyCollection())).thenReturn(List.of(
+                new FeatureConfigRow(featureId, Environment.DEV, "c1", true)));
+
+        Map<UUID, FeatureState> states = holder.getOrLoadAll(List.of(cachedId, featureId, unknownId));
+
+        assertEquals(2, states.size());
+        assertTrue(states.get(featureId).isEnabled("c1", Environment.DEV));
+        assertNotNull(holder.current().get(featureId));
+        verify(featureRepository, times(1)).findRowsByIdIn(Set.of(featureId, unknownId));
+        verify(featureRepository, never()).findRowById(any());
+    }
+
+    @Test
+    void getOrLoadAll_publishesAllLoadedFeaturesInOneSnapshot() {
+        UUID otherId = UUID.randomUUID();
+        when(featureRepository.findRowsByIdIn(anyCollection())).thenReturn(List.of(
+                new FeatureRow(featureId, "flag-a", false, 0L),
+                new FeatureRow(otherId, "flag-b", true, 1L)));
+        long before = holder.current().getVersion();
+
+        holder.getOrLoadAll(List.of(featureId, otherId));
+
+        FeatureSnapshot after = holder.current();
+        assertEquals(before + 1, after.getVersion());
+        assertEquals(2, after.size());
+        assertEquals(3L, after.getFlagSetVersion());
+    }
+
+    @Test
+    void fingerprint_dependsOnWhichFeaturesChanged_notOnOrderOrRevisionSum() {
+        UUID otherId = UUID.randomUUID();
+        FeatureState a0 = FeatureState.of(new FeatureRow(featureId, "flag-a", false, 0L), List.of());
+        FeatureState a1 = FeatureState.of(new FeatureRow(featureId, "flag-a", false, 1L), List.of());
+        FeatureState b0 = FeatureState.of(new FeatureRow(otherId, "flag-b", false, 0L), List.of());
+        FeatureState b1 = FeatureState.of(new FeatureRow(otherId, "flag-b", false, 1L), List.of());
+
+        FeatureSnapshot aChanged = FeatureSnapshot.of(1L, List.of(a1, b0));
+        FeatureSnapshot bChanged = FeatureSnapshot.of(1L, List.of(a0, b1));
+
+        assertEquals(aChanged.getFlagSetVersion(), bChanged.getFlagSetVersion());
+        assertNotEquals(aChanged.getFingerprint(), bChanged.getFingerprint());
+        assertEquals(aChanged.getFingerprint(), FeatureSnapshot.of(1L, List.of(b0, a1)).getFingerprint());
+        assertEquals(aChanged.getFingerprint(), bChanged.withAll(List.of(a1, b0)).getFingerprint());
+        assertEquals(FeatureSnapshot.of(1L, List.of(a0)).getFingerprint(), aChanged.with(a0).without(otherId).getFingerprint());
+    }
+
+    @Test
+    void flagSetVersion_growsWithEveryRevisionAndCreation() {
+        when(featureRepository.findAllRows()).thenReturn(List.of(new FeatureRow(featureId, "flag-a", false, 2L)));
+        when(featureConfigRepository.findAllRows()).thenReturn(List.of());
+        holder.reloadAll();
+        assertEquals(3L, holder.current().getFlagSetVersion());
+
+        when(featureRepository.findRowById(featureId)).thenReturn(Optional.of(new FeatureRow(featureId, "flag-a", false, 3L)));
+        holder.reload(featureId);
+        assertEquals(4L, holder.current().getFlagSetVersion());
+
+        UUID createdId = UUID.randomUUID();
+        when(featureRepository.findRowById(createdId)).thenReturn(Optional.of(new FeatureRow(createdId, "flag-b", true, 0L)));
+        holder.reload(createdId);
+        assertEquals(5L, holder.current().getFlagSetVersion());
+    }
+
+    @Test
+    void segmentConfigs_shareMembershipAndSeeMemberChangesWithoutRebuild() {
+        UUID segmentId = UUID.randomUUID();
+        UUID otherId = UUID.randomUUID();
+        when(segmentRepository.findAllMemberRows()).thenReturn(List.of(
+                new SegmentMemberRow(segmentId, "beta-1"), new SegmentMemberRow(segmentId, "beta-2")));
+        segmentRegistry.reloadAll();
+        when(featureRepository.findAllRows()).thenReturn(List.of(
+                new FeatureRow(featureId, "flag-a", false, 0L),
+                new FeatureRow(otherId, "flag-b", true, 0L)));
+        when(featureConfigRepository.findAllRows()).thenReturn(List.of(
+                new FeatureConfigRow(featureId, Environment.PROD, null, true, null, segmentId),
+                new FeatureConfigRow(otherId, Environment.PROD, null, false, null, segmentId),
+                new FeatureConfigRow(otherId, Environment.PROD, "beta-2", true)));
+
+        holder.reloadAll();
+        FeatureState a = holder.current().get(featureId);
+        FeatureState b = holder.current().get(otherId);
+
+        assertTrue(a.isEnabled("beta-1", Environment.PROD));
+        assertFalse(a.isEnabled("beta-1", Environment.DEV));
+        assertFalse(a.isEnabled("someone", Environment.PROD));
+        assertFalse(b.isEnabled("beta-1", Environment.PROD));
+        assertTrue(b.isEnabled("beta-2", Environment.PROD));
+        assertTrue(b.isEnabled("someone", Environment.PROD));
+
+        when(segmentRepository.findMemberIds(segmentId)).thenReturn(List.of("gamma"));
+        segmentRegistry.onSegmentChanged(new SegmentChangedEvent(segmentId));
+
+        assertFalse(a.isEnabled("beta-1", Environment.PROD));
+        assertTrue(a.isEnabled("gamma", Environment.PROD));
+    }
+}
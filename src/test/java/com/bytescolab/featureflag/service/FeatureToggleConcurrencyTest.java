@@ -0,0 +1,133 @@
+package com.bytescolab.featureflag.service;
+
+import com.bytescolab.featureflag.exception.ApiException;
+import com.bytescolab.featureflag.exception.ErrorCodes;
+import com.bytescolab.featureflag.model.entity.Feature;
+import com.bytescolab.featureflag.model.enums.Environment;
+import com.bytescolab.featureflag.repository.FeatureConfigRepository;
+import com.bytescolab.featureflag.repository.FeatureRepository;
+import com.bytescolab.featureflag.repository.dto.feature.request.FeatureActivationRequestDTO;
+import com.bytescolab.featureflag.repository.dto.feature.request.FeatureRolloutRequestDTO;
+import com.bytescolab.featureflag.repository.projection.FeatureConfigRow;
+import com.bytescolab.featureflag.service.feature.FeatureService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:toggles;LOCK_TIMEOUT=10000;DB_CLOSE_DELAY=-1")
+class FeatureToggleConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int TOGGLES_PER_THREAD = 25;
+
+    @Autowired
+    private FeatureService featureService;
+
+    @Autowired
+    private FeatureRepository featureRepository;
+
+    @Autowired
+    private FeatureConfigRepository featureConfigRepository;
+
+    @Test
+    void concurrentTogglesOnSameClient_neverDuplicateAndEverySuccessFlipsState() throws Exception {
+        Feature feature = featureRepository.save(Feature.builder()
+                .name("concurrent-flag").description("d").enabledByDefault(false).build());
+        AtomicInteger enabled = new AtomicInteger();
+        AtomicInteger disabled = new AtomicInteger();
+        ConcurrentLinkedQueue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            futures.add(pool.submit((Callable<Void>) () -> {
+                start.await();
+                for (int i = 0; i < TOGGLES_PER_THREAD; i++) {
+                    boolean enable = (thread + i) % 2 == 0;
+                    try {
+                        if (enable) {
+                            featureService.enableFeatureForClientOrEnv(feature.getId(), request(true));
+                            enabled.incrementAndGet();
+                        } else {
+                            featureService.disableFeatureForClientOrEnv(feature.getId(), request(false));
+                            disabled.incrementAndGet();
+                        }
+                    } catch (ApiException e) {
+                        // BAD_PARAMS: desactivación anterior a la primera activación, sin configuración aún
+                        if (!Set.of(ErrorCodes.FEATURE_ENABLE, ErrorCodes.FEATURE_DISABLE, ErrorCodes.BAD_PARAMS).contains(e.getCode())) {
+                            unexpected.add(e);
+                        }
+                    } catch (RuntimeException e) {
+                        unexpected.add(e);
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertTrue(unexpected.isEmpty(), () -> "Errores inesperados: " + unexpected);
+        List<FeatureConfigRow> rows = featureConfigRepository.findRowsByFeatureId(feature.getId());
+        assertEquals(1, rows.size());
+        int difference = enabled.get() - disabled.get();
+        assertTrue(difference == 0 || difference == 1, "enable/disable deben alternarse: " + difference);
+        assertEquals(difference == 1, rows.get(0).enabled());
+        assertEquals(enabled.get() + disabled.get(),
+                featureRepository.findRowById(feature.getId()).orElseThrow().revision());
+        assertTrue(enabled.get() > 0);
+    }
+
+    @Test
+    void concurrentFirstRollouts_createOneGlobalConfigAndBumpRevisionEachTime() throws Exception {
+        Feature feature = featureRepository.save(Feature.builder()
+                .name("concurrent-rollout").description("d").enabledByDefault(false).build());
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int percentage = 10 + t;
+            futures.add(pool.submit((Callable<Void>) () -> {
+                start.await();
+                featureService.updateRollout(feature.getId(), new FeatureRolloutRequestDTO(Environment.PROD, percentage));
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        List<FeatureConfigRow> rows = featureConfigRepository.findRowsByFeatureId(feature.getId());
+        assertEquals(1, rows.size());
+        assertNull(rows.get(0).clientId());
+        assertEquals(THREADS, featureRepository.findRowById(feature.getId()).orElseThrow().revision());
+    }
+
+    private static FeatureActivationRequestDTO request(boolean enabled) {
+        return new FeatureActivationRequestDTO(Environment.PROD, "c1", enabled);
+    }
+}
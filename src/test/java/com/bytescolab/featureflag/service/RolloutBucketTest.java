@@ -0,0 +1,78 @@
+package com.bytescolab.featureflag.service;
+
+import com.bytescolab.featureflag.model.enums.Environment;
+import com.bytescolab.featureflag.repository.projection.FeatureConfigRow;
+import com.bytescolab.featureflag.repository.projection.FeatureRow;
+import com.bytescolab.featureflag.service.feature.snapshot.FeatureState;
+import com.bytescolab.featureflag.service.feature.snapshot.RolloutBucket;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RolloutBucketTest {
+
+    private final UUID featureId = UUID.fromString("3f1c2d4e-5a6b-4c7d-8e9f-0a1b2c3d4e5f");
+
+    @Test
+    void bucket_isStableAndInRange() {
+        int bucket = RolloutBucket.of(featureId, "client-1");
+
+        assertEquals(bucket, RolloutBucket.of(new UUID(featureId.getMostSignificantBits(), featureId.getLeastSignificantBits()), "client-1"));
+        for (int i = 0; i < 1000; i++) {
+            int b = RolloutBucket.of(featureId, "client-" + i);
+            assertTrue(b >= 0 && b < RolloutBucket.BUCKETS);
+        }
+    }
+
+    @Test
+    void bucket_matchesPinnedValuesSharedWithSdk() {
+        // Mismos valores que RolloutBucketTest del SDK (featureflag-sdk): si cambian, los clientes cambian de bucket.
+        assertEquals(64, RolloutBucket.of(UUID.fromString("3f2504e0-4f89-11d3-9a0c-0305e82c3301"), "client-1"));
+        assertEquals(10, RolloutBucket.of(UUID.fromString("3f2504e0-4f89-11d3-9a0c-0305e82c3301"), "acme"));
+        assertEquals(23, RolloutBucket.of(UUID.fromString("00000000-0000-0000-0000-000000000001"), "user-42"));
+        assertEquals(95, RolloutBucket.of(UUID.fromString("b7d9c8e2-1234-4abc-9def-0123456789ab"), "user-42"));
+    }
+
+    @Test
+    void isIncluded_matchesPercentageAndOnlyGrows() {
+        int clients = 20_000;
+        int atFive = 0;
+        for (int i = 0; i < clients; i++) {
+            String clientId = "client-" + i;
+            boolean inFive = RolloutBucket.isIncluded(featureId, clientId, 5);
+            if (inFive) {
+                atFive++;
+                assertTrue(RolloutBucket.isIncluded(featureId, clientId, 50));
+            }
+            assertFalse(RolloutBucket.isIncluded(featureId, clientId, 0));
+            assertTrue(RolloutBucket.isIncluded(featureId, clientId, 100));
+        }
+
+        assertEquals(0.05, atFive / (double) clients, 0.01);
+        assertFalse(RolloutBucket.isIncluded(featureId, null, 99));
+        assertTrue(RolloutBucket.isIncluded(featureId, null, 100));
+    }
+
+    @Test
+    void featureState_appliesRolloutToGlobalConfigOnly() {
+        FeatureState state = FeatureState.of(new FeatureRow(featureId, "flag", false, 0L), List.of(
+                new FeatureConfigRow(featureId, Environment.PROD, null, true, 30),
+                new FeatureConfigRow(featureId, Environment.PROD, "vip", true),
+                new FeatureConfigRow(featureId, Environment.DEV, null, false, 100)));
+
+        int enabled = 0;
+        for (int i = 0; i < 10_000; i++) {
+            String clientId = "client-" + i;
+            boolean result = state.isEnabled(clientId, Environment.PROD);
+            assertEquals(RolloutBucket.isIncluded(featureId, clientId, 30), result);
+            enabled += result ? 1 : 0;
+        }
+        assertEquals(0.30, enabled / 10_000.0, 0.02);
+        assertTrue(state.isEnabled("vip", Environment.PROD));
+        assertFalse(state.isEnabled("client-1", Environment.DEV));
+        assertFalse(state.isEnabled("client-1", Environment.STAGING));
+    }
+}
@@ -0,0 +1,125 @@
+package com.bytescolab.featureflag.service;
+
+import com.bytescolab.featureflag.model.entity.TargetingCondition;
+import com.bytescolab.featureflag.model.enums.ConditionOperator;
+import com.bytescolab.featureflag.model.enums.Environment;
+import com.bytescolab.featureflag.repository.projection.FeatureConfigRow;
+import com.bytescolab.featureflag.repository.projection.FeatureRow;
+import com.bytescolab.featureflag.repository.projection.TargetingRuleRow;
+import com.bytescolab.featureflag.service.feature.snapshot.FeatureState;
+import com.bytescolab.featureflag.service.feature.targeting.CompiledRule;
+import com.bytescolab.featureflag.service.feature.targeting.RuleCompiler;
+import com.bytescolab.featureflag.service.feature.targeting.SemanticVersion;
+import com.bytescolab.featureflag.service.feature.targeting.TargetingMatcher;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RuleCompilerTest {
+
+    private final UUID featureId = UUID.randomUUID();
+
+    @Test
+    void setOperators_useAttributeAndClientId() {
+        List<String> clients = IntStream.range(0, 10_000).mapToObj(i -> "client-" + i).toList();
+        TargetingMatcher in = RuleCompiler.compile(new TargetingCondition("clientId", ConditionOperator.IN, clients));
+        TargetingMatcher notIn = RuleCompiler.compile(new TargetingCondition("region", ConditionOperator.NOT_IN, List.of("US")));
+
+        assertTrue(in.matches("client-9999", Map.of()));
+        assertFalse(in.matches("other", Map.of()));
+        assertTrue(notIn.matches("c1", Map.of("region", "EU")));
+        assertTrue(notIn.matches("c1", Map.of()));
+        assertFalse(notIn.matches("c1", Map.of("region", "US")));
+    }
+
+    @Test
+    void comparisonOperators_parseOnceAndRejectBadValues() {
+        TargetingMatcher seats = RuleCompiler.compile(new TargetingCondition("seats", ConditionOperator.GTE, List.of("10")));
+        TargetingMatcher version = RuleCompiler.compile(new TargetingCondition("appVersion", ConditionOperator.SEMVER_LT, List.of("2.10")));
+
+        assertTrue(seats.matches("c1", Map.of("seats", "10")));
+        assertFalse(seats.matches("c1", Map.of("seats", "9.5")));
+        assertFalse(seats.matches("c1", Map.of("seats", "many")));
+        assertTrue(version.matches("c1", Map.of("appVersion", "2.9.13")));
+        assertFalse(version.matches("c1", Map.of("appVersion", "v2.10.0-beta")));
+        assertFalse(version.matches("c1", Map.of()));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> RuleCompiler.compile(new TargetingCondition("seats", ConditionOperator.GT, List.of("x"))));
+        assertThrows(IllegalArgumentException.class,
+                () -> RuleCompiler.compile(new TargetingCondition("appVersion", ConditionOperator.SEMVER_GT, List.of("2.x"))));
+        assertThrows(IllegalArgumentException.class,
+                () -> RuleCompiler.compile(new TargetingCondition("region", ConditionOperator.IN, List.of())));
+    }
+
+    @Test
+    void numericOperators_ignoreNonFiniteAttributes() {
+        TargetingMatcher seats = RuleCompiler.compile(new TargetingCondition("seats", ConditionOperator.GT, List.of("10")));
+        TargetingMatcher limit = RuleCompiler.compile(new TargetingCondition("seats", ConditionOperator.LT, List.of("10")));
+
+        assertFalse(seats.matches("c1", Map.of("seats", "Infinity")));
+        assertFalse(seats.matches("c1", Map.of("seats", "NaN")));
+        assertFalse(limit.matches("c1", Map.of("seats", "-Infinity")));
+        assertFalse(limit.matches("c1", Map.of("seats", "NaN")));
+        assertThrows(IllegalArgumentException.class,
+                () -> RuleCompiler.compile(new TargetingCondition("seats", ConditionOperator.GT, List.of("Infinity"))));
+    }
+
+    @Test
+    void comparisonOperators_rejectMoreThanOneValue() {
+        assertThrows(IllegalArgumentException.class,
+                () -> RuleCompiler.compile(new TargetingCondition("seats", ConditionOperator.GT, List.of("10", "20"))));
+        assertThrows(IllegalArgumentException.class,
+                () -> RuleCompiler.compile(new TargetingCondition("seats", ConditionOperator.LTE, List.of("10", "20"))));
+        assertThrows(IllegalArgumentException.class,
+                () -> RuleCompiler.compile(new TargetingCondition("appVersion", ConditionOperator.SEMVER_GTE, List.of("1.0", "2.0"))));
+        assertDoesNotThrow(
+                () -> RuleCompiler.compile(new TargetingCondition("region", ConditionOperator.IN, List.of("EU", "US"))));
+    }
+
+    @Test
+    void semanticVersion_ordersNumerically() {
+        assertTrue(SemanticVersion.parse("1.10.0") > SemanticVersion.parse("1.9.9"));
+        assertEquals(SemanticVersion.parse("2"), SemanticVersion.parse("v2.0.0+42"));
+        assertEquals(SemanticVersion.INVALID, SemanticVersion.parse("1.2.3.4"));
+        assertEquals(SemanticVersion.INVALID, SemanticVersion.parse(""));
+    }
+
+    @Test
+    void compileAll_ordersByPriorityAndConjoinsConditions() {
+        List<CompiledRule> rules = RuleCompiler.compileAll(List.of(
+                rule(20, null, true, new TargetingCondition("plan", ConditionOperator.IN, List.of("pro"))),
+                rule(10, Environment.PROD, false,
+                        new TargetingCondition("plan", ConditionOperator.IN, List.of("pro")),
+                        new TargetingCondition("region", ConditionOperator.IN, List.of("EU")))));
+
+        assertEquals(List.of(10, 20), rules.stream().map(CompiledRule::getPriority).toList());
+        assertTrue(rules.get(0).matches(Environment.PROD, "c1", Map.of("plan", "pro", "region", "EU")));
+        assertFalse(rules.get(0).matches(Environment.PROD, "c1", Map.of("plan", "pro")));
+        assertFalse(rules.get(0).matches(Environment.DEV, "c1", Map.of("plan", "pro", "region", "EU")));
+        assertTrue(rules.get(1).matches(Environment.DEV, "c1", Map.of("plan", "pro")));
+    }
+
+    @Test
+    void featureState_rulesApplyAfterClientOverrideAndBeforeDefaults() {
+        List<CompiledRule> rules = RuleCompiler.compileAll(List.of(
+                rule(1, null, true, new TargetingCondition("region", ConditionOperator.IN, List.of("EU")))));
+        FeatureState state = FeatureState.of(new FeatureRow(featureId, "flag", false, 0L), List.of(
+                new FeatureConfigRow(featureId, Environment.PROD, "blocked", false),
+                new FeatureConfigRow(featureId, Environment.PROD, null, false)), rules);
+
+        assertTrue(state.isEnabled("c1", Environment.PROD, Map.of("region", "EU")));
+        assertFalse(state.isEnabled("blocked", Environment.PROD, Map.of("region", "EU")));
+        assertFalse(state.isEnabled("c1", Environment.PROD, Map.of("region", "US")));
+        assertFalse(state.isEnabled("c1", Environment.DEV));
+    }
+
+    private TargetingRuleRow rule(int priority, Environment environment, boolean enabled, TargetingCondition... conditions) {
+        return new TargetingRuleRow(UUID.randomUUID(), featureId, environment, priority, enabled, List.of(conditions));
+    }
+}
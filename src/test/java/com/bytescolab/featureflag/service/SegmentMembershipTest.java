@@ -0,0 +1,95 @@
+package com.bytescolab.featureflag.service;
+
+import com.bytescolab.featureflag.repository.SegmentRepository;
+import com.bytescolab.featureflag.repository.projection.SegmentMemberRow;
+import com.bytescolab.featureflag.service.segment.IntHashSet;
+import com.bytescolab.featureflag.service.segment.SegmentMembership;
+import com.bytescolab.featureflag.service.segment.SegmentRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SegmentMembershipTest {
+
+    @Test
+    void intHashSet_containsExactlyItsValues() {
+        int[] values = IntStream.range(0, 10_000).map(i -> i * 3).toArray();
+        IntHashSet set = IntHashSet.of(values, values.length);
+
+        assertEquals(10_000, set.size());
+        for (int i = 0; i < 30_000; i++) {
+            assertEquals(i % 3 == 0, set.contains(i), "valor " + i);
+        }
+        assertFalse(set.contains(-1));
+    }
+
+    @Test
+    void intHashSet_ignoresDuplicatesAndHandlesEmpty() {
+        assertEquals(2, IntHashSet.of(new int[]{7, 7, 9}, 3).size());
+        assertSame(IntHashSet.EMPTY, IntHashSet.of(new int[0], 0));
+        assertFalse(IntHashSet.EMPTY.contains(0));
+    }
+
+    @Test
+    void registry_sharesHandlesAndSwapsMembersInPlace() {
+        SegmentRepository repository = mock(SegmentRepository.class);
+        UUID beta = UUID.randomUUID();
+        UUID vip = UUID.randomUUID();
+        List<SegmentMemberRow> rows = new ArrayList<>();
+        for (int i = 0; i < 200_000; i++) {
+            rows.add(new SegmentMemberRow(beta, "client-" + i));
+        }
+        rows.add(new SegmentMemberRow(vip, "client-5"));
+        when(repository.findAllMemberRows()).thenReturn(rows);
+        SegmentRegistry registry = new SegmentRegistry(repository);
+        SegmentMembership handle = registry.membership(beta);
+
+        registry.reloadAll();
+
+        assertSame(handle, registry.membership(beta));
+        assertEquals(200_000, handle.size());
+        assertTrue(handle.contains("client-199999"));
+        assertFalse(handle.contains("client-200000"));
+        assertFalse(handle.contains(null));
+        assertTrue(registry.membership(vip).contains("client-5"));
+        assertFalse(registry.membership(vip).contains("client-6"));
+
+        when(repository.findMemberIds(beta)).thenReturn(List.of("client-5", "new-client"));
+        registry.reload(beta);
+
+        assertEquals(2, handle.size());
+        assertTrue(handle.contains("new-client"));
+        assertFalse(handle.contains("client-6"));
+    }
+
+    @Test
+    void reloadAll_rebuildsDictionaryAndDropsChurnedClients() {
+        SegmentRepository repository = mock(SegmentRepository.class);
+        UUID beta = UUID.randomUUID();
+        when(repository.findAllMemberRows()).thenReturn(List.of(
+                new SegmentMemberRow(beta, "old-1"), new SegmentMemberRow(beta, "old-2")));
+        SegmentRegistry registry = new SegmentRegistry(repository);
+        SegmentMembership handle = registry.membership(beta);
+        registry.reloadAll();
+
+        when(repository.findMemberIds(beta)).thenReturn(List.of("old-1", "new-1"));
+        registry.reload(beta);
+        assertEquals(3, registry.getClientCount());
+
+        when(repository.findAllMemberRows()).thenReturn(List.of(
+                new SegmentMemberRow(beta, "old-1"), new SegmentMemberRow(beta, "new-1")));
+        registry.reloadAll();
+
+        assertEquals(2, registry.getClientCount());
+        assertTrue(handle.contains("old-1"));
+        assertTrue(handle.contains("new-1"));
+        assertFalse(handle.contains("old-2"));
+    }
+}
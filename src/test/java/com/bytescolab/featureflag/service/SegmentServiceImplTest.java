@@ -0,0 +1,144 @@
+package com.bytescolab.featureflag.service;
+
+import com.bytescolab.featureflag.exception.ApiException;
+import com.bytescolab.featureflag.exception.ErrorCodes;
+import com.bytescolab.featureflag.model.entity.Segment;
+import com.bytescolab.featureflag.repository.FeatureConfigRepository;
+import com.bytescolab.featureflag.repository.FeatureRepository;
+import com.bytescolab.featureflag.repository.SegmentRepository;
+import com.bytescolab.featureflag.repository.dto.segment.request.SegmentCreateRequestDTO;
+import com.bytescolab.featureflag.repository.dto.segment.request.SegmentMembersRequestDTO;
+import com.bytescolab.featureflag.repository.dto.segment.response.SegmentResponseDTO;
+import com.bytescolab.featureflag.repository.projection.FeatureRow;
+import com.bytescolab.featureflag.service.audit.AuditTrail;
+import com.bytescolab.featureflag.service.feature.event.FeatureChangedEvent;
+import com.bytescolab.featureflag.service.segment.SegmentRegistry;
+import com.bytescolab.featureflag.service.segment.SegmentServiceImpl;
+import com.bytescolab.featureflag.service.segment.event.SegmentChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class SegmentServiceImplTest {
+
+    @Mock
+    private SegmentRepository segmentRepository;
+
+    @Mock
+    private FeatureConfigRepository featureConfigRepository;
+
+    @Mock
+    private FeatureRepository featureRepository;
+
+    @Mock
+    private SegmentRegistry segmentRegistry;
+
+    @Mock
+    private AuditTrail auditTrail;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private SegmentServiceImpl service;
+
+    private UUID segmentId;
+    private Segment segment;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        segmentId = UUID.randomUUID();
+        segment = Segment.builder().id(segmentId).name("beta").clientIds(new HashSet<>(Set.of("c1", "c2"))).build();
+    }
+
+    @Test
+    void createSegment_savesAndPublishesSegmentChange() {
+        when(segmentRepository.existsByName("beta")).thenReturn(false);
+        when(segmentRepository.save(any(Segment.class))).thenAnswer(invocation -> {
+            Segment saved = invocation.getArgument(0);
+            saved.setId(segmentId);
+            return saved;
+        });
+
+        SegmentResponseDTO res = service.createSegment(
+                SegmentCreateRequestDTO.builder().name("beta").clientIds(Set.of("c1", "c2", "c3")).build());
+
+        assertEquals(segmentId, res.getId());
+        assertEquals(3, res.getMemberCount());
+        verify(eventPublisher).publishEvent(new SegmentChangedEvent(segmentId));
+    }
+
+    @Test
+    void createSegment_duplicateName_throws() {
+        when(segmentRepository.existsByName("beta")).thenReturn(true);
+
+        ApiException ex = assertThrows(ApiException.class,
+                () -> service.createSegment(SegmentCreateRequestDTO.builder().name("beta").build()));
+
+        assertEquals(ErrorCodes.SEGMENT_EXISTS, ex.getCode());
+        verify(segmentRepository, never()).save(any());
+    }
+
+    @Test
+    void replaceMembers_reloadsSegmentThenBumpsEveryFeatureUsingIt() {
+        UUID featureA = UUID.randomUUID();
+        UUID featureB = UUID.randomUUID();
+        when(segmentRepository.findById(segmentId)).thenReturn(Optional.of(segment));
+        when(segmentRepository.save(segment)).thenReturn(segment);
+        when(featureConfigRepository.findFeatureIdsBySegmentId(segmentId)).thenReturn(List.of(featureA, featureB));
+        when(featureRepository.findRowsByIdIn(List.of(featureA, featureB))).thenReturn(List.of(
+                new FeatureRow(featureA, "flag-a", false, 1L), new FeatureRow(featureB, "flag-b", true, 4L)));
+
+        SegmentResponseDTO res = service.replaceMembers(segmentId, new SegmentMembersRequestDTO(Set.of("c2", "c9")));
+
+        assertEquals(Set.of("c2", "c9"), segment.getClientIds());
+        assertEquals(2, res.getMemberCount());
+        InOrder inOrder = inOrder(eventPublisher, featureRepository);
+        inOrder.verify(eventPublisher).publishEvent(new SegmentChangedEvent(segmentId));
+        inOrder.verify(featureRepository).incrementRevision(featureA);
+        inOrder.verify(eventPublisher).publishEvent(new FeatureChangedEvent(featureA));
+        inOrder.verify(featureRepository).incrementRevision(featureB);
+        inOrder.verify(eventPublisher).publishEvent(new FeatureChangedEvent(featureB));
+        verify(auditTrail).segmentMembersChanged(featureA, "flag-a", segment, 2);
+        verify(auditTrail).segmentMembersChanged(featureB, "flag-b", segment, 2);
+    }
+
+    @Test
+    void addMembers_keepsExistingMembers() {
+        when(segmentRepository.findById(segmentId)).thenReturn(Optional.of(segment));
+        when(segmentRepository.save(segment)).thenReturn(segment);
+
+        SegmentResponseDTO res = service.addMembers(segmentId, new SegmentMembersRequestDTO(Set.of("c3")));
+
+        assertEquals(Set.of("c1", "c2", "c3"), segment.getClientIds());
+        assertEquals(3, res.getMemberCount());
+        verify(featureRepository, never()).findRowsByIdIn(any());
+        verifyNoInteractions(auditTrail);
+    }
+
+    @Test
+    void addMembers_unknownSegment_throws() {
+        when(segmentRepository.findById(segmentId)).thenReturn(Optional.empty());
+
+        ApiException ex = assertThrows(ApiException.class,
+                () -> service.addMembers(segmentId, new SegmentMembersRequestDTO(Set.of("c3"))));
+
+        assertEquals(ErrorCodes.SEGMENT_NOT_FOUND, ex.getCode());
+        verifyNoInteractions(eventPublisher);
+    }
+}
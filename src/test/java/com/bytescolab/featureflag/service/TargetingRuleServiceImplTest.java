@@ -0,0 +1,120 @@
+package com.bytescolab.featureflag.service;
+
+import com.bytescolab.featureflag.exception.ApiException;
+import com.bytescolab.featureflag.exception.ErrorCodes;
+import com.bytescolab.featureflag.model.entity.Feature;
+import com.bytescolab.featureflag.model.entity.TargetingRule;
+import com.bytescolab.featureflag.model.enums.ConditionOperator;
+import com.bytescolab.featureflag.repository.FeatureRepository;
+import com.bytescolab.featureflag.repository.TargetingRuleRepository;
+import com.bytescolab.featureflag.repository.dto.feature.request.TargetingConditionDTO;
+import com.bytescolab.featureflag.repository.dto.feature.request.TargetingRuleCreateRequestDTO;
+import com.bytescolab.featureflag.repository.dto.feature.response.TargetingRuleResponseDTO;
+import com.bytescolab.featureflag.service.audit.AuditTrail;
+import com.bytescolab.featureflag.service.feature.TargetingRuleServiceImpl;
+import com.bytescolab.featureflag.service.feature.event.FeatureChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TargetingRuleServiceImplTest {
+
+    @Mock
+    private FeatureRepository featureRepository;
+
+    @Mock
+    private TargetingRuleRepository targetingRuleRepository;
+
+    @Mock
+    private AuditTrail auditTrail;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private TargetingRuleServiceImpl service;
+
+    private UUID featureId;
+    private Feature feature;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        featureId = UUID.randomUUID();
+        feature = Feature.builder().id(featureId).name("flag-x").enabledByDefault(false).build();
+    }
+
+    @Test
+    void createRule_compilesSavesAndPublishesChange() {
+        when(featureRepository.findById(featureId)).thenReturn(Optional.of(feature));
+        when(targetingRuleRepository.save(any(TargetingRule.class))).thenAnswer(invocation -> {
+            TargetingRule rule = invocation.getArgument(0);
+            rule.setId(UUID.randomUUID());
+            return rule;
+        });
+
+        TargetingRuleResponseDTO res = service.createRule(featureId, request("SEMVER_GTE", "2.4.0"));
+
+        assertNotNull(res.getId());
+        assertEquals(ConditionOperator.SEMVER_GTE, res.getConditions().get(0).getOperator());
+        verify(featureRepository).incrementRevision(featureId);
+        verify(eventPublisher).publishEvent(new FeatureChangedEvent(featureId));
+        verify(auditTrail).ruleCreated(eq(feature), argThat(rule -> rule.getPriority() == 1));
+    }
+
+    @Test
+    void createRule_invalidCondition_throwsRuleInvalid() {
+        when(featureRepository.findById(featureId)).thenReturn(Optional.of(feature));
+
+        ApiException ex = assertThrows(ApiException.class,
+                () -> service.createRule(featureId, request("GT", "not-a-number")));
+
+        assertEquals(ErrorCodes.RULE_INVALID, ex.getCode());
+        verify(targetingRuleRepository, never()).save(any());
+        verifyNoInteractions(eventPublisher, auditTrail);
+    }
+
+    @Test
+    void deleteRule_ofAnotherFeature_throwsRuleNotFound() {
+        UUID ruleId = UUID.randomUUID();
+        when(targetingRuleRepository.findByIdAndFeatureId(ruleId, featureId)).thenReturn(Optional.empty());
+
+        ApiException ex = assertThrows(ApiException.class, () -> service.deleteRule(featureId, ruleId));
+
+        assertEquals(ErrorCodes.RULE_NOT_FOUND, ex.getCode());
+        verify(targetingRuleRepository, never()).delete(any());
+        verifyNoInteractions(auditTrail);
+    }
+
+    @Test
+    void deleteRule_deletesBumpsRevisionAndAuditsRule() {
+        TargetingRule rule = TargetingRule.builder().id(UUID.randomUUID()).feature(feature).priority(1).enabled(true).build();
+        when(targetingRuleRepository.findByIdAndFeatureId(rule.getId(), featureId)).thenReturn(Optional.of(rule));
+
+        service.deleteRule(featureId, rule.getId());
+
+        verify(targetingRuleRepository).delete(rule);
+        verify(featureRepository).incrementRevision(featureId);
+        verify(eventPublisher).publishEvent(new FeatureChangedEvent(featureId));
+        verify(auditTrail).ruleDeleted(feature, rule);
+    }
+
+    private TargetingRuleCreateRequestDTO request(String operator, String value) {
+        return TargetingRuleCreateRequestDTO.builder()
+                .priority(1)
+                .enabled(true)
+                .conditions(List.of(new TargetingConditionDTO("appVersion", ConditionOperator.valueOf(operator), List.of(value))))
+                .build();
+    }
+}
@@ -4,17 +4,21 @@ import com.bytescolab.featureflag.model.entity.User;
 import com.bytescolab.featureflag.model.enums.Role;
 import com.bytescolab.featureflag.repository.UserRepository;
 import com.bytescolab.featureflag.service.user.UserServiceImpl;
+import com.bytescolab.featureflag.service.user.event.UserRoleChangedEvent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class UserServiceImplTest {
@@ -22,6 +26,9 @@ class UserServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserServiceImpl service;
 
@@ -39,5 +46,7 @@ class UserServiceImplTest {
         String msg = service.updateUserRole("pepe", "ADMIN");
         assertTrue(msg.contains("ADMIN"));
         assertEquals(Role.ADMIN, u.getRole());
+        assertNotNull(u.getRoleUpdatedAt());
+        verify(eventPublisher).publishEvent(new UserRoleChangedEvent("pepe"));
     }
 }
\ No newline at end of file